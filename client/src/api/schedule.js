@@ -6,6 +6,8 @@ export const scheduleAPI = {
     apiRequest("/schedules", { query: params, includeSemester: true }),
   listSets: (semester) =>
     apiRequest("/schedules/sets", { query: { semester: semester || getSelectedSemester() } }),
+  listStaleSets: (semester) =>
+    apiRequest("/schedules/sets/stale", { query: { semester: semester || getSelectedSemester() } }),
   get: (id) => apiRequest(`/schedules/${id}`),
   create: (payload) =>
     apiRequest("/schedules", { method: "POST", body: withSemester(payload) }),
@@ -20,15 +22,64 @@ export const scheduleAPI = {
         semester: semester || getSelectedSemester()
       }
     }),
-  generate: (semester, algorithm = 'heuristic', scheduleName = null) =>
+  generate: (semester, algorithm = 'heuristic', scheduleName = null, sourceScheduleName = null, limits = {}) =>
     apiRequest("/schedules/generate", {
       method: "POST",
       query: {
         semester: semester || getSelectedSemester(),
         algorithm,
-        ...(scheduleName ? { scheduleName } : {})
+        ...(scheduleName ? { scheduleName } : {}),
+        ...(sourceScheduleName ? { sourceScheduleName } : {}),
+        ...(limits.timeBudgetMs ? { timeBudgetMs: limits.timeBudgetMs } : {}),
+        ...(limits.targetObjective != null ? { targetObjective: limits.targetObjective } : {})
       }
     }),
+  generateAsync: (semester, algorithm = 'heuristic', scheduleName, sourceScheduleName = null, limits = {}) =>
+    apiRequest("/schedules/generate/jobs", {
+      method: "POST",
+      query: {
+        semester: semester || getSelectedSemester(),
+        algorithm,
+        scheduleName,
+        ...(sourceScheduleName ? { sourceScheduleName } : {}),
+        ...(limits.timeBudgetMs ? { timeBudgetMs: limits.timeBudgetMs } : {}),
+        ...(limits.targetObjective != null ? { targetObjective: limits.targetObjective } : {})
+      }
+    }),
+  generatePareto: (semester, familyName, limits = {}) =>
+    apiRequest("/schedules/generate/pareto", {
+      method: "POST",
+      query: {
+        semester: semester || getSelectedSemester(),
+        familyName,
+        ...(limits.seed != null ? { seed: limits.seed } : {}),
+        ...(limits.timeBudgetMs ? { timeBudgetMs: limits.timeBudgetMs } : {})
+      }
+    }),
+  listJobs: (semester) =>
+    apiRequest("/schedules/generate/jobs", { query: { semester: semester || getSelectedSemester() } }),
+  getJob: (jobId) => apiRequest(`/schedules/generate/jobs/${jobId}`),
+  getJobResult: (jobId) => apiRequest(`/schedules/generate/jobs/${jobId}/result`),
+  cancelJob: (jobId) =>
+    apiRequest(`/schedules/generate/jobs/${jobId}/cancel`, { method: "POST" }),
+  repair: (id, changes = {}) =>
+    apiRequest(`/schedules/${id}/repair`, { method: "POST", body: changes }),
+  optimize: (id, algorithm = 'anneal', limits = {}) =>
+    apiRequest(`/schedules/${id}/optimize`, {
+      method: "POST",
+      query: {
+        algorithm,
+        ...(limits.seed != null ? { seed: limits.seed } : {}),
+        ...(limits.timeBudgetMs ? { timeBudgetMs: limits.timeBudgetMs } : {}),
+        ...(limits.targetObjective != null ? { targetObjective: limits.targetObjective } : {})
+      }
+    }),
+  audit: (semester) =>
+    apiRequest("/schedules/audit", { query: { semester: semester || getSelectedSemester() } }),
+  submitAudit: (semester) =>
+    apiRequest("/schedules/audit/jobs", { method: "POST", query: { semester: semester || getSelectedSemester() } }),
+  getLatestAudit: (semester) =>
+    apiRequest("/schedules/audit/latest", { query: { semester: semester || getSelectedSemester() } }),
   evaluate: (semester, name = null) =>
     apiRequest("/schedules/evaluate", {
       method: "GET",
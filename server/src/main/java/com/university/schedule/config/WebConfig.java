@@ -4,6 +4,7 @@ package com.university.schedule.config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -36,9 +37,19 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowCredentials(true);
     }
 
+    @Value("${research.service.connect-timeout-ms:10000}")
+    private int connectTimeoutMs;
+
+    @Value("${research.service.read-timeout-ms:900000}")
+    private int readTimeoutMs;
+
     @Bean
     public RestTemplate restTemplate() {
-        return new RestTemplate();
+        // A solver that never answers must not hold a generation thread forever
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeoutMs);
+        requestFactory.setReadTimeout(readTimeoutMs);
+        return new RestTemplate(requestFactory);
     }
 
 
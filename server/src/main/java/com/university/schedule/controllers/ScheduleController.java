@@ -1,11 +1,22 @@
 package com.university.schedule.controllers;
 
+import com.university.schedule.dtos.GenerationJobDTO;
+import com.university.schedule.dtos.ParetoFrontDTO;
+import com.university.schedule.dtos.ScheduleAuditReportDTO;
 import com.university.schedule.dtos.ScheduleDTO;
 import com.university.schedule.dtos.ScheduleGenerationResponseDTO;
+import com.university.schedule.dtos.ScheduleRepairRequestDTO;
+import com.university.schedule.dtos.ScheduleRepairResultDTO;
 import com.university.schedule.dtos.ScheduleEvaluationResultDTO;
+import com.university.schedule.services.GenerationJobService;
+import com.university.schedule.services.GenerationOptions;
+import com.university.schedule.services.ParetoScheduleService;
+import com.university.schedule.services.ScheduleAuditService;
 import com.university.schedule.services.ScheduleGenerationService;
+import com.university.schedule.services.ScheduleRepairService;
 import com.university.schedule.services.ScheduleService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -18,6 +29,10 @@ public class ScheduleController {
 
     private final ScheduleService service;
     private final ScheduleGenerationService generationService;
+    private final GenerationJobService jobService;
+    private final ScheduleRepairService repairService;
+    private final ParetoScheduleService paretoService;
+    private final ScheduleAuditService auditService;
 
     @PostMapping
     public ScheduleDTO create(@RequestBody ScheduleDTO dto) {
@@ -47,6 +62,11 @@ public class ScheduleController {
         return service.getScheduleSets(semester);
     }
 
+    @GetMapping("/sets/stale")
+    public List<String> getStaleScheduleSets(@RequestParam String semester) {
+        return generationService.findStaleScheduleNames(semester);
+    }
+
     @PutMapping("/{id}")
     public ScheduleDTO update(@PathVariable String id, @RequestBody ScheduleDTO dto) {
         return service.update(id, dto);
@@ -66,8 +86,99 @@ public class ScheduleController {
     public ScheduleGenerationResponseDTO generateSchedule(
             @RequestParam String semester, 
             @RequestParam(defaultValue = "heuristic") String algorithm,
-            @RequestParam(required = true) String scheduleName) {
-        return generationService.generateScheduleWithValue(semester, algorithm, scheduleName);
+            @RequestParam(required = true) String scheduleName,
+            @RequestParam(required = false) String sourceScheduleName,
+            @RequestParam(required = false) Long timeBudgetMs,
+            @RequestParam(required = false) Long targetObjective,
+            @RequestParam(required = false) Double targetGapPercent) {
+        return generationService.generateScheduleWithValue(semester, algorithm, scheduleName,
+                generationOptions(sourceScheduleName, timeBudgetMs, targetObjective, targetGapPercent));
+    }
+
+    @PostMapping("/generate/jobs")
+    public ResponseEntity<GenerationJobDTO> submitGenerationJob(
+            @RequestParam String semester,
+            @RequestParam(defaultValue = "heuristic") String algorithm,
+            @RequestParam(required = true) String scheduleName,
+            @RequestParam(required = false) String sourceScheduleName,
+            @RequestParam(required = false) Long timeBudgetMs,
+            @RequestParam(required = false) Long targetObjective,
+            @RequestParam(required = false) Double targetGapPercent) {
+        GenerationOptions options = generationOptions(sourceScheduleName, timeBudgetMs, targetObjective, targetGapPercent);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(jobService.submit(semester, algorithm, scheduleName, options));
+    }
+
+    @GetMapping("/generate/jobs")
+    public List<GenerationJobDTO> getGenerationJobs(@RequestParam(required = false) String semester) {
+        return jobService.list(semester);
+    }
+
+    @GetMapping("/generate/jobs/{jobId}")
+    public GenerationJobDTO getGenerationJob(@PathVariable String jobId) {
+        return jobService.get(jobId);
+    }
+
+    @GetMapping("/generate/jobs/{jobId}/result")
+    public ResponseEntity<?> getGenerationJobResult(@PathVariable String jobId) {
+        return jobService.getResult(jobId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.ACCEPTED).body(jobService.get(jobId)));
+    }
+
+    @PostMapping("/generate/jobs/{jobId}/cancel")
+    public GenerationJobDTO cancelGenerationJob(@PathVariable String jobId) {
+        return jobService.cancel(jobId);
+    }
+
+    @PostMapping("/generate/pareto")
+    public ParetoFrontDTO generateParetoFront(
+            @RequestParam String semester,
+            @RequestParam String familyName,
+            @RequestParam(required = false) Long seed,
+            @RequestParam(required = false) Long timeBudgetMs) {
+        return paretoService.generate(semester, familyName, seed, timeBudgetMs);
+    }
+
+    @GetMapping("/audit")
+    public ScheduleAuditReportDTO auditSchedules(@RequestParam String semester) {
+        return auditService.audit(semester);
+    }
+
+    @PostMapping("/audit/jobs")
+    public ResponseEntity<Void> submitAudit(@RequestParam String semester) {
+        auditService.submit(semester, "manual");
+        return ResponseEntity.status(HttpStatus.ACCEPTED).build();
+    }
+
+    @GetMapping("/audit/latest")
+    public ResponseEntity<ScheduleAuditReportDTO> getLatestAudit(@RequestParam String semester) {
+        return auditService.getLatest(semester)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.ACCEPTED).build());
+    }
+
+    @PostMapping("/{id}/repair")
+    public ScheduleRepairResultDTO repairSchedule(@PathVariable String id,
+                                                  @RequestBody(required = false) ScheduleRepairRequestDTO changes) {
+        return repairService.repair(id, changes);
+    }
+
+    @PostMapping("/{id}/reroom")
+    public ScheduleRepairResultDTO reroomSchedule(@PathVariable String id) {
+        return repairService.reroom(id);
+    }
+
+    @PostMapping("/{id}/optimize")
+    public ScheduleGenerationResponseDTO optimizeSchedule(@PathVariable String id,
+                                                          @RequestParam(defaultValue = "anneal") String algorithm,
+                                                          @RequestParam(required = false) Long seed,
+                                                          @RequestParam(required = false) Long timeBudgetMs,
+                                                          @RequestParam(required = false) Long targetObjective,
+                                                          @RequestParam(required = false) Double targetGapPercent) {
+        GenerationOptions options = generationOptions(null, timeBudgetMs, targetObjective, targetGapPercent).toBuilder()
+                .seed(seed)
+                .build();
+        return generationService.optimizeSchedule(id, algorithm, options);
     }
 
     @GetMapping("/evaluate")
@@ -79,4 +190,14 @@ public class ScheduleController {
         }
         return ResponseEntity.ok(service.evaluateScheduleValue(semester));
     }
+
+    private static GenerationOptions generationOptions(String sourceScheduleName, Long timeBudgetMs, Long targetObjective,
+                                                       Double targetGapPercent) {
+        return GenerationOptions.builder()
+                .sourceScheduleName(sourceScheduleName)
+                .timeBudgetMs(timeBudgetMs)
+                .targetObjective(targetObjective)
+                .targetGapPercent(targetGapPercent)
+                .build();
+    }
 }
@@ -0,0 +1,24 @@
+package com.university.schedule.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Size and solve time of one independent part of a decomposed generation run.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComponentReportDTO {
+    private Integer index;
+    private Integer teachers;
+    private Integer courses;
+    private Integer sections;
+    private Integer classrooms;
+    private Integer placedSections;
+    private Long objectiveValue;
+    private Long elapsedMs;
+}
@@ -0,0 +1,36 @@
+package com.university.schedule.dtos;
+
+import com.university.schedule.enums.GenerationJobStatus;
+import com.university.schedule.enums.GenerationPhase;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GenerationJobDTO {
+    private String id;
+    private String semester;
+    private String algorithm;
+    private String scheduleName;
+    private String sourceScheduleName;
+    private Long timeBudgetMs;
+    private Long targetObjective;
+    private Double targetGapPercent;
+    private GenerationJobStatus status;
+    private GenerationPhase phase;
+    private Integer progress; // 0-100
+    private Map<String, Long> phaseTimingsMs; // phase name -> duration in milliseconds
+    private String error;
+    private Instant submittedAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+}
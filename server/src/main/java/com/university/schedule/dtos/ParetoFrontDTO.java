@@ -0,0 +1,20 @@
+package com.university.schedule.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParetoFrontDTO {
+    private String semester;
+    private String familyName;
+    private Integer weightings;
+    private List<ParetoPointDTO> points;
+    private Long elapsedMs;
+}
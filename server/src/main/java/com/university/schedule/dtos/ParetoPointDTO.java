@@ -0,0 +1,28 @@
+package com.university.schedule.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One non-dominated schedule of a Pareto family: the weights it was optimized for and its unweighted
+ * component values. {@code objectiveValue} is the total under the default evaluation weights.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParetoPointDTO {
+    private String scheduleId;
+    private String name;
+    private Long weightCoursePreference;
+    private Long weightTimePreference;
+    private Long weightWorkloadBalance;
+    private Long weightCompactness;
+    private Long coursePreference;
+    private Long timePreference;
+    private Long workloadRange;
+    private Long gaps;
+    private Integer objectiveValue;
+}
@@ -0,0 +1,32 @@
+package com.university.schedule.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Domain sizes before and after presolve, summed over all sections. "Before" counts every eligible
+ * teacher, every room and every (day, period) start; "after" counts what the solvers actually search.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PresolveReportDTO {
+    private Integer sections;
+    private Long teacherValuesBefore;
+    private Long teacherValuesAfter;
+    private Long roomValuesBefore;
+    private Long roomValuesAfter;
+    private Long startValuesBefore;
+    private Long startValuesAfter;
+    private Long combinationsBefore;
+    private Long combinationsAfter;
+    private Integer bannedSlots;
+    private Integer removedTeacherCourses;
+    private Integer sectionsWithoutValues;
+    private Integer interchangeableSections; // Sections sharing a symmetry class with another section
+    private Integer interchangeableTeachers;
+    private Long elapsedMs;
+}
@@ -0,0 +1,20 @@
+package com.university.schedule.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleAuditDTO {
+    private String scheduleId;
+    private String name;
+    private Integer assignments;
+    private Boolean valid;
+    private List<ScheduleViolationDTO> violations;
+}
@@ -0,0 +1,27 @@
+package com.university.schedule.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Hard-constraint audit of every stored schedule of a semester against its current reference data.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleAuditReportDTO {
+    private String semester;
+    private String trigger;
+    private Instant auditedAt;
+    private Integer schedulesAudited;
+    private Integer invalidSchedules;
+    private Integer violations;
+    private List<ScheduleAuditDTO> schedules;
+    private Long elapsedMs;
+}
@@ -30,4 +30,6 @@ public class ScheduleDTO {
     private Map<String, Object> penalties; // Flexible structure for penalties
     
     private Map<String, Object> scores; // Flexible structure for scores
+
+    private String inputHash;
 }
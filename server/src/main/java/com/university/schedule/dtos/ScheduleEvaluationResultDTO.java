@@ -15,4 +15,6 @@ public class ScheduleEvaluationResultDTO {
     private Double compactnessPenalty;
     private Double coursePreferenceScore;
     private Double timePreferenceScore;
+    private Long upperBound; // Only set when a single schedule was evaluated
+    private Double optimalityGap; // Percent of upperBound the total score falls short by
 }
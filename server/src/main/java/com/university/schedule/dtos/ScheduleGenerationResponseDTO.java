@@ -16,4 +16,9 @@ import java.util.List;
 public class ScheduleGenerationResponseDTO {
     private List<ScheduleDTO> schedules;
     private Integer objectiveValue;
+    private Boolean optimal; // Only set by engines that prove optimality; false when a limit stopped the search
+    private Long upperBound; // No schedule of the semester can score higher
+    private Double optimalityGap; // Percent of upperBound the objective falls short by
+    private List<ComponentReportDTO> components; // Only set when the semester was solved as independent parts
+    private PresolveReportDTO presolve; // Only set when presolve ran
 }
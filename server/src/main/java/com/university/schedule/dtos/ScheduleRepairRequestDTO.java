@@ -0,0 +1,22 @@
+package com.university.schedule.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Entities changed since the schedule was generated. Assignments of these teachers, classrooms and
+ * sections are re-solved; assignments that became invalid are always re-solved.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleRepairRequestDTO {
+    private List<String> teacherIds;
+    private List<String> classroomIds;
+    private List<String> sectionIds;
+}
@@ -0,0 +1,22 @@
+package com.university.schedule.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleRepairResultDTO {
+    private ScheduleDTO schedule;
+    private Integer previousObjectiveValue;
+    private Integer objectiveValue;
+    private Integer freedAssignments;
+    private Integer movedAssignments;
+    private List<String> unplacedSections;
+    private Long elapsedMs;
+}
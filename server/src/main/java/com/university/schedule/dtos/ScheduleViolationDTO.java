@@ -0,0 +1,26 @@
+package com.university.schedule.dtos;
+
+import com.university.schedule.enums.ViolationType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One broken hard constraint of a stored assignment. {@code conflictingSectionId} is set for
+ * double bookings.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleViolationDTO {
+    private ViolationType type;
+    private String sectionId;
+    private String teacherId;
+    private String classroomId;
+    private String day;
+    private String period;
+    private String conflictingSectionId;
+    private String message;
+}
@@ -50,4 +50,7 @@ public class Schedule {
     @Column(name = "scores", columnDefinition = "jsonb")
     private String scores; // JSON object with score details
 
+    @Column(name = "input_hash", length = 64)
+    private String inputHash; // SHA-256 of the solver input the schedule was generated from
+
 }
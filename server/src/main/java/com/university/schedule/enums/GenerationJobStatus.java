@@ -0,0 +1,9 @@
+package com.university.schedule.enums;
+
+public enum GenerationJobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED,
+    CANCELLED
+}
@@ -0,0 +1,22 @@
+package com.university.schedule.enums;
+
+public enum GenerationPhase {
+    LOAD(5),
+    VALIDATE(15),
+    BUILD(20),
+    SOLVE(30),
+    PERSIST(90);
+
+    private final int progress;
+
+    GenerationPhase(int progress) {
+        this.progress = progress;
+    }
+
+    /**
+     * Progress percentage reported when the phase starts.
+     */
+    public int getProgress() {
+        return progress;
+    }
+}
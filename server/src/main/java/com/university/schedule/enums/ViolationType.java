@@ -0,0 +1,11 @@
+package com.university.schedule.enums;
+
+public enum ViolationType {
+    UNKNOWN_SECTION,
+    UNKNOWN_CLASSROOM,
+    INELIGIBLE_TEACHER,
+    CAPACITY_EXCEEDED,
+    PERIOD_OUT_OF_RANGE,
+    TEACHER_DOUBLE_BOOKING,
+    ROOM_DOUBLE_BOOKING
+}
@@ -31,6 +31,7 @@ public class ScheduleJsonMapper {
                 .semester(entity.getSemester() != null ? entity.getSemester() : null)
                 .name(entity.getName())
                 .objectiveValue(entity.getObjectiveValue())
+                .inputHash(entity.getInputHash())
                 .build();
 
         // Parse assignments JSON
@@ -100,6 +101,7 @@ public class ScheduleJsonMapper {
                 .id(dto.getId())
                 .name(dto.getName())
                 .objectiveValue(dto.getObjectiveValue())
+                .inputHash(dto.getInputHash())
                 .build();
 
         // Convert assignments to JSON (always set, even if empty)
@@ -1,8 +1,18 @@
 package com.university.schedule.repositories;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.university.schedule.entities.CoursePreference;
+import com.university.schedule.enums.RegistrationStatus;
+
+import java.util.List;
 
 public interface CoursePreferenceRepository extends JpaRepository<CoursePreference, String> {
+
+    @Query("SELECT cp FROM CoursePreference cp " +
+           "JOIN FETCH cp.teachingRegistration tr JOIN FETCH tr.teacher JOIN FETCH cp.course " +
+           "WHERE tr.semester = :semester AND tr.status = :status")
+    List<CoursePreference> findForGeneration(@Param("semester") String semester, @Param("status") RegistrationStatus status);
 }
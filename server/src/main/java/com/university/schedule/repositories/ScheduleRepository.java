@@ -26,6 +26,9 @@ public interface ScheduleRepository extends JpaRepository<Schedule, String> {
     
     @Query("SELECT DISTINCT s.name FROM Schedule s WHERE s.semester = :semester AND s.name IS NOT NULL ORDER BY s.name")
     List<String> findDistinctNamesBySemester(@Param("semester") String semester);
+
+    @Query("SELECT DISTINCT s.semester FROM Schedule s WHERE s.semester IS NOT NULL ORDER BY s.semester")
+    List<String> findDistinctSemesters();
     
     @Modifying
     @Transactional
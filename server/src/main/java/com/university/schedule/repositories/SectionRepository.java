@@ -4,9 +4,17 @@ import com.university.schedule.entities.Section;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface SectionRepository extends JpaRepository<Section, String> {
     Page<Section> findByNameContainingIgnoreCase(String keyword, Pageable pageable);
     Page<Section> findByIdEndingWith(String suffix, Pageable pageable);
     Page<Section> findByNameContainingIgnoreCaseAndIdEndingWith(String keyword, String suffix, Pageable pageable);
+
+    @Query("SELECT s FROM Section s JOIN FETCH s.course c WHERE c.id IN :courseIds")
+    List<Section> findByCourseIdsWithCourse(@Param("courseIds") Collection<String> courseIds);
 }
@@ -13,6 +13,9 @@ import java.util.Optional;
 public interface TeachingRegistrationRepository extends JpaRepository<TeachingRegistration, String> {
     List<TeachingRegistration> findByStatus(RegistrationStatus status);
     List<TeachingRegistration> findByStatusAndSemester(RegistrationStatus status, String semester);
+    @Query("SELECT tr FROM TeachingRegistration tr JOIN FETCH tr.teacher WHERE tr.status = :status AND tr.semester = :semester")
+    List<TeachingRegistration> findWithTeacherByStatusAndSemester(@Param("status") RegistrationStatus status, @Param("semester") String semester);
+
     Optional<TeachingRegistration> findByTeacherIdAndSemester(String teacherId, String semester);
     
     @Query("SELECT tr.teacher.id FROM TeachingRegistration tr WHERE tr.semester = :semester")
@@ -1,8 +1,18 @@
 package com.university.schedule.repositories;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.university.schedule.entities.TimePreference;
+import com.university.schedule.enums.RegistrationStatus;
+
+import java.util.List;
 
 public interface TimePreferenceRepository extends JpaRepository<TimePreference, String> {
+
+    @Query("SELECT tp FROM TimePreference tp " +
+           "JOIN FETCH tp.teachingRegistration tr JOIN FETCH tr.teacher JOIN FETCH tp.period " +
+           "WHERE tr.semester = :semester AND tr.status = :status")
+    List<TimePreference> findForGeneration(@Param("semester") String semester, @Param("status") RegistrationStatus status);
 }
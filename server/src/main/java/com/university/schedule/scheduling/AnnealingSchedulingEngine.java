@@ -0,0 +1,363 @@
+package com.university.schedule.scheduling;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.SplittableRandom;
+
+/**
+ * Simulated-annealing local search that polishes a complete schedule. It starts from the warm start
+ * (completed if necessary) or from the greedy construction, and tries random moves: shift a section
+ * to another start, change its room, change its teacher, or swap the blocks of two sections of equal
+ * length. Every move keeps the hard constraints and the {@code min_teachers} targets already reached.
+ * <p>
+ * A move is applied to the {@link ScheduleState} and scored from the terms it touched: the preferences
+ * of the moved sections, the gaps of at most four teacher-days and a load histogram for the workload
+ * range, so a step costs O(1) and allocates nothing. Rejected moves are undone. The temperature cools
+ * geometrically over the iteration limit, so a run is reproducible from the context's seed as long as
+ * no deadline cuts it short. The search optimizes the context's objective weights, so the returned
+ * objective is in those weights.
+ */
+@Slf4j
+@Component
+public class AnnealingSchedulingEngine implements SchedulingEngine {
+
+    public static final String NAME = "anneal";
+
+    private static final int CHECK_INTERVAL = 1 << 12;
+    private static final int MOVE_SHIFT = 0;
+    private static final int MOVE_ROOM = 1;
+    private static final int MOVE_TEACHER = 2;
+    private static final int MOVE_KINDS = 4;
+
+    @Value("${scheduling.anneal.iterations:2000000}")
+    private long iterations = 2_000_000L;
+
+    @Value("${scheduling.anneal.start-temperature:8.0}")
+    private double startTemperature = 8.0;
+
+    @Value("${scheduling.anneal.end-temperature:0.05}")
+    private double endTemperature = 0.05;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isWeightAware() {
+        return true;
+    }
+
+    @Override
+    public String getConfiguration() {
+        return "iterations=" + iterations + ";temperature=" + startTemperature + "-" + endTemperature;
+    }
+
+    @Override
+    public SchedulingSolution solve(SchedulingProblem problem, SolverContext context) {
+        long start = System.currentTimeMillis();
+        ScheduleState state = GreedyConstruction.initialState(problem, context);
+        GreedyConstruction.complete(state, context);
+        ObjectiveWeights weights = context.getObjectiveWeights();
+        long initial = ObjectiveEvaluator.evaluate(problem, state.solution(), weights);
+        GreedyConstruction.publish(state, context, initial);
+
+        Search search = new Search(state, weights, new SplittableRandom(context.getSeed()));
+        long best = search.run(context, initial);
+
+        SchedulingSolution solution = search.best;
+        solution.setObjective(ObjectiveEvaluator.evaluate(problem, solution, weights));
+        if (solution.getObjective() != best) {
+            log.warn("Annealing objective drifted: tracked {}, evaluated {}", best, solution.getObjective());
+        }
+        if (search.feasible) {
+            context.offerIncumbent(solution);
+        }
+        log.info("Annealing engine: objective {} -> {} after {} iterations ({} accepted) in {} ms",
+                initial, solution.getObjective(), search.iteration, search.accepted, System.currentTimeMillis() - start);
+        return solution;
+    }
+
+    private final class Search {
+        private final ScheduleState state;
+        private final SchedulingProblem problem;
+        private final SchedulingSolution current;
+        private final SchedulingSolution best;
+        private final ObjectiveWeights weights;
+        private final SplittableRandom random;
+        private final int numDays;
+        private final int numPeriods;
+        private final int[] movable;
+        private final boolean feasible;
+
+        // Teachers per load value, with lazily tightened extremes over loaded teachers
+        private final int[] loadCount;
+        private int minLoad;
+        private int maxLoad;
+
+        // Sections moved by the current move with their previous placement, and the teacher-days touched
+        private final int[] moved = new int[2];
+        private final int[] oldTeacher = new int[2];
+        private final int[] oldDay = new int[2];
+        private final int[] oldPeriod = new int[2];
+        private final int[] oldRoom = new int[2];
+        private final int[] touchedDays = new int[4];
+        private int numMoved;
+        private int numTouchedDays;
+
+        private long iteration;
+        private long accepted;
+
+        Search(ScheduleState state, ObjectiveWeights weights, SplittableRandom random) {
+            this.state = state;
+            this.weights = weights;
+            this.problem = state.problem();
+            this.current = state.solution();
+            this.best = current.copy();
+            this.random = random;
+            this.numDays = problem.numDays();
+            this.numPeriods = problem.numPeriods();
+            this.feasible = GreedyConstruction.isFeasible(state);
+
+            this.movable = new int[current.countAssigned()];
+            for (int s = 0, i = 0; s < current.size(); s++) {
+                if (current.isAssigned(s)) movable[i++] = s;
+            }
+            int totalLength = 0;
+            for (int s = 0; s < problem.numSections(); s++) totalLength += problem.length(s);
+            this.loadCount = new int[totalLength + 1];
+            this.minLoad = totalLength;
+            for (int t = 0; t < problem.numTeachers(); t++) {
+                updateLoad(0, state.teacherLoad(t));
+            }
+        }
+
+        /**
+         * Anneals from {@code objective}, the objective of the current state, and returns the best
+         * objective reached; {@link #best} then holds that schedule.
+         */
+        long run(SolverContext context, long objective) {
+            long bestObjective = objective;
+            if (movable.length == 0) return bestObjective;
+            double cooling = Math.pow(endTemperature / startTemperature, 1.0 / Math.max(1, iterations));
+            double temperature = startTemperature;
+            boolean atBest = true;
+            boolean published = true;
+
+            for (iteration = 0; iteration < iterations; iteration++, temperature *= cooling) {
+                if ((iteration & (CHECK_INTERVAL - 1)) == 0) {
+                    if (!published) {
+                        if (atBest) saveBest();
+                        best.setObjective(bestObjective);
+                        context.offerIncumbent(best);
+                        published = true;
+                    }
+                    if (context.shouldStop()) break;
+                }
+
+                numMoved = 0;
+                numTouchedDays = 0;
+                int s = movable[random.nextInt(movable.length)];
+                long before;
+                switch (random.nextInt(MOVE_KINDS)) {
+                    case MOVE_SHIFT -> before = shift(s);
+                    case MOVE_ROOM -> before = changeRoom(s);
+                    case MOVE_TEACHER -> before = changeTeacher(s);
+                    default -> before = swap(s, movable[random.nextInt(movable.length)]);
+                }
+                if (before == Long.MIN_VALUE) continue;
+
+                long delta = touchedScore() - before;
+                if (delta >= 0 || random.nextDouble() < Math.exp(delta / temperature)) {
+                    if (delta < 0 && atBest) {
+                        // Leaving the best state: keep it, with the moved sections where they were
+                        saveBest();
+                        for (int i = 0; i < numMoved; i++) {
+                            best.assign(moved[i], oldTeacher[i], oldDay[i], oldPeriod[i], oldRoom[i]);
+                        }
+                    }
+                    objective += delta;
+                    accepted++;
+                    if (objective > bestObjective) {
+                        bestObjective = objective;
+                        published = !feasible;
+                    }
+                    atBest = objective >= bestObjective;
+                } else {
+                    undo();
+                }
+            }
+            if (atBest) saveBest();
+            best.setObjective(bestObjective);
+            return bestObjective;
+        }
+
+        /**
+         * Moves the section to a random free start, keeping its room when it is free there. Each move
+         * returns the score of the touched terms before it, or {@link Long#MIN_VALUE} if it did nothing.
+         */
+        private long shift(int s) {
+            int t = current.teacher(s), d = current.day(s), p = current.period(s), r = current.room(s);
+            int d2 = random.nextInt(numDays);
+            long before = touch(s, t, d, t, d2);
+            lift(s);
+            long starts = state.freeStarts(s, t, d2) & (d2 == d ? ~(1L << p) : -1L);
+            int p2 = starts != 0 ? randomBit(starts) : -1;
+            int r2 = p2 < 0 ? -1 : state.isRoomFree(r, d2, p2, problem.length(s)) ? r : state.findRoom(s, d2, p2);
+            if (r2 < 0) {
+                drop(s, t, d, p, r);
+                return Long.MIN_VALUE;
+            }
+            drop(s, t, d2, p2, r2);
+            return before;
+        }
+
+        private long changeRoom(int s) {
+            int t = current.teacher(s), d = current.day(s), p = current.period(s), r = current.room(s);
+            int[] rooms = problem.roomsFor(s);
+            int r2 = rooms[random.nextInt(rooms.length)];
+            if (r2 == r || !state.isRoomFree(r2, d, p, problem.length(s))) return Long.MIN_VALUE;
+            long before = touch(s, t, d, t, d);
+            lift(s);
+            drop(s, t, d, p, r2);
+            return before;
+        }
+
+        private long changeTeacher(int s) {
+            int t = current.teacher(s), d = current.day(s), p = current.period(s), r = current.room(s);
+            int c = problem.courseOf(s);
+            int[] teachers = problem.eligibleTeachers(c);
+            int t2 = teachers[random.nextInt(teachers.length)];
+            if (t2 == t) return Long.MIN_VALUE;
+            // Never lose a distinct teacher the course needs
+            if (state.sectionsTaught(t, c) == 1 && state.sectionsTaught(t2, c) > 0
+                    && state.distinctTeachers(c) <= GreedyConstruction.minTeachersTarget(problem, c)) {
+                return Long.MIN_VALUE;
+            }
+            long before = touch(s, t, d, t2, d);
+            lift(s);
+            if (!state.canPlace(s, t2, d, p, r)) {
+                drop(s, t, d, p, r);
+                return Long.MIN_VALUE;
+            }
+            drop(s, t2, d, p, r);
+            return before;
+        }
+
+        /**
+         * Exchanges the (day, period, room) blocks of two sections of equal length; teachers stay.
+         */
+        private long swap(int a, int b) {
+            if (a == b || problem.length(a) != problem.length(b)) return Long.MIN_VALUE;
+            int ta = current.teacher(a), da = current.day(a), pa = current.period(a), ra = current.room(a);
+            int tb = current.teacher(b), db = current.day(b), pb = current.period(b), rb = current.room(b);
+            if ((da == db && pa == pb) || problem.capacity(rb) < problem.seats(a)
+                    || problem.capacity(ra) < problem.seats(b)) {
+                return Long.MIN_VALUE;
+            }
+            touch(a, ta, da, ta, db);
+            long before = touch(b, tb, db, tb, da);
+            lift(a);
+            lift(b);
+            if (state.canPlace(a, ta, db, pb, rb)) {
+                drop(a, ta, db, pb, rb);
+                if (state.canPlace(b, tb, da, pa, ra)) {
+                    drop(b, tb, da, pa, ra);
+                    return before;
+                }
+                lift(a);
+            }
+            drop(a, ta, da, pa, ra);
+            drop(b, tb, db, pb, rb);
+            return Long.MIN_VALUE;
+        }
+
+        /**
+         * Records a section about to move from ({@code t}, {@code d}) to ({@code t2}, {@code d2}) and
+         * returns the score of everything touched so far.
+         */
+        private long touch(int s, int t, int d, int t2, int d2) {
+            moved[numMoved] = s;
+            oldTeacher[numMoved] = t;
+            oldDay[numMoved] = d;
+            oldPeriod[numMoved] = current.period(s);
+            oldRoom[numMoved] = current.room(s);
+            numMoved++;
+            touchedDays[numTouchedDays++] = t * numDays + d;
+            touchedDays[numTouchedDays++] = t2 * numDays + d2;
+            return touchedScore();
+        }
+
+        private void undo() {
+            for (int i = 0; i < numMoved; i++) lift(moved[i]);
+            for (int i = 0; i < numMoved; i++) drop(moved[i], oldTeacher[i], oldDay[i], oldPeriod[i], oldRoom[i]);
+        }
+
+        private void lift(int s) {
+            int t = current.teacher(s);
+            int load = state.teacherLoad(t);
+            state.remove(s);
+            updateLoad(load, state.teacherLoad(t));
+        }
+
+        private void drop(int s, int t, int d, int p, int r) {
+            int load = state.teacherLoad(t);
+            state.place(s, t, d, p, r);
+            updateLoad(load, state.teacherLoad(t));
+        }
+
+        /**
+         * Preferences of the moved sections, minus the gaps of the touched teacher-days and the
+         * workload range: every term of the objective a move can change.
+         */
+        private long touchedScore() {
+            long score = 0;
+            for (int i = 0; i < numMoved; i++) {
+                int s = moved[i];
+                int t = current.teacher(s), d = current.day(s), p = current.period(s);
+                score += weights.coursePreference() * problem.coursePreference(t, problem.courseOf(s));
+                for (int k = 0; k < problem.length(s); k++) {
+                    score += weights.timePreference() * problem.timePreference(t, problem.slot(d, p + k));
+                }
+            }
+            for (int i = 0; i < numTouchedDays; i++) {
+                int key = touchedDays[i];
+                boolean repeated = false;
+                for (int j = 0; j < i && !repeated; j++) repeated = touchedDays[j] == key;
+                if (!repeated) {
+                    long mask = state.teacherDayMask(key / numDays, key % numDays);
+                    score -= weights.compactness() * ObjectiveEvaluator.gaps(mask, numPeriods);
+                }
+            }
+            return score - weights.workloadBalance() * workloadRange();
+        }
+
+        private void updateLoad(int before, int after) {
+            if (before > 0) loadCount[before]--;
+            if (after > 0) {
+                loadCount[after]++;
+                minLoad = Math.min(minLoad, after);
+                maxLoad = Math.max(maxLoad, after);
+            }
+        }
+
+        private int workloadRange() {
+            while (maxLoad > 0 && loadCount[maxLoad] == 0) maxLoad--;
+            while (minLoad < maxLoad && loadCount[minLoad] == 0) minLoad++;
+            return minLoad < maxLoad ? maxLoad - minLoad : 0;
+        }
+
+        private int randomBit(long mask) {
+            for (int k = random.nextInt(Long.bitCount(mask)); k > 0; k--) mask &= mask - 1;
+            return Long.numberOfTrailingZeros(mask);
+        }
+
+        private void saveBest() {
+            for (int s = 0; s < current.size(); s++) {
+                best.assign(s, current.teacher(s), current.day(s), current.period(s), current.room(s));
+            }
+        }
+    }
+}
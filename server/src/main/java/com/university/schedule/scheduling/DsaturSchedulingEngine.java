@@ -0,0 +1,307 @@
+package com.university.schedule.scheduling;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Timeslot allocation as graph colouring, for the largest semesters. Teachers are fixed first by
+ * {@link TeacherAssignment}; sections sharing a teacher then conflict, and the conflict graph is kept
+ * as one bitset row per section. A colour is a (day, start) pair and a section of {@code length}
+ * periods takes that many contiguous periods from it, so two neighbours conflict when their blocks
+ * overlap. Rooms are a per-slot resource checked when a colour is chosen.
+ * <p>
+ * DSATUR colours the section whose teacher has blocked the most of its starts (ties: most uncoloured
+ * neighbours), at the free start with the best time preference and gap change. Kempe chains then
+ * improve the colouring: for a section and another start of the same length, the connected {a, b}
+ * component of the conflict graph swaps starts when that raises the score. Sections DSATUR cannot
+ * colour go to the greedy repair; results are scored with {@link ObjectiveEvaluator}.
+ */
+@Slf4j
+@Component
+public class DsaturSchedulingEngine implements SchedulingEngine {
+
+    public static final String NAME = "dsatur";
+
+    @Value("${scheduling.dsatur.kempe-passes:5}")
+    private int kempePasses = 5;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String getConfiguration() {
+        return "kempe-passes=" + kempePasses;
+    }
+
+    @Override
+    public SchedulingSolution solve(SchedulingProblem problem, SolverContext context) {
+        long start = System.currentTimeMillis();
+        int[] teacherOf = TeacherAssignment.assign(problem, TeacherAssignment.timeQuality(problem),
+                new long[problem.numTeachers() * problem.numCourses()]);
+        Colouring colouring = new Colouring(problem, teacherOf);
+        List<Integer> uncoloured = colouring.dsatur(context);
+        GreedyConstruction.repair(colouring.state, uncoloured, context);
+        GreedyConstruction.spreadTeachers(colouring.state, context);
+        GreedyConstruction.publish(colouring.state, context, ObjectiveEvaluator.evaluate(problem, colouring.state.solution()));
+        // Repair may have moved sections to other teachers
+        SchedulingSolution coloured = colouring.state.solution();
+        colouring.buildGraph(IntStream.range(0, problem.numSections())
+                .map(s -> coloured.isAssigned(s) ? coloured.teacher(s) : -1).toArray());
+        int swaps = colouring.kempe(context, kempePasses);
+
+        SchedulingSolution solution = colouring.state.solution().copy();
+        solution.setObjective(ObjectiveEvaluator.evaluate(problem, solution));
+        GreedyConstruction.publish(colouring.state, context, solution.getObjective());
+        log.info("DSATUR engine coloured {}/{} sections ({} repaired), {} Kempe swaps in {} ms, objective {}",
+                problem.numSections() - uncoloured.size(), problem.numSections(),
+                solution.countAssigned() - (problem.numSections() - uncoloured.size()), swaps,
+                System.currentTimeMillis() - start, solution.getObjective());
+        return solution;
+    }
+
+    private static final class Colouring {
+        private final SchedulingProblem problem;
+        private final ScheduleState state;
+        private final int[] teacherOf;
+        private final int words;
+        private long[][] neighbours;            // section -> bitset of sections sharing its teacher
+
+        Colouring(SchedulingProblem problem, int[] teacherOf) {
+            this.problem = problem;
+            this.state = new ScheduleState(problem);
+            this.teacherOf = teacherOf;
+            this.words = (problem.numSections() + Long.SIZE - 1) / Long.SIZE;
+            buildGraph(teacherOf);
+        }
+
+        /**
+         * Conflict graph for the given section -> teacher map (-1: no teacher, no conflicts).
+         */
+        void buildGraph(int[] teachers) {
+            int n = problem.numSections();
+            long[][] byTeacher = new long[problem.numTeachers()][words];
+            for (int s = 0; s < n; s++) {
+                if (teachers[s] >= 0) byTeacher[teachers[s]][s >>> 6] |= 1L << s;
+            }
+            neighbours = new long[n][];
+            for (int s = 0; s < n; s++) {
+                neighbours[s] = teachers[s] >= 0 ? byTeacher[teachers[s]].clone() : new long[words];
+                neighbours[s][s >>> 6] &= ~(1L << s);
+            }
+        }
+
+        /**
+         * Colours every section it can and returns the rest.
+         */
+        List<Integer> dsatur(SolverContext context) {
+            int n = problem.numSections();
+            long[] open = new long[words];
+            int[] saturation = new int[n];
+            int[] degree = new int[n];              // uncoloured neighbours
+            int[] totalStarts = new int[n];
+            List<Integer> failed = new ArrayList<>();
+            for (int s = 0; s < n; s++) {
+                if (teacherOf[s] < 0) {
+                    failed.add(s);
+                    continue;
+                }
+                open[s >>> 6] |= 1L << s;
+                for (int d = 0; d < problem.numDays(); d++) {
+                    totalStarts[s] += Long.bitCount(problem.startMask(s, teacherOf[s], d));
+                }
+            }
+            for (int s = 0; s < n; s++) {
+                for (int w = 0; w < words; w++) degree[s] += Long.bitCount(neighbours[s][w] & open[w]);
+            }
+
+            while (!context.isCancelled()) {
+                int pick = -1;
+                for (int w = 0; w < words; w++) {
+                    for (long bits = open[w]; bits != 0; bits &= bits - 1) {
+                        int s = (w << 6) + Long.numberOfTrailingZeros(bits);
+                        if (pick < 0 || saturation[s] > saturation[pick]
+                                || saturation[s] == saturation[pick] && degree[s] > degree[pick]) {
+                            pick = s;
+                        }
+                    }
+                }
+                if (pick < 0) break;
+                open[pick >>> 6] &= ~(1L << pick);
+                boolean coloured = colourBest(pick);
+                if (!coloured) failed.add(pick);
+                // Only neighbours share the teacher whose free starts just shrank
+                long[] row = neighbours[pick];
+                for (int w = 0; w < words; w++) {
+                    for (long bits = row[w] & open[w]; bits != 0; bits &= bits - 1) {
+                        int s = (w << 6) + Long.numberOfTrailingZeros(bits);
+                        degree[s]--;
+                        if (!coloured) continue;
+                        int free = 0;
+                        for (int d = 0; d < problem.numDays(); d++) {
+                            free += Long.bitCount(state.freeStarts(s, teacherOf[s], d));
+                        }
+                        saturation[s] = totalStarts[s] - free;
+                    }
+                }
+            }
+            return failed;
+        }
+
+        private boolean colourBest(int s) {
+            int t = teacherOf[s];
+            long bestScore = Long.MIN_VALUE;
+            int bestD = -1, bestP = -1, bestR = -1;
+            for (int d = 0; d < problem.numDays(); d++) {
+                for (long starts = state.freeStarts(s, t, d); starts != 0; starts &= starts - 1) {
+                    int p = Long.numberOfTrailingZeros(starts);
+                    long score = blockScore(s, t, d, p);
+                    if (score <= bestScore) continue;
+                    int r = state.findRoom(s, d, p);
+                    if (r < 0) continue;
+                    bestScore = score;
+                    bestD = d;
+                    bestP = p;
+                    bestR = r;
+                }
+            }
+            if (bestD < 0) return false;
+            state.place(s, t, bestD, bestP, bestR);
+            return true;
+        }
+
+        /**
+         * Time preference of the block plus the compactness change of placing it on the teacher's day.
+         */
+        private long blockScore(int s, int t, int d, int p) {
+            long mask = state.teacherDayMask(t, d);
+            long score = -ObjectiveEvaluator.W_COMPACTNESS * (ObjectiveEvaluator.gaps(
+                    mask | ScheduleState.blockMask(p, problem.length(s)), problem.numPeriods())
+                    - ObjectiveEvaluator.gaps(mask, problem.numPeriods()));
+            for (int i = 0; i < problem.length(s); i++) {
+                score += ObjectiveEvaluator.W_TIME_PREF * problem.timePreference(t, problem.slot(d, p + i));
+            }
+            return score;
+        }
+
+        /**
+         * Kempe-chain descent; returns the number of swaps kept.
+         */
+        int kempe(SolverContext context, int passes) {
+            SchedulingSolution solution = state.solution();
+            int swaps = 0;
+            for (int pass = 0; pass < passes; pass++) {
+                int before = swaps;
+                for (int s = 0; s < problem.numSections(); s++) {
+                    if (!solution.isAssigned(s)) continue;
+                    int t = solution.teacher(s);
+                    for (int d = 0; d < problem.numDays(); d++) {
+                        for (long starts = problem.startMask(s, t, d); starts != 0; starts &= starts - 1) {
+                            if (context.shouldStop()) return swaps;
+                            int p = Long.numberOfTrailingZeros(starts);
+                            if (d == solution.day(s) && p == solution.period(s)) continue;
+                            if (trySwap(s, d, p)) swaps++;
+                        }
+                    }
+                }
+                if (swaps == before) break;
+            }
+            return swaps;
+        }
+
+        /**
+         * Swaps the {a, b} Kempe chain of {@code s}, where a is its start and b is (d, p), if every member
+         * has the same length and teacher-day score rises. Rooms are re-chosen; the swap is undone if one
+         * is missing.
+         */
+        private boolean trySwap(int s, int d, int p) {
+            SchedulingSolution solution = state.solution();
+            int length = problem.length(s);
+            int da = solution.day(s), pa = solution.period(s);
+            long blockA = ScheduleState.blockMask(pa, length), blockB = ScheduleState.blockMask(p, length);
+
+            List<Integer> chain = new ArrayList<>();
+            long[] seen = new long[words];
+            ArrayDeque<Integer> queue = new ArrayDeque<>(List.of(s));
+            seen[s >>> 6] |= 1L << s;
+            while (!queue.isEmpty()) {
+                int u = queue.poll();
+                chain.add(u);
+                long[] row = neighbours[u];
+                for (int w = 0; w < words; w++) {
+                    for (long bits = row[w] & ~seen[w]; bits != 0; bits &= bits - 1) {
+                        int v = (w << 6) + Long.numberOfTrailingZeros(bits);
+                        if (!solution.isAssigned(v)) continue;
+                        long block = ScheduleState.blockMask(solution.period(v), problem.length(v));
+                        boolean touchesA = solution.day(v) == da && (block & blockA) != 0;
+                        boolean touchesB = solution.day(v) == d && (block & blockB) != 0;
+                        if (!touchesA && !touchesB) continue;
+                        // A neighbour that only partly covers a colour cannot be swapped onto the other
+                        if (problem.length(v) != length || (solution.period(v) != pa && solution.period(v) != p)) {
+                            return false;
+                        }
+                        seen[w] |= 1L << (v & 63);
+                        queue.add(v);
+                    }
+                }
+            }
+
+            int size = chain.size();
+            int[] oldD = new int[size], oldP = new int[size], oldR = new int[size], teachers = new int[size];
+            Set<Long> days = new HashSet<>();
+            for (int i = 0; i < size; i++) {
+                int u = chain.get(i);
+                teachers[i] = solution.teacher(u);
+                oldD[i] = solution.day(u);
+                oldP[i] = solution.period(u);
+                oldR[i] = solution.room(u);
+                days.add((long) teachers[i] * problem.numDays() + da);
+                days.add((long) teachers[i] * problem.numDays() + d);
+            }
+            long before = chainScore(chain, days);
+            for (int u : chain) state.remove(u);
+            int placed = 0;
+            for (int i = 0; i < size; i++) {
+                int u = chain.get(i);
+                boolean atA = oldD[i] == da && oldP[i] == pa;
+                int nd = atA ? d : da, np = atA ? p : pa;
+                if (!problem.isAllowedStart(u, teachers[i], nd, np) || !state.isTeacherFree(teachers[i], nd, np, length)) break;
+                int r = state.findRoom(u, nd, np);
+                if (r < 0) break;
+                state.place(u, teachers[i], nd, np, r);
+                placed++;
+            }
+            if (placed == size && chainScore(chain, days) > before) {
+                return true;
+            }
+            for (int i = 0; i < placed; i++) state.remove(chain.get(i));
+            for (int i = 0; i < size; i++) state.place(chain.get(i), teachers[i], oldD[i], oldP[i], oldR[i]);
+            return false;
+        }
+
+        /**
+         * Time preferences of the chain plus the compactness of the affected teacher-days; the only
+         * objective terms a start swap changes.
+         */
+        private long chainScore(List<Integer> chain, Set<Long> teacherDays) {
+            SchedulingSolution solution = state.solution();
+            long score = 0;
+            for (int u : chain) {
+                for (int i = 0; i < problem.length(u); i++) {
+                    score += ObjectiveEvaluator.W_TIME_PREF
+                            * problem.timePreference(solution.teacher(u), problem.slot(solution.day(u), solution.period(u) + i));
+                }
+            }
+            for (long key : teacherDays) {
+                int t = (int) (key / problem.numDays()), day = (int) (key % problem.numDays());
+                score -= ObjectiveEvaluator.W_COMPACTNESS * ObjectiveEvaluator.gaps(state.teacherDayMask(t, day), problem.numPeriods());
+            }
+            return score;
+        }
+    }
+}
@@ -0,0 +1,590 @@
+package com.university.schedule.scheduling;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+/**
+ * Parallel branch-and-bound over the per-day period bitmasks of teachers and rooms.
+ * <p>
+ * Sections are branched in a fixed most-constrained-first order over (teacher, day, start period,
+ * room capacity class). Nodes are pruned when preferences collected so far plus the best remaining
+ * preference of every open section, minus a workload-range lower bound, cannot beat the incumbent.
+ * States reached again with no better partial score are cut by a nogood cache keyed by a 128-bit
+ * Zobrist hash of the occupancy. Interchangeable sections ({@link SymmetryClasses}) are branched
+ * consecutively and must take increasing (slot, teacher) keys, and of several idle interchangeable
+ * teachers only the first is tried, so each class of symmetric schedules is searched once. Subtrees
+ * are forked into a work-stealing {@link ForkJoinPool} while the pool has idle workers. The greedy
+ * heuristic, and a completed warm start if there is one, provide the initial incumbent. When the node
+ * or time limit stops the search, the best schedule found so far is returned without the optimal flag;
+ * a deadline on the context takes the place of the time limit.
+ */
+@Slf4j
+@Component
+public class ExactSchedulingEngine implements SchedulingEngine {
+
+    public static final String NAME = "exact";
+
+    private static final int CANCEL_CHECK_INTERVAL = 1 << 12;
+    private static final long HASH_SEED_1 = 0x9E3779B97F4A7C15L;
+    private static final long HASH_SEED_2 = 0xC2B2AE3D27D4EB4FL;
+
+    @Value("${scheduling.exact.max-teachers:150}")
+    private int maxTeachers = 150;
+
+    @Value("${scheduling.exact.max-sections:300}")
+    private int maxSections = 300;
+
+    @Value("${scheduling.exact.max-nodes:500000000}")
+    private long maxNodes = 500_000_000L;
+
+    // Keeps a synchronous request from holding every core for as long as the search takes
+    @Value("${scheduling.exact.time-limit-ms:60000}")
+    private long timeLimitMs = 60_000L;
+
+    @Value("${scheduling.exact.nogood-cache-size:500000}")
+    private int nogoodCacheSize = 500_000;
+
+    @Value("${scheduling.exact.split-depth:12}")
+    private int splitDepth = 12;
+
+    @Value("${scheduling.exact.parallelism:0}")
+    private int parallelism;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean provesOptimality() {
+        return true;
+    }
+
+    @Override
+    public String getConfiguration() {
+        // A node- or time-limited parallel search may stop in a different place on another thread count
+        return "max-nodes=" + maxNodes + ";time-limit-ms=" + timeLimitMs + ";parallelism=" + threads();
+    }
+
+    public int getMaxTeachers() {
+        return maxTeachers;
+    }
+
+    public int getMaxSections() {
+        return maxSections;
+    }
+
+    /**
+     * A deadline on the context is an explicit time budget and replaces the engine's own time limit.
+     */
+    private long deadlineNanos(SolverContext context) {
+        if (context.getDeadlineNanos() != SolverContext.NO_DEADLINE) {
+            return context.getDeadlineNanos();
+        }
+        return timeLimitMs > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeLimitMs) : Long.MAX_VALUE;
+    }
+
+    @Override
+    public SchedulingSolution solve(SchedulingProblem problem, SolverContext context) {
+        if (problem.numTeachers() > maxTeachers || problem.numSections() > maxSections) {
+            throw new IllegalArgumentException("dataset too large for exact scheduling. Limit: " + maxTeachers
+                    + " Teachers, " + maxSections + " Sections. Current: " + problem.numTeachers()
+                    + " Teachers, " + problem.numSections() + " Sections.");
+        }
+        long start = System.currentTimeMillis();
+        Search search = new Search(problem, context, deadlineNanos(context));
+
+        ScheduleState greedy = new ScheduleState(problem);
+        GreedyConstruction.complete(greedy, context);
+        GreedyConstruction.improve(greedy, context);
+        GreedyConstruction.spreadTeachers(greedy, context);
+        if (context.getWarmStart() != null) {
+            // Offered first so that, on ties, the search keeps the warm start's assignments
+            ScheduleState warm = GreedyConstruction.initialState(problem, context);
+            GreedyConstruction.complete(warm, context);
+            search.offer(warm.solution());
+        }
+        search.offer(greedy.solution());
+
+        int threads = threads();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            pool.invoke(new SubtreeTask(search, new int[0][]));
+        } finally {
+            pool.shutdownNow();
+        }
+
+        SchedulingSolution best = search.best.get();
+        if (best == null) {
+            // No schedule meets min_teachers everywhere: fall back to the heuristic result, unproven
+            best = greedy.solution().copy();
+            best.setObjective(ObjectiveEvaluator.evaluate(problem, best));
+            best.setOptimal(false);
+        } else {
+            // Subtrees may have been cut by a better incumbent published by another engine on this run
+            SchedulingSolution shared = context.getIncumbent();
+            best = shared != null && shared.getObjective() > best.getObjective() ? shared : best.copy();
+            best.setOptimal(!search.aborted && !search.stopped);
+        }
+        log.info("Exact engine explored {} nodes ({} nogood hits, {} interchangeable sections, {} interchangeable "
+                        + "teachers) on {} threads in {} ms, objective {}, optimal {}",
+                search.nodes.get(), search.nogoodHits.get(), search.symmetry.interchangeableSections(),
+                search.symmetry.interchangeableTeachers(), threads, System.currentTimeMillis() - start,
+                best.getObjective(), best.isOptimal());
+        return best;
+    }
+
+    /**
+     * Shared, read-mostly search data plus the incumbent.
+     */
+    private final class Search {
+        final SchedulingProblem problem;
+        final SolverContext context;
+        final int[] order;                  // depth -> section
+        final boolean[] continuesClass;     // depth -> order[depth] is interchangeable with order[depth - 1]
+        final SymmetryClasses symmetry;
+        final long[] bestValue;             // section -> best static preference contribution
+        final long[] suffixBest;            // depth -> sum of bestValue over order[depth..]
+        final int[][] roomClasses;          // capacity class -> rooms (ascending index)
+        final int[] classCapacity;
+        final int[] minTeachersTarget;
+        final AtomicLong incumbent = new AtomicLong(Long.MIN_VALUE);
+        final AtomicReference<SchedulingSolution> best = new AtomicReference<>();
+        final AtomicLong nodes = new AtomicLong();
+        final AtomicLong nogoodHits = new AtomicLong();
+        final Map<NogoodKey, Long> nogoods = new ConcurrentHashMap<>();
+        final long deadlineNanos;
+        volatile boolean aborted;
+        volatile boolean stopped;
+
+        Search(SchedulingProblem problem, SolverContext context, long deadlineNanos) {
+            this.problem = problem;
+            this.context = context;
+            this.deadlineNanos = deadlineNanos;
+            this.order = IntStream.range(0, problem.numSections()).boxed()
+                    .sorted(Comparator.<Integer>comparingInt(s -> problem.eligibleTeachers(problem.courseOf(s)).length)
+                            .thenComparing(s -> -problem.length(s))
+                            .thenComparing(s -> -problem.seats(s))
+                            .thenComparing(problem::courseOf)
+                            .thenComparing(s -> s))
+                    .mapToInt(Integer::intValue).toArray();
+            this.symmetry = problem.symmetry();
+            this.continuesClass = new boolean[order.length];
+            for (int i = 1; i < order.length; i++) {
+                continuesClass[i] = symmetry.sectionClass(order[i]) == symmetry.sectionClass(order[i - 1]);
+            }
+
+            this.bestValue = new long[problem.numSections()];
+            for (int s = 0; s < problem.numSections(); s++) {
+                bestValue[s] = staticBest(s);
+            }
+            this.suffixBest = new long[order.length + 1];
+            for (int i = order.length - 1; i >= 0; i--) {
+                suffixBest[i] = suffixBest[i + 1] + bestValue[order[i]];
+            }
+
+            TreeMap<Integer, List<Integer>> byCapacity = new TreeMap<>();
+            for (int r = 0; r < problem.numRooms(); r++) {
+                byCapacity.computeIfAbsent(problem.capacity(r), k -> new ArrayList<>()).add(r);
+            }
+            this.roomClasses = new int[byCapacity.size()][];
+            this.classCapacity = new int[byCapacity.size()];
+            int i = 0;
+            for (Map.Entry<Integer, List<Integer>> e : byCapacity.entrySet()) {
+                classCapacity[i] = e.getKey();
+                roomClasses[i++] = e.getValue().stream().mapToInt(Integer::intValue).toArray();
+            }
+
+            this.minTeachersTarget = new int[problem.numCourses()];
+            for (int c = 0; c < problem.numCourses(); c++) {
+                minTeachersTarget[c] = GreedyConstruction.minTeachersTarget(problem, c);
+            }
+        }
+
+        private long staticBest(int s) {
+            int c = problem.courseOf(s);
+            long best = Long.MIN_VALUE;
+            for (int t : problem.eligibleTeachers(c)) {
+                for (int d = 0; d < problem.numDays(); d++) {
+                    for (long starts = problem.startMask(s, t, d); starts != 0; starts &= starts - 1) {
+                        int p = Long.numberOfTrailingZeros(starts);
+                        best = Math.max(best, preferenceValue(s, t, d, p));
+                    }
+                }
+            }
+            return best == Long.MIN_VALUE ? 0 : best;
+        }
+
+        /**
+         * Ordering key of an assignment; members of a section class must take strictly increasing keys.
+         */
+        long symmetryKey(int t, int d, int p) {
+            return (long) problem.slot(d, p) * problem.numTeachers() + t;
+        }
+
+        long preferenceValue(int s, int t, int d, int p) {
+            long value = ObjectiveEvaluator.W_COURSE_PREF * problem.coursePreference(t, problem.courseOf(s));
+            for (int i = 0; i < problem.length(s); i++) {
+                value += ObjectiveEvaluator.W_TIME_PREF * problem.timePreference(t, problem.slot(d, p + i));
+            }
+            return value;
+        }
+
+        boolean meetsMinTeachers(ScheduleState state) {
+            for (int c = 0; c < problem.numCourses(); c++) {
+                if (state.distinctTeachers(c) < minTeachersTarget[c]) return false;
+            }
+            return true;
+        }
+
+        void offer(SchedulingSolution candidate) {
+            if (candidate.isComplete() && meetsMinTeachers(new ScheduleState(problem, candidate))) {
+                offerFeasible(candidate);
+            }
+        }
+
+        void offerFeasible(SchedulingSolution candidate) {
+            long value = ObjectiveEvaluator.evaluate(problem, candidate);
+            synchronized (this) {
+                if (value > incumbent.get() || best.get() == null) {
+                    SchedulingSolution copy = candidate.copy();
+                    copy.setObjective(value);
+                    best.set(copy);
+                    incumbent.set(value);
+                    context.offerIncumbent(copy);
+                }
+            }
+        }
+
+        /**
+         * Value a node must beat: the best of our own incumbent and any published on the shared context.
+         */
+        long bound() {
+            return Math.max(incumbent.get(), context.getIncumbentObjective());
+        }
+
+        boolean shouldStop() {
+            if (aborted) return true;
+            if (context.shouldStop()) {
+                stopped = true;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private record NogoodKey(long h1, long h2, int depth, long classTail) {
+    }
+
+    /**
+     * Explores the subtree below a fixed prefix of assignments ({@code {s, t, d, p, r}} per depth).
+     */
+    private final class SubtreeTask extends RecursiveAction {
+        private final Search search;
+        private final int[][] prefix;
+
+        private ScheduleState state;
+        private long partial;
+        private long h1;
+        private long h2;
+        private int[] remainingByCourse;
+        private long localNodes;
+
+        SubtreeTask(Search search, int[][] prefix) {
+            this.search = search;
+            this.prefix = prefix;
+        }
+
+        @Override
+        protected void compute() {
+            SchedulingProblem problem = search.problem;
+            state = new ScheduleState(problem);
+            remainingByCourse = new int[problem.numCourses()];
+            for (int s = 0; s < problem.numSections(); s++) {
+                remainingByCourse[problem.courseOf(s)] += problem.length(s);
+            }
+            for (int[] a : prefix) {
+                apply(a[0], a[1], a[2], a[3], a[4]);
+            }
+            dfs(prefix.length);
+            search.nodes.addAndGet(localNodes);
+        }
+
+        private void dfs(int depth) {
+            if (search.shouldStop()) return;
+            if ((++localNodes & (CANCEL_CHECK_INTERVAL - 1)) == 0) {
+                if (search.nodes.addAndGet(localNodes) > maxNodes || System.nanoTime() > search.deadlineNanos) {
+                    search.aborted = true;
+                }
+                localNodes = 0;
+            }
+
+            SchedulingProblem problem = search.problem;
+            if (depth == search.order.length) {
+                if (search.meetsMinTeachers(state)) {
+                    search.offerFeasible(state.solution());
+                }
+                return;
+            }
+            long bound = search.bound();
+            if (upperBound(depth) <= bound) return;
+            if (dynamicUpperBound(depth) <= bound) return;
+            if (!minTeachersReachable()) return;
+            if (isNogood(depth)) return;
+
+            List<int[]> candidates = candidates(depth);
+            boolean split = depth < splitDepth && candidates.size() > 1 && getSurplusQueuedTaskCount() <= 1;
+            if (split) {
+                List<SubtreeTask> tasks = new ArrayList<>(candidates.size());
+                for (int[] cand : candidates) {
+                    int[][] childPrefix = Arrays.copyOf(currentPrefix(depth), depth + 1);
+                    childPrefix[depth] = cand;
+                    tasks.add(new SubtreeTask(search, childPrefix));
+                }
+                ForkJoinTask.invokeAll(tasks);
+                return;
+            }
+            for (int[] cand : candidates) {
+                if (search.shouldStop()) return;
+                apply(cand[0], cand[1], cand[2], cand[3], cand[4]);
+                dfs(depth + 1);
+                undo(cand[0]);
+            }
+        }
+
+        private int[][] currentPrefix(int depth) {
+            int[][] result = new int[depth][];
+            SchedulingSolution solution = state.solution();
+            for (int i = 0; i < depth; i++) {
+                int s = search.order[i];
+                result[i] = new int[]{s, solution.teacher(s), solution.day(s), solution.period(s), solution.room(s)};
+            }
+            return result;
+        }
+
+        /**
+         * Feasible values for the section at {@code depth}, best static preference first. Rooms of equal
+         * capacity are interchangeable, so only the first free room of each capacity class is tried;
+         * likewise only the first idle teacher of each teacher class, and only keys above the previous
+         * member of the section's class.
+         */
+        private List<int[]> candidates(int depth) {
+            SchedulingProblem problem = search.problem;
+            int s = search.order[depth];
+            int c = problem.courseOf(s);
+            int length = problem.length(s);
+            long minKey = classTail(depth);
+            Set<Integer> idleClasses = new HashSet<>();
+            List<int[]> result = new ArrayList<>();
+            List<Long> scores = new ArrayList<>();
+            for (int t : problem.eligibleTeachers(c)) {
+                if (!state.canTeach(t, c)) continue;
+                if (state.teacherLoad(t) == 0 && !idleClasses.add(search.symmetry.teacherClass(t))) continue;
+                for (int d = 0; d < problem.numDays(); d++) {
+                    for (long starts = state.freeStarts(s, t, d); starts != 0; starts &= starts - 1) {
+                        int p = Long.numberOfTrailingZeros(starts);
+                        if (search.symmetryKey(t, d, p) <= minKey) continue;
+                        long score = search.preferenceValue(s, t, d, p);
+                        for (int k = 0; k < search.roomClasses.length; k++) {
+                            if (search.classCapacity[k] < problem.seats(s)) continue;
+                            for (int r : search.roomClasses[k]) {
+                                if (state.isRoomFree(r, d, p, length)) {
+                                    result.add(new int[]{s, t, d, p, r});
+                                    scores.add(score);
+                                    break;
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+            Integer[] idx = IntStream.range(0, result.size()).boxed().toArray(Integer[]::new);
+            Arrays.sort(idx, (a, b) -> Long.compare(scores.get(b), scores.get(a)));
+            List<int[]> sorted = new ArrayList<>(idx.length);
+            for (int i : idx) sorted.add(result.get(i));
+            return sorted;
+        }
+
+        /**
+         * Key of the previous member when the section at {@code depth} continues its class, otherwise -1.
+         * Classes are contiguous in the branching order, so no other class is left half placed.
+         */
+        private long classTail(int depth) {
+            if (!search.continuesClass[depth]) return -1;
+            SchedulingSolution solution = state.solution();
+            int prev = search.order[depth - 1];
+            return search.symmetryKey(solution.teacher(prev), solution.day(prev), solution.period(prev));
+        }
+
+        private long upperBound(int depth) {
+            return partial + search.suffixBest[depth] - penaltyLowerBound(depth);
+        }
+
+        private long penaltyLowerBound(int depth) {
+            return ObjectiveEvaluator.W_WORKLOAD_BALANCE * workloadRangeLowerBound()
+                    + ObjectiveEvaluator.W_COMPACTNESS * compactnessLowerBound(depth);
+        }
+
+        /**
+         * Placing one block closes at most one existing class-to-free transition, so the final number of
+         * gaps is at least the current number minus the sections still open.
+         */
+        private long compactnessLowerBound(int depth) {
+            SchedulingProblem problem = search.problem;
+            long gaps = 0;
+            for (int t = 0; t < problem.numTeachers(); t++) {
+                if (state.teacherLoad(t) == 0) continue;
+                for (int d = 0; d < problem.numDays(); d++) {
+                    gaps += ObjectiveEvaluator.gaps(state.teacherDayMask(t, d), problem.numPeriods());
+                }
+            }
+            return Math.max(0, gaps - (search.order.length - depth));
+        }
+
+        /**
+         * Like {@link #upperBound(int)} but with each open section's best value recomputed against the
+         * current occupancy (forward checking): a section with no feasible value makes the node infeasible.
+         */
+        private long dynamicUpperBound(int depth) {
+            SchedulingProblem problem = search.problem;
+            long bound = partial - penaltyLowerBound(depth);
+            for (int i = depth; i < search.order.length; i++) {
+                int s = search.order[i];
+                int c = problem.courseOf(s);
+                long best = Long.MIN_VALUE;
+                for (int t : problem.eligibleTeachers(c)) {
+                    if (!state.canTeach(t, c)) continue;
+                    for (int d = 0; d < problem.numDays(); d++) {
+                        for (long starts = state.freeStarts(s, t, d); starts != 0; starts &= starts - 1) {
+                            int p = Long.numberOfTrailingZeros(starts);
+                            long value = search.preferenceValue(s, t, d, p);
+                            if (value > best && hasFreeRoom(s, d, p)) {
+                                best = value;
+                            }
+                        }
+                    }
+                }
+                if (best == Long.MIN_VALUE) {
+                    return Long.MIN_VALUE;
+                }
+                bound += best;
+            }
+            return bound;
+        }
+
+        private boolean hasFreeRoom(int s, int d, int p) {
+            SchedulingProblem problem = search.problem;
+            for (int k = search.roomClasses.length - 1; k >= 0 && search.classCapacity[k] >= problem.seats(s); k--) {
+                for (int r : search.roomClasses[k]) {
+                    if (state.isRoomFree(r, d, p, problem.length(s))) return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Final max load is at least the current max; final min over loaded teachers is at most the
+         * smallest (current load + periods it could still receive) among currently loaded teachers.
+         */
+        private long workloadRangeLowerBound() {
+            SchedulingProblem problem = search.problem;
+            int max = 0;
+            long minReachable = Long.MAX_VALUE;
+            int loaded = 0;
+            for (int t = 0; t < problem.numTeachers(); t++) {
+                int load = state.teacherLoad(t);
+                if (load == 0) continue;
+                loaded++;
+                max = Math.max(max, load);
+                long reachable = load;
+                for (int c : problem.eligibleCourses(t)) {
+                    reachable += remainingByCourse[c];
+                }
+                minReachable = Math.min(minReachable, reachable);
+            }
+            return loaded > 1 ? Math.max(0, max - minReachable) : 0;
+        }
+
+        private boolean minTeachersReachable() {
+            SchedulingProblem problem = search.problem;
+            for (int c = 0; c < problem.numCourses(); c++) {
+                int open = 0;
+                for (int s : problem.sectionsOf(c)) {
+                    if (!state.solution().isAssigned(s)) open++;
+                }
+                if (state.distinctTeachers(c) + open < search.minTeachersTarget[c]) return false;
+            }
+            return true;
+        }
+
+        private boolean isNogood(int depth) {
+            if (depth == 0) return false;
+            NogoodKey key = new NogoodKey(h1, h2, depth, classTail(depth));
+            Long seen = search.nogoods.get(key);
+            if (seen != null && seen >= partial) {
+                search.nogoodHits.incrementAndGet();
+                return true;
+            }
+            if (seen != null || search.nogoods.size() < nogoodCacheSize) {
+                search.nogoods.merge(key, partial, Math::max);
+            }
+            return false;
+        }
+
+        private void apply(int s, int t, int d, int p, int r) {
+            SchedulingProblem problem = search.problem;
+            int c = problem.courseOf(s);
+            toggleHash(s, t, d, p, r, state.sectionsTaught(t, c), state.sectionsTaught(t, c) + 1);
+            state.place(s, t, d, p, r);
+            partial += search.preferenceValue(s, t, d, p);
+            remainingByCourse[c] -= problem.length(s);
+        }
+
+        private void undo(int s) {
+            SchedulingProblem problem = search.problem;
+            SchedulingSolution solution = state.solution();
+            int t = solution.teacher(s), d = solution.day(s), p = solution.period(s), r = solution.room(s);
+            int c = problem.courseOf(s);
+            partial -= search.preferenceValue(s, t, d, p);
+            remainingByCourse[c] += problem.length(s);
+            state.remove(s);
+            toggleHash(s, t, d, p, r, state.sectionsTaught(t, c) + 1, state.sectionsTaught(t, c));
+        }
+
+        private void toggleHash(int s, int t, int d, int p, int r, int countBefore, int countAfter) {
+            SchedulingProblem problem = search.problem;
+            int slots = problem.numSlots();
+            for (int i = 0; i < problem.length(s); i++) {
+                int slot = problem.slot(d, p + i);
+                long teacherKey = 1L + (long) t * slots + slot;
+                long roomKey = (1L << 40) + (long) r * slots + slot;
+                h1 ^= mix(HASH_SEED_1 ^ teacherKey) ^ mix(HASH_SEED_1 ^ roomKey);
+                h2 ^= mix(HASH_SEED_2 ^ teacherKey) ^ mix(HASH_SEED_2 ^ roomKey);
+            }
+            long pair = ((long) t * problem.numCourses() + problem.courseOf(s)) << 20;
+            h1 ^= mix(HASH_SEED_1 ^ (pair | countBefore)) ^ mix(HASH_SEED_1 ^ (pair | countAfter));
+            h2 ^= mix(HASH_SEED_2 ^ (pair | countBefore)) ^ mix(HASH_SEED_2 ^ (pair | countAfter));
+        }
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private int threads() {
+        return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+}
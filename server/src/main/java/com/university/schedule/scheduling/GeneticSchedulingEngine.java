@@ -0,0 +1,373 @@
+package com.university.schedule.scheduling;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Island-model genetic algorithm for semesters where local search gets stuck. Each island evolves its
+ * own population on a separate thread; after every {@code migration-interval} generations the islands
+ * pause and each sends copies of its best schedules to the next island in a ring, replacing that
+ * island's worst.
+ * <p>
+ * A chromosome is one int array of {@code (teacher, slot, room)} triples per section. Crossover takes
+ * the sections of a random set of teachers (or days) from one parent and the sections of the remaining
+ * teachers (or days) from the other, so inherited parts never collide in a teacher's (or room's) week;
+ * inherited genes that still break a hard constraint, and the sections neither parent could hand
+ * over, are re-inserted greedily and polished by a relocation descent over just those sections.
+ * Mutation frees the sections of one random teacher and re-inserts them. Children are therefore
+ * always schedules that meet the hard constraints; fitness ranks by placed sections, then by the
+ * teachers missing from {@code min_teachers} targets, then by the objective in the context's weights.
+ * <p>
+ * Every island draws from its own split of the context's seed and migration runs on the calling
+ * thread in island order, so a run with a fixed island count is reproducible as long as no deadline
+ * cuts it short. The island count defaults to the available processors; set it to compare runs
+ * across machines.
+ */
+@Slf4j
+@Component
+public class GeneticSchedulingEngine implements SchedulingEngine {
+
+    public static final String NAME = "genetic";
+
+    private static final int TOURNAMENT_SIZE = 2;
+    private static final int ELITE = 1;
+
+    @Value("${scheduling.genetic.islands:0}")
+    private int islands;
+
+    @Value("${scheduling.genetic.population:16}")
+    private int population = 16;
+
+    @Value("${scheduling.genetic.generations:100}")
+    private int generations = 100;
+
+    @Value("${scheduling.genetic.migration-interval:10}")
+    private int migrationInterval = 10;
+
+    @Value("${scheduling.genetic.migrants:2}")
+    private int migrants = 2;
+
+    @Value("${scheduling.genetic.mutation-rate:0.3}")
+    private double mutationRate = 0.3;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isWeightAware() {
+        return true;
+    }
+
+    @Override
+    public String getConfiguration() {
+        return "islands=" + islandCount() + ";population=" + population + ";generations=" + generations
+                + ";migration-interval=" + migrationInterval + ";migrants=" + migrants + ";mutation-rate=" + mutationRate;
+    }
+
+    private int islandCount() {
+        return islands > 0 ? islands : Runtime.getRuntime().availableProcessors();
+    }
+
+    @Override
+    public SchedulingSolution solve(SchedulingProblem problem, SolverContext context) {
+        long start = System.currentTimeMillis();
+        ObjectiveWeights weights = context.getObjectiveWeights();
+        int islandCount = islandCount();
+        int size = Math.max(population, ELITE + 1);
+        SplittableRandom root = new SplittableRandom(context.getSeed());
+        List<Island> archipelago = new ArrayList<>();
+        for (int i = 0; i < islandCount; i++) {
+            archipelago.add(new Island(problem, weights, root.split(), context.fork(context.getSeed() + i)));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(islandCount);
+        int generation = 0;
+        try {
+            List<Callable<Void>> seeding = new ArrayList<>();
+            for (int i = 0; i < islandCount; i++) {
+                Island island = archipelago.get(i);
+                boolean greedy = i == 0;
+                seeding.add(() -> {
+                    island.seed(size, greedy, context);
+                    return null;
+                });
+            }
+            run(pool, seeding);
+            publish(problem, best(archipelago), context);
+
+            while (generation < generations && !context.shouldStop()) {
+                int epoch = Math.min(Math.max(1, migrationInterval), generations - generation);
+                List<Callable<Void>> tasks = new ArrayList<>();
+                for (Island island : archipelago) {
+                    tasks.add(() -> {
+                        for (int g = 0; g < epoch && !context.shouldStop(); g++) island.evolve();
+                        return null;
+                    });
+                }
+                run(pool, tasks);
+                generation += epoch;
+                migrate(archipelago);
+                publish(problem, best(archipelago), context);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Individual best = best(archipelago);
+        ScheduleState state = new ScheduleState(problem, best.decode(problem));
+        GreedyConstruction.improve(state, context);
+        SchedulingSolution solution = state.solution().copy();
+        solution.setObjective(ObjectiveEvaluator.evaluate(problem, solution, weights));
+        if (GreedyConstruction.isFeasible(state)) {
+            context.offerIncumbent(solution);
+        }
+        log.info("Genetic engine: {} islands x {} schedules, {} generations, objective {} (best chromosome {}) in {} ms",
+                islandCount, size, generation, solution.getObjective(), best.objective, System.currentTimeMillis() - start);
+        return solution;
+    }
+
+    private static void run(ForkJoinPool pool, List<Callable<Void>> tasks) {
+        try {
+            for (var future : pool.invokeAll(tasks)) future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Genetic island failed", e.getCause());
+        }
+    }
+
+    /**
+     * Ring migration: copies of each island's best schedules replace the worst of the next island.
+     * Emigrants are taken from every island before any island receives, so the order does not matter.
+     */
+    private void migrate(List<Island> archipelago) {
+        if (archipelago.size() < 2 || migrants <= 0) return;
+        List<List<Individual>> emigrants = new ArrayList<>();
+        for (Island island : archipelago) emigrants.add(island.elite(migrants));
+        for (int i = 0; i < archipelago.size(); i++) {
+            archipelago.get((i + 1) % archipelago.size()).receive(emigrants.get(i));
+        }
+    }
+
+    private static Individual best(List<Island> archipelago) {
+        return archipelago.stream().map(Island::best).min(Individual.RANKING).orElseThrow();
+    }
+
+    private static void publish(SchedulingProblem problem, Individual best, SolverContext context) {
+        if (!best.feasible) return;
+        SchedulingSolution solution = best.decode(problem);
+        solution.setObjective(best.objective);
+        context.offerIncumbent(solution);
+    }
+
+    /**
+     * A schedule as {@code (teacher, slot, room)} per section, {@link SchedulingSolution#UNASSIGNED}
+     * throughout for unplaced sections, with its fitness.
+     */
+    private static final class Individual {
+
+        static final Comparator<Individual> RANKING = Comparator.<Individual>comparingInt(i -> -i.placed)
+                .thenComparingInt(i -> i.shortfall)
+                .thenComparingLong(i -> -i.objective);
+
+        final int[] genes;
+        final int placed;
+        final int shortfall;    // teachers missing from the courses' min_teachers targets
+        final boolean feasible;
+        final long objective;
+
+        Individual(ScheduleState state, ObjectiveWeights weights) {
+            SchedulingProblem problem = state.problem();
+            SchedulingSolution solution = state.solution();
+            this.genes = new int[3 * problem.numSections()];
+            for (int s = 0; s < problem.numSections(); s++) {
+                boolean assigned = solution.isAssigned(s);
+                genes[3 * s] = assigned ? solution.teacher(s) : SchedulingSolution.UNASSIGNED;
+                genes[3 * s + 1] = assigned ? problem.slot(solution.day(s), solution.period(s)) : SchedulingSolution.UNASSIGNED;
+                genes[3 * s + 2] = assigned ? solution.room(s) : SchedulingSolution.UNASSIGNED;
+            }
+            this.placed = solution.countAssigned();
+            int missing = 0;
+            for (int c = 0; c < problem.numCourses(); c++) {
+                missing += Math.max(0, GreedyConstruction.minTeachersTarget(problem, c) - state.distinctTeachers(c));
+            }
+            this.shortfall = missing;
+            this.feasible = placed == problem.numSections() && shortfall == 0;
+            this.objective = ObjectiveEvaluator.evaluate(problem, solution, weights);
+        }
+
+        int teacher(int s) { return genes[3 * s]; }
+        int slot(int s) { return genes[3 * s + 1]; }
+        int room(int s) { return genes[3 * s + 2]; }
+
+        SchedulingSolution decode(SchedulingProblem problem) {
+            SchedulingSolution solution = new SchedulingSolution(problem.numSections());
+            for (int s = 0; s < problem.numSections(); s++) {
+                if (teacher(s) < 0) continue;
+                solution.assign(s, teacher(s), slot(s) / problem.numPeriods(), slot(s) % problem.numPeriods(), room(s));
+            }
+            return solution;
+        }
+    }
+
+    private final class Island {
+        private final SchedulingProblem problem;
+        private final ObjectiveWeights weights;
+        private final SplittableRandom random;
+        private final SolverContext context;   // forked, so polishing children does not publish them
+        private final List<Individual> members = new ArrayList<>();
+
+        Island(SchedulingProblem problem, ObjectiveWeights weights, SplittableRandom random, SolverContext context) {
+            this.problem = problem;
+            this.weights = weights;
+            this.random = random;
+            this.context = context;
+        }
+
+        /**
+         * Fills the island with schedules built in random section orders; the first island also gets
+         * the greedy schedule (completed from the warm start, if any).
+         */
+        void seed(int size, boolean greedy, SolverContext runContext) {
+            if (greedy) {
+                ScheduleState state = GreedyConstruction.initialState(problem, runContext);
+                GreedyConstruction.complete(state, context);
+                members.add(new Individual(state, weights));
+            }
+            int[] order = IntStream.range(0, problem.numSections()).toArray();
+            while (members.size() < size && (members.isEmpty() || !runContext.shouldStop())) {
+                shuffle(order);
+                ScheduleState state = new ScheduleState(problem);
+                reinsert(state, order, false);
+                members.add(new Individual(state, weights));
+            }
+            members.sort(Individual.RANKING);
+        }
+
+        void evolve() {
+            List<Individual> next = new ArrayList<>(members.subList(0, Math.min(ELITE, members.size())));
+            while (next.size() < members.size()) {
+                Individual a = tournament(), b = tournament();
+                ScheduleState child = random.nextBoolean() ? crossByTeacher(a, b) : crossByDay(a, b);
+                if (random.nextDouble() < mutationRate) mutate(child);
+                next.add(new Individual(child, weights));
+            }
+            next.sort(Individual.RANKING);
+            members.clear();
+            members.addAll(next);
+        }
+
+        Individual best() {
+            return members.get(0);
+        }
+
+        List<Individual> elite(int count) {
+            return List.copyOf(members.subList(0, Math.min(count, members.size())));
+        }
+
+        void receive(List<Individual> immigrants) {
+            int keep = Math.max(ELITE, members.size() - immigrants.size());
+            members.subList(keep, members.size()).clear();
+            members.addAll(immigrants);
+            members.sort(Individual.RANKING);
+        }
+
+        private Individual tournament() {
+            Individual winner = members.get(random.nextInt(members.size()));
+            for (int i = 1; i < TOURNAMENT_SIZE; i++) {
+                Individual rival = members.get(random.nextInt(members.size()));
+                if (Individual.RANKING.compare(rival, winner) < 0) winner = rival;
+            }
+            return winner;
+        }
+
+        /**
+         * Sections of a random half of the teachers from {@code a}, sections whose teacher in {@code b}
+         * is in the other half from {@code b}.
+         */
+        private ScheduleState crossByTeacher(Individual a, Individual b) {
+            boolean[] fromA = new boolean[problem.numTeachers()];
+            for (int t = 0; t < fromA.length; t++) fromA[t] = random.nextBoolean();
+            ScheduleState state = new ScheduleState(problem);
+            for (int s = 0; s < problem.numSections(); s++) {
+                if (a.teacher(s) >= 0 && fromA[a.teacher(s)]) inherit(state, a, s);
+            }
+            for (int s = 0; s < problem.numSections(); s++) {
+                if (b.teacher(s) >= 0 && !fromA[b.teacher(s)]) inherit(state, b, s);
+            }
+            complete(state);
+            return state;
+        }
+
+        /**
+         * Sections on a random half of the days from {@code a}, sections on the other days from {@code b}.
+         */
+        private ScheduleState crossByDay(Individual a, Individual b) {
+            boolean[] fromA = new boolean[problem.numDays()];
+            for (int d = 0; d < fromA.length; d++) fromA[d] = random.nextBoolean();
+            ScheduleState state = new ScheduleState(problem);
+            for (int s = 0; s < problem.numSections(); s++) {
+                if (a.teacher(s) >= 0 && fromA[a.slot(s) / problem.numPeriods()]) inherit(state, a, s);
+            }
+            for (int s = 0; s < problem.numSections(); s++) {
+                if (b.teacher(s) >= 0 && !fromA[b.slot(s) / problem.numPeriods()]) inherit(state, b, s);
+            }
+            complete(state);
+            return state;
+        }
+
+        private void inherit(ScheduleState state, Individual parent, int s) {
+            int d = parent.slot(s) / problem.numPeriods(), p = parent.slot(s) % problem.numPeriods();
+            if (state.canPlace(s, parent.teacher(s), d, p, parent.room(s))) {
+                state.place(s, parent.teacher(s), d, p, parent.room(s));
+            }
+        }
+
+        /**
+         * Frees the sections of one random teacher and re-inserts them.
+         */
+        private void mutate(ScheduleState state) {
+            int teacher = random.nextInt(problem.numTeachers());
+            SchedulingSolution solution = state.solution();
+            for (int s = 0; s < problem.numSections(); s++) {
+                if (solution.isAssigned(s) && solution.teacher(s) == teacher) state.remove(s);
+            }
+            complete(state);
+        }
+
+        /**
+         * Re-inserts every unassigned section and polishes only those.
+         */
+        private void complete(ScheduleState state) {
+            reinsert(state, GreedyConstruction.constructionOrder(state), true);
+        }
+
+        private void reinsert(ScheduleState state, int[] order, boolean polish) {
+            List<Integer> unplaced = new ArrayList<>();
+            for (int s : order) {
+                if (!state.solution().isAssigned(s) && !GreedyConstruction.insertBest(state, s)) unplaced.add(s);
+            }
+            GreedyConstruction.repair(state, unplaced, context);
+            GreedyConstruction.spreadTeachers(state, context);
+            if (polish) GreedyConstruction.improve(state, context, order);
+        }
+
+        private void shuffle(int[] order) {
+            for (int i = order.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int tmp = order[i];
+                order[i] = order[j];
+                order[j] = tmp;
+            }
+        }
+    }
+}
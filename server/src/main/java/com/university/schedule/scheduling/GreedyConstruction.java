@@ -0,0 +1,357 @@
+package com.university.schedule.scheduling;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Constructive building blocks shared by the in-process engines: best-insertion of a single section,
+ * single-ejection repair of sections that could not be inserted, and a pass that spreads course
+ * sections over more teachers until {@code min_teachers} is met.
+ */
+public final class GreedyConstruction {
+
+    private static final int MAX_REPAIR_ROUNDS = 3;
+    private static final int MAX_IMPROVE_PASSES = 10;
+
+    private GreedyConstruction() {
+    }
+
+    /**
+     * Starting state for a run: the context's warm start (minus assignments that are no longer
+     * feasible) or an empty schedule.
+     */
+    public static ScheduleState initialState(SchedulingProblem problem, SolverContext context) {
+        SchedulingSolution warmStart = context.getWarmStart();
+        return warmStart != null ? new ScheduleState(problem, warmStart) : new ScheduleState(problem);
+    }
+
+    /**
+     * Places every unassigned section of the state: hardest sections first, then repair, then the
+     * {@code min_teachers} pass. Existing assignments are only moved by repair and the teacher pass.
+     */
+    public static void complete(ScheduleState state, SolverContext context) {
+        List<Integer> unplaced = new ArrayList<>();
+        for (int s : constructionOrder(state)) {
+            if (context.isCancelled()) return;
+            if (!insertBest(state, s)) {
+                unplaced.add(s);
+            }
+        }
+        repair(state, unplaced, context);
+        spreadTeachers(state, context);
+    }
+
+    /**
+     * Unassigned sections ordered by fewest eligible teachers, then longest, then largest.
+     */
+    public static int[] constructionOrder(ScheduleState state) {
+        SchedulingProblem problem = state.problem();
+        return IntStream.range(0, problem.numSections())
+                .filter(s -> !state.solution().isAssigned(s))
+                .boxed()
+                .sorted(Comparator.<Integer>comparingInt(s -> problem.eligibleTeachers(problem.courseOf(s)).length)
+                        .thenComparing(s -> -problem.length(s))
+                        .thenComparing(s -> -problem.seats(s))
+                        .thenComparing(s -> s))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    /**
+     * Inserts the section at the feasible (teacher, day, period) with the best objective delta,
+     * using the smallest free room that fits. Returns {@code false} when no feasible position exists.
+     */
+    public static boolean insertBest(ScheduleState state, int s) {
+        SchedulingProblem problem = state.problem();
+        int c = problem.courseOf(s);
+        int length = problem.length(s);
+        int numPeriods = problem.numPeriods();
+
+        int[] loads = state.teacherLoads();
+        int loaded = 0;
+        int curMax = 0;
+        int curMin = Integer.MAX_VALUE;
+        for (int l : loads) {
+            if (l <= 0) continue;
+            loaded++;
+            curMax = Math.max(curMax, l);
+            curMin = Math.min(curMin, l);
+        }
+        int curRange = loaded > 1 ? curMax - curMin : 0;
+
+        long bestScore = Long.MIN_VALUE;
+        boolean bestOpensPair = true;
+        int bestT = -1, bestD = -1, bestP = -1, bestR = -1;
+
+        for (int t : problem.eligibleTeachers(c)) {
+            if (!state.canTeach(t, c)) continue;
+            boolean opensPair = state.sectionsTaught(t, c) == 0;
+            int newLoad = loads[t] + length;
+            int newLoaded = loads[t] == 0 ? loaded + 1 : loaded;
+            int newMax = Math.max(curMax, newLoad);
+            int newMin = loads[t] == 0 ? Math.min(curMin, newLoad) : curMin;
+            int newRange = newLoaded > 1 ? newMax - newMin : 0;
+            long base = ObjectiveEvaluator.W_COURSE_PREF * problem.coursePreference(t, c)
+                    - ObjectiveEvaluator.W_WORKLOAD_BALANCE * (newRange - curRange);
+
+            for (int d = 0; d < problem.numDays(); d++) {
+                long mask = state.teacherDayMask(t, d);
+                int gapsBefore = ObjectiveEvaluator.gaps(mask, numPeriods);
+                for (long starts = state.freeStarts(s, t, d); starts != 0; starts &= starts - 1) {
+                    int p = Long.numberOfTrailingZeros(starts);
+                    long block = ScheduleState.blockMask(p, length);
+
+                    long score = base - ObjectiveEvaluator.W_COMPACTNESS
+                            * (ObjectiveEvaluator.gaps(mask | block, numPeriods) - gapsBefore);
+                    for (int i = 0; i < length; i++) {
+                        score += ObjectiveEvaluator.W_TIME_PREF * problem.timePreference(t, problem.slot(d, p + i));
+                    }
+                    boolean better = score > bestScore || (score == bestScore && bestOpensPair && !opensPair);
+                    if (!better) continue;
+
+                    int r = state.findRoom(s, d, p);
+                    if (r < 0) continue;
+                    bestScore = score;
+                    bestOpensPair = opensPair;
+                    bestT = t;
+                    bestD = d;
+                    bestP = p;
+                    bestR = r;
+                }
+            }
+        }
+
+        if (bestT < 0) {
+            return false;
+        }
+        state.place(s, bestT, bestD, bestP, bestR);
+        return true;
+    }
+
+    /**
+     * Relocation descent: removes each section and re-inserts it at its best position, keeping the
+     * move only if the full objective improves. Repeats until a pass brings no improvement.
+     */
+    public static void improve(ScheduleState state, SolverContext context) {
+        improve(state, context, IntStream.range(0, state.problem().numSections()).toArray());
+    }
+
+    /**
+     * Relocation descent that only moves the given sections; all other assignments stay where they are.
+     * The descent is anytime: it stops at the context's deadline or target, and each improving pass
+     * that leaves a feasible schedule is published as the incumbent. Moves are judged under the
+     * context's objective weights.
+     */
+    public static void improve(ScheduleState state, SolverContext context, int[] movable) {
+        SchedulingProblem problem = state.problem();
+        SchedulingSolution solution = state.solution();
+        ObjectiveWeights weights = context.getObjectiveWeights();
+        long current = ObjectiveEvaluator.evaluate(problem, solution, weights);
+        for (int pass = 0; pass < MAX_IMPROVE_PASSES; pass++) {
+            boolean improved = false;
+            for (int s : movable) {
+                if (context.shouldStop()) return;
+                if (!solution.isAssigned(s)) continue;
+                int t = solution.teacher(s), d = solution.day(s), p = solution.period(s), r = solution.room(s);
+                int c = problem.courseOf(s);
+                int requiredTeachers = Math.min(state.distinctTeachers(c), minTeachersTarget(problem, c));
+                state.remove(s);
+                if (insertBest(state, s)) {
+                    long candidate = ObjectiveEvaluator.evaluate(problem, solution, weights);
+                    if (candidate > current && state.distinctTeachers(c) >= requiredTeachers) {
+                        current = candidate;
+                        improved = true;
+                        continue;
+                    }
+                    state.remove(s);
+                }
+                state.place(s, t, d, p, r);
+            }
+            if (!improved) break;
+            publish(state, context, current);
+        }
+    }
+
+    /**
+     * Offers the state's schedule as the incumbent if it is feasible.
+     */
+    public static void publish(ScheduleState state, SolverContext context, long objective) {
+        if (isFeasible(state)) {
+            SchedulingSolution snapshot = state.solution().copy();
+            snapshot.setObjective(objective);
+            context.offerIncumbent(snapshot);
+        }
+    }
+
+    /**
+     * Tries to place each unplaced section by re-packing the rooms of a day around it
+     * ({@link RoomAllocator#insertRepacking}), then by ejecting at most one conflicting section and
+     * re-inserting that section elsewhere. Unsuccessful attempts are undone.
+     */
+    public static void repair(ScheduleState state, List<Integer> unplaced, SolverContext context) {
+        for (int round = 0; round < MAX_REPAIR_ROUNDS && !unplaced.isEmpty(); round++) {
+            Iterator<Integer> it = unplaced.iterator();
+            boolean progress = false;
+            while (it.hasNext()) {
+                if (context.isCancelled()) return;
+                int s = it.next();
+                if (insertBest(state, s) || RoomAllocator.insertRepacking(state, s) || insertWithEjection(state, s)) {
+                    it.remove();
+                    progress = true;
+                }
+            }
+            if (!progress) break;
+        }
+    }
+
+    private static boolean insertWithEjection(ScheduleState state, int s) {
+        SchedulingProblem problem = state.problem();
+        SchedulingSolution solution = state.solution();
+        int c = problem.courseOf(s);
+        int length = problem.length(s);
+
+        for (int t : problem.eligibleTeachers(c)) {
+            for (int d = 0; d < problem.numDays(); d++) {
+                for (long starts = problem.startMask(s, t, d); starts != 0; starts &= starts - 1) {
+                    int p = Long.numberOfTrailingZeros(starts);
+                    int teacherBlocker = singleOwner(state, t, d, p, length, true);
+                    if (teacherBlocker == -2) continue;
+
+                    for (int r : problem.roomsFor(s)) {
+                        int roomBlocker = singleOwner(state, r, d, p, length, false);
+                        if (roomBlocker == -2) continue;
+                        if (teacherBlocker >= 0 && roomBlocker >= 0 && teacherBlocker != roomBlocker) continue;
+                        int victim = teacherBlocker >= 0 ? teacherBlocker : roomBlocker;
+                        if (victim < 0) {
+                            if (state.canPlace(s, t, d, p, r)) {
+                                state.place(s, t, d, p, r);
+                                return true;
+                            }
+                            continue;
+                        }
+
+                        int vt = solution.teacher(victim), vd = solution.day(victim);
+                        int vp = solution.period(victim), vr = solution.room(victim);
+                        state.remove(victim);
+                        if (state.canPlace(s, t, d, p, r)) {
+                            state.place(s, t, d, p, r);
+                            if (insertBest(state, victim)) {
+                                return true;
+                            }
+                            state.remove(s);
+                        }
+                        state.place(victim, vt, vd, vp, vr);
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Section occupying the block for a teacher ({@code teacher = true}) or room: {@code -1} if the
+     * block is free, the section if exactly one section occupies it, {@code -2} otherwise.
+     */
+    private static int singleOwner(ScheduleState state, int resource, int d, int p, int length, boolean teacher) {
+        SchedulingProblem problem = state.problem();
+        int owner = -1;
+        for (int i = 0; i < length; i++) {
+            int slot = problem.slot(d, p + i);
+            int o = teacher ? state.teacherOwner(resource, slot) : state.roomOwner(resource, slot);
+            if (o < 0) continue;
+            if (owner >= 0 && owner != o) return -2;
+            owner = o;
+        }
+        return owner;
+    }
+
+    /**
+     * Moves sections to additional eligible teachers for courses taught by fewer than
+     * {@code min_teachers} distinct teachers, as far as the data allows. The same time and room is
+     * tried first, then the new teacher's best free slot.
+     */
+    public static void spreadTeachers(ScheduleState state, SolverContext context) {
+        SchedulingProblem problem = state.problem();
+        SchedulingSolution solution = state.solution();
+        for (int c = 0; c < problem.numCourses(); c++) {
+            int target = minTeachersTarget(problem, c);
+            for (int s : problem.sectionsOf(c)) {
+                if (context.isCancelled() || state.distinctTeachers(c) >= target) break;
+                if (!solution.isAssigned(s)) continue;
+                int t = solution.teacher(s);
+                if (state.sectionsTaught(t, c) < 2) continue;
+                int d = solution.day(s), p = solution.period(s), r = solution.room(s);
+                state.remove(s);
+                boolean moved = false;
+                for (int t2 : problem.eligibleTeachers(c)) {
+                    if (t2 != t && state.sectionsTaught(t2, c) == 0 && state.canPlace(s, t2, d, p, r)) {
+                        state.place(s, t2, d, p, r);
+                        moved = true;
+                        break;
+                    }
+                }
+                for (int t2 : problem.eligibleTeachers(c)) {
+                    if (moved) break;
+                    if (t2 != t && state.sectionsTaught(t2, c) == 0) {
+                        moved = insertForTeacher(state, s, t2);
+                    }
+                }
+                if (!moved) {
+                    state.place(s, t, d, p, r);
+                }
+            }
+        }
+    }
+
+    /**
+     * Places an unassigned section with the given teacher at the free start with the best time
+     * preference, in the smallest free room that fits.
+     */
+    private static boolean insertForTeacher(ScheduleState state, int s, int t) {
+        SchedulingProblem problem = state.problem();
+        if (!state.canTeach(t, problem.courseOf(s))) return false;
+        long bestScore = Long.MIN_VALUE;
+        int bestD = -1, bestP = -1, bestR = -1;
+        for (int d = 0; d < problem.numDays(); d++) {
+            for (long starts = state.freeStarts(s, t, d); starts != 0; starts &= starts - 1) {
+                int p = Long.numberOfTrailingZeros(starts);
+                long score = 0;
+                for (int i = 0; i < problem.length(s); i++) {
+                    score += problem.timePreference(t, problem.slot(d, p + i));
+                }
+                if (score <= bestScore) continue;
+                int r = state.findRoom(s, d, p);
+                if (r < 0) continue;
+                bestScore = score;
+                bestD = d;
+                bestP = p;
+                bestR = r;
+            }
+        }
+        if (bestD < 0) return false;
+        state.place(s, t, bestD, bestP, bestR);
+        return true;
+    }
+
+    /**
+     * Distinct teachers a course must reach: {@code min_teachers}, capped by its section count and
+     * its number of eligible teachers.
+     */
+    public static int minTeachersTarget(SchedulingProblem problem, int c) {
+        return Math.min(problem.minTeachers(c),
+                Math.min(problem.sectionsOf(c).length, problem.eligibleTeachers(c).length));
+    }
+
+    /**
+     * Whether every section is placed and every course reaches its {@link #minTeachersTarget}; only
+     * such solutions are published as a shared incumbent.
+     */
+    public static boolean isFeasible(ScheduleState state) {
+        if (!state.solution().isComplete()) return false;
+        SchedulingProblem problem = state.problem();
+        for (int c = 0; c < problem.numCourses(); c++) {
+            if (state.distinctTeachers(c) < minTeachersTarget(problem, c)) return false;
+        }
+        return true;
+    }
+}
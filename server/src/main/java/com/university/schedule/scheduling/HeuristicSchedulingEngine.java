@@ -0,0 +1,43 @@
+package com.university.schedule.scheduling;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fast constructive heuristic: greedy best insertion (hardest sections first) followed by
+ * single-ejection repair and a relocation descent. A warm start is completed and improved rather than
+ * rebuilt. The constructed schedule and every improving pass are published as incumbents, so a
+ * deadline during the descent still leaves the best schedule so far. Runs in-process, so the
+ * common "heuristic" case needs no research-service call.
+ */
+@Slf4j
+@Component
+public class HeuristicSchedulingEngine implements SchedulingEngine {
+
+    public static final String NAME = "heuristic";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public SchedulingSolution solve(SchedulingProblem problem, SolverContext context) {
+        long start = System.currentTimeMillis();
+        ScheduleState state = GreedyConstruction.initialState(problem, context);
+        GreedyConstruction.complete(state, context);
+        GreedyConstruction.publish(state, context, ObjectiveEvaluator.evaluate(problem, state.solution()));
+        GreedyConstruction.improve(state, context);
+        GreedyConstruction.spreadTeachers(state, context);
+
+        SchedulingSolution solution = state.solution().copy();
+        solution.setObjective(ObjectiveEvaluator.evaluate(problem, solution));
+        if (GreedyConstruction.isFeasible(state)) {
+            context.offerIncumbent(solution);
+        }
+        log.info("Heuristic engine placed {}/{} sections in {} ms, objective {}",
+                solution.countAssigned(), problem.numSections(), System.currentTimeMillis() - start,
+                solution.getObjective());
+        return solution;
+    }
+}
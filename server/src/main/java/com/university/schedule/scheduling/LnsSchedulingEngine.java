@@ -0,0 +1,428 @@
+package com.university.schedule.scheduling;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Large neighbourhood search for semesters too big for the exact engine. Starting from the greedy
+ * schedule (or a completed warm start), each round frees several structured neighbourhoods (the
+ * sections of one teacher's week, of one day, or of one course), re-optimizes each with a
+ * branch-and-bound over the freed sections while every other assignment stays fixed, and keeps the
+ * results that improve the schedule.
+ * <p>
+ * Neighbourhoods of one round involve disjoint sets of teachers, so they are solved in parallel on
+ * copies of the schedule; results are merged in a fixed order and re-checked against the rooms, which
+ * they may share. Neighbourhoods are drawn from the context's seed, so runs bounded by the round and
+ * node limits are reproducible.
+ */
+@Slf4j
+@Component
+public class LnsSchedulingEngine implements SchedulingEngine {
+
+    public static final String NAME = "lns";
+
+    private static final int KIND_TEACHER = 0;
+    private static final int KIND_DAY = 1;
+    private static final int KIND_COURSE = 2;
+    private static final int KINDS = 3;
+
+    @Value("${scheduling.lns.rounds:1000}")
+    private int rounds = 1000;
+
+    @Value("${scheduling.lns.neighbourhood-size:8}")
+    private int neighbourhoodSize = 8;
+
+    @Value("${scheduling.lns.max-nodes:20000}")
+    private long maxNodes = 20_000;
+
+    @Value("${scheduling.lns.parallelism:0}")
+    private int parallelism;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String getConfiguration() {
+        return "rounds=" + rounds + ";size=" + neighbourhoodSize + ";max-nodes=" + maxNodes + ";parallelism=" + threads();
+    }
+
+    private int threads() {
+        return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    @Override
+    public SchedulingSolution solve(SchedulingProblem problem, SolverContext context) {
+        long start = System.currentTimeMillis();
+        ScheduleState state = GreedyConstruction.initialState(problem, context);
+        GreedyConstruction.complete(state, context);
+        GreedyConstruction.improve(state, context);
+        GreedyConstruction.spreadTeachers(state, context);
+        long objective = ObjectiveEvaluator.evaluate(problem, state.solution());
+        long initial = objective;
+        GreedyConstruction.publish(state, context, objective);
+
+        long[] bestValue = new long[problem.numSections()];
+        for (int s = 0; s < problem.numSections(); s++) bestValue[s] = bestPreference(problem, s);
+
+        SplittableRandom random = new SplittableRandom(context.getSeed());
+        int threads = threads();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        int improved = 0;
+        try {
+            for (int round = 0; round < rounds && !context.shouldStop(); round++) {
+                SchedulingSolution base = state.solution().copy();
+                List<Callable<int[][]>> tasks = new ArrayList<>();
+                boolean[] usedTeachers = new boolean[problem.numTeachers()];
+                for (int attempt = 0; attempt < 2 * threads && tasks.size() < threads; attempt++) {
+                    int[] freed = neighbourhood(state, random);
+                    if (freed.length == 0 || !claimTeachers(problem, freed, usedTeachers)) continue;
+                    tasks.add(() -> new Neighbourhood(problem, base, freed, bestValue, context).solve());
+                }
+
+                for (Future<int[][]> future : pool.invokeAll(tasks)) {
+                    int[][] placement = future.get();
+                    if (placement == null) continue;
+                    long candidate = apply(state, placement, objective);
+                    if (candidate > objective) {
+                        objective = candidate;
+                        improved++;
+                        GreedyConstruction.publish(state, context, objective);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new RuntimeException("LNS neighbourhood failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        SchedulingSolution solution = state.solution().copy();
+        solution.setObjective(ObjectiveEvaluator.evaluate(problem, solution));
+        if (GreedyConstruction.isFeasible(state)) {
+            context.offerIncumbent(solution);
+        }
+        log.info("LNS engine: objective {} -> {} with {} improving neighbourhoods on {} threads in {} ms",
+                initial, solution.getObjective(), improved, threads, System.currentTimeMillis() - start);
+        return solution;
+    }
+
+    /**
+     * Sections of a random teacher's week, day or course, cut down to a random subset of at most
+     * {@code neighbourhoodSize} sections.
+     */
+    private int[] neighbourhood(ScheduleState state, SplittableRandom random) {
+        SchedulingProblem problem = state.problem();
+        SchedulingSolution solution = state.solution();
+        int kind = random.nextInt(KINDS);
+        int key = kind == KIND_TEACHER ? random.nextInt(problem.numTeachers())
+                : kind == KIND_DAY ? random.nextInt(problem.numDays())
+                : random.nextInt(problem.numCourses());
+
+        int[] members = new int[problem.numSections()];
+        int n = 0;
+        for (int s = 0; s < problem.numSections(); s++) {
+            if (!solution.isAssigned(s)) continue;
+            boolean member = kind == KIND_TEACHER ? solution.teacher(s) == key
+                    : kind == KIND_DAY ? solution.day(s) == key
+                    : problem.courseOf(s) == key;
+            if (member) members[n++] = s;
+        }
+        int size = Math.min(n, neighbourhoodSize);
+        for (int i = 0; i < size; i++) {
+            int j = i + random.nextInt(n - i);
+            int tmp = members[i];
+            members[i] = members[j];
+            members[j] = tmp;
+        }
+        return Arrays.copyOf(members, size);
+    }
+
+    /**
+     * Reserves every teacher the freed sections may move between; false if one is already taken by
+     * another neighbourhood of the round.
+     */
+    private static boolean claimTeachers(SchedulingProblem problem, int[] freed, boolean[] used) {
+        Set<Integer> teachers = involvedTeachers(problem, freed);
+        for (int t : teachers) {
+            if (used[t]) return false;
+        }
+        for (int t : teachers) used[t] = true;
+        return true;
+    }
+
+    private static Set<Integer> involvedTeachers(SchedulingProblem problem, int[] freed) {
+        Set<Integer> teachers = new TreeSet<>();
+        for (int s : freed) {
+            for (int t : problem.eligibleTeachers(problem.courseOf(s))) teachers.add(t);
+        }
+        return teachers;
+    }
+
+    /**
+     * Moves the sections to the placement found for their neighbourhood and returns the new objective.
+     * The move is undone, returning {@code current}, if a room was taken meanwhile by another merged
+     * neighbourhood or the whole schedule did not improve.
+     */
+    private static long apply(ScheduleState state, int[][] placement, long current) {
+        SchedulingSolution solution = state.solution();
+        int[][] previous = new int[placement.length][];
+        for (int i = 0; i < placement.length; i++) {
+            int s = placement[i][0];
+            previous[i] = new int[]{s, solution.teacher(s), solution.day(s), solution.period(s), solution.room(s)};
+            state.remove(s);
+        }
+        boolean placed = true;
+        for (int[] p : placement) {
+            if (!state.canPlace(p[0], p[1], p[2], p[3], p[4])) {
+                placed = false;
+                break;
+            }
+            state.place(p[0], p[1], p[2], p[3], p[4]);
+        }
+        long objective = placed ? ObjectiveEvaluator.evaluate(state.problem(), solution) : current;
+        if (placed && objective > current && GreedyConstruction.isFeasible(state)) {
+            return objective;
+        }
+        for (int[] p : placement) state.remove(p[0]);
+        for (int[] p : previous) state.place(p[0], p[1], p[2], p[3], p[4]);
+        return current;
+    }
+
+    private static long bestPreference(SchedulingProblem problem, int s) {
+        int c = problem.courseOf(s);
+        long best = Long.MIN_VALUE;
+        for (int t : problem.eligibleTeachers(c)) {
+            for (int d = 0; d < problem.numDays(); d++) {
+                for (long starts = problem.startMask(s, t, d); starts != 0; starts &= starts - 1) {
+                    best = Math.max(best, preference(problem, s, t, d, Long.numberOfTrailingZeros(starts)));
+                }
+            }
+        }
+        return best == Long.MIN_VALUE ? 0 : best;
+    }
+
+    private static long preference(SchedulingProblem problem, int s, int t, int d, int p) {
+        long value = ObjectiveEvaluator.W_COURSE_PREF * problem.coursePreference(t, problem.courseOf(s));
+        for (int i = 0; i < problem.length(s); i++) {
+            value += ObjectiveEvaluator.W_TIME_PREF * problem.timePreference(t, problem.slot(d, p + i));
+        }
+        return value;
+    }
+
+    /**
+     * Branch-and-bound over the freed sections of one neighbourhood. Each section branches over
+     * (teacher, day, start) in descending preference order, in the smallest free room that fits. A
+     * leaf is scored on the terms the neighbourhood can change: the freed sections' preferences, the
+     * gaps of the involved teachers and the workload range. Nodes are cut when the preferences so far
+     * plus the best remaining ones, minus the range among uninvolved teachers, cannot beat the best leaf.
+     * Symmetric placements of interchangeable sections and idle teachers are searched only once.
+     */
+    private final class Neighbourhood {
+        private final SchedulingProblem problem;
+        private final ScheduleState state;
+        private final SolverContext context;
+        private final int[] freed;
+        private final boolean[] continuesClass;
+        private final int[] involved;
+        private final boolean[] isInvolved;
+        private final long[] suffixBest;
+        private final long[][] options;
+        private final int[] placedTeacher;
+        private final int[] placedDay;
+        private final int[] placedPeriod;
+        private final int[] placedRoom;
+        private final int[] bestTeacher;
+        private final int[] bestDay;
+        private final int[] bestPeriod;
+        private final int[] bestRoom;
+        private final int fixedRange;
+        private final int[] minTeachers;
+        private long bestScore;
+        private long nodes;
+
+        Neighbourhood(SchedulingProblem problem, SchedulingSolution base, int[] freed, long[] bestValue,
+                      SolverContext context) {
+            this.problem = problem;
+            this.state = new ScheduleState(problem, base);
+            this.context = context;
+            this.involved = involvedTeachers(problem, freed).stream().mapToInt(Integer::intValue).toArray();
+            this.isInvolved = new boolean[problem.numTeachers()];
+            for (int t : involved) isInvolved[t] = true;
+
+            // Fewest teachers first, then longest: the usual most-constrained order, with section classes contiguous
+            this.freed = Arrays.stream(freed).boxed()
+                    .sorted(Comparator.<Integer>comparingInt(s -> problem.eligibleTeachers(problem.courseOf(s)).length)
+                            .thenComparing(s -> -problem.length(s))
+                            .thenComparing(s -> -problem.seats(s))
+                            .thenComparing(problem::courseOf)
+                            .thenComparing(s -> s))
+                    .mapToInt(Integer::intValue).toArray();
+            int n = freed.length;
+            SymmetryClasses symmetry = problem.symmetry();
+            this.continuesClass = new boolean[n];
+            for (int i = 1; i < n; i++) {
+                continuesClass[i] = symmetry.sectionClass(this.freed[i]) == symmetry.sectionClass(this.freed[i - 1]);
+            }
+            this.suffixBest = new long[n + 1];
+            for (int i = n - 1; i >= 0; i--) suffixBest[i] = suffixBest[i + 1] + bestValue[this.freed[i]];
+            this.options = new long[n][];
+            for (int i = 0; i < n; i++) {
+                int s = this.freed[i];
+                options[i] = new long[problem.eligibleTeachers(problem.courseOf(s)).length
+                        * problem.numDays() * problem.numPeriods()];
+            }
+            this.placedTeacher = new int[n];
+            this.placedDay = new int[n];
+            this.placedPeriod = new int[n];
+            this.placedRoom = new int[n];
+            this.bestTeacher = new int[n];
+            this.bestDay = new int[n];
+            this.bestPeriod = new int[n];
+            this.bestRoom = new int[n];
+            this.minTeachers = new int[problem.numCourses()];
+
+            // The current placement is the score to beat, and its distinct-teacher counts the floor
+            long prefs = 0;
+            for (int i = 0; i < n; i++) {
+                int s = this.freed[i];
+                prefs += preference(problem, s, base.teacher(s), base.day(s), base.period(s));
+            }
+            for (int c = 0; c < problem.numCourses(); c++) {
+                minTeachers[c] = Math.min(state.distinctTeachers(c), GreedyConstruction.minTeachersTarget(problem, c));
+            }
+            this.bestScore = prefs + fixedTerms();
+            for (int s : this.freed) state.remove(s);
+            this.fixedRange = uninvolvedRange();
+        }
+
+        /**
+         * The improved placement as rows of (section, teacher, day, period, room), or null if the
+         * neighbourhood's current placement is already the best found.
+         */
+        int[][] solve() {
+            long initial = bestScore;
+            search(0, 0);
+            if (bestScore <= initial) return null;
+            int[][] placement = new int[freed.length][];
+            for (int i = 0; i < freed.length; i++) {
+                placement[i] = new int[]{freed[i], bestTeacher[i], bestDay[i], bestPeriod[i], bestRoom[i]};
+            }
+            return placement;
+        }
+
+        /**
+         * Order key of a placement; interchangeable sections must take increasing keys.
+         */
+        private long symmetryKey(int t, int d, int p) {
+            return (long) problem.slot(d, p) * problem.numTeachers() + t;
+        }
+
+        private void search(int depth, long prefs) {
+            if (nodes++ >= maxNodes || (nodes & 1023) == 0 && context.shouldStop()) {
+                nodes = maxNodes;
+                return;
+            }
+            if (depth == freed.length) {
+                if (!meetsMinTeachers()) return;
+                long score = prefs + fixedTerms();
+                if (score > bestScore) {
+                    bestScore = score;
+                    System.arraycopy(placedTeacher, 0, bestTeacher, 0, depth);
+                    System.arraycopy(placedDay, 0, bestDay, 0, depth);
+                    System.arraycopy(placedPeriod, 0, bestPeriod, 0, depth);
+                    System.arraycopy(placedRoom, 0, bestRoom, 0, depth);
+                }
+                return;
+            }
+
+            int s = freed[depth];
+            int c = problem.courseOf(s);
+            int numDays = problem.numDays();
+            int numPeriods = problem.numPeriods();
+            long[] buffer = options[depth];
+            int count = 0;
+            // Interchangeable sections take increasing (slot, teacher) keys; one idle teacher per class
+            long minKey = continuesClass[depth]
+                    ? symmetryKey(placedTeacher[depth - 1], placedDay[depth - 1], placedPeriod[depth - 1]) : -1;
+            SymmetryClasses symmetry = problem.symmetry();
+            Set<Integer> idleClasses = new HashSet<>();
+            for (int t : problem.eligibleTeachers(c)) {
+                if (!state.canTeach(t, c)) continue;
+                if (state.teacherLoad(t) == 0 && !idleClasses.add(symmetry.teacherClass(t))) continue;
+                for (int d = 0; d < numDays; d++) {
+                    for (long starts = state.freeStarts(s, t, d); starts != 0; starts &= starts - 1) {
+                        int p = Long.numberOfTrailingZeros(starts);
+                        if (symmetryKey(t, d, p) <= minKey) continue;
+                        // Preference in the high half, (teacher, day, period) in the low half
+                        buffer[count++] = (preference(problem, s, t, d, p) << 32) | ((long) (t * numDays + d) * numPeriods + p);
+                    }
+                }
+            }
+            Arrays.sort(buffer, 0, count);
+
+            for (int i = count - 1; i >= 0 && nodes < maxNodes; i--) {
+                long value = buffer[i] >> 32;
+                if (prefs + value + suffixBest[depth + 1] - ObjectiveEvaluator.W_WORKLOAD_BALANCE * fixedRange <= bestScore) {
+                    break;
+                }
+                int index = (int) buffer[i];
+                int p = index % numPeriods;
+                int d = (index / numPeriods) % numDays;
+                int t = index / numPeriods / numDays;
+                int r = state.findRoom(s, d, p);
+                if (r < 0) continue;
+                state.place(s, t, d, p, r);
+                placedTeacher[depth] = t;
+                placedDay[depth] = d;
+                placedPeriod[depth] = p;
+                placedRoom[depth] = r;
+                search(depth + 1, prefs + value);
+                state.remove(s);
+            }
+        }
+
+        private boolean meetsMinTeachers() {
+            for (int s : freed) {
+                int c = problem.courseOf(s);
+                if (state.distinctTeachers(c) < minTeachers[c]) return false;
+            }
+            return true;
+        }
+
+        /**
+         * Gaps of the involved teachers and the workload range, as objective terms.
+         */
+        private long fixedTerms() {
+            long gaps = 0;
+            for (int t : involved) {
+                for (int d = 0; d < problem.numDays(); d++) {
+                    gaps += ObjectiveEvaluator.gaps(state.teacherDayMask(t, d), problem.numPeriods());
+                }
+            }
+            return -ObjectiveEvaluator.W_COMPACTNESS * gaps
+                    - ObjectiveEvaluator.W_WORKLOAD_BALANCE * ObjectiveEvaluator.workloadRange(state.teacherLoads());
+        }
+
+        private int uninvolvedRange() {
+            int max = Integer.MIN_VALUE, min = Integer.MAX_VALUE;
+            for (int t = 0; t < problem.numTeachers(); t++) {
+                int load = state.teacherLoad(t);
+                if (isInvolved[t] || load <= 0) continue;
+                max = Math.max(max, load);
+                min = Math.min(min, load);
+            }
+            return max > min ? max - min : 0;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.university.schedule.scheduling;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.PriorityQueue;
+
+/**
+ * Successive shortest paths min-cost flow over a flat edge array. Potentials start from a Bellman-Ford
+ * pass, so edge costs may be negative as long as the graph has no negative cycle; later paths use
+ * Dijkstra on reduced costs that stops at the sink, each followed by a blocking flow along the paths it
+ * shows to be cheapest. {@link #solve} stops as soon as the cheapest path no longer has negative
+ * cost, which yields the minimum-cost flow of any value.
+ */
+final class MinCostFlow {
+
+    static final long INFINITE = Long.MAX_VALUE / 4;
+
+    private final int nodes;
+    private int[] head;
+    private int[] next;
+    private int[] to;
+    private long[] capacity;
+    private long[] cost;
+    private int edges;
+
+    MinCostFlow(int nodes) {
+        this.nodes = nodes;
+        this.head = new int[nodes];
+        Arrays.fill(head, -1);
+        int initial = 16;
+        this.next = new int[initial];
+        this.to = new int[initial];
+        this.capacity = new long[initial];
+        this.cost = new long[initial];
+    }
+
+    /**
+     * Adds an edge and its residual twin; returns the edge id for {@link #flow(int)}.
+     */
+    int addEdge(int from, int target, long cap, long edgeCost) {
+        if (edges + 2 > to.length) {
+            int size = to.length * 2;
+            next = Arrays.copyOf(next, size);
+            to = Arrays.copyOf(to, size);
+            capacity = Arrays.copyOf(capacity, size);
+            cost = Arrays.copyOf(cost, size);
+        }
+        int id = edges;
+        link(from, target, cap, edgeCost);
+        link(target, from, 0, -edgeCost);
+        return id;
+    }
+
+    private void link(int from, int target, long cap, long edgeCost) {
+        to[edges] = target;
+        capacity[edges] = cap;
+        cost[edges] = edgeCost;
+        next[edges] = head[from];
+        head[from] = edges++;
+    }
+
+    /**
+     * Flow currently on an edge returned by {@link #addEdge}.
+     */
+    long flow(int edge) {
+        return capacity[edge ^ 1];
+    }
+
+    /**
+     * Pushes flow from {@code source} to {@code sink} along cheapest paths while they have negative
+     * cost. Returns {@code {flow, cost}}.
+     */
+    long[] solve(int source, int sink) {
+        long[] potential = bellmanFord(source);
+        long[] dist = new long[nodes];
+        int[] via = new int[nodes];
+        long totalFlow = 0, totalCost = 0;
+        while (true) {
+            Arrays.fill(dist, INFINITE);
+            Arrays.fill(via, -1);
+            dist[source] = 0;
+            PriorityQueue<long[]> queue = new PriorityQueue<>((a, b) -> Long.compare(a[0], b[0]));
+            queue.add(new long[]{0, source});
+            while (!queue.isEmpty()) {
+                long[] top = queue.poll();
+                int u = (int) top[1];
+                if (top[0] > dist[u]) continue;
+                if (u == sink) break;
+                for (int e = head[u]; e >= 0; e = next[e]) {
+                    if (capacity[e] <= 0) continue;
+                    int v = to[e];
+                    long candidate = dist[u] + cost[e] + potential[u] - potential[v];
+                    if (candidate < dist[v]) {
+                        dist[v] = candidate;
+                        via[v] = e;
+                        queue.add(new long[]{candidate, v});
+                    }
+                }
+            }
+            if (dist[sink] >= INFINITE) break;
+            // Capping at the sink distance keeps reduced costs non-negative for nodes not yet settled
+            for (int v = 0; v < nodes; v++) {
+                potential[v] += Math.min(dist[v], dist[sink]);
+            }
+            long pathCost = potential[sink] - potential[source];
+            if (pathCost >= 0) break;
+
+            long push = augmentShortest(source, sink, potential);
+            if (push == 0) {
+                // Skipping nodes on the path can hide every tight path; fall back to Dijkstra's
+                push = INFINITE;
+                for (int v = sink; v != source; v = to[via[v] ^ 1]) push = Math.min(push, capacity[via[v]]);
+                for (int v = sink; v != source; v = to[via[v] ^ 1]) {
+                    capacity[via[v]] -= push;
+                    capacity[via[v] ^ 1] += push;
+                }
+            }
+            totalFlow += push;
+            totalCost += push * pathCost;
+        }
+        return new long[]{totalFlow, totalCost};
+    }
+
+    /**
+     * Blocking flow over residual edges of zero reduced cost: every such source–sink path is a
+     * cheapest path, so one Dijkstra serves many augmentations. Depth-first with a current-edge
+     * pointer per node; nodes already on the path are skipped, which may leave paths for the next round.
+     */
+    private long augmentShortest(int source, int sink, long[] potential) {
+        int[] current = head.clone();
+        int[] pathEdge = new int[nodes];
+        boolean[] onPath = new boolean[nodes];
+        long pushed = 0;
+        int depth = 0;
+        int u = source;
+        onPath[source] = true;
+        while (true) {
+            if (u == sink) {
+                long push = INFINITE;
+                for (int i = 0; i < depth; i++) push = Math.min(push, capacity[pathEdge[i]]);
+                for (int i = 0; i < depth; i++) {
+                    capacity[pathEdge[i]] -= push;
+                    capacity[pathEdge[i] ^ 1] += push;
+                }
+                pushed += push;
+                for (int i = 1; i <= depth; i++) onPath[to[pathEdge[i - 1]]] = false;
+                depth = 0;
+                u = source;
+                continue;
+            }
+            int e = current[u];
+            while (e >= 0 && (capacity[e] <= 0 || onPath[to[e]] || cost[e] + potential[u] - potential[to[e]] != 0)) {
+                e = next[e];
+            }
+            current[u] = e;
+            if (e >= 0) {
+                pathEdge[depth++] = e;
+                u = to[e];
+                onPath[u] = true;
+            } else {
+                if (depth == 0) return pushed;
+                onPath[u] = false;
+                int back = pathEdge[--depth];
+                u = to[back ^ 1];
+                current[u] = next[back];
+            }
+        }
+    }
+
+    private long[] bellmanFord(int source) {
+        long[] dist = new long[nodes];
+        Arrays.fill(dist, INFINITE);
+        dist[source] = 0;
+        boolean[] queued = new boolean[nodes];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.add(source);
+        queued[source] = true;
+        while (!queue.isEmpty()) {
+            int u = queue.poll();
+            queued[u] = false;
+            for (int e = head[u]; e >= 0; e = next[e]) {
+                if (capacity[e] <= 0) continue;
+                int v = to[e];
+                if (dist[u] + cost[e] < dist[v]) {
+                    dist[v] = dist[u] + cost[e];
+                    if (!queued[v]) {
+                        queued[v] = true;
+                        queue.add(v);
+                    }
+                }
+            }
+        }
+        // Unreachable nodes keep a finite potential so reduced costs never overflow
+        for (int v = 0; v < nodes; v++) {
+            if (dist[v] >= INFINITE) dist[v] = 0;
+        }
+        return dist;
+    }
+}
@@ -0,0 +1,166 @@
+package com.university.schedule.scheduling;
+
+import java.util.*;
+
+/**
+ * Upper bound on the objective of any complete schedule, computed in milliseconds, so the gap of a
+ * heuristic result can be reported. Preferences are bounded by the smaller of two relaxations:
+ * <ul>
+ *     <li>every section at its best (teacher, start), ignoring conflicts;</li>
+ *     <li>a min-cost flow that sends each section's periods to eligible teachers, each of whom has one
+ *     week of non-banned periods valued by their time preferences and teaches at most its
+ *     {@code max_courses} largest courses; sections may split across teachers and periods, but no
+ *     teacher teaches two periods in one slot.</li>
+ * </ul>
+ * Penalties are bounded below by the workload range forced by courses that only one teacher may
+ * teach or that need every eligible teacher; the compactness bound is zero. The bound is in the
+ * default weights.
+ */
+public final class ObjectiveBound {
+
+    private ObjectiveBound() {
+    }
+
+    public static long upperBound(SchedulingProblem problem) {
+        long preferences = Math.min(sectionBound(problem), flowBound(problem));
+        return preferences - ObjectiveEvaluator.W_WORKLOAD_BALANCE * workloadRangeLowerBound(problem);
+    }
+
+    /**
+     * How far {@code objective} is below {@code bound}, in percent of the bound (at least 1); zero when
+     * the objective reaches it.
+     */
+    public static double gapPercent(long bound, long objective) {
+        double gap = 100.0 * Math.max(0, bound - objective) / Math.max(1, Math.abs(bound));
+        return Math.round(gap * 100) / 100.0;
+    }
+
+    private static long sectionBound(SchedulingProblem problem) {
+        long total = 0;
+        for (int s = 0; s < problem.numSections(); s++) {
+            int c = problem.courseOf(s);
+            long best = Long.MIN_VALUE;
+            for (int t : problem.eligibleTeachers(c)) {
+                for (int d = 0; d < problem.numDays(); d++) {
+                    for (long starts = problem.startMask(s, t, d); starts != 0; starts &= starts - 1) {
+                        int p = Long.numberOfTrailingZeros(starts);
+                        long value = ObjectiveEvaluator.W_COURSE_PREF * problem.coursePreference(t, c);
+                        for (int i = 0; i < problem.length(s); i++) {
+                            value += ObjectiveEvaluator.W_TIME_PREF * problem.timePreference(t, problem.slot(d, p + i));
+                        }
+                        best = Math.max(best, value);
+                    }
+                }
+            }
+            if (best != Long.MIN_VALUE) total += best;
+        }
+        return total;
+    }
+
+    /**
+     * Source → (course, length) group (its sections' periods) → eligible teacher → sink over one edge
+     * per distinct time preference of the teacher, with as many units as the teacher has non-banned
+     * slots of that value. A teacher takes at most the periods of its {@code max_courses} largest
+     * eligible courses. A section's course preference is spread evenly over its periods; costs are
+     * scaled by a common multiple of the section lengths to stay integral. The flow stops when no
+     * period adds value, so it also bounds schedules that leave sections out.
+     */
+    private static long flowBound(SchedulingProblem problem) {
+        int numTeachers = problem.numTeachers();
+        Map<List<Integer>, Long> groups = new LinkedHashMap<>();   // (course, length) -> periods
+        long[] coursePeriods = new long[problem.numCourses()];
+        long scale = 1;
+        for (int s = 0; s < problem.numSections(); s++) {
+            groups.merge(List.of(problem.courseOf(s), problem.length(s)), (long) problem.length(s), Long::sum);
+            coursePeriods[problem.courseOf(s)] += problem.length(s);
+            scale = lcm(scale, problem.length(s));
+        }
+
+        int numGroups = groups.size();
+        MinCostFlow flow = new MinCostFlow(numGroups + 2 * numTeachers + 2);
+        int source = numGroups + 2 * numTeachers, sink = source + 1;
+        int g = 0;
+        for (Map.Entry<List<Integer>, Long> group : groups.entrySet()) {
+            int c = group.getKey().get(0), length = group.getKey().get(1);
+            flow.addEdge(source, g, group.getValue(), 0);
+            for (int t : problem.eligibleTeachers(c)) {
+                flow.addEdge(g, numGroups + t, group.getValue(),
+                        -ObjectiveEvaluator.W_COURSE_PREF * problem.coursePreference(t, c) * (scale / length));
+            }
+            g++;
+        }
+        for (int t = 0; t < numTeachers; t++) {
+            long[] eligible = Arrays.stream(problem.eligibleCourses(t)).mapToLong(c -> coursePeriods[c]).sorted().toArray();
+            long load = 0;
+            for (int i = 0; i < Math.min(problem.maxCourses(t), eligible.length); i++) load += eligible[eligible.length - 1 - i];
+            int in = numGroups + t, out = numGroups + numTeachers + t;
+            flow.addEdge(in, out, load, 0);
+
+            int[] values = new int[problem.numSlots()];
+            int count = 0;
+            for (int d = 0; d < problem.numDays(); d++) {
+                long banned = problem.bannedPeriods(t, d);
+                for (int p = 0; p < problem.numPeriods(); p++) {
+                    if ((banned & (1L << p)) == 0) values[count++] = problem.timePreference(t, problem.slot(d, p));
+                }
+            }
+            Arrays.sort(values, 0, count);
+            for (int i = 0; i < count; ) {
+                int j = i;
+                while (j < count && values[j] == values[i]) j++;
+                flow.addEdge(out, sink, j - i, -ObjectiveEvaluator.W_TIME_PREF * values[i] * scale);
+                i = j;
+            }
+        }
+        long cost = flow.solve(source, sink)[1];
+        return Math.floorDiv(-cost, scale);
+    }
+
+    /**
+     * Periods teachers must teach: all of a course's periods for its only eligible teacher, and its
+     * shortest section for every eligible teacher of a course whose {@code min_teachers} target needs
+     * all of them. The range over loaded teachers is at least the largest forced load minus the
+     * smallest load any forced teacher can reach.
+     */
+    private static long workloadRangeLowerBound(SchedulingProblem problem) {
+        int numTeachers = problem.numTeachers();
+        long[] forced = new long[numTeachers];
+        long[] reachable = new long[numTeachers];
+        for (int c = 0; c < problem.numCourses(); c++) {
+            int[] sections = problem.sectionsOf(c);
+            if (sections.length == 0) continue;
+            int[] teachers = problem.eligibleTeachers(c);
+            long total = 0;
+            int shortest = Integer.MAX_VALUE;
+            for (int s : sections) {
+                total += problem.length(s);
+                shortest = Math.min(shortest, problem.length(s));
+            }
+            for (int t : teachers) reachable[t] += total;
+            if (teachers.length == 1) {
+                forced[teachers[0]] += total;
+            } else if (teachers.length > 0 && GreedyConstruction.minTeachersTarget(problem, c) == teachers.length) {
+                for (int t : teachers) forced[t] += shortest;
+            }
+        }
+        long maxForced = 0, minReachable = Long.MAX_VALUE;
+        int loaded = 0;
+        for (int t = 0; t < numTeachers; t++) {
+            if (forced[t] == 0) continue;
+            loaded++;
+            maxForced = Math.max(maxForced, forced[t]);
+            minReachable = Math.min(minReachable, Math.min(reachable[t], problem.numSlots()));
+        }
+        return loaded > 1 ? Math.max(0, maxForced - minReachable) : 0;
+    }
+
+    private static long lcm(long a, long b) {
+        long x = a, y = b;
+        while (y != 0) {
+            long r = x % y;
+            x = y;
+            y = r;
+        }
+        return a / x * b;
+    }
+}
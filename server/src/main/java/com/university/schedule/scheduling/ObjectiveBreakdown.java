@@ -0,0 +1,13 @@
+package com.university.schedule.scheduling;
+
+/**
+ * Weighted objective components, in the same sign convention as the schedule evaluation:
+ * {@code total = coursePreference + timePreference - workloadPenalty - compactnessPenalty}.
+ */
+public record ObjectiveBreakdown(long coursePreference, long timePreference,
+                                 long workloadPenalty, long compactnessPenalty) {
+
+    public long total() {
+        return coursePreference + timePreference - workloadPenalty - compactnessPenalty;
+    }
+}
@@ -0,0 +1,93 @@
+package com.university.schedule.scheduling;
+
+/**
+ * Primitive re-implementation of the schedule evaluation used by
+ * {@code ScheduleServiceImpl.evaluateSchedules}, working directly on solution arrays.
+ */
+public final class ObjectiveEvaluator {
+
+    // Constants matching C++ Phase 3
+    public static final long W_COURSE_PREF = 1;
+    public static final long W_TIME_PREF = 1;
+    public static final long W_WORKLOAD_BALANCE = 5;
+    public static final long W_COMPACTNESS = 3;
+
+    private ObjectiveEvaluator() {
+    }
+
+    public static long evaluate(SchedulingProblem problem, SchedulingSolution solution) {
+        return breakdown(problem, solution).total();
+    }
+
+    public static long evaluate(SchedulingProblem problem, SchedulingSolution solution, ObjectiveWeights weights) {
+        return breakdown(problem, solution, weights).total();
+    }
+
+    public static ObjectiveBreakdown breakdown(SchedulingProblem problem, SchedulingSolution solution) {
+        return breakdown(problem, solution, ObjectiveWeights.DEFAULT);
+    }
+
+    /**
+     * Components weighted by {@code weights}; with {@link ObjectiveWeights#UNIT} they are the raw
+     * preference sums, workload range and gap count.
+     */
+    public static ObjectiveBreakdown breakdown(SchedulingProblem problem, SchedulingSolution solution,
+                                               ObjectiveWeights weights) {
+        int numPeriods = problem.numPeriods();
+        int numDays = problem.numDays();
+        long coursePreference = 0;
+        long timePreference = 0;
+        int[] load = new int[problem.numTeachers()];
+        long[] dayMask = new long[problem.numTeachers() * numDays];
+
+        for (int s = 0; s < solution.size(); s++) {
+            if (!solution.isAssigned(s)) continue;
+            int t = solution.teacher(s);
+            int d = solution.day(s);
+            int p = solution.period(s);
+            coursePreference += weights.coursePreference() * problem.coursePreference(t, problem.courseOf(s));
+            for (int i = 0; i < problem.length(s) && p + i < numPeriods; i++) {
+                timePreference += weights.timePreference() * problem.timePreference(t, problem.slot(d, p + i));
+                load[t]++;
+                dayMask[t * numDays + d] |= 1L << (p + i);
+            }
+        }
+
+        return new ObjectiveBreakdown(coursePreference, timePreference,
+                weights.workloadBalance() * workloadRange(load),
+                weights.compactness() * compactness(dayMask, numPeriods));
+    }
+
+    /**
+     * Max - min periods over teachers that teach at least one period; zero when fewer than two teach.
+     */
+    public static int workloadRange(int[] load) {
+        int max = Integer.MIN_VALUE;
+        int min = Integer.MAX_VALUE;
+        int loaded = 0;
+        for (int l : load) {
+            if (l <= 0) continue;
+            loaded++;
+            max = Math.max(max, l);
+            min = Math.min(min, l);
+        }
+        return loaded > 1 ? max - min : 0;
+    }
+
+    public static long compactness(long[] dayMasks, int numPeriods) {
+        long total = 0;
+        for (long mask : dayMasks) {
+            total += gaps(mask, numPeriods);
+        }
+        return total;
+    }
+
+    /**
+     * Number of class to no-class transitions within one teacher-day (period m busy, m + 1 free).
+     */
+    public static int gaps(long dayMask, int numPeriods) {
+        if (numPeriods < 2 || dayMask == 0) return 0;
+        long inner = numPeriods - 1 >= 64 ? -1L : (1L << (numPeriods - 1)) - 1;
+        return Long.bitCount(dayMask & ~(dayMask >>> 1) & inner);
+    }
+}
@@ -0,0 +1,22 @@
+package com.university.schedule.scheduling;
+
+/**
+ * Weights of the four objective components. {@link #DEFAULT} is the weighting of the schedule
+ * evaluation; engines that support other weightings read them from the {@link SolverContext}.
+ */
+public record ObjectiveWeights(long coursePreference, long timePreference, long workloadBalance, long compactness) {
+
+    public static final ObjectiveWeights DEFAULT = new ObjectiveWeights(ObjectiveEvaluator.W_COURSE_PREF,
+            ObjectiveEvaluator.W_TIME_PREF, ObjectiveEvaluator.W_WORKLOAD_BALANCE, ObjectiveEvaluator.W_COMPACTNESS);
+
+    /**
+     * Every component counted once, so a breakdown holds the raw component values.
+     */
+    public static final ObjectiveWeights UNIT = new ObjectiveWeights(1, 1, 1, 1);
+
+    public ObjectiveWeights {
+        if (coursePreference < 0 || timePreference < 0 || workloadBalance < 0 || compactness < 0) {
+            throw new IllegalArgumentException("Objective weights must not be negative");
+        }
+    }
+}
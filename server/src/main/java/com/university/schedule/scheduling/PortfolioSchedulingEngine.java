@@ -0,0 +1,185 @@
+package com.university.schedule.scheduling;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Runs several engines concurrently on the same problem under one time budget. Members share the
+ * incumbent through child {@link SolverContext}s, so an exact search prunes against the best schedule
+ * any member has found. The run ends as soon as a member proves optimality (the others are cancelled)
+ * or the budget runs out; the best feasible result is returned.
+ */
+@Slf4j
+@Component
+public class PortfolioSchedulingEngine implements SchedulingEngine {
+
+    public static final String NAME = "portfolio";
+
+    private static final long POLL_INTERVAL_MS = 200;
+
+    private final ObjectProvider<SchedulingEngine> engines;
+
+    @Value("${scheduling.portfolio.engines:heuristic,exact}")
+    private List<String> memberNames = List.of(HeuristicSchedulingEngine.NAME, ExactSchedulingEngine.NAME);
+
+    @Value("${scheduling.portfolio.time-budget-ms:60000}")
+    private long timeBudgetMs = 60_000;
+
+    @Value("${scheduling.portfolio.grace-ms:5000}")
+    private long graceMs = 5_000;
+
+    public PortfolioSchedulingEngine(ObjectProvider<SchedulingEngine> engines) {
+        this.engines = engines;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean provesOptimality() {
+        return resolveMembers().stream().anyMatch(SchedulingEngine::provesOptimality);
+    }
+
+    @Override
+    public String getConfiguration() {
+        StringBuilder configuration = new StringBuilder("engines=" + memberNames + ";time-budget-ms=" + timeBudgetMs);
+        for (SchedulingEngine member : resolveMembers()) {
+            configuration.append(';').append(member.getName()).append('[').append(member.getConfiguration()).append(']');
+        }
+        return configuration.toString();
+    }
+
+    @Override
+    public SchedulingSolution solve(SchedulingProblem problem, SolverContext context) {
+        List<SchedulingEngine> members = resolveMembers();
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeBudgetMs);
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        CompletionService<MemberResult> completion = new ExecutorCompletionService<>(executor);
+        List<SolverContext> memberContexts = new ArrayList<>();
+        List<Future<MemberResult>> futures = new ArrayList<>();
+        for (int i = 0; i < members.size(); i++) {
+            SchedulingEngine engine = members.get(i);
+            SolverContext memberContext = context.child(context.getSeed() + i, deadline);
+            memberContexts.add(memberContext);
+            futures.add(completion.submit(() -> runMember(engine, problem, memberContext)));
+        }
+
+        List<MemberResult> results = new ArrayList<>();
+        MemberResult proven = null;
+        try {
+            long giveUp = deadline + TimeUnit.MILLISECONDS.toNanos(graceMs);
+            while (results.size() < members.size() && !context.isCancelled()) {
+                long now = System.nanoTime();
+                if (now - giveUp >= 0) {
+                    break;
+                }
+                Future<MemberResult> done = completion.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (done == null) {
+                    continue;
+                }
+                MemberResult result = done.get();
+                results.add(result);
+                if (result.solution() != null && result.solution().isOptimal()) {
+                    proven = result;
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Portfolio member failed unexpectedly", e.getCause());
+        } finally {
+            memberContexts.forEach(SolverContext::cancel);
+            futures.forEach(f -> f.cancel(true));
+            executor.shutdownNow();
+        }
+
+        SchedulingSolution best = proven != null ? proven.solution() : pickBest(problem, results, context);
+        log.info("Portfolio {} finished in {} ms: {}; best objective {}, optimal {}", memberNames,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), results, best.getObjective(), best.isOptimal());
+        return best;
+    }
+
+    private List<SchedulingEngine> resolveMembers() {
+        Map<String, SchedulingEngine> byName = new HashMap<>();
+        engines.orderedStream().forEach(engine -> byName.put(engine.getName().toLowerCase(Locale.ROOT), engine));
+        List<SchedulingEngine> members = new ArrayList<>();
+        for (String name : memberNames) {
+            String key = name.trim().toLowerCase(Locale.ROOT);
+            if (key.isEmpty()) continue;
+            SchedulingEngine engine = byName.get(key);
+            if (engine == null || engine == this) {
+                throw new IllegalArgumentException("Unknown portfolio engine: " + name);
+            }
+            members.add(engine);
+        }
+        if (members.isEmpty()) {
+            throw new IllegalArgumentException("Portfolio has no engines configured");
+        }
+        return members;
+    }
+
+    private MemberResult runMember(SchedulingEngine engine, SchedulingProblem problem, SolverContext context) {
+        long start = System.nanoTime();
+        try {
+            SchedulingSolution solution = engine.solve(problem, context);
+            return new MemberResult(engine.getName(), solution, null, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (RuntimeException e) {
+            log.warn("Portfolio member {} failed: {}", engine.getName(), e.getMessage());
+            return new MemberResult(engine.getName(), null, e.getMessage(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * Prefers feasible schedules (complete and meeting min_teachers), then the highest objective, then the
+     * most sections placed. The shared incumbent covers members that were stopped before returning.
+     */
+    private SchedulingSolution pickBest(SchedulingProblem problem, List<MemberResult> results, SolverContext context) {
+        List<SchedulingSolution> candidates = new ArrayList<>();
+        for (MemberResult result : results) {
+            if (result.solution() != null) candidates.add(result.solution());
+        }
+        SchedulingSolution incumbent = context.getIncumbent();
+        if (incumbent != null) candidates.add(incumbent);
+        if (candidates.isEmpty()) {
+            throw new IllegalStateException("No portfolio engine produced a schedule");
+        }
+
+        SchedulingSolution best = null;
+        boolean bestFeasible = false;
+        for (SchedulingSolution candidate : candidates) {
+            boolean feasible = GreedyConstruction.isFeasible(new ScheduleState(problem, candidate));
+            if (best == null
+                    || (feasible && !bestFeasible)
+                    || (feasible == bestFeasible && candidate.countAssigned() > best.countAssigned())
+                    || (feasible == bestFeasible && candidate.countAssigned() == best.countAssigned()
+                        && candidate.getObjective() > best.getObjective())) {
+                best = candidate;
+                bestFeasible = feasible;
+            }
+        }
+        best = best.copy();
+        best.setOptimal(false);
+        return best;
+    }
+
+    private record MemberResult(String engine, SchedulingSolution solution, String error, long elapsedMs) {
+        @Override
+        public String toString() {
+            if (solution == null) {
+                return engine + " failed after " + elapsedMs + " ms (" + error + ")";
+            }
+            return engine + " " + solution.getObjective() + (solution.isOptimal() ? " (optimal)" : "")
+                    + " in " + elapsedMs + " ms";
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.university.schedule.scheduling;
+
+import com.university.schedule.dtos.PresolveReportDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Shrinks the domains of a problem before any engine runs. The model already leaves out rooms too
+ * small for a section and starts whose block would run past the last period; presolve also bans
+ * periods a teacher rated at or below the time-preference cutoff, and propagates {@code max_courses}
+ * over the teacher–course bitsets: a teacher who must teach as many courses as they may is removed
+ * from every other course, which can in turn force the remaining teachers of that course.
+ * <p>
+ * Pruning never empties a domain. Bans are dropped for a teacher if they would leave one of the
+ * teacher's section lengths without a start, or fewer free periods than the most the teacher could
+ * be given to teach, and a teacher is only removed from a course that keeps another teacher. Bans
+ * turn a preference into a constraint, so they are optional: engines that prove optimality solve
+ * the problem without them. The report also counts the interchangeable sections and teachers of the
+ * reduced problem, whose symmetry the engines break.
+ */
+@Slf4j
+@Component
+public class Presolver {
+
+    @Value("${scheduling.presolve.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${scheduling.presolve.time-preference-cutoff:-10}")
+    private int timePreferenceCutoff = -10;
+
+    public record Result(SchedulingProblem problem, PresolveReportDTO report) {
+
+        public boolean bansPeriods() {
+            return report != null && report.getBannedSlots() > 0;
+        }
+    }
+
+    /**
+     * Part of the solver cache key, since the cutoff changes which schedules are reachable.
+     */
+    public String getConfiguration() {
+        return enabled ? "presolve=" + timePreferenceCutoff : "presolve=off";
+    }
+
+    /**
+     * The reduced problem and its report; the problem itself with no report when presolve is disabled.
+     */
+    public Result presolve(SchedulingProblem problem) {
+        return presolve(problem, true);
+    }
+
+    /**
+     * As {@link #presolve(SchedulingProblem)}; without {@code banPeriods} only the teacher–course
+     * domains are propagated, which keeps every schedule of the problem reachable.
+     */
+    public Result presolve(SchedulingProblem problem, boolean banPeriods) {
+        if (!enabled) {
+            return new Result(problem, null);
+        }
+        long start = System.currentTimeMillis();
+        long[] banned = banPeriods ? bannedPeriods(problem) : new long[problem.numTeachers() * problem.numDays()];
+        boolean[][] eligible = new boolean[problem.numTeachers()][problem.numCourses()];
+        int removed = propagateMaxCourses(problem, eligible);
+        SchedulingProblem reduced = problem.restrict(eligible, banned);
+
+        int bannedSlots = 0;
+        for (long mask : banned) bannedSlots += Long.bitCount(mask);
+        PresolveReportDTO report = report(problem, reduced, bannedSlots, removed, System.currentTimeMillis() - start);
+        log.info("Presolve: teachers {} -> {}, rooms {} -> {}, starts {} -> {}, combinations {} -> {} "
+                        + "({} banned slots, {} teacher-course pairs removed, {} sections without values, "
+                        + "{} interchangeable sections, {} interchangeable teachers)",
+                report.getTeacherValuesBefore(), report.getTeacherValuesAfter(),
+                report.getRoomValuesBefore(), report.getRoomValuesAfter(),
+                report.getStartValuesBefore(), report.getStartValuesAfter(),
+                report.getCombinationsBefore(), report.getCombinationsAfter(),
+                bannedSlots, removed, report.getSectionsWithoutValues(),
+                report.getInterchangeableSections(), report.getInterchangeableTeachers());
+        return new Result(reduced, report);
+    }
+
+    /**
+     * Per teacher-day bitmask of periods rated at or below the cutoff.
+     */
+    private long[] bannedPeriods(SchedulingProblem problem) {
+        int numDays = problem.numDays();
+        long[] banned = new long[problem.numTeachers() * numDays];
+        for (int t = 0; t < problem.numTeachers(); t++) {
+            for (int d = 0; d < numDays; d++) {
+                for (int p = 0; p < problem.numPeriods(); p++) {
+                    if (problem.timePreference(t, problem.slot(d, p)) <= timePreferenceCutoff) {
+                        banned[t * numDays + d] |= 1L << p;
+                    }
+                }
+            }
+            if (!keepsAStart(problem, t, banned) || !coversLoad(problem, t, banned)) {
+                Arrays.fill(banned, t * numDays, (t + 1) * numDays, 0L);
+            }
+        }
+        return banned;
+    }
+
+    /**
+     * Whether every section the teacher is eligible for still has a start somewhere in the week.
+     */
+    private static boolean keepsAStart(SchedulingProblem problem, int t, long[] banned) {
+        int numDays = problem.numDays();
+        Set<Integer> checked = new HashSet<>();
+        for (int c : problem.eligibleCourses(t)) {
+            for (int s : problem.sectionsOf(c)) {
+                if (!checked.add(problem.length(s))) continue;
+                boolean found = false;
+                for (int d = 0; d < numDays && !found; d++) {
+                    long blocked = SchedulingProblem.blockedStarts(banned[t * numDays + d], problem.length(s));
+                    found = (problem.startMask(s, t, d) & ~blocked) != 0;
+                }
+                // A length with no valid start at all is unplaceable either way
+                if (!found && hasAnyStart(problem, s, t)) return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether the teacher's free periods can still hold the most they could be given: every section
+     * of their {@code max_courses} largest eligible courses, up to the whole week.
+     */
+    private static boolean coversLoad(SchedulingProblem problem, int t, long[] banned) {
+        int numDays = problem.numDays();
+        int[] courseLoads = new int[problem.eligibleCourses(t).length];
+        for (int i = 0; i < courseLoads.length; i++) {
+            for (int s : problem.sectionsOf(problem.eligibleCourses(t)[i])) courseLoads[i] += problem.length(s);
+        }
+        Arrays.sort(courseLoads);
+        int load = 0;
+        for (int i = courseLoads.length - 1; i >= Math.max(0, courseLoads.length - problem.maxCourses(t)); i--) {
+            load += courseLoads[i];
+        }
+        int free = problem.numSlots();
+        for (int d = 0; d < numDays; d++) free -= Long.bitCount(banned[t * numDays + d]);
+        return free >= Math.min(load, problem.numSlots());
+    }
+
+    private static boolean hasAnyStart(SchedulingProblem problem, int s, int t) {
+        for (int d = 0; d < problem.numDays(); d++) {
+            if (problem.startMask(s, t, d) != 0) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Fills {@code eligible} with the propagated teacher–course domains and returns the number of
+     * pairs removed. A course needs all of its teachers when its {@code min_teachers} target (capped
+     * by its section count) reaches its domain size; a teacher needed by {@code max_courses} courses
+     * is dropped from the others.
+     */
+    private static int propagateMaxCourses(SchedulingProblem problem, boolean[][] eligible) {
+        int numTeachers = problem.numTeachers();
+        BitSet[] domain = new BitSet[problem.numCourses()];
+        for (int c = 0; c < problem.numCourses(); c++) {
+            domain[c] = new BitSet(numTeachers);
+            for (int t : problem.eligibleTeachers(c)) domain[c].set(t);
+        }
+
+        int removed = 0;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            BitSet[] needed = new BitSet[numTeachers];
+            for (int t = 0; t < numTeachers; t++) needed[t] = new BitSet(problem.numCourses());
+            for (int c = 0; c < problem.numCourses(); c++) {
+                int size = domain[c].cardinality();
+                if (size > 0 && Math.min(problem.minTeachers(c), problem.sectionsOf(c).length) >= size) {
+                    for (int t = domain[c].nextSetBit(0); t >= 0; t = domain[c].nextSetBit(t + 1)) needed[t].set(c);
+                }
+            }
+            for (int t = 0; t < numTeachers; t++) {
+                if (needed[t].cardinality() < problem.maxCourses(t)) continue;
+                for (int c : problem.eligibleCourses(t)) {
+                    if (domain[c].get(t) && !needed[t].get(c) && domain[c].cardinality() > 1) {
+                        domain[c].clear(t);
+                        removed++;
+                        changed = true;
+                    }
+                }
+            }
+        }
+
+        for (int c = 0; c < problem.numCourses(); c++) {
+            for (int t = domain[c].nextSetBit(0); t >= 0; t = domain[c].nextSetBit(t + 1)) eligible[t][c] = true;
+        }
+        return removed;
+    }
+
+    private static PresolveReportDTO report(SchedulingProblem original, SchedulingProblem reduced,
+                                            int bannedSlots, int removed, long elapsedMs) {
+        long slots = original.numSlots();
+        long teachersBefore = 0, teachersAfter = 0, roomsBefore = 0, roomsAfter = 0;
+        long startsBefore = 0, startsAfter = 0, combinationsBefore = 0, combinationsAfter = 0;
+        int empty = 0;
+        for (int s = 0; s < original.numSections(); s++) {
+            int c = original.courseOf(s);
+            int teachers = original.eligibleTeachers(c).length;
+            int rooms = reduced.roomsFor(s).length;
+            long starts = 0;
+            for (int t : reduced.eligibleTeachers(c)) {
+                for (int d = 0; d < reduced.numDays(); d++) starts += Long.bitCount(reduced.startMask(s, t, d));
+            }
+            teachersBefore += teachers;
+            teachersAfter += reduced.eligibleTeachers(c).length;
+            roomsBefore += original.numRooms();
+            roomsAfter += rooms;
+            startsBefore += teachers * slots;
+            startsAfter += starts;
+            combinationsBefore += teachers * slots * original.numRooms();
+            combinationsAfter += starts * rooms;
+            if (starts == 0 || rooms == 0) empty++;
+        }
+        return PresolveReportDTO.builder()
+                .sections(original.numSections())
+                .teacherValuesBefore(teachersBefore)
+                .teacherValuesAfter(teachersAfter)
+                .roomValuesBefore(roomsBefore)
+                .roomValuesAfter(roomsAfter)
+                .startValuesBefore(startsBefore)
+                .startValuesAfter(startsAfter)
+                .combinationsBefore(combinationsBefore)
+                .combinationsAfter(combinationsAfter)
+                .bannedSlots(bannedSlots)
+                .removedTeacherCourses(removed)
+                .sectionsWithoutValues(empty)
+                .interchangeableSections(reduced.symmetry().interchangeableSections())
+                .interchangeableTeachers(reduced.symmetry().interchangeableTeachers())
+                .elapsedMs(elapsedMs)
+                .build();
+    }
+}
@@ -0,0 +1,264 @@
+package com.university.schedule.scheduling;
+
+import java.util.*;
+
+/**
+ * Room choice once teachers and times are fixed. On each day a section is an interval of periods and
+ * the rooms are bins of different sizes: sections are packed largest first, each into the smallest
+ * room that fits and is free over its block, scanning the capacity-sorted lists of
+ * {@link SchedulingProblem#roomsFor}. Rooms fitting a larger section also fit every smaller one, so
+ * for single-period sections this order never fails when a packing exists; longer blocks make it a
+ * heuristic.
+ */
+public final class RoomAllocator {
+
+    private RoomAllocator() {
+    }
+
+    public record Outcome(SchedulingSolution solution, int moved, List<Integer> unroomed) {
+    }
+
+    /**
+     * Re-rooms every assigned section without touching teachers or times; a section's room may be
+     * {@link SchedulingSolution#UNASSIGNED}. With {@code keepRooms}, rooms that still fit and are not
+     * double-booked stay, unless keeping them leaves a section of that day without a room. Sections
+     * left without a room are unassigned in the returned solution.
+     */
+    public static Outcome allocate(SchedulingProblem problem, SchedulingSolution solution, boolean keepRooms) {
+        List<List<Integer>> byDay = new ArrayList<>();
+        for (int d = 0; d < problem.numDays(); d++) byDay.add(new ArrayList<>());
+        for (int s = 0; s < solution.size(); s++) {
+            if (solution.isAssigned(s)) byDay.get(solution.day(s)).add(s);
+        }
+
+        SchedulingSolution result = solution.copy();
+        List<Integer> unroomed = new ArrayList<>();
+        int moved = 0;
+        for (List<Integer> day : byDay) {
+            int[] sections = day.stream().mapToInt(Integer::intValue).toArray();
+            int[] periods = Arrays.stream(sections).map(solution::period).toArray();
+            int[] current = Arrays.stream(sections).map(solution::room).toArray();
+            int[] rooms = pack(problem, sections, periods, keepRooms ? current : null);
+            if (keepRooms && missing(rooms) > 0) {
+                int[] fresh = pack(problem, sections, periods, null);
+                if (missing(fresh) < missing(rooms)) rooms = fresh;
+            }
+            for (int i = 0; i < sections.length; i++) {
+                int s = sections[i];
+                if (rooms[i] < 0) {
+                    result.unassign(s);
+                    unroomed.add(s);
+                } else if (rooms[i] != current[i]) {
+                    result.assign(s, solution.teacher(s), solution.day(s), solution.period(s), rooms[i]);
+                    moved++;
+                }
+            }
+        }
+        return new Outcome(result, moved, unroomed);
+    }
+
+    /**
+     * Places section {@code s} with teacher {@code t} at {@code (d, p)} if the rooms of day {@code d}
+     * can be re-packed to make space for it; other sections only change rooms, and as few as the
+     * packing allows. Returns {@code false} and leaves the state unchanged otherwise.
+     */
+    public static boolean placeRepacking(ScheduleState state, int s, int t, int d, int p) {
+        SchedulingProblem problem = state.problem();
+        SchedulingSolution solution = state.solution();
+        if (solution.isAssigned(s) || !problem.isAllowedStart(s, t, d, p) || !state.canTeach(t, problem.courseOf(s))
+                || !state.isTeacherFree(t, d, p, problem.length(s))) {
+            return false;
+        }
+
+        List<Integer> day = new ArrayList<>();
+        for (int other = 0; other < problem.numSections(); other++) {
+            if (solution.isAssigned(other) && solution.day(other) == d) day.add(other);
+        }
+        day.add(s);
+        int[] sections = day.stream().mapToInt(Integer::intValue).toArray();
+        int n = sections.length;
+        int[] periods = new int[n];
+        int[] current = new int[n];
+        for (int i = 0; i < n - 1; i++) {
+            periods[i] = solution.period(sections[i]);
+            current[i] = solution.room(sections[i]);
+        }
+        periods[n - 1] = p;
+        current[n - 1] = SchedulingSolution.UNASSIGNED;
+
+        int[] rooms = pack(problem, sections, periods, current);
+        if (missing(rooms) > 0) rooms = pack(problem, sections, periods, null);
+        if (missing(rooms) > 0) return false;
+
+        List<Integer> changed = new ArrayList<>();
+        for (int i = 0; i < n - 1; i++) {
+            if (rooms[i] != current[i]) changed.add(i);
+        }
+        int[] teachers = new int[n];
+        for (int i : changed) {
+            teachers[i] = solution.teacher(sections[i]);
+            state.remove(sections[i]);
+        }
+        for (int i : changed) state.place(sections[i], teachers[i], d, periods[i], rooms[i]);
+        state.place(s, t, d, p, rooms[n - 1]);
+        return true;
+    }
+
+    /**
+     * Inserts a section that no free room fits at any good start: starts of its eligible teachers,
+     * best time preference and gap change first, are tried with {@link #placeRepacking}. Starts where
+     * every fitting room is already held by a section at least as large are skipped.
+     */
+    public static boolean insertRepacking(ScheduleState state, int s) {
+        SchedulingProblem problem = state.problem();
+        int c = problem.courseOf(s);
+        int length = problem.length(s);
+        int numPeriods = problem.numPeriods();
+
+        List<long[]> candidates = new ArrayList<>();   // {score, teacher, day, period}
+        for (int t : problem.eligibleTeachers(c)) {
+            if (!state.canTeach(t, c)) continue;
+            for (int d = 0; d < problem.numDays(); d++) {
+                long mask = state.teacherDayMask(t, d);
+                int gapsBefore = ObjectiveEvaluator.gaps(mask, numPeriods);
+                for (long starts = state.freeStarts(s, t, d); starts != 0; starts &= starts - 1) {
+                    int p = Long.numberOfTrailingZeros(starts);
+                    if (!roomsMayFit(state, s, d, p)) continue;
+                    long score = ObjectiveEvaluator.W_COURSE_PREF * problem.coursePreference(t, c)
+                            - ObjectiveEvaluator.W_COMPACTNESS
+                            * (ObjectiveEvaluator.gaps(mask | ScheduleState.blockMask(p, length), numPeriods) - gapsBefore);
+                    for (int i = 0; i < length; i++) {
+                        score += ObjectiveEvaluator.W_TIME_PREF * problem.timePreference(t, problem.slot(d, p + i));
+                    }
+                    candidates.add(new long[]{score, t, d, p});
+                }
+            }
+        }
+        candidates.sort((a, b) -> Long.compare(b[0], a[0]));
+        for (long[] candidate : candidates) {
+            if (placeRepacking(state, s, (int) candidate[1], (int) candidate[2], (int) candidate[3])) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Necessary condition for a repack: in every period of the block, some room that fits the section
+     * is free or held by a smaller section.
+     */
+    private static boolean roomsMayFit(ScheduleState state, int s, int d, int p) {
+        SchedulingProblem problem = state.problem();
+        for (int i = 0; i < problem.length(s); i++) {
+            int slot = problem.slot(d, p + i);
+            boolean open = false;
+            for (int r : problem.roomsFor(s)) {
+                int owner = state.roomOwner(r, slot);
+                if (owner < 0 || problem.seats(owner) < problem.seats(s)) {
+                    open = true;
+                    break;
+                }
+            }
+            if (!open) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Packing of one day's sections: largest first and earliest first, whichever leaves fewer sections
+     * without a room, then one-step moves for those. {@code preferred} rooms, when given, are kept
+     * first where they still fit. Returns the room of each section, {@link SchedulingSolution#UNASSIGNED}
+     * if none.
+     */
+    private static int[] pack(SchedulingProblem problem, int[] sections, int[] periods, int[] preferred) {
+        Comparator<Integer> bySize = Comparator.<Integer>comparingInt(i -> -problem.seats(sections[i]))
+                .thenComparing(i -> -problem.length(sections[i]))
+                .thenComparing(i -> periods[i])
+                .thenComparing(i -> sections[i]);
+        Comparator<Integer> byStart = Comparator.<Integer>comparingInt(i -> periods[i])
+                .thenComparing(bySize);
+        int[] rooms = pack(problem, sections, periods, preferred, bySize);
+        if (missing(rooms) > 0) {
+            int[] alternative = pack(problem, sections, periods, preferred, byStart);
+            if (missing(alternative) < missing(rooms)) rooms = alternative;
+        }
+        if (missing(rooms) > 0) moveBlockers(problem, sections, periods, rooms);
+        return rooms;
+    }
+
+    private static int[] pack(SchedulingProblem problem, int[] sections, int[] periods, int[] preferred,
+                              Comparator<Integer> comparator) {
+        Integer[] order = new Integer[sections.length];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, comparator);
+
+        long[] busy = new long[problem.numRooms()];
+        int[] rooms = new int[sections.length];
+        Arrays.fill(rooms, SchedulingSolution.UNASSIGNED);
+        if (preferred != null) {
+            for (int i : order) {
+                int s = sections[i], r = preferred[i];
+                long block = ScheduleState.blockMask(periods[i], problem.length(s));
+                if (r >= 0 && problem.capacity(r) >= problem.seats(s) && (busy[r] & block) == 0) {
+                    busy[r] |= block;
+                    rooms[i] = r;
+                }
+            }
+        }
+        for (int i : order) {
+            if (rooms[i] >= 0) continue;
+            int s = sections[i];
+            long block = ScheduleState.blockMask(periods[i], problem.length(s));
+            for (int r : problem.roomsFor(s)) {
+                if ((busy[r] & block) == 0) {
+                    busy[r] |= block;
+                    rooms[i] = r;
+                    break;
+                }
+            }
+        }
+        return rooms;
+    }
+
+    /**
+     * Gives a roomless section a room held over its block by a single other section, when that
+     * section fits into another free room.
+     */
+    private static void moveBlockers(SchedulingProblem problem, int[] sections, int[] periods, int[] rooms) {
+        long[] busy = new long[problem.numRooms()];
+        long[] blocks = new long[sections.length];
+        for (int i = 0; i < sections.length; i++) {
+            blocks[i] = ScheduleState.blockMask(periods[i], problem.length(sections[i]));
+            if (rooms[i] >= 0) busy[rooms[i]] |= blocks[i];
+        }
+        for (int i = 0; i < sections.length; i++) {
+            if (rooms[i] >= 0) continue;
+            search:
+            for (int r : problem.roomsFor(sections[i])) {
+                int blocker = -1;
+                for (int j = 0; j < sections.length; j++) {
+                    if (rooms[j] != r || (blocks[j] & blocks[i]) == 0) continue;
+                    if (blocker >= 0) continue search;
+                    blocker = j;
+                }
+                if (blocker < 0) continue;
+                long rest = busy[r] & ~blocks[blocker];
+                if ((rest & blocks[i]) != 0) continue;
+                for (int other : problem.roomsFor(sections[blocker])) {
+                    if (other == r || (busy[other] & blocks[blocker]) != 0) continue;
+                    busy[other] |= blocks[blocker];
+                    rooms[blocker] = other;
+                    busy[r] = rest | blocks[i];
+                    rooms[i] = r;
+                    break search;
+                }
+            }
+        }
+    }
+
+    private static int missing(int[] rooms) {
+        int count = 0;
+        for (int r : rooms) {
+            if (r < 0) count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,86 @@
+package com.university.schedule.scheduling;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Repairs an existing schedule after a small change instead of regenerating it. Only the affected
+ * sections are freed, together with stored assignments that are no longer valid (rejected
+ * registration, removed room, changed seats) and sections missing from the schedule. Those are
+ * re-inserted around the fixed assignments. A conflicting fixed section may be ejected and moved
+ * elsewhere, which is the conflict neighbourhood of the change. Only if sections still cannot be
+ * placed is the neighbourhood widened to every section that competes for the same teachers.
+ */
+public final class ScheduleRepairer {
+
+    private ScheduleRepairer() {
+    }
+
+    public record Outcome(SchedulingSolution solution, int freed, int moved, List<Integer> unplaced) {
+    }
+
+    public static Outcome repair(SchedulingProblem problem, SchedulingSolution previous, Collection<Integer> affected,
+                                 SolverContext context) {
+        ScheduleState state = new ScheduleState(problem, previous);
+        for (int s : affected) {
+            if (state.solution().isAssigned(s)) state.remove(s);
+        }
+        int[] freed = unassigned(state);
+
+        List<Integer> unplaced = insertAll(state, freed, context);
+        if (!unplaced.isEmpty()) {
+            unplaced = insertAll(state, widen(state, unplaced), context);
+        }
+        GreedyConstruction.spreadTeachers(state, context);
+
+        int[] moved = changedSections(previous, state.solution());
+        GreedyConstruction.improve(state, context, moved);
+
+        SchedulingSolution solution = state.solution().copy();
+        solution.setObjective(ObjectiveEvaluator.evaluate(problem, solution));
+        return new Outcome(solution, freed.length, changedSections(previous, solution).length, unplaced);
+    }
+
+    private static List<Integer> insertAll(ScheduleState state, int[] sections, SolverContext context) {
+        Set<Integer> pending = new HashSet<>();
+        for (int s : sections) pending.add(s);
+        List<Integer> unplaced = new ArrayList<>();
+        for (int s : GreedyConstruction.constructionOrder(state)) {
+            if (!pending.contains(s)) continue;
+            if (context.isCancelled()) break;
+            if (!GreedyConstruction.insertBest(state, s)) unplaced.add(s);
+        }
+        GreedyConstruction.repair(state, unplaced, context);
+        return unplaced;
+    }
+
+    /**
+     * Frees every section taught by a teacher eligible for one of the unplaced sections' courses and
+     * returns the full set of sections to re-insert.
+     */
+    private static int[] widen(ScheduleState state, List<Integer> unplaced) {
+        SchedulingProblem problem = state.problem();
+        SchedulingSolution solution = state.solution();
+        boolean[] competing = new boolean[problem.numTeachers()];
+        for (int s : unplaced) {
+            for (int t : problem.eligibleTeachers(problem.courseOf(s))) competing[t] = true;
+        }
+        for (int s = 0; s < problem.numSections(); s++) {
+            if (solution.isAssigned(s) && competing[solution.teacher(s)]) state.remove(s);
+        }
+        return unassigned(state);
+    }
+
+    private static int[] unassigned(ScheduleState state) {
+        SchedulingSolution solution = state.solution();
+        return IntStream.range(0, solution.size()).filter(s -> !solution.isAssigned(s)).toArray();
+    }
+
+    private static int[] changedSections(SchedulingSolution before, SchedulingSolution after) {
+        return IntStream.range(0, after.size())
+                .filter(s -> after.isAssigned(s))
+                .filter(s -> before.teacher(s) != after.teacher(s) || before.day(s) != after.day(s)
+                        || before.period(s) != after.period(s) || before.room(s) != after.room(s))
+                .toArray();
+    }
+}
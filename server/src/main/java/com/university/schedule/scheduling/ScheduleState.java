@@ -0,0 +1,172 @@
+package com.university.schedule.scheduling;
+
+import java.util.Arrays;
+
+/**
+ * Mutable occupancy view over a {@link SchedulingSolution}: one period bitmask per teacher-day and
+ * room-day, slot owners for conflict lookup, and the counters behind the hard constraints
+ * (eligibility, {@code max_courses}, {@code max_teachers}, room capacity, teacher/room double booking).
+ */
+public final class ScheduleState {
+
+    private final SchedulingProblem problem;
+    private final SchedulingSolution solution;
+    private final int numDays;
+    private final int numSlots;
+
+    private final long[] teacherDay;          // [teacher * days + day] -> busy periods
+    private final long[] roomDay;             // [room * days + day] -> busy periods
+    private final int[] teacherSlotOwner;     // [teacher * slots + slot] -> section
+    private final int[] roomSlotOwner;        // [room * slots + slot] -> section
+    private final int[][] teacherCourseSections;
+    private final int[] teacherDistinctCourses;
+    private final int[] courseDistinctTeachers;
+    private final int[] teacherLoad;
+
+    public ScheduleState(SchedulingProblem problem) {
+        this(problem, new SchedulingSolution(problem.numSections()));
+    }
+
+    /**
+     * Wraps an existing solution; assignments violating a hard constraint are dropped.
+     */
+    public ScheduleState(SchedulingProblem problem, SchedulingSolution initial) {
+        this.problem = problem;
+        this.solution = new SchedulingSolution(problem.numSections());
+        this.numDays = problem.numDays();
+        this.numSlots = problem.numSlots();
+        this.teacherDay = new long[problem.numTeachers() * numDays];
+        this.roomDay = new long[problem.numRooms() * numDays];
+        this.teacherSlotOwner = new int[problem.numTeachers() * numSlots];
+        this.roomSlotOwner = new int[problem.numRooms() * numSlots];
+        Arrays.fill(teacherSlotOwner, SchedulingSolution.UNASSIGNED);
+        Arrays.fill(roomSlotOwner, SchedulingSolution.UNASSIGNED);
+        this.teacherCourseSections = new int[problem.numTeachers()][problem.numCourses()];
+        this.teacherDistinctCourses = new int[problem.numTeachers()];
+        this.courseDistinctTeachers = new int[problem.numCourses()];
+        this.teacherLoad = new int[problem.numTeachers()];
+
+        for (int s = 0; s < initial.size(); s++) {
+            if (!initial.isAssigned(s)) continue;
+            int t = initial.teacher(s), d = initial.day(s), p = initial.period(s), r = initial.room(s);
+            if (canPlace(s, t, d, p, r)) {
+                place(s, t, d, p, r);
+            }
+        }
+    }
+
+    public SchedulingProblem problem() { return problem; }
+
+    public SchedulingSolution solution() { return solution; }
+
+    public static long blockMask(int period, int length) {
+        if (length <= 0) return 0L;
+        long bits = length >= Long.SIZE ? -1L : (1L << length) - 1;
+        return bits << period;
+    }
+
+    public boolean isTeacherFree(int t, int d, int p, int length) {
+        return (teacherDay[t * numDays + d] & blockMask(p, length)) == 0;
+    }
+
+    public boolean isRoomFree(int r, int d, int p, int length) {
+        return (roomDay[r * numDays + d] & blockMask(p, length)) == 0;
+    }
+
+    /**
+     * Allowed starts of the section for teacher {@code t} on day {@code d} whose block the teacher
+     * has free, as a period bitmask.
+     */
+    public long freeStarts(int s, int t, int d) {
+        return problem.startMask(s, t, d) & ~SchedulingProblem.blockedStarts(teacherDay[t * numDays + d], problem.length(s));
+    }
+
+    /**
+     * Whether teacher {@code t} may take a section of course {@code c} without breaking
+     * {@code max_courses} for the teacher or {@code max_teachers} for the course.
+     */
+    public boolean canTeach(int t, int c) {
+        if (!problem.isEligible(t, c)) return false;
+        if (teacherCourseSections[t][c] > 0) return true;
+        return teacherDistinctCourses[t] < problem.maxCourses(t)
+                && courseDistinctTeachers[c] < problem.maxTeachers(c);
+    }
+
+    public boolean canPlace(int s, int t, int d, int p, int r) {
+        int length = problem.length(s);
+        return t >= 0 && t < problem.numTeachers()
+                && r >= 0 && r < problem.numRooms()
+                && d >= 0 && d < numDays
+                && !solution.isAssigned(s)
+                && problem.isAllowedStart(s, t, d, p)
+                && problem.capacity(r) >= problem.seats(s)
+                && canTeach(t, problem.courseOf(s))
+                && isTeacherFree(t, d, p, length)
+                && isRoomFree(r, d, p, length);
+    }
+
+    /**
+     * Smallest free room that fits the section for the given block, or {@code -1}.
+     */
+    public int findRoom(int s, int d, int p) {
+        int length = problem.length(s);
+        for (int r : problem.roomsFor(s)) {
+            if (isRoomFree(r, d, p, length)) {
+                return r;
+            }
+        }
+        return -1;
+    }
+
+    public void place(int s, int t, int d, int p, int r) {
+        int c = problem.courseOf(s);
+        int length = problem.length(s);
+        long mask = blockMask(p, length);
+        teacherDay[t * numDays + d] |= mask;
+        roomDay[r * numDays + d] |= mask;
+        for (int i = 0; i < length; i++) {
+            int slot = problem.slot(d, p + i);
+            teacherSlotOwner[t * numSlots + slot] = s;
+            roomSlotOwner[r * numSlots + slot] = s;
+        }
+        if (teacherCourseSections[t][c]++ == 0) {
+            teacherDistinctCourses[t]++;
+            courseDistinctTeachers[c]++;
+        }
+        teacherLoad[t] += length;
+        solution.assign(s, t, d, p, r);
+    }
+
+    public void remove(int s) {
+        if (!solution.isAssigned(s)) return;
+        int t = solution.teacher(s), d = solution.day(s), p = solution.period(s), r = solution.room(s);
+        int c = problem.courseOf(s);
+        int length = problem.length(s);
+        long mask = ~blockMask(p, length);
+        teacherDay[t * numDays + d] &= mask;
+        roomDay[r * numDays + d] &= mask;
+        for (int i = 0; i < length; i++) {
+            int slot = problem.slot(d, p + i);
+            teacherSlotOwner[t * numSlots + slot] = SchedulingSolution.UNASSIGNED;
+            roomSlotOwner[r * numSlots + slot] = SchedulingSolution.UNASSIGNED;
+        }
+        if (--teacherCourseSections[t][c] == 0) {
+            teacherDistinctCourses[t]--;
+            courseDistinctTeachers[c]--;
+        }
+        teacherLoad[t] -= length;
+        solution.unassign(s);
+    }
+
+    public int teacherOwner(int t, int slot) { return teacherSlotOwner[t * numSlots + slot]; }
+    public int roomOwner(int r, int slot) { return roomSlotOwner[r * numSlots + slot]; }
+
+    public long teacherDayMask(int t, int d) { return teacherDay[t * numDays + d]; }
+    public long roomDayMask(int r, int d) { return roomDay[r * numDays + d]; }
+
+    public int teacherLoad(int t) { return teacherLoad[t]; }
+    public int[] teacherLoads() { return teacherLoad; }
+    public int sectionsTaught(int t, int c) { return teacherCourseSections[t][c]; }
+    public int distinctCourses(int t) { return teacherDistinctCourses[t]; }
+    public int distinctTeachers(int c) { return courseDistinctTeachers[c]; }
+}
@@ -0,0 +1,43 @@
+package com.university.schedule.scheduling;
+
+/**
+ * In-process scheduling engine. Implementations are Spring beans and are selected by the
+ * {@code algorithm} parameter of schedule generation through {@link SchedulingEngineRegistry}.
+ */
+public interface SchedulingEngine {
+
+    /**
+     * Value of the {@code algorithm} parameter that selects this engine.
+     */
+    String getName();
+
+    /**
+     * Solves the problem and returns the best solution found, with its objective set.
+     * Sections that could not be placed are left unassigned.
+     */
+    SchedulingSolution solve(SchedulingProblem problem, SolverContext context);
+
+    /**
+     * Whether a finished {@link #solve} is optimal for the whole problem; the solution's
+     * {@link SchedulingSolution#isOptimal()} then tells whether a limit cut the search short. Such
+     * engines are never run on parts of a decomposed semester, whose objective does not add up over the parts.
+     */
+    default boolean provesOptimality() {
+        return false;
+    }
+
+    /**
+     * Whether {@link #solve} optimizes {@link SolverContext#getObjectiveWeights()} rather than the
+     * default weights; only such engines can produce a Pareto family.
+     */
+    default boolean isWeightAware() {
+        return false;
+    }
+
+    /**
+     * Settings that change what {@link #solve} returns for the same input; part of the result cache key.
+     */
+    default String getConfiguration() {
+        return "";
+    }
+}
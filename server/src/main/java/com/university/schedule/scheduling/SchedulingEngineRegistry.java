@@ -0,0 +1,58 @@
+package com.university.schedule.scheduling;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Resolves the {@code algorithm} parameter to an in-process engine. Algorithms listed in
+ * {@code scheduling.remote-algorithms}, or without a matching engine, are left to the research service.
+ */
+@Slf4j
+@Component
+public class SchedulingEngineRegistry {
+
+    private final Map<String, SchedulingEngine> engines = new LinkedHashMap<>();
+    private final Set<String> remoteAlgorithms = new HashSet<>();
+
+    public SchedulingEngineRegistry(List<SchedulingEngine> engines,
+                                    @Value("${scheduling.remote-algorithms:}") List<String> remoteAlgorithms) {
+        for (SchedulingEngine engine : engines) {
+            SchedulingEngine previous = this.engines.put(engine.getName().toLowerCase(Locale.ROOT), engine);
+            if (previous != null) {
+                throw new IllegalStateException("Duplicate scheduling engine name: " + engine.getName());
+            }
+        }
+        remoteAlgorithms.stream()
+                .map(String::trim)
+                .filter(a -> !a.isEmpty())
+                .map(a -> a.toLowerCase(Locale.ROOT))
+                .forEach(this.remoteAlgorithms::add);
+        log.info("In-process scheduling engines: {}; forced remote: {}", this.engines.keySet(), this.remoteAlgorithms);
+    }
+
+    public Optional<SchedulingEngine> find(String algorithm) {
+        if (algorithm == null) {
+            return Optional.empty();
+        }
+        String key = algorithm.toLowerCase(Locale.ROOT);
+        if (remoteAlgorithms.contains(key)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(engines.get(key));
+    }
+
+    public SchedulingEngine require(String name) {
+        SchedulingEngine engine = name != null ? engines.get(name.toLowerCase(Locale.ROOT)) : null;
+        if (engine == null) {
+            throw new IllegalArgumentException("Unknown scheduling engine: " + name);
+        }
+        return engine;
+    }
+
+    public Set<String> getEngineNames() {
+        return Collections.unmodifiableSet(engines.keySet());
+    }
+}
@@ -0,0 +1,373 @@
+package com.university.schedule.scheduling;
+
+import com.university.schedule.entities.*;
+import com.university.schedule.services.SemesterSnapshot;
+
+import java.time.DayOfWeek;
+import java.util.*;
+
+/**
+ * Integer-indexed scheduling model shared by all in-process engines.
+ * It carries exactly the data (and defaults) of the research-service request:
+ * teachers with course/time preferences, courses with their sections, classrooms, days and periods.
+ * A time slot is {@code day * numPeriods() + period}, where {@code period} is the position in the
+ * ordered period list.
+ */
+public final class SchedulingProblem {
+
+    public static final List<String> WEEKDAYS = List.of("Mon", "Tue", "Wed", "Thu", "Fri");
+    public static final int DEFAULT_MAX_COURSES = 1;
+    public static final int DEFAULT_MIN_TEACHERS = 1;
+    public static final int DEFAULT_MAX_TEACHERS = 10; // Default max teachers if not specified
+    public static final int DEFAULT_REQUIRED_PERIODS = 1;
+    public static final int DEFAULT_REQUIRED_SEATS = 0;
+    public static final int DEFAULT_PREFERENCE_VALUE = 0;
+    public static final int DEFAULT_CAPACITY = 0;
+
+    private final String semester;
+
+    private final String[] teacherIds;
+    private final int[] teacherMaxCourses;
+    private final int[][] coursePreference;   // [teacher][course]
+    private final boolean[][] eligible;        // [teacher][course]
+    private final int[][] timePreference;     // [teacher][slot]
+    private final int[][] eligibleCourses;    // teacher -> courses
+
+    private final String[] courseIds;
+    private final int[] courseMinTeachers;
+    private final int[] courseMaxTeachers;
+    private final int[][] courseSections;     // course -> sections
+    private final int[][] eligibleTeachers;   // course -> teachers
+
+    private final String[] sectionIds;
+    private final int[] sectionCourse;
+    private final int[] sectionLength;
+    private final int[] sectionSeats;
+
+    private final String[] roomIds;
+    private final int[] roomCapacity;
+
+    private final String[] days;
+    private final int[] periodOrder;
+    private final int[] contiguousRun;        // period -> number of consecutive order indexes starting there
+
+    // Domains: what presolve leaves of each section's possible values
+    private final long[] bannedPeriods;       // [teacher * days + day] -> periods the teacher may not teach
+    private final int[] sectionLengthClass;   // section -> index into allowedStarts
+    private final long[][] allowedStarts;     // [length class][teacher * days + day] -> permitted start periods
+    private final int[][] sectionRooms;       // section -> rooms that fit, smallest first
+
+    private volatile SymmetryClasses symmetry; // computed on first use
+
+    private final Map<String, Integer> teacherIndex = new HashMap<>();
+    private final Map<String, Integer> courseIndex = new HashMap<>();
+    private final Map<String, Integer> sectionIndex = new HashMap<>();
+    private final Map<String, Integer> roomIndex = new HashMap<>();
+
+    private SchedulingProblem(String semester, String[] teacherIds, int[] teacherMaxCourses,
+                              int[][] coursePreference, boolean[][] eligible, int[][] timePreference,
+                              String[] courseIds, int[] courseMinTeachers, int[] courseMaxTeachers,
+                              String[] sectionIds, int[] sectionCourse, int[] sectionLength, int[] sectionSeats,
+                              String[] roomIds, int[] roomCapacity, String[] days, int[] periodOrder,
+                              long[] bannedPeriods) {
+        if (periodOrder.length > Long.SIZE) {
+            throw new IllegalArgumentException("At most " + Long.SIZE + " periods per day are supported, got " + periodOrder.length);
+        }
+        this.semester = semester;
+        this.teacherIds = teacherIds;
+        this.teacherMaxCourses = teacherMaxCourses;
+        this.coursePreference = coursePreference;
+        this.eligible = eligible;
+        this.timePreference = timePreference;
+        this.courseIds = courseIds;
+        this.courseMinTeachers = courseMinTeachers;
+        this.courseMaxTeachers = courseMaxTeachers;
+        this.sectionIds = sectionIds;
+        this.sectionCourse = sectionCourse;
+        this.sectionLength = sectionLength;
+        this.sectionSeats = sectionSeats;
+        this.roomIds = roomIds;
+        this.roomCapacity = roomCapacity;
+        this.days = days;
+        this.periodOrder = periodOrder;
+        this.bannedPeriods = bannedPeriods;
+
+        for (int i = 0; i < teacherIds.length; i++) teacherIndex.put(teacherIds[i], i);
+        for (int i = 0; i < courseIds.length; i++) courseIndex.put(courseIds[i], i);
+        for (int i = 0; i < sectionIds.length; i++) sectionIndex.put(sectionIds[i], i);
+        for (int i = 0; i < roomIds.length; i++) roomIndex.put(roomIds[i], i);
+
+        int[][] sectionsByCourse = new int[courseIds.length][];
+        int[] counts = new int[courseIds.length];
+        for (int c : sectionCourse) counts[c]++;
+        for (int c = 0; c < courseIds.length; c++) sectionsByCourse[c] = new int[counts[c]];
+        Arrays.fill(counts, 0);
+        for (int s = 0; s < sectionIds.length; s++) {
+            int c = sectionCourse[s];
+            sectionsByCourse[c][counts[c]++] = s;
+        }
+        this.courseSections = sectionsByCourse;
+
+        this.eligibleCourses = new int[teacherIds.length][];
+        for (int t = 0; t < teacherIds.length; t++) {
+            int[] list = new int[courseIds.length];
+            int n = 0;
+            for (int c = 0; c < courseIds.length; c++) {
+                if (eligible[t][c]) list[n++] = c;
+            }
+            eligibleCourses[t] = Arrays.copyOf(list, n);
+        }
+        this.eligibleTeachers = new int[courseIds.length][];
+        for (int c = 0; c < courseIds.length; c++) {
+            int[] list = new int[teacherIds.length];
+            int n = 0;
+            for (int t = 0; t < teacherIds.length; t++) {
+                if (eligible[t][c]) list[n++] = t;
+            }
+            eligibleTeachers[c] = Arrays.copyOf(list, n);
+        }
+
+        this.contiguousRun = new int[periodOrder.length];
+        for (int p = periodOrder.length - 1; p >= 0; p--) {
+            boolean continues = p + 1 < periodOrder.length && periodOrder[p + 1] == periodOrder[p] + 1;
+            contiguousRun[p] = continues ? contiguousRun[p + 1] + 1 : 1;
+        }
+
+        int[] lengths = Arrays.stream(sectionLength).distinct().sorted().toArray();
+        this.sectionLengthClass = new int[sectionIds.length];
+        for (int s = 0; s < sectionIds.length; s++) {
+            sectionLengthClass[s] = Arrays.binarySearch(lengths, sectionLength[s]);
+        }
+        this.allowedStarts = new long[lengths.length][teacherIds.length * days.length];
+        for (int k = 0; k < lengths.length; k++) {
+            long valid = validStarts(lengths[k]);
+            for (int i = 0; i < teacherIds.length * days.length; i++) {
+                allowedStarts[k][i] = valid & ~blockedStarts(bannedPeriods[i], lengths[k]);
+            }
+        }
+
+        Integer[] byCapacity = new Integer[roomIds.length];
+        for (int r = 0; r < roomIds.length; r++) byCapacity[r] = r;
+        Arrays.sort(byCapacity, Comparator.<Integer>comparingInt(r -> roomCapacity[r]).thenComparing(r -> r));
+        this.sectionRooms = new int[sectionIds.length][];
+        for (int s = 0; s < sectionIds.length; s++) {
+            int seats = sectionSeats[s];
+            sectionRooms[s] = Arrays.stream(byCapacity).filter(r -> roomCapacity[r] >= seats).mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    /**
+     * Same problem with a reduced teacher–course eligibility and periods teachers may not teach;
+     * used by {@link Presolver}.
+     */
+    SchedulingProblem restrict(boolean[][] eligible, long[] bannedPeriods) {
+        return new SchedulingProblem(semester, teacherIds, teacherMaxCourses, coursePreference, eligible, timePreference,
+                courseIds, courseMinTeachers, courseMaxTeachers, sectionIds, sectionCourse, sectionLength, sectionSeats,
+                roomIds, roomCapacity, days, periodOrder, bannedPeriods);
+    }
+
+    /**
+     * Start periods where a block of {@code length} periods exists and is consecutive in order index.
+     */
+    private long validStarts(int length) {
+        long mask = 0L;
+        for (int p = 0; p < periodOrder.length; p++) {
+            if (contiguousRun[p] >= length) mask |= 1L << p;
+        }
+        return mask;
+    }
+
+    /**
+     * Starts whose block of {@code length} periods overlaps {@code periods}.
+     */
+    static long blockedStarts(long periods, int length) {
+        long blocked = 0L;
+        for (int i = 0; i < length && i < Long.SIZE; i++) {
+            blocked |= periods >>> i;
+        }
+        return blocked;
+    }
+
+    /**
+     * Builds the model from a semester snapshot using the same defaults as the research-service request.
+     */
+    public static SchedulingProblem from(SemesterSnapshot snapshot) {
+        List<TeachingRegistration> registrations = new ArrayList<>(snapshot.getRegistrationsByTeacher().values());
+        List<Course> courses = snapshot.getCourses();
+        List<Period> periods = snapshot.getPeriods();
+
+        int numTeachers = registrations.size();
+        int numCourses = courses.size();
+        int numPeriods = periods.size();
+
+        Map<String, Integer> courseIdx = new HashMap<>();
+        String[] courseIds = new String[numCourses];
+        int[] minTeachers = new int[numCourses];
+        int[] maxTeachers = new int[numCourses];
+        for (int c = 0; c < numCourses; c++) {
+            Course course = courses.get(c);
+            courseIds[c] = course.getId();
+            courseIdx.put(course.getId(), c);
+            minTeachers[c] = orDefault(course.getMinTeachers(), DEFAULT_MIN_TEACHERS);
+            // If max_teachers is null, use max of min_teachers and DEFAULT_MAX_TEACHERS to ensure max >= min
+            maxTeachers[c] = course.getMaxTeachers() != null
+                    ? course.getMaxTeachers()
+                    : Math.max(minTeachers[c], DEFAULT_MAX_TEACHERS);
+        }
+
+        Map<Integer, Integer> periodIdx = new HashMap<>();
+        int[] periodOrder = new int[numPeriods];
+        for (int p = 0; p < numPeriods; p++) {
+            periodOrder[p] = periods.get(p).getOrderIndex();
+            periodIdx.put(periodOrder[p], p);
+        }
+
+        String[] teacherIds = new String[numTeachers];
+        int[] maxCourses = new int[numTeachers];
+        int[][] coursePref = new int[numTeachers][numCourses];
+        boolean[][] eligible = new boolean[numTeachers][numCourses];
+        int[][] timePref = new int[numTeachers][WEEKDAYS.size() * numPeriods];
+        for (int t = 0; t < numTeachers; t++) {
+            TeachingRegistration reg = registrations.get(t);
+            teacherIds[t] = reg.getTeacher().getId();
+            maxCourses[t] = orDefault(reg.getMaxCourses(), DEFAULT_MAX_COURSES);
+            for (CoursePreference cp : snapshot.coursePreferencesOf(reg.getId())) {
+                Integer c = courseIdx.get(cp.getCourse().getId());
+                if (c == null) continue;
+                eligible[t][c] = true;
+                coursePref[t][c] = orDefault(cp.getPreferenceValue(), DEFAULT_PREFERENCE_VALUE);
+            }
+            for (TimePreference tp : snapshot.timePreferencesOf(reg.getId())) {
+                int d = dayIndex(tp.getDay());
+                Integer p = periodIdx.get(tp.getPeriod().getOrderIndex());
+                if (d < 0 || p == null) continue;
+                timePref[t][d * numPeriods + p] = orDefault(tp.getPreferenceValue(), DEFAULT_PREFERENCE_VALUE);
+            }
+        }
+
+        List<Section> sections = new ArrayList<>();
+        for (Course course : courses) {
+            sections.addAll(snapshot.sectionsOf(course.getId()));
+        }
+        String[] sectionIds = new String[sections.size()];
+        int[] sectionCourse = new int[sections.size()];
+        int[] sectionLength = new int[sections.size()];
+        int[] sectionSeats = new int[sections.size()];
+        for (int s = 0; s < sections.size(); s++) {
+            Section section = sections.get(s);
+            sectionIds[s] = section.getId();
+            sectionCourse[s] = courseIdx.get(section.getCourse().getId());
+            sectionLength[s] = orDefault(section.getPeriodRequired(), DEFAULT_REQUIRED_PERIODS);
+            sectionSeats[s] = orDefault(section.getRequiredSeats(), DEFAULT_REQUIRED_SEATS);
+        }
+
+        List<Classroom> classrooms = snapshot.getClassrooms();
+        String[] roomIds = new String[classrooms.size()];
+        int[] capacity = new int[classrooms.size()];
+        for (int r = 0; r < classrooms.size(); r++) {
+            roomIds[r] = classrooms.get(r).getId();
+            capacity[r] = orDefault(classrooms.get(r).getCapacity(), DEFAULT_CAPACITY);
+        }
+
+        return new SchedulingProblem(snapshot.getSemester(), teacherIds, maxCourses, coursePref, eligible, timePref,
+                courseIds, minTeachers, maxTeachers, sectionIds, sectionCourse, sectionLength, sectionSeats,
+                roomIds, capacity, WEEKDAYS.toArray(new String[0]), periodOrder,
+                new long[numTeachers * WEEKDAYS.size()]);
+    }
+
+    public String getSemester() { return semester; }
+
+    public int numTeachers() { return teacherIds.length; }
+    public int numCourses() { return courseIds.length; }
+    public int numSections() { return sectionIds.length; }
+    public int numRooms() { return roomIds.length; }
+    public int numDays() { return days.length; }
+    public int numPeriods() { return periodOrder.length; }
+    public int numSlots() { return days.length * periodOrder.length; }
+
+    public String teacherId(int t) { return teacherIds[t]; }
+    public String courseId(int c) { return courseIds[c]; }
+    public String sectionId(int s) { return sectionIds[s]; }
+    public String roomId(int r) { return roomIds[r]; }
+    public String day(int d) { return days[d]; }
+    public int periodOrder(int p) { return periodOrder[p]; }
+
+    public int maxCourses(int t) { return teacherMaxCourses[t]; }
+    public int coursePreference(int t, int c) { return coursePreference[t][c]; }
+    public boolean isEligible(int t, int c) { return eligible[t][c]; }
+    public int timePreference(int t, int slot) { return timePreference[t][slot]; }
+    public int[] eligibleCourses(int t) { return eligibleCourses[t]; }
+
+    public int minTeachers(int c) { return courseMinTeachers[c]; }
+    public int maxTeachers(int c) { return courseMaxTeachers[c]; }
+    public int[] sectionsOf(int c) { return courseSections[c]; }
+    public int[] eligibleTeachers(int c) { return eligibleTeachers[c]; }
+
+    public int courseOf(int s) { return sectionCourse[s]; }
+    public int length(int s) { return sectionLength[s]; }
+    public int seats(int s) { return sectionSeats[s]; }
+
+    public int capacity(int r) { return roomCapacity[r]; }
+
+    public int slot(int day, int period) { return day * periodOrder.length + period; }
+
+    /**
+     * A section may start at a period only if all of its periods exist and are consecutive in order index.
+     */
+    public boolean isValidStart(int s, int period) {
+        return period >= 0 && period < periodOrder.length && contiguousRun[period] >= sectionLength[s];
+    }
+
+    /**
+     * Start periods the section may use with teacher {@code t} on day {@code d}: valid starts whose
+     * block avoids the teacher's banned periods.
+     */
+    public long startMask(int s, int t, int d) {
+        return allowedStarts[sectionLengthClass[s]][t * days.length + d];
+    }
+
+    public boolean isAllowedStart(int s, int t, int d, int period) {
+        return period >= 0 && period < periodOrder.length && (startMask(s, t, d) & (1L << period)) != 0;
+    }
+
+    public long bannedPeriods(int t, int d) { return bannedPeriods[t * days.length + d]; }
+
+    /**
+     * Rooms with enough capacity for the section, smallest first.
+     */
+    public int[] roomsFor(int s) { return sectionRooms[s]; }
+
+    /**
+     * Interchangeable sections and teachers of this problem, detected once and then cached.
+     */
+    public SymmetryClasses symmetry() {
+        SymmetryClasses result = symmetry;
+        if (result == null) {
+            result = SymmetryClasses.of(this);
+            symmetry = result;
+        }
+        return result;
+    }
+
+    public int teacherIndex(String id) { return teacherIndex.getOrDefault(id, -1); }
+    public int courseIndex(String id) { return courseIndex.getOrDefault(id, -1); }
+    public int sectionIndex(String id) { return sectionIndex.getOrDefault(id, -1); }
+    public int roomIndex(String id) { return roomIndex.getOrDefault(id, -1); }
+    public int dayIndex(String day) { return Arrays.asList(days).indexOf(day); }
+
+    public int periodIndex(int orderIndex) {
+        for (int p = 0; p < periodOrder.length; p++) {
+            if (periodOrder[p] == orderIndex) return p;
+        }
+        return -1;
+    }
+
+    private static int dayIndex(DayOfWeek day) {
+        int index = day.getValue() - 1;
+        return index < WEEKDAYS.size() ? index : -1;
+    }
+
+    private static <T> T orDefault(T value, T defaultValue) {
+        return value != null ? value : defaultValue;
+    }
+}
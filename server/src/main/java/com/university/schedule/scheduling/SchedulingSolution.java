@@ -0,0 +1,134 @@
+package com.university.schedule.scheduling;
+
+import com.university.schedule.dtos.AssignmentDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Section-indexed assignment arrays produced by an engine. {@link #UNASSIGNED} marks a section
+ * that has not been placed; {@code period} is the index of the first period in the ordered period list.
+ */
+public final class SchedulingSolution {
+
+    public static final int UNASSIGNED = -1;
+
+    private final int[] teacher;
+    private final int[] day;
+    private final int[] period;
+    private final int[] room;
+    private long objective;
+    private boolean optimal;
+
+    public SchedulingSolution(int numSections) {
+        this.teacher = filled(numSections);
+        this.day = filled(numSections);
+        this.period = filled(numSections);
+        this.room = filled(numSections);
+    }
+
+    private SchedulingSolution(SchedulingSolution other) {
+        this.teacher = other.teacher.clone();
+        this.day = other.day.clone();
+        this.period = other.period.clone();
+        this.room = other.room.clone();
+        this.objective = other.objective;
+        this.optimal = other.optimal;
+    }
+
+    /**
+     * Converts stored assignments back into index form; assignments that reference
+     * entities outside the problem are ignored.
+     */
+    public static SchedulingSolution fromAssignments(SchedulingProblem problem, List<AssignmentDTO> assignments) {
+        SchedulingSolution solution = new SchedulingSolution(problem.numSections());
+        if (assignments == null) {
+            return solution;
+        }
+        for (AssignmentDTO assignment : assignments) {
+            int s = problem.sectionIndex(assignment.getSectionId());
+            int t = problem.teacherIndex(assignment.getTeacherId());
+            int r = problem.roomIndex(assignment.getClassroomId());
+            int d = problem.dayIndex(assignment.getDay());
+            int p;
+            try {
+                p = problem.periodIndex(Integer.parseInt(assignment.getPeriod()));
+            } catch (NumberFormatException e) {
+                p = UNASSIGNED;
+            }
+            if (s < 0 || t < 0 || r < 0 || d < 0 || p < 0) {
+                continue;
+            }
+            solution.assign(s, t, d, p, r);
+        }
+        return solution;
+    }
+
+    public SchedulingSolution copy() {
+        return new SchedulingSolution(this);
+    }
+
+    public int size() { return teacher.length; }
+
+    public int teacher(int s) { return teacher[s]; }
+    public int day(int s) { return day[s]; }
+    public int period(int s) { return period[s]; }
+    public int room(int s) { return room[s]; }
+
+    public boolean isAssigned(int s) { return teacher[s] != UNASSIGNED; }
+
+    public void assign(int s, int t, int d, int p, int r) {
+        teacher[s] = t;
+        day[s] = d;
+        period[s] = p;
+        room[s] = r;
+    }
+
+    public void unassign(int s) {
+        teacher[s] = UNASSIGNED;
+        day[s] = UNASSIGNED;
+        period[s] = UNASSIGNED;
+        room[s] = UNASSIGNED;
+    }
+
+    public int countAssigned() {
+        int n = 0;
+        for (int t : teacher) {
+            if (t != UNASSIGNED) n++;
+        }
+        return n;
+    }
+
+    public boolean isComplete() {
+        return countAssigned() == teacher.length;
+    }
+
+    public long getObjective() { return objective; }
+    public void setObjective(long objective) { this.objective = objective; }
+
+    public boolean isOptimal() { return optimal; }
+    public void setOptimal(boolean optimal) { this.optimal = optimal; }
+
+    public List<AssignmentDTO> toAssignments(SchedulingProblem problem) {
+        List<AssignmentDTO> assignments = new ArrayList<>(teacher.length);
+        for (int s = 0; s < teacher.length; s++) {
+            if (!isAssigned(s)) continue;
+            assignments.add(AssignmentDTO.builder()
+                    .teacherId(problem.teacherId(teacher[s]))
+                    .sectionId(problem.sectionId(s))
+                    .classroomId(problem.roomId(room[s]))
+                    .day(problem.day(day[s]))
+                    .period(String.valueOf(problem.periodOrder(period[s])))
+                    .courseId(problem.courseId(problem.courseOf(s)))
+                    .build());
+        }
+        return assignments;
+    }
+
+    private static int[] filled(int n) {
+        int[] array = new int[n];
+        Arrays.fill(array, UNASSIGNED);
+        return array;
+    }
+}
@@ -0,0 +1,176 @@
+package com.university.schedule.scheduling;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Per-run state handed to an engine: cancellation flag, random seed, optional deadline, optional warm
+ * start and the incumbent (best complete solution published so far, with the time it was found).
+ * Child contexts share the incumbent with their parent and are cancelled together with it, which
+ * lets several engines cooperate on one run. A target objective ends the search as soon as an
+ * incumbent reaches it. Objective weights apply to the whole run and are inherited by every
+ * derived context.
+ */
+public class SolverContext {
+
+    public static final long DEFAULT_SEED = 42L;
+    public static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    private final SolverContext parent;
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private final long seed;
+    private final long deadlineNanos;
+    private final Incumbent incumbent;
+    private final boolean inheritsWarmStart;
+    private volatile SchedulingSolution warmStart;
+    private volatile ObjectiveWeights objectiveWeights;
+
+    public SolverContext() {
+        this(DEFAULT_SEED);
+    }
+
+    public SolverContext(long seed) {
+        this(null, seed, NO_DEADLINE, new Incumbent(), false);
+    }
+
+    private SolverContext(SolverContext parent, long seed, long deadlineNanos, Incumbent incumbent,
+                          boolean inheritsWarmStart) {
+        this.parent = parent;
+        this.seed = seed;
+        this.deadlineNanos = deadlineNanos;
+        this.incumbent = incumbent;
+        this.inheritsWarmStart = inheritsWarmStart;
+    }
+
+    /**
+     * Context for one member of a cooperative run. It shares this context's incumbent, is cancelled
+     * when this context is, and stops at the earlier of the two deadlines.
+     */
+    public SolverContext child(long seed, long deadlineNanos) {
+        return new SolverContext(this, seed, Math.min(this.deadlineNanos, deadlineNanos), incumbent, true);
+    }
+
+    /**
+     * Context for an independent subproblem. It is cancelled with this context and bound by its
+     * deadline, but has its own incumbent and no warm start, since solutions of different problems
+     * are not comparable.
+     */
+    public SolverContext fork(long seed) {
+        return new SolverContext(this, seed, deadlineNanos, new Incumbent(), false);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getDeadlineNanos() {
+        return deadlineNanos;
+    }
+
+    /**
+     * Assignments to start from instead of an empty schedule; children inherit their parent's.
+     */
+    public SchedulingSolution getWarmStart() {
+        if (warmStart == null && inheritsWarmStart) {
+            return parent.getWarmStart();
+        }
+        return warmStart;
+    }
+
+    public void setWarmStart(SchedulingSolution warmStart) {
+        this.warmStart = warmStart;
+    }
+
+    /**
+     * Weights an engine should optimize; {@link ObjectiveWeights#DEFAULT} unless set on this context
+     * or an ancestor. Engines that only support the default weighting ignore it.
+     */
+    public ObjectiveWeights getObjectiveWeights() {
+        if (objectiveWeights != null) return objectiveWeights;
+        return parent != null ? parent.getObjectiveWeights() : ObjectiveWeights.DEFAULT;
+    }
+
+    public void setObjectiveWeights(ObjectiveWeights objectiveWeights) {
+        this.objectiveWeights = objectiveWeights;
+    }
+
+    public void cancel() {
+        cancelled.set(true);
+    }
+
+    /**
+     * Engines poll this between steps; an interrupted solver thread counts as cancelled.
+     */
+    public boolean isCancelled() {
+        return cancelled.get() || Thread.currentThread().isInterrupted() || (parent != null && parent.isCancelled());
+    }
+
+    public boolean isTimeUp() {
+        return deadlineNanos != NO_DEADLINE && System.nanoTime() - deadlineNanos >= 0;
+    }
+
+    /**
+     * Objective at which the search may stop; shared with every context that shares the incumbent.
+     */
+    public void setTargetObjective(long targetObjective) {
+        incumbent.target = targetObjective;
+    }
+
+    public boolean hasTargetObjective() {
+        return incumbent.target != Long.MAX_VALUE;
+    }
+
+    public boolean isTargetReached() {
+        return incumbent.solution != null && incumbent.objective >= incumbent.target;
+    }
+
+    /**
+     * Searches stop here and return their best solution so far. Construction only checks
+     * {@link #isCancelled()}, so a deadline never leaves a schedule half built.
+     */
+    public boolean shouldStop() {
+        return isCancelled() || isTimeUp() || isTargetReached();
+    }
+
+    /**
+     * Publishes a complete solution with its objective set. Returns true if it became the incumbent.
+     */
+    public boolean offerIncumbent(SchedulingSolution solution) {
+        return incumbent.offer(solution);
+    }
+
+    /**
+     * Objective of the incumbent, or {@link Long#MIN_VALUE} when none has been published.
+     */
+    public long getIncumbentObjective() {
+        return incumbent.objective;
+    }
+
+    public SchedulingSolution getIncumbent() {
+        SchedulingSolution best = incumbent.solution;
+        return best != null ? best.copy() : null;
+    }
+
+    /**
+     * {@link System#nanoTime()} at which the incumbent was published, or {@code 0} when there is none.
+     */
+    public long getIncumbentFoundAtNanos() {
+        return incumbent.foundAtNanos;
+    }
+
+    private static final class Incumbent {
+        private volatile long objective = Long.MIN_VALUE;
+        private volatile SchedulingSolution solution;
+        private volatile long foundAtNanos;
+        private volatile long target = Long.MAX_VALUE;
+
+        synchronized boolean offer(SchedulingSolution candidate) {
+            if (solution != null && candidate.getObjective() <= objective) {
+                return false;
+            }
+            solution = candidate.copy();
+            objective = candidate.getObjective();
+            foundAtNanos = System.nanoTime();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.university.schedule.scheduling;
+
+import java.util.*;
+
+/**
+ * Interchangeable sections and teachers of a problem. Sections of the same course with the same
+ * length and seats have identical domains and objective terms, and so do teachers with the same
+ * eligibility, course and time preferences, {@code max_courses} and banned periods: swapping the
+ * assignments of two members of a class yields a schedule of the same objective.
+ * <p>
+ * Engines break these symmetries with ordering constraints instead of collapsing the classes, so
+ * every solution they return is already a complete schedule and needs no expansion.
+ */
+public final class SymmetryClasses {
+
+    private final int[] sectionClass;   // section -> class id (the smallest member)
+    private final int[] teacherClass;   // teacher -> class id (the smallest member)
+    private final List<int[]> sectionGroups;
+    private final List<int[]> teacherGroups;
+
+    private SymmetryClasses(int[] sectionClass, int[] teacherClass) {
+        this.sectionClass = sectionClass;
+        this.teacherClass = teacherClass;
+        this.sectionGroups = groups(sectionClass);
+        this.teacherGroups = groups(teacherClass);
+    }
+
+    static SymmetryClasses of(SchedulingProblem problem) {
+        Map<List<Integer>, Integer> sectionKeys = new HashMap<>();
+        int[] sectionClass = new int[problem.numSections()];
+        for (int s = 0; s < problem.numSections(); s++) {
+            int section = s;
+            List<Integer> key = List.of(problem.courseOf(s), problem.length(s), problem.seats(s));
+            sectionClass[s] = sectionKeys.computeIfAbsent(key, k -> section);
+        }
+
+        Map<TeacherKey, Integer> teacherKeys = new HashMap<>();
+        int[] teacherClass = new int[problem.numTeachers()];
+        for (int t = 0; t < problem.numTeachers(); t++) {
+            int teacher = t;
+            teacherClass[t] = teacherKeys.computeIfAbsent(TeacherKey.of(problem, t), k -> teacher);
+        }
+        return new SymmetryClasses(sectionClass, teacherClass);
+    }
+
+    public int sectionClass(int s) { return sectionClass[s]; }
+    public int teacherClass(int t) { return teacherClass[t]; }
+
+    /**
+     * Classes with at least two members, each in ascending index order.
+     */
+    public List<int[]> sectionGroups() { return sectionGroups; }
+    public List<int[]> teacherGroups() { return teacherGroups; }
+
+    /**
+     * Sections that belong to a class with at least one other member.
+     */
+    public int interchangeableSections() {
+        return sectionGroups.stream().mapToInt(g -> g.length).sum();
+    }
+
+    public int interchangeableTeachers() {
+        return teacherGroups.stream().mapToInt(g -> g.length).sum();
+    }
+
+    private static List<int[]> groups(int[] classOf) {
+        Map<Integer, List<Integer>> members = new TreeMap<>();
+        for (int i = 0; i < classOf.length; i++) {
+            members.computeIfAbsent(classOf[i], k -> new ArrayList<>()).add(i);
+        }
+        List<int[]> result = new ArrayList<>();
+        for (List<Integer> group : members.values()) {
+            if (group.size() > 1) result.add(group.stream().mapToInt(Integer::intValue).toArray());
+        }
+        return List.copyOf(result);
+    }
+
+    private record TeacherKey(int maxCourses, List<Integer> coursePreferences, int[] timePreference, long[] banned) {
+
+        static TeacherKey of(SchedulingProblem problem, int t) {
+            List<Integer> courses = new ArrayList<>();
+            for (int c : problem.eligibleCourses(t)) {
+                courses.add(c);
+                courses.add(problem.coursePreference(t, c));
+            }
+            int[] time = new int[problem.numSlots()];
+            for (int slot = 0; slot < time.length; slot++) time[slot] = problem.timePreference(t, slot);
+            long[] banned = new long[problem.numDays()];
+            for (int d = 0; d < banned.length; d++) banned[d] = problem.bannedPeriods(t, d);
+            return new TeacherKey(problem.maxCourses(t), courses, time, banned);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof TeacherKey k && maxCourses == k.maxCourses && coursePreferences.equals(k.coursePreferences)
+                    && Arrays.equals(timePreference, k.timePreference) && Arrays.equals(banned, k.banned);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(maxCourses, coursePreferences, Arrays.hashCode(timePreference), Arrays.hashCode(banned));
+        }
+    }
+}
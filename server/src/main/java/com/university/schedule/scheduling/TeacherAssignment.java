@@ -0,0 +1,128 @@
+package com.university.schedule.scheduling;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Teachers for every section from two min-cost flows, with times and rooms left open. The first flow
+ * picks teacher–course pairs: every course gets its {@code min_teachers} target, at most
+ * {@code max_teachers}, and each teacher at most {@code max_courses}. The second spreads each course's
+ * sections over its picked teachers, trading course preference against a convex per-teacher load cost.
+ */
+final class TeacherAssignment {
+
+    private static final long MUST = 1L << 40;          // cost of routing a required unit, dominates all others
+
+    private TeacherAssignment() {
+    }
+
+    /**
+     * Average time preference over the better half of a teacher's slots, as an estimate of what one
+     * period of that teacher is worth once times are chosen.
+     */
+    static long[] timeQuality(SchedulingProblem problem) {
+        long[] quality = new long[problem.numTeachers()];
+        int half = Math.max(1, problem.numSlots() / 2);
+        for (int t = 0; t < problem.numTeachers(); t++) {
+            int teacher = t;
+            quality[t] = Math.round(IntStream.range(0, problem.numSlots())
+                    .map(slot -> -problem.timePreference(teacher, slot)).sorted().limit(half)
+                    .map(v -> -v).average().orElse(0));
+        }
+        return quality;
+    }
+
+    private static long unitValue(SchedulingProblem problem, long[] timeQuality, long[] penalty, int t, int c, int length) {
+        return ObjectiveEvaluator.W_COURSE_PREF * problem.coursePreference(t, c)
+                + ObjectiveEvaluator.W_TIME_PREF * timeQuality[t] * length
+                - penalty[t * problem.numCourses() + c];
+    }
+
+    /**
+     * Section -> teacher, or -1 for sections no picked teacher could take. {@code penalty} is
+     * subtracted from the value of each teacher–course pair ({@code t * numCourses + c}).
+     */
+    static int[] assign(SchedulingProblem problem, long[] timeQuality, long[] penalty) {
+        int numCourses = problem.numCourses();
+        int numTeachers = problem.numTeachers();
+        int[] courseLength = new int[numCourses];
+        for (int c = 0; c < numCourses; c++) {
+            int[] sections = problem.sectionsOf(c);
+            courseLength[c] = sections.length == 0 ? 1
+                    : (int) Math.round(Arrays.stream(sections).map(problem::length).average().orElse(1));
+        }
+
+        // Pair selection: courses -> teachers, one unit per teacher–course pair
+        MinCostFlow pairs = new MinCostFlow(numCourses + numTeachers + 2);
+        int source = numCourses + numTeachers, sink = source + 1;
+        Map<Integer, Integer> pairEdges = new HashMap<>();
+        for (int c = 0; c < numCourses; c++) {
+            int target = GreedyConstruction.minTeachersTarget(problem, c);
+            int limit = Math.min(problem.maxTeachers(c), Math.min(problem.sectionsOf(c).length, problem.eligibleTeachers(c).length));
+            pairs.addEdge(source, c, target, -MUST);
+            if (limit > target) pairs.addEdge(source, c, limit - target, 0);
+            for (int t : problem.eligibleTeachers(c)) {
+                long value = unitValue(problem, timeQuality, penalty, t, c, courseLength[c]);
+                pairEdges.put(t * numCourses + c, pairs.addEdge(c, numCourses + t, 1, -value));
+            }
+        }
+        for (int t = 0; t < numTeachers; t++) pairs.addEdge(numCourses + t, sink, problem.maxCourses(t), 0);
+        pairs.solve(source, sink);
+
+        // Section distribution over the picked pairs; every picked pair gets at least one section
+        MinCostFlow sections = new MinCostFlow(numCourses + numTeachers + 2);
+        List<int[]> picked = new ArrayList<>();          // {t, c, edge of the extra units}
+        int[] pickedSections = new int[numTeachers];
+        for (int c = 0; c < numCourses; c++) {
+            sections.addEdge(source, c, problem.sectionsOf(c).length, -MUST);
+            for (int t : problem.eligibleTeachers(c)) {
+                int edge = pairEdges.get(t * numCourses + c);
+                if (pairs.flow(edge) == 0) continue;
+                int first = sections.addEdge(c, numCourses + t, 1, -MUST / 2);
+                long value = unitValue(problem, timeQuality, penalty, t, c, courseLength[c]);
+                int extra = sections.addEdge(c, numCourses + t, MinCostFlow.INFINITE, -value);
+                picked.add(new int[]{t, c, first, extra});
+                pickedSections[t] += problem.sectionsOf(c).length;
+            }
+        }
+        for (int t = 0; t < numTeachers; t++) {
+            // A teacher's (k+1)-th section costs k: a convex stand-in for the workload range
+            for (int k = 0; k < Math.min(pickedSections[t], problem.numSlots()); k++) {
+                sections.addEdge(numCourses + t, sink, 1, k);
+            }
+        }
+        sections.solve(source, sink);
+
+        int[][] count = new int[numCourses][];
+        int[][] teachers = new int[numCourses][];
+        Map<Integer, List<int[]>> byCourse = new HashMap<>();
+        for (int[] p : picked) byCourse.computeIfAbsent(p[1], k -> new ArrayList<>()).add(p);
+        for (Map.Entry<Integer, List<int[]>> e : byCourse.entrySet()) {
+            List<int[]> list = e.getValue();
+            teachers[e.getKey()] = list.stream().mapToInt(p -> p[0]).toArray();
+            count[e.getKey()] = list.stream().mapToInt(p -> (int) (sections.flow(p[2]) + sections.flow(p[3]))).toArray();
+        }
+
+        // Longest sections first, each to the teacher of the course with the least load so far
+        int[] teacherOf = new int[problem.numSections()];
+        Arrays.fill(teacherOf, -1);
+        int[] load = new int[numTeachers];
+        for (int c = 0; c < numCourses; c++) {
+            if (teachers[c] == null) continue;
+            Integer[] order = Arrays.stream(problem.sectionsOf(c)).boxed().toArray(Integer[]::new);
+            Arrays.sort(order, Comparator.<Integer>comparingInt(s -> -problem.length(s)).thenComparing(s -> s));
+            for (int s : order) {
+                int pick = -1;
+                for (int i = 0; i < teachers[c].length; i++) {
+                    if (count[c][i] == 0) continue;
+                    if (pick < 0 || load[teachers[c][i]] < load[teachers[c][pick]]) pick = i;
+                }
+                if (pick < 0) break;
+                count[c][pick]--;
+                teacherOf[s] = teachers[c][pick];
+                load[teacherOf[s]] += problem.length(s);
+            }
+        }
+        return teacherOf;
+    }
+}
@@ -0,0 +1,192 @@
+package com.university.schedule.scheduling;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Decomposes the problem instead of searching teacher, time and room together. Phase one assigns
+ * teachers with the min-cost flows of {@link TeacherAssignment}. Phase two places every section at its
+ * best (day, period) for the fixed teacher, in the smallest free room, and improves times by a
+ * fixed-teacher relocation descent.
+ * <p>
+ * Sections phase two cannot place raise a Lagrangian penalty on their teacher–course pair, and phase
+ * one is solved again; the loop ends when everything fits or the rounds run out. The best schedule is
+ * then completed by the greedy repair and polished by the relocation descent, both of which may change
+ * teachers.
+ */
+@Slf4j
+@Component
+public class TwoPhaseSchedulingEngine implements SchedulingEngine {
+
+    public static final String NAME = "twophase";
+
+    private static final int MAX_DESCENT_PASSES = 20;
+
+    @Value("${scheduling.twophase.rounds:5}")
+    private int rounds = 5;
+
+    @Value("${scheduling.twophase.penalty-step:4}")
+    private long penaltyStep = 4;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String getConfiguration() {
+        return "rounds=" + rounds + ";penalty-step=" + penaltyStep;
+    }
+
+    @Override
+    public SchedulingSolution solve(SchedulingProblem problem, SolverContext context) {
+        long start = System.currentTimeMillis();
+        long[] timeQuality = TeacherAssignment.timeQuality(problem);
+        long[] penalty = new long[problem.numTeachers() * problem.numCourses()];
+
+        ScheduleState best = null;
+        long bestObjective = Long.MIN_VALUE;
+        if (context.getWarmStart() != null) {
+            best = GreedyConstruction.initialState(problem, context);
+            GreedyConstruction.complete(best, context);
+            bestObjective = ObjectiveEvaluator.evaluate(problem, best.solution());
+            GreedyConstruction.publish(best, context, bestObjective);
+        }
+
+        int round = 0;
+        int unplacedCount = -1;
+        while (round < rounds && !context.shouldStop()) {
+            round++;
+            int[] teacherOf = TeacherAssignment.assign(problem, timeQuality, penalty);
+            ScheduleState state = new ScheduleState(problem);
+            List<Integer> unplaced = placeTimes(state, teacherOf);
+            descend(state, context);
+            unplacedCount = unplaced.size();
+            for (int s : unplaced) {
+                if (teacherOf[s] >= 0) {
+                    penalty[teacherOf[s] * problem.numCourses() + problem.courseOf(s)] += penaltyStep * problem.length(s);
+                }
+            }
+
+            GreedyConstruction.repair(state, unplaced, context);
+            GreedyConstruction.spreadTeachers(state, context);
+            long objective = ObjectiveEvaluator.evaluate(problem, state.solution());
+            if (best == null || better(state, objective, best, bestObjective)) {
+                best = state;
+                bestObjective = objective;
+                GreedyConstruction.publish(best, context, bestObjective);
+            }
+            if (unplacedCount == 0) break;
+        }
+        if (best == null) {
+            best = new ScheduleState(problem);
+            GreedyConstruction.complete(best, context);
+        }
+        // Final relocation descent over all values, teachers included, until the deadline
+        GreedyConstruction.improve(best, context);
+
+        SchedulingSolution solution = best.solution().copy();
+        solution.setObjective(ObjectiveEvaluator.evaluate(problem, solution));
+        log.info("Two-phase engine placed {}/{} sections in {} rounds ({} left for repair in the last) in {} ms, "
+                        + "objective {}", solution.countAssigned(), problem.numSections(), round, unplacedCount,
+                System.currentTimeMillis() - start, solution.getObjective());
+        return solution;
+    }
+
+    /**
+     * Feasible schedules beat infeasible ones, then more placed sections, then the objective.
+     */
+    private static boolean better(ScheduleState a, long objectiveA, ScheduleState b, long objectiveB) {
+        boolean feasibleA = GreedyConstruction.isFeasible(a), feasibleB = GreedyConstruction.isFeasible(b);
+        if (feasibleA != feasibleB) return feasibleA;
+        int placedA = a.solution().countAssigned(), placedB = b.solution().countAssigned();
+        if (placedA != placedB) return placedA > placedB;
+        return objectiveA > objectiveB;
+    }
+
+    /**
+     * Phase two: hardest sections first (most seats, then longest), each at its best start for its
+     * teacher. Returns the sections that did not fit.
+     */
+    private static List<Integer> placeTimes(ScheduleState state, int[] teacherOf) {
+        SchedulingProblem problem = state.problem();
+        Integer[] order = IntStream.range(0, problem.numSections()).boxed().toArray(Integer[]::new);
+        Arrays.sort(order, Comparator.<Integer>comparingInt(s -> -problem.seats(s))
+                .thenComparing(s -> -problem.length(s))
+                .thenComparing(s -> s));
+        List<Integer> unplaced = new ArrayList<>();
+        for (int s : order) {
+            if (teacherOf[s] < 0 || !placeBest(state, s, teacherOf[s], Long.MIN_VALUE)) unplaced.add(s);
+        }
+        return unplaced;
+    }
+
+    /**
+     * Places the section with teacher {@code t} at the start with the best time preference and gap
+     * change, if that beats {@code threshold}.
+     */
+    private static boolean placeBest(ScheduleState state, int s, int t, long threshold) {
+        SchedulingProblem problem = state.problem();
+        int numPeriods = problem.numPeriods();
+        int length = problem.length(s);
+        long bestScore = threshold;
+        int bestD = -1, bestP = -1, bestR = -1;
+        for (int d = 0; d < problem.numDays(); d++) {
+            long mask = state.teacherDayMask(t, d);
+            int gapsBefore = ObjectiveEvaluator.gaps(mask, numPeriods);
+            for (long starts = state.freeStarts(s, t, d); starts != 0; starts &= starts - 1) {
+                int p = Long.numberOfTrailingZeros(starts);
+                long score = -ObjectiveEvaluator.W_COMPACTNESS
+                        * (ObjectiveEvaluator.gaps(mask | ScheduleState.blockMask(p, length), numPeriods) - gapsBefore);
+                for (int i = 0; i < length; i++) {
+                    score += ObjectiveEvaluator.W_TIME_PREF * problem.timePreference(t, problem.slot(d, p + i));
+                }
+                if (score <= bestScore) continue;
+                int r = state.findRoom(s, d, p);
+                if (r < 0) continue;
+                bestScore = score;
+                bestD = d;
+                bestP = p;
+                bestR = r;
+            }
+        }
+        if (bestD < 0) return false;
+        state.place(s, t, bestD, bestP, bestR);
+        return true;
+    }
+
+    /**
+     * Moves sections to better starts of the same teacher. Teacher loads and course preferences do
+     * not change, so the score of {@link #placeBest} is the exact objective delta.
+     */
+    private static void descend(ScheduleState state, SolverContext context) {
+        SchedulingProblem problem = state.problem();
+        SchedulingSolution solution = state.solution();
+        for (int pass = 0; pass < MAX_DESCENT_PASSES; pass++) {
+            boolean improved = false;
+            for (int s = 0; s < problem.numSections(); s++) {
+                if (context.shouldStop()) return;
+                if (!solution.isAssigned(s)) continue;
+                int t = solution.teacher(s), d = solution.day(s), p = solution.period(s), r = solution.room(s);
+                state.remove(s);
+                long mask = state.teacherDayMask(t, d);
+                long current = -ObjectiveEvaluator.W_COMPACTNESS * (ObjectiveEvaluator.gaps(
+                        mask | ScheduleState.blockMask(p, problem.length(s)), problem.numPeriods())
+                        - ObjectiveEvaluator.gaps(mask, problem.numPeriods()));
+                for (int i = 0; i < problem.length(s); i++) {
+                    current += ObjectiveEvaluator.W_TIME_PREF * problem.timePreference(t, problem.slot(d, p + i));
+                }
+                if (placeBest(state, s, t, current)) {
+                    improved = true;
+                } else {
+                    state.place(s, t, d, p, r);
+                }
+            }
+            if (!improved) break;
+        }
+    }
+}
@@ -6,11 +6,14 @@ import com.university.schedule.mappers.ClassroomMapper;
 import com.university.schedule.repositories.ClassroomRepository;
 import com.university.schedule.exceptions.NotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Objects;
+
 @RequiredArgsConstructor
 @Service
 @Transactional
@@ -18,6 +21,7 @@ public class ClassroomServiceImpl implements ClassroomService {
 
     private final ClassroomRepository classroomRepository;
     private final ClassroomMapper classroomMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public ClassroomDTO create(ClassroomDTO dto) {
@@ -62,11 +66,17 @@ public class ClassroomServiceImpl implements ClassroomService {
     public ClassroomDTO update(String id, ClassroomDTO dto) {
         Classroom entity = classroomRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Classroom not found with id " + id));
+        String previousSemester = entity.getSemester();
         entity.setName(dto.getName());
         entity.setCapacity(dto.getCapacity());
         entity.setStatus(dto.getStatus());
         entity.setSemester(dto.getSemester());
-        return classroomMapper.toDto(classroomRepository.save(entity));
+        ClassroomDTO saved = classroomMapper.toDto(classroomRepository.save(entity));
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(previousSemester, "classroom " + id + " updated"));
+        if (!Objects.equals(previousSemester, dto.getSemester())) {
+            eventPublisher.publishEvent(new ReferenceDataChangedEvent(dto.getSemester(), "classroom " + id + " updated"));
+        }
+        return saved;
     }
 
     @Override
@@ -74,5 +84,6 @@ public class ClassroomServiceImpl implements ClassroomService {
         Classroom entity = classroomRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Classroom not found with id " + id));
         classroomRepository.delete(entity);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(entity.getSemester(), "classroom " + id + " deleted"));
     }
 }
@@ -0,0 +1,226 @@
+package com.university.schedule.services;
+
+import com.university.schedule.dtos.AssignmentDTO;
+import com.university.schedule.scheduling.SchedulingProblem;
+import com.university.schedule.scheduling.SchedulingSolution;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Compact binary encoding of research-service requests and responses. Every ID is sent once in a
+ * dictionary; everything after it refers to teachers, courses, sections, rooms, days and periods by
+ * their position in that dictionary. Integers are zigzag varints, so small preference values take
+ * one byte.
+ * <p>
+ * Request: magic {@code SCQ1}, algorithm, time budget in ms (0 = none), target objective (flag and
+ * value), days, period order indexes, teachers (id, max_courses),
+ * courses (id, min_teachers, max_teachers), sections (id, course, required_periods, required_seats),
+ * classrooms (id, capacity), the teacher × course eligibility bitmap (row-major, after presolve),
+ * course preferences of the eligible pairs in the same order, the dense teacher × day × period time
+ * preference matrix, a per teacher-day bitmask of banned periods, the initial assignments, and the
+ * classes of interchangeable sections and then of teachers (count, then each class as size and indexes).
+ * <p>
+ * Response: magic {@code SCR1}, a status byte (0 = success, otherwise followed by an error message),
+ * an objective flag and value, and the assignments as (section, teacher, classroom, day, period).
+ */
+public final class CompactScheduleCodec {
+
+    public static final String MEDIA_TYPE = "application/x-schedule-compact";
+
+    private static final int REQUEST_MAGIC = 0x53435131;  // "SCQ1"
+    private static final int RESPONSE_MAGIC = 0x53435231; // "SCR1"
+    // Longest string a response may carry; a corrupt length must not size an allocation
+    private static final int MAX_STRING_BYTES = 1 << 20;
+
+    private CompactScheduleCodec() {
+    }
+
+    public static void writeRequest(OutputStream target, ResearchRequest request) throws IOException {
+        SchedulingProblem problem = request.problem();
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(target, 8192));
+        out.writeInt(REQUEST_MAGIC);
+        writeString(out, request.getAlgorithm());
+        writeVarLong(out, request.getTimeBudgetMs() != null ? request.getTimeBudgetMs() : 0);
+        out.writeBoolean(request.getTargetObjective() != null);
+        if (request.getTargetObjective() != null) writeVarLong(out, request.getTargetObjective());
+
+        writeVarInt(out, problem.numDays());
+        for (int d = 0; d < problem.numDays(); d++) writeString(out, problem.day(d));
+        writeVarInt(out, problem.numPeriods());
+        for (int p = 0; p < problem.numPeriods(); p++) writeVarInt(out, problem.periodOrder(p));
+
+        writeVarInt(out, problem.numTeachers());
+        for (int t = 0; t < problem.numTeachers(); t++) {
+            writeString(out, problem.teacherId(t));
+            writeVarInt(out, problem.maxCourses(t));
+        }
+        writeVarInt(out, problem.numCourses());
+        for (int c = 0; c < problem.numCourses(); c++) {
+            writeString(out, problem.courseId(c));
+            writeVarInt(out, problem.minTeachers(c));
+            writeVarInt(out, problem.maxTeachers(c));
+        }
+        writeVarInt(out, problem.numSections());
+        for (int s = 0; s < problem.numSections(); s++) {
+            writeString(out, problem.sectionId(s));
+            writeVarInt(out, problem.courseOf(s));
+            writeVarInt(out, problem.length(s));
+            writeVarInt(out, problem.seats(s));
+        }
+        writeVarInt(out, problem.numRooms());
+        for (int r = 0; r < problem.numRooms(); r++) {
+            writeString(out, problem.roomId(r));
+            writeVarInt(out, problem.capacity(r));
+        }
+
+        int bits = 0, pending = 0;
+        for (int t = 0; t < problem.numTeachers(); t++) {
+            for (int c = 0; c < problem.numCourses(); c++) {
+                if (problem.isEligible(t, c)) pending |= 1 << bits;
+                if (++bits == Byte.SIZE) {
+                    out.writeByte(pending);
+                    bits = 0;
+                    pending = 0;
+                }
+            }
+        }
+        if (bits > 0) out.writeByte(pending);
+        for (int t = 0; t < problem.numTeachers(); t++) {
+            for (int c : problem.eligibleCourses(t)) writeVarInt(out, problem.coursePreference(t, c));
+        }
+        for (int t = 0; t < problem.numTeachers(); t++) {
+            for (int slot = 0; slot < problem.numSlots(); slot++) writeVarInt(out, problem.timePreference(t, slot));
+        }
+        for (int t = 0; t < problem.numTeachers(); t++) {
+            for (int d = 0; d < problem.numDays(); d++) writeVarLong(out, problem.bannedPeriods(t, d));
+        }
+
+        SchedulingSolution initial = SchedulingSolution.fromAssignments(problem, request.getInitialAssignments());
+        writeVarInt(out, initial.countAssigned());
+        for (int s = 0; s < initial.size(); s++) {
+            if (!initial.isAssigned(s)) continue;
+            writeAssignment(out, s, initial.teacher(s), initial.room(s), initial.day(s), initial.period(s));
+        }
+        writeGroups(out, problem.symmetry().sectionGroups());
+        writeGroups(out, problem.symmetry().teacherGroups());
+        out.flush();
+    }
+
+    /**
+     * Reads a response whose indexes refer to the dictionary of the request built from {@code problem}.
+     */
+    public static GeneratedSchedule readResponse(InputStream source, SchedulingProblem problem) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(source, 8192));
+        if (in.readInt() != RESPONSE_MAGIC) {
+            throw new RuntimeException("Research service returned an invalid response");
+        }
+        int status = in.readUnsignedByte();
+        if (status != 0) {
+            throw new RuntimeException("Research service returned error: " + readString(in));
+        }
+
+        GeneratedSchedule result = new GeneratedSchedule();
+        if (in.readBoolean()) {
+            result.setObjectiveValue(readVarInt(in));
+        }
+        int count = readVarInt(in);
+        if (count < 0) {
+            throw new IOException("Malformed assignment count: " + count);
+        }
+        for (int i = 0; i < count; i++) {
+            int s = readIndex(in, problem.numSections(), "section");
+            int t = readIndex(in, problem.numTeachers(), "teacher");
+            int r = readIndex(in, problem.numRooms(), "classroom");
+            int d = readIndex(in, problem.numDays(), "day");
+            int p = readIndex(in, problem.numPeriods(), "period");
+            result.add(AssignmentDTO.builder()
+                    .teacherId(problem.teacherId(t))
+                    .sectionId(problem.sectionId(s))
+                    .classroomId(problem.roomId(r))
+                    .day(problem.day(d))
+                    .period(String.valueOf(problem.periodOrder(p)))
+                    .courseId(problem.courseId(problem.courseOf(s)))
+                    .build());
+        }
+        return result;
+    }
+
+    private static void writeGroups(DataOutputStream out, List<int[]> groups) throws IOException {
+        writeVarInt(out, groups.size());
+        for (int[] group : groups) {
+            writeVarInt(out, group.length);
+            for (int i : group) writeVarInt(out, i);
+        }
+    }
+
+    private static void writeAssignment(DataOutputStream out, int s, int t, int r, int d, int p) throws IOException {
+        writeVarInt(out, s);
+        writeVarInt(out, t);
+        writeVarInt(out, r);
+        writeVarInt(out, d);
+        writeVarInt(out, p);
+    }
+
+    private static int readIndex(DataInputStream in, int size, String kind) throws IOException {
+        int index = readVarInt(in);
+        if (index < 0 || index >= size) {
+            throw new RuntimeException("Research service returned an unknown " + kind + " index: " + index);
+        }
+        return index;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = readVarInt(in);
+        if (length < 0 || length > MAX_STRING_BYTES) {
+            throw new IOException("Malformed string length: " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        writeVarLong(out, value);
+    }
+
+    static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            out.writeByte((int) ((zigzag & 0x7F) | 0x80));
+            zigzag >>>= 7;
+        }
+        out.writeByte((int) zigzag);
+    }
+
+    static int readVarInt(DataInputStream in) throws IOException {
+        long value = readVarLong(in);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new IOException("Malformed varint");
+        }
+        return (int) value;
+    }
+
+    static long readVarLong(DataInputStream in) throws IOException {
+        long zigzag = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            int b = in.readUnsignedByte();
+            // The tenth byte holds only the top bit of a long
+            if (shift == 63 && (b & 0x7E) != 0) {
+                throw new IOException("Malformed varint");
+            }
+            zigzag |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (zigzag >>> 1) ^ -(zigzag & 1);
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+}
@@ -0,0 +1,122 @@
+package com.university.schedule.services;
+
+import com.university.schedule.dtos.AssignmentDTO;
+import com.university.schedule.dtos.ComponentReportDTO;
+import com.university.schedule.scheduling.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Solves a semester as independent components when its teacher–course graph is disconnected.
+ * Each component gets its share of the classrooms and is solved in parallel by the requested engine.
+ * The partial schedules are merged into one. Sections a component could not place in its own rooms
+ * are inserted afterwards using all classrooms, as are moves needed to reach {@code min_teachers}.
+ * The workload range spans all teachers and the classrooms are split up front, so the merged schedule
+ * is not optimal even when every part is; engines that prove optimality always see the whole semester.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DecomposedSolver {
+
+    private final Presolver presolver;
+
+    @Value("${scheduling.decomposition.enabled:true}")
+    private boolean enabled = true;
+
+    public record Result(SchedulingSolution solution, List<ComponentReportDTO> components) {
+    }
+
+    /**
+     * Part of the result cache key: decomposed and whole-semester solves return different schedules.
+     */
+    public String getConfiguration() {
+        return "decomposition=" + (enabled ? "on" : "off");
+    }
+
+    /**
+     * Empty when decomposition is disabled, the engine proves optimality, the run has a target objective,
+     * or the semester is a single component. A target applies to the whole schedule, while each part
+     * searches with its own incumbent and would never reach it. Parts are presolved like the whole problem, with period bans only if {@code banPeriods}.
+     */
+    public Optional<Result> solve(SchedulingEngine engine, SemesterSnapshot snapshot, SchedulingProblem problem,
+                                  boolean banPeriods, List<AssignmentDTO> warmStart, SolverContext context) {
+        if (!enabled || engine.provesOptimality() || context.hasTargetObjective()) {
+            return Optional.empty();
+        }
+        List<SemesterSnapshot> parts = SnapshotDecomposer.split(snapshot);
+        if (parts.size() < 2) {
+            return Optional.empty();
+        }
+
+        List<Future<ComponentResult>> futures = new ArrayList<>(parts.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < parts.size(); i++) {
+                int index = i;
+                SemesterSnapshot part = parts.get(i);
+                SolverContext partContext = context.fork(context.getSeed() + i);
+                futures.add(executor.submit(() -> solvePart(index, engine, part, banPeriods, warmStart, partContext)));
+            }
+
+            List<AssignmentDTO> merged = new ArrayList<>();
+            List<ComponentReportDTO> reports = new ArrayList<>(parts.size());
+            for (Future<ComponentResult> future : futures) {
+                ComponentResult result = future.get();
+                merged.addAll(result.assignments());
+                reports.add(result.report());
+            }
+
+            ScheduleState state = new ScheduleState(problem, SchedulingSolution.fromAssignments(problem, merged));
+            int leftover = problem.numSections() - state.solution().countAssigned();
+            if (leftover > 0) {
+                GreedyConstruction.complete(state, context);
+            } else {
+                // Rooms of other components may now let a course reach min_teachers
+                GreedyConstruction.spreadTeachers(state, context);
+            }
+            SchedulingSolution solution = state.solution().copy();
+            solution.setObjective(ObjectiveEvaluator.evaluate(problem, solution));
+
+            log.info("Decomposed generation: {} components {}, {} sections placed after merge, objective {}",
+                    parts.size(), reports, leftover, solution.getObjective());
+            return Optional.of(new Result(solution, reports));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Schedule generation was cancelled");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Component solve failed", e.getCause());
+        }
+    }
+
+    private ComponentResult solvePart(int index, SchedulingEngine engine, SemesterSnapshot part, boolean banPeriods,
+                                      List<AssignmentDTO> warmStart, SolverContext context) {
+        long start = System.currentTimeMillis();
+        SchedulingProblem problem = presolver.presolve(SchedulingProblem.from(part), banPeriods).problem();
+        if (!warmStart.isEmpty()) {
+            context.setWarmStart(SchedulingSolution.fromAssignments(problem, warmStart));
+        }
+        SchedulingSolution solution = engine.solve(problem, context);
+        ComponentReportDTO report = ComponentReportDTO.builder()
+                .index(index)
+                .teachers(problem.numTeachers())
+                .courses(problem.numCourses())
+                .sections(problem.numSections())
+                .classrooms(problem.numRooms())
+                .placedSections(solution.countAssigned())
+                .objectiveValue(solution.getObjective())
+                .elapsedMs(System.currentTimeMillis() - start)
+                .build();
+        return new ComponentResult(solution.toAssignments(problem), report);
+    }
+
+    private record ComponentResult(List<AssignmentDTO> assignments, ComponentReportDTO report) {
+    }
+}
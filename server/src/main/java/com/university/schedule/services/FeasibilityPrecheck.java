@@ -0,0 +1,266 @@
+package com.university.schedule.services;
+
+import com.university.schedule.scheduling.GreedyConstruction;
+import com.university.schedule.scheduling.SchedulingProblem;
+
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Necessary conditions every schedule of a semester must meet, checked in milliseconds before any
+ * solver runs. Each is a counting bound or a bipartite flow whose deficit is explained by the set of
+ * courses violating Hall's condition:
+ * <ul>
+ *     <li>every section has a classroom large enough and a run of consecutive periods long enough;</li>
+ *     <li>for every seat threshold, sections needing at least that many seats fit into the periods of
+ *     the classrooms that large;</li>
+ *     <li>the periods of each set of courses fit into the week of the teachers who may teach them;</li>
+ *     <li>each course can get its {@code min_teachers} distinct teachers without any teacher exceeding
+ *     {@code max_courses}.</li>
+ * </ul>
+ * Messages are in Vietnamese, like the other generation checks.
+ */
+final class FeasibilityPrecheck {
+
+    private static final long UNBOUNDED = Long.MAX_VALUE / 4;
+
+    private FeasibilityPrecheck() {
+    }
+
+    static List<String> check(SchedulingProblem problem) {
+        List<String> errors = new ArrayList<>();
+        checkSections(problem, errors);
+        checkRoomCapacity(problem, errors);
+        if (errors.isEmpty()) {
+            checkTeacherPeriods(problem, errors);
+            checkTeacherCourses(problem, errors);
+        }
+        return errors;
+    }
+
+    private static void checkSections(SchedulingProblem problem, List<String> errors) {
+        int largestRoom = IntStream.range(0, problem.numRooms()).map(problem::capacity).max().orElse(0);
+        List<String> tooLarge = new ArrayList<>();
+        List<String> tooLong = new ArrayList<>();
+        for (int s = 0; s < problem.numSections(); s++) {
+            if (problem.roomsFor(s).length == 0) {
+                tooLarge.add(problem.sectionId(s) + " (" + problem.seats(s) + " chỗ)");
+            }
+            int section = s;
+            if (IntStream.range(0, problem.numPeriods()).noneMatch(p -> problem.isValidStart(section, p))) {
+                tooLong.add(problem.sectionId(s) + " (" + problem.length(s) + " tiết)");
+            }
+        }
+        if (!tooLarge.isEmpty()) {
+            errors.add("Có học phần cần nhiều chỗ hơn phòng học lớn nhất (" + largestRoom + " chỗ): "
+                    + String.join(", ", tooLarge) + ".");
+        }
+        if (!tooLong.isEmpty()) {
+            errors.add("Có học phần cần nhiều tiết liên tiếp hơn số tiết liên tiếp trong một ngày: "
+                    + String.join(", ", tooLong) + ".");
+        }
+    }
+
+    /**
+     * Sections needing at least {@code q} seats can only use rooms of capacity {@code q} or more, so for
+     * every threshold their periods must fit into those rooms' slots. The thresholds are nested, which
+     * makes this Hall's condition for the section–room relaxation.
+     */
+    private static void checkRoomCapacity(SchedulingProblem problem, List<String> errors) {
+        int slots = problem.numSlots();
+        TreeSet<Integer> thresholds = new TreeSet<>();
+        for (int s = 0; s < problem.numSections(); s++) thresholds.add(problem.seats(s));
+        for (int q : thresholds) {
+            long demand = 0;
+            int sections = 0;
+            for (int s = 0; s < problem.numSections(); s++) {
+                if (problem.seats(s) >= q && problem.roomsFor(s).length > 0) {
+                    demand += problem.length(s);
+                    sections++;
+                }
+            }
+            int rooms = (int) IntStream.range(0, problem.numRooms()).filter(r -> problem.capacity(r) >= q).count();
+            long supply = (long) rooms * slots;
+            if (demand > supply) {
+                String who = q == thresholds.first()
+                        ? "Tổng số tiết của " + sections + " học phần"
+                        : sections + " học phần cần từ " + q + " chỗ trở lên";
+                errors.add(who + " cần " + demand + " tiết nhưng chỉ có " + rooms + " phòng đủ chỗ × "
+                        + problem.numDays() + " ngày × " + problem.numPeriods() + " tiết = " + supply + " tiết phòng.");
+                return;
+            }
+        }
+    }
+
+    /**
+     * Flow from courses (their periods) to eligible teachers (a week of slots each). A deficit means a
+     * set of courses whose teachers together cannot teach all of its periods.
+     */
+    private static void checkTeacherPeriods(SchedulingProblem problem, List<String> errors) {
+        int numCourses = problem.numCourses();
+        int numTeachers = problem.numTeachers();
+        long[] demand = new long[numCourses];
+        for (int s = 0; s < problem.numSections(); s++) demand[problem.courseOf(s)] += problem.length(s);
+
+        MaxFlow flow = new MaxFlow(numCourses + numTeachers + 2);
+        int source = numCourses + numTeachers, sink = source + 1;
+        for (int c = 0; c < numCourses; c++) {
+            flow.addEdge(source, c, demand[c]);
+            for (int t : problem.eligibleTeachers(c)) flow.addEdge(c, numCourses + t, UNBOUNDED);
+        }
+        for (int t = 0; t < numTeachers; t++) flow.addEdge(numCourses + t, sink, problem.numSlots());
+
+        long total = Arrays.stream(demand).sum();
+        if (flow.solve(source, sink) >= total) return;
+
+        boolean[] cut = flow.reachable(source);
+        List<Integer> courses = IntStream.range(0, numCourses).filter(c -> cut[c]).boxed().toList();
+        List<Integer> teachers = IntStream.range(0, numTeachers).filter(t -> cut[numCourses + t]).boxed().toList();
+        long needed = courses.stream().mapToLong(c -> demand[c]).sum();
+        errors.add("Các môn " + courseIds(problem, courses) + " cần tổng cộng " + needed
+                + " tiết nhưng các giảng viên có thể dạy (" + teacherIds(problem, teachers) + ") chỉ có tối đa "
+                + (long) teachers.size() * problem.numSlots() + " tiết trong tuần.");
+    }
+
+    /**
+     * Flow from courses (their {@code min_teachers} target) over unit teacher–course edges to teachers
+     * ({@code max_courses} each). A deficit means a set of courses that cannot all reach their target.
+     */
+    private static void checkTeacherCourses(SchedulingProblem problem, List<String> errors) {
+        int numCourses = problem.numCourses();
+        int numTeachers = problem.numTeachers();
+        MaxFlow flow = new MaxFlow(numCourses + numTeachers + 2);
+        int source = numCourses + numTeachers, sink = source + 1;
+        long total = 0;
+        for (int c = 0; c < numCourses; c++) {
+            int target = GreedyConstruction.minTeachersTarget(problem, c);
+            total += target;
+            flow.addEdge(source, c, target);
+            for (int t : problem.eligibleTeachers(c)) flow.addEdge(c, numCourses + t, 1);
+        }
+        for (int t = 0; t < numTeachers; t++) flow.addEdge(numCourses + t, sink, problem.maxCourses(t));
+
+        if (flow.solve(source, sink) >= total) return;
+
+        boolean[] cut = flow.reachable(source);
+        List<Integer> courses = IntStream.range(0, numCourses).filter(c -> cut[c]).boxed().toList();
+        Set<Integer> inSet = new HashSet<>(courses);
+        long needed = courses.stream().mapToLong(c -> GreedyConstruction.minTeachersTarget(problem, c)).sum();
+        // Each teacher adds at most max_courses of these courses, and at most the ones it may teach
+        long available = 0;
+        List<Integer> teachers = new ArrayList<>();
+        for (int t = 0; t < numTeachers; t++) {
+            long eligible = Arrays.stream(problem.eligibleCourses(t)).filter(inSet::contains).count();
+            if (eligible == 0) continue;
+            teachers.add(t);
+            available += Math.min(eligible, problem.maxCourses(t));
+        }
+        errors.add("Các môn " + courseIds(problem, courses) + " cần tổng cộng " + needed
+                + " giảng viên (theo số giảng viên tối thiểu của từng môn) nhưng các giảng viên có thể dạy ("
+                + teacherIds(problem, teachers) + ") chỉ nhận được tối đa " + available
+                + " môn trong số này do giới hạn số môn mỗi người.");
+    }
+
+    private static String courseIds(SchedulingProblem problem, List<Integer> courses) {
+        return courses.stream().map(problem::courseId).collect(Collectors.joining(", "));
+    }
+
+    private static String teacherIds(SchedulingProblem problem, List<Integer> teachers) {
+        return teachers.isEmpty() ? "không có" : teachers.stream().map(problem::teacherId).collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Edmonds–Karp on an adjacency list; the graphs here have one node per course and teacher.
+     */
+    private static final class MaxFlow {
+        private final List<List<int[]>> adjacent;   // edge: {to, index of reverse edge}
+        private final List<long[]> capacities;      // parallel to adjacent: residual capacity
+
+        MaxFlow(int nodes) {
+            adjacent = new ArrayList<>(nodes);
+            capacities = new ArrayList<>(nodes);
+            for (int i = 0; i < nodes; i++) {
+                adjacent.add(new ArrayList<>());
+                capacities.add(new long[4]);
+            }
+        }
+
+        void addEdge(int from, int to, long capacity) {
+            int forward = adjacent.get(from).size();
+            int backward = adjacent.get(to).size() + (from == to ? 1 : 0);
+            adjacent.get(from).add(new int[]{to, backward});
+            setCapacity(from, forward, capacity);
+            adjacent.get(to).add(new int[]{from, forward});
+            setCapacity(to, backward, 0);
+        }
+
+        private void setCapacity(int node, int edge, long capacity) {
+            long[] caps = capacities.get(node);
+            if (edge >= caps.length) {
+                caps = Arrays.copyOf(caps, Math.max(edge + 1, caps.length * 2));
+                capacities.set(node, caps);
+            }
+            caps[edge] = capacity;
+        }
+
+        long solve(int source, int sink) {
+            long total = 0;
+            int n = adjacent.size();
+            int[] prevNode = new int[n];
+            int[] prevEdge = new int[n];
+            while (true) {
+                Arrays.fill(prevNode, -1);
+                prevNode[source] = source;
+                ArrayDeque<Integer> queue = new ArrayDeque<>(List.of(source));
+                while (!queue.isEmpty() && prevNode[sink] < 0) {
+                    int u = queue.poll();
+                    List<int[]> edges = adjacent.get(u);
+                    long[] caps = capacities.get(u);
+                    for (int i = 0; i < edges.size(); i++) {
+                        int v = edges.get(i)[0];
+                        if (caps[i] > 0 && prevNode[v] < 0) {
+                            prevNode[v] = u;
+                            prevEdge[v] = i;
+                            queue.add(v);
+                        }
+                    }
+                }
+                if (prevNode[sink] < 0) return total;
+                long push = Long.MAX_VALUE;
+                for (int v = sink; v != source; v = prevNode[v]) {
+                    push = Math.min(push, capacities.get(prevNode[v])[prevEdge[v]]);
+                }
+                for (int v = sink; v != source; v = prevNode[v]) {
+                    int u = prevNode[v];
+                    int reverse = adjacent.get(u).get(prevEdge[v])[1];
+                    capacities.get(u)[prevEdge[v]] -= push;
+                    capacities.get(v)[reverse] += push;
+                }
+                total += push;
+            }
+        }
+
+        /**
+         * Nodes reachable from {@code source} in the residual graph: the source side of a minimum cut.
+         */
+        boolean[] reachable(int source) {
+            boolean[] seen = new boolean[adjacent.size()];
+            seen[source] = true;
+            ArrayDeque<Integer> queue = new ArrayDeque<>(List.of(source));
+            while (!queue.isEmpty()) {
+                int u = queue.poll();
+                List<int[]> edges = adjacent.get(u);
+                long[] caps = capacities.get(u);
+                for (int i = 0; i < edges.size(); i++) {
+                    int v = edges.get(i)[0];
+                    if (caps[i] > 0 && !seen[v]) {
+                        seen[v] = true;
+                        queue.add(v);
+                    }
+                }
+            }
+            return seen;
+        }
+    }
+}
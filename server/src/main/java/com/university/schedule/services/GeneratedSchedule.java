@@ -0,0 +1,127 @@
+package com.university.schedule.services;
+
+import com.university.schedule.dtos.AssignmentDTO;
+import com.university.schedule.dtos.ComponentReportDTO;
+import com.university.schedule.dtos.PresolveReportDTO;
+import com.university.schedule.dtos.StatisticsDTO;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.*;
+
+/**
+ * Assignments produced by a generation run, with the statistics accumulated as assignments are added,
+ * so the result never has to be walked a second time before it is saved.
+ */
+public class GeneratedSchedule {
+
+    @Getter
+    private final List<AssignmentDTO> assignments = new ArrayList<>();
+    @Getter
+    @Setter
+    private Integer objectiveValue;
+    @Getter
+    @Setter
+    private String inputHash;
+    // Only set by engines that prove optimality
+    @Getter
+    @Setter
+    private Boolean optimal;
+    // Upper bound on the objective of any schedule of the semester, for the optimality gap
+    @Getter
+    @Setter
+    private Long upperBound;
+    @Getter
+    @Setter
+    private List<ComponentReportDTO> components;
+    @Getter
+    @Setter
+    private PresolveReportDTO presolve;
+    // Persisted with the schedule: when the solution was found, how the search ended, whether it was cached
+    @Getter
+    private final Map<String, Object> scores = new LinkedHashMap<>();
+
+    private final Set<String> teacherIds = new HashSet<>();
+    private final Set<String> classroomIds = new HashSet<>();
+    private final Set<String> courseIds = new HashSet<>();
+    private final Set<String> sectionIds = new HashSet<>();
+
+    public static GeneratedSchedule of(List<AssignmentDTO> assignments, Integer objectiveValue) {
+        GeneratedSchedule schedule = new GeneratedSchedule();
+        assignments.forEach(schedule::add);
+        schedule.setObjectiveValue(objectiveValue);
+        return schedule;
+    }
+
+    /**
+     * Deep copy: assignments and scores of the copy can be changed without affecting this schedule.
+     */
+    public GeneratedSchedule copy() {
+        GeneratedSchedule copy = new GeneratedSchedule();
+        for (AssignmentDTO a : assignments) {
+            copy.add(AssignmentDTO.builder()
+                    .teacherId(a.getTeacherId())
+                    .sectionId(a.getSectionId())
+                    .classroomId(a.getClassroomId())
+                    .day(a.getDay())
+                    .period(a.getPeriod())
+                    .courseId(a.getCourseId())
+                    .build());
+        }
+        copy.objectiveValue = objectiveValue;
+        copy.inputHash = inputHash;
+        copy.optimal = optimal;
+        copy.upperBound = upperBound;
+        if (components != null) {
+            copy.components = components.stream().map(c -> ComponentReportDTO.builder()
+                    .index(c.getIndex())
+                    .teachers(c.getTeachers())
+                    .courses(c.getCourses())
+                    .sections(c.getSections())
+                    .classrooms(c.getClassrooms())
+                    .placedSections(c.getPlacedSections())
+                    .objectiveValue(c.getObjectiveValue())
+                    .elapsedMs(c.getElapsedMs())
+                    .build()).toList();
+        }
+        if (presolve != null) {
+            copy.presolve = PresolveReportDTO.builder()
+                    .sections(presolve.getSections())
+                    .teacherValuesBefore(presolve.getTeacherValuesBefore())
+                    .teacherValuesAfter(presolve.getTeacherValuesAfter())
+                    .roomValuesBefore(presolve.getRoomValuesBefore())
+                    .roomValuesAfter(presolve.getRoomValuesAfter())
+                    .startValuesBefore(presolve.getStartValuesBefore())
+                    .startValuesAfter(presolve.getStartValuesAfter())
+                    .combinationsBefore(presolve.getCombinationsBefore())
+                    .combinationsAfter(presolve.getCombinationsAfter())
+                    .bannedSlots(presolve.getBannedSlots())
+                    .removedTeacherCourses(presolve.getRemovedTeacherCourses())
+                    .sectionsWithoutValues(presolve.getSectionsWithoutValues())
+                    .elapsedMs(presolve.getElapsedMs())
+                    .build();
+        }
+        copy.scores.putAll(scores);
+        return copy;
+    }
+
+    public void add(AssignmentDTO assignment) {
+        assignments.add(assignment);
+        teacherIds.add(assignment.getTeacherId());
+        classroomIds.add(assignment.getClassroomId());
+        if (assignment.getCourseId() != null) {
+            courseIds.add(assignment.getCourseId());
+        }
+        sectionIds.add(assignment.getSectionId());
+    }
+
+    public StatisticsDTO getStatistics() {
+        return StatisticsDTO.builder()
+                .numAssignments(assignments.size())
+                .numClassrooms(classroomIds.size())
+                .numCourses(courseIds.size())
+                .numSections(sectionIds.size())
+                .numTeachers(teacherIds.size())
+                .build();
+    }
+}
@@ -0,0 +1,85 @@
+package com.university.schedule.services;
+
+import com.university.schedule.dtos.ScheduleDTO;
+import com.university.schedule.dtos.ScheduleGenerationResponseDTO;
+import com.university.schedule.entities.Schedule;
+import com.university.schedule.mappers.ScheduleJsonMapper;
+import com.university.schedule.repositories.ScheduleRepository;
+import com.university.schedule.scheduling.ObjectiveBound;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Persists a generated schedule under {@code scheduleName}, replacing any schedule with the same name
+ * in the semester. Each save runs in its own short transaction; {@link #replace} saves several in one.
+ */
+@Component
+@RequiredArgsConstructor
+public class GeneratedScheduleStore {
+
+    private final ScheduleRepository scheduleRepository;
+    private final ScheduleJsonMapper scheduleJsonMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public ScheduleGenerationResponseDTO save(String semester, String scheduleName, GeneratedSchedule generated) {
+        return transactionTemplate.execute(status -> doSave(semester, scheduleName, generated));
+    }
+
+    /**
+     * Deletes the {@code replaced} schedules and saves {@code schedules} under their keys in one
+     * transaction, so a failure leaves the previous schedules in place. Responses follow the map's order.
+     */
+    public List<ScheduleGenerationResponseDTO> replace(String semester, Collection<String> replaced,
+                                                       Map<String, GeneratedSchedule> schedules) {
+        return transactionTemplate.execute(status -> {
+            replaced.forEach(name -> scheduleRepository.deleteBySemesterAndName(semester, name));
+            List<ScheduleGenerationResponseDTO> saved = new ArrayList<>(schedules.size());
+            schedules.forEach((name, generated) -> saved.add(doSave(semester, name, generated)));
+            return saved;
+        });
+    }
+
+    private ScheduleGenerationResponseDTO doSave(String semester, String scheduleName, GeneratedSchedule generated) {
+        Integer objectiveValue = generated.getObjectiveValue();
+
+        // Delete existing schedule with the same name
+        scheduleRepository.deleteBySemesterAndName(semester, scheduleName);
+
+        // Create single Schedule record with JSON
+        String scheduleId = scheduleName + "_" + semester;
+        ScheduleDTO scheduleDTO = ScheduleDTO.builder()
+                .id(scheduleId)
+                .semester(semester)
+                .name(scheduleName)
+                .assignments(generated.getAssignments())
+                .statistics(generated.getStatistics())
+                .objectiveValue(objectiveValue)
+                .inputHash(generated.getInputHash())
+                .scores(generated.getScores().isEmpty() ? null : generated.getScores())
+                .build();
+
+        Schedule schedule = scheduleJsonMapper.toEntity(scheduleDTO);
+        schedule.setSemester(semester);
+
+        Schedule savedSchedule = scheduleRepository.save(schedule);
+
+        ScheduleDTO savedDTO = scheduleJsonMapper.toDto(savedSchedule);
+
+        return ScheduleGenerationResponseDTO.builder()
+                .schedules(List.of(savedDTO))
+                .objectiveValue(objectiveValue)
+                .optimal(generated.getOptimal())
+                .upperBound(generated.getUpperBound())
+                .optimalityGap(generated.getUpperBound() != null && objectiveValue != null
+                        ? ObjectiveBound.gapPercent(generated.getUpperBound(), objectiveValue) : null)
+                .components(generated.getComponents())
+                .presolve(generated.getPresolve())
+                .build();
+    }
+}
@@ -0,0 +1,229 @@
+package com.university.schedule.services;
+
+import com.university.schedule.dtos.GenerationJobDTO;
+import com.university.schedule.dtos.ScheduleGenerationResponseDTO;
+import com.university.schedule.enums.GenerationJobStatus;
+import com.university.schedule.enums.GenerationPhase;
+import com.university.schedule.exceptions.NotFoundException;
+import com.university.schedule.scheduling.SolverContext;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+/**
+ * Runs schedule generation as background jobs on virtual threads. Callers get a job ID immediately and
+ * poll for status, phase timings and the result; cancelling a job aborts the solver call. A job that
+ * has reached {@link GenerationPhase#PERSIST} can no longer be cancelled.
+ * Finished jobs are kept in memory for {@code scheduling.jobs.retention-minutes}.
+ */
+@Slf4j
+@Service
+public class GenerationJobService {
+
+    private final ScheduleGenerationService generationService;
+    private final Duration retention;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, GenerationJob> jobs = new ConcurrentHashMap<>();
+
+    public GenerationJobService(ScheduleGenerationService generationService,
+                                @Value("${scheduling.jobs.retention-minutes:60}") long retentionMinutes) {
+        this.generationService = generationService;
+        this.retention = Duration.ofMinutes(retentionMinutes);
+    }
+
+    public GenerationJobDTO submit(String semester, String algorithm, String scheduleName, GenerationOptions options) {
+        if (scheduleName == null || scheduleName.isEmpty()) {
+            throw new IllegalArgumentException("Schedule name is required for generation. Cannot proceed to avoid accidental data loss.");
+        }
+        evictExpired();
+
+        GenerationJob job = new GenerationJob(UUID.randomUUID().toString(), semester, algorithm, scheduleName, options);
+        // The future exists before the job is visible, so a concurrent cancel always has one to cancel
+        FutureTask<Void> task = new FutureTask<>(() -> run(job), null);
+        job.future = task;
+        jobs.put(job.id, job);
+        executor.execute(task);
+        log.info("Submitted generation job {} for semester {} ({}, {})", job.id, semester, algorithm, scheduleName);
+        return job.toDto();
+    }
+
+    public GenerationJobDTO get(String jobId) {
+        return find(jobId).toDto();
+    }
+
+    public List<GenerationJobDTO> list(String semester) {
+        return jobs.values().stream()
+                .filter(job -> semester == null || semester.equals(job.semester))
+                .sorted(Comparator.comparing((GenerationJob job) -> job.submittedAt).reversed())
+                .map(GenerationJob::toDto)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Result of a finished job, or empty while it is still queued or running.
+     */
+    public Optional<ScheduleGenerationResponseDTO> getResult(String jobId) {
+        GenerationJob job = find(jobId);
+        synchronized (job) {
+            switch (job.status) {
+                case SUCCEEDED:
+                    return Optional.of(job.result);
+                case FAILED:
+                case CANCELLED:
+                    throw new IllegalArgumentException("Generation job " + jobId + " " + job.status.name().toLowerCase()
+                            + (job.error != null ? ": " + job.error : ""));
+                default:
+                    return Optional.empty();
+            }
+        }
+    }
+
+    public GenerationJobDTO cancel(String jobId) {
+        GenerationJob job = find(jobId);
+        synchronized (job) {
+            if (job.phase == GenerationPhase.PERSIST) {
+                throw new IllegalArgumentException("Generation job " + jobId + " is saving its schedule and can no longer be cancelled");
+            }
+            if (job.status == GenerationJobStatus.QUEUED || job.status == GenerationJobStatus.RUNNING) {
+                job.context.cancel();
+                // Interrupting the virtual thread also aborts a blocking research-service call
+                job.future.cancel(true);
+                job.finish(GenerationJobStatus.CANCELLED, null);
+                log.info("Cancelled generation job {}", jobId);
+            }
+        }
+        return job.toDto();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobs.values().forEach(job -> job.context.cancel());
+        executor.shutdownNow();
+    }
+
+    private void run(GenerationJob job) {
+        synchronized (job) {
+            if (job.status != GenerationJobStatus.QUEUED) {
+                return;
+            }
+            job.status = GenerationJobStatus.RUNNING;
+            job.startedAt = Instant.now();
+        }
+        try {
+            ScheduleGenerationResponseDTO result = generationService.generateScheduleWithValue(
+                    job.semester, job.algorithm, job.scheduleName, job.options, job.context, job::enterPhase);
+            synchronized (job) {
+                if (job.status == GenerationJobStatus.RUNNING) {
+                    job.result = result;
+                    job.finish(GenerationJobStatus.SUCCEEDED, null);
+                }
+            }
+        } catch (Exception e) {
+            synchronized (job) {
+                if (job.status == GenerationJobStatus.RUNNING) {
+                    boolean cancelled = e instanceof CancellationException || job.context.isCancelled();
+                    job.finish(cancelled ? GenerationJobStatus.CANCELLED : GenerationJobStatus.FAILED, e.getMessage());
+                }
+            }
+            log.warn("Generation job {} did not succeed: {}", job.id, e.getMessage());
+        }
+    }
+
+    private GenerationJob find(String jobId) {
+        GenerationJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new NotFoundException("Generation job not found with id " + jobId);
+        }
+        return job;
+    }
+
+    private void evictExpired() {
+        Instant cutoff = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    private static final class GenerationJob {
+        private final String id;
+        private final String semester;
+        private final String algorithm;
+        private final String scheduleName;
+        private final GenerationOptions options;
+        private final Instant submittedAt = Instant.now();
+        private final SolverContext context = new SolverContext();
+        private final Map<String, Long> phaseTimings = new LinkedHashMap<>();
+
+        private volatile Future<?> future;
+        private GenerationJobStatus status = GenerationJobStatus.QUEUED;
+        private GenerationPhase phase;
+        private long phaseStartedNanos;
+        private int progress;
+        private String error;
+        private Instant startedAt;
+        private volatile Instant finishedAt;
+        private ScheduleGenerationResponseDTO result;
+
+        private GenerationJob(String id, String semester, String algorithm, String scheduleName, GenerationOptions options) {
+            this.id = id;
+            this.semester = semester;
+            this.algorithm = algorithm;
+            this.scheduleName = scheduleName;
+            this.options = options;
+        }
+
+        private synchronized void enterPhase(GenerationPhase next) {
+            // A job cancelled before it reached the save must not write its schedule
+            if (status != GenerationJobStatus.RUNNING) {
+                throw new CancellationException("Generation job " + id + " was cancelled");
+            }
+            closePhase();
+            phase = next;
+            phaseStartedNanos = System.nanoTime();
+            progress = next.getProgress();
+        }
+
+        private void closePhase() {
+            if (phase != null) {
+                phaseTimings.merge(phase.name().toLowerCase(), (System.nanoTime() - phaseStartedNanos) / 1_000_000, Long::sum);
+            }
+        }
+
+        private void finish(GenerationJobStatus finalStatus, String message) {
+            closePhase();
+            phase = null;
+            status = finalStatus;
+            error = message;
+            if (finalStatus == GenerationJobStatus.SUCCEEDED) {
+                progress = 100;
+            }
+            finishedAt = Instant.now();
+        }
+
+        private synchronized GenerationJobDTO toDto() {
+            return GenerationJobDTO.builder()
+                    .id(id)
+                    .semester(semester)
+                    .algorithm(algorithm)
+                    .scheduleName(scheduleName)
+                    .sourceScheduleName(options.getSourceScheduleName())
+                    .timeBudgetMs(options.getTimeBudgetMs())
+                    .targetObjective(options.getTargetObjective())
+                    .targetGapPercent(options.getTargetGapPercent())
+                    .status(status)
+                    .phase(phase)
+                    .progress(progress)
+                    .phaseTimingsMs(new LinkedHashMap<>(phaseTimings))
+                    .error(error)
+                    .submittedAt(submittedAt)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.university.schedule.services;
+
+import com.university.schedule.enums.GenerationPhase;
+
+/**
+ * Receives phase transitions of a generation run, e.g. to record timings for a generation job.
+ */
+@FunctionalInterface
+public interface GenerationListener {
+
+    GenerationListener NONE = phase -> { };
+
+    void phaseStarted(GenerationPhase phase);
+}
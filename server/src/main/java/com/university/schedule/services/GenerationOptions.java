@@ -0,0 +1,39 @@
+package com.university.schedule.services;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Optional settings for a generation run beyond semester, algorithm and target name.
+ */
+@Getter
+@Builder(toBuilder = true)
+public class GenerationOptions {
+
+    public static final GenerationOptions DEFAULT = GenerationOptions.builder().build();
+
+    /**
+     * Name of an existing schedule in the same semester whose assignments seed the solver.
+     */
+    private final String sourceScheduleName;
+
+    /**
+     * Wall-clock budget for the solver; when it runs out, the best schedule found so far is saved.
+     */
+    private final Long timeBudgetMs;
+
+    /**
+     * Objective at which the solver may stop early.
+     */
+    private final Long targetObjective;
+
+    /**
+     * Optimality gap, in percent of the semester's upper bound, at which the solver may stop early.
+     */
+    private final Double targetGapPercent;
+
+    /**
+     * Random seed for the solver; engines using randomness return the same schedule for the same seed.
+     */
+    private final Long seed;
+}
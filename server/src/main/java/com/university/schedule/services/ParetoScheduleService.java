@@ -0,0 +1,230 @@
+package com.university.schedule.services;
+
+import com.university.schedule.dtos.ParetoFrontDTO;
+import com.university.schedule.dtos.ParetoPointDTO;
+import com.university.schedule.dtos.ScheduleDTO;
+import com.university.schedule.dtos.ScheduleGenerationResponseDTO;
+import com.university.schedule.entities.Schedule;
+import com.university.schedule.mappers.ScheduleJsonMapper;
+import com.university.schedule.repositories.ScheduleRepository;
+import com.university.schedule.scheduling.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigInteger;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Generates a family of schedules that trade the four evaluation components off against each other.
+ * The default weights are swept by every combination of the configured multipliers; each weighting
+ * is solved in parallel by a weight-aware engine from a shared greedy start. Schedules dominated on
+ * all of course preference, time preference, workload range and gaps are dropped, and the rest are
+ * saved as {@code <family>-1}, {@code <family>-2}, ... best default objective first, with their
+ * weights and component values in the scores.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ParetoScheduleService {
+
+    private final SemesterSnapshotLoader snapshotLoader;
+    private final ScheduleGenerationService generationService;
+    private final SchedulingEngineRegistry engineRegistry;
+    private final Presolver presolver;
+    private final GeneratedScheduleStore scheduleStore;
+    private final ScheduleRepository scheduleRepository;
+    private final ScheduleJsonMapper scheduleJsonMapper;
+    private final SolverInputHasher inputHasher;
+
+    @Value("${scheduling.pareto.engine:anneal}")
+    private String engineName = AnnealingSchedulingEngine.NAME;
+
+    @Value("${scheduling.pareto.multipliers:1,3}")
+    private List<Long> multipliers = List.of(1L, 3L);
+
+    @Value("${scheduling.pareto.parallelism:0}")
+    private int parallelism;
+
+    public ParetoFrontDTO generate(String semester, String familyName, Long seed, Long timeBudgetMs) {
+        if (familyName == null || familyName.isEmpty()) {
+            throw new IllegalArgumentException("Family name is required for Pareto generation.");
+        }
+        if (timeBudgetMs != null && timeBudgetMs <= 0) {
+            throw new IllegalArgumentException("Time budget must be positive, got " + timeBudgetMs + " ms");
+        }
+        SchedulingEngine engine = engineRegistry.require(engineName);
+        if (!engine.isWeightAware()) {
+            // Any other engine solves the same problem for every weighting and returns a single point
+            throw new IllegalArgumentException("Pareto engine '" + engine.getName()
+                    + "' ignores objective weights; use " + AnnealingSchedulingEngine.NAME + " or " + GeneticSchedulingEngine.NAME);
+        }
+        long start = System.currentTimeMillis();
+        SemesterSnapshot snapshot = snapshotLoader.load(semester);
+        SchedulingProblem problem = presolver.presolve(generationService.ensureGeneratable(snapshot)).problem();
+        long runSeed = seed != null ? seed : SolverContext.DEFAULT_SEED;
+
+        SchedulingSolution initial = engineRegistry.require(HeuristicSchedulingEngine.NAME)
+                .solve(problem, new SolverContext(runSeed));
+        List<ObjectiveWeights> weightings = weightings();
+        List<SchedulingSolution> solutions = solveAll(problem, engine, initial, weightings, runSeed, timeBudgetMs);
+
+        // Keep the first schedule of every non-dominated component vector
+        List<Integer> front = new ArrayList<>();
+        List<ObjectiveBreakdown> components = new ArrayList<>();
+        for (SchedulingSolution solution : solutions) {
+            components.add(solution.isComplete() ? ObjectiveEvaluator.breakdown(problem, solution, ObjectiveWeights.UNIT) : null);
+        }
+        for (int i = 0; i < solutions.size(); i++) {
+            if (components.get(i) == null) continue;
+            boolean kept = true;
+            for (int j = 0; j < solutions.size() && kept; j++) {
+                ObjectiveBreakdown other = components.get(j);
+                if (j == i || other == null) continue;
+                kept = !dominates(other, components.get(i)) && !(j < i && other.equals(components.get(i)));
+            }
+            if (kept) front.add(i);
+        }
+        front.sort(Comparator.comparingLong((Integer i) -> -ObjectiveEvaluator.evaluate(problem, solutions.get(i)))
+                .thenComparingInt(i -> i));
+        if (front.isEmpty()) {
+            throw new RuntimeException("Engine '" + engine.getName() + "' found no complete schedule for semester " + semester);
+        }
+
+        String dataHash = inputHasher.dataHash(snapshot);
+        Map<String, GeneratedSchedule> family = new LinkedHashMap<>();
+        for (int k = 0; k < front.size(); k++) {
+            int i = front.get(k);
+            ObjectiveWeights weights = weightings.get(i);
+            ObjectiveBreakdown raw = components.get(i);
+            String name = familyName + "-" + (k + 1);
+            GeneratedSchedule generated = GeneratedSchedule.of(solutions.get(i).toAssignments(problem),
+                    Math.toIntExact(ObjectiveEvaluator.evaluate(problem, solutions.get(i))));
+            generated.setInputHash(dataHash);
+            generated.getScores().put("family", familyName);
+            generated.getScores().put("weights", Map.of(
+                    "coursePreference", weights.coursePreference(), "timePreference", weights.timePreference(),
+                    "workloadBalance", weights.workloadBalance(), "compactness", weights.compactness()));
+            generated.getScores().put("coursePreference", raw.coursePreference());
+            generated.getScores().put("timePreference", raw.timePreference());
+            generated.getScores().put("workloadRange", raw.workloadPenalty());
+            generated.getScores().put("gaps", raw.compactnessPenalty());
+            family.put(name, generated);
+        }
+
+        // The old family is replaced only once every new member is saved
+        List<ScheduleGenerationResponseDTO> saved = scheduleStore.replace(semester, familyMembers(semester, familyName), family);
+        List<ParetoPointDTO> points = new ArrayList<>();
+        for (int k = 0; k < front.size(); k++) {
+            ObjectiveWeights weights = weightings.get(front.get(k));
+            ObjectiveBreakdown raw = components.get(front.get(k));
+            ScheduleDTO schedule = saved.get(k).getSchedules().get(0);
+            points.add(ParetoPointDTO.builder()
+                    .scheduleId(schedule.getId())
+                    .name(schedule.getName())
+                    .weightCoursePreference(weights.coursePreference())
+                    .weightTimePreference(weights.timePreference())
+                    .weightWorkloadBalance(weights.workloadBalance())
+                    .weightCompactness(weights.compactness())
+                    .coursePreference(raw.coursePreference())
+                    .timePreference(raw.timePreference())
+                    .workloadRange(raw.workloadPenalty())
+                    .gaps(raw.compactnessPenalty())
+                    .objectiveValue(saved.get(k).getObjectiveValue())
+                    .build());
+        }
+
+        long elapsed = System.currentTimeMillis() - start;
+        log.info("Pareto family {} for semester {}: {} of {} weightings non-dominated in {} ms",
+                familyName, semester, points.size(), weightings.size(), elapsed);
+        return ParetoFrontDTO.builder()
+                .semester(semester)
+                .familyName(familyName)
+                .weightings(weightings.size())
+                .points(points)
+                .elapsedMs(elapsed)
+                .build();
+    }
+
+    /**
+     * The default weights scaled per component by every combination of multipliers, without
+     * weightings proportional to one already listed; the default weighting comes first.
+     */
+    private List<ObjectiveWeights> weightings() {
+        ObjectiveWeights base = ObjectiveWeights.DEFAULT;
+        Set<List<Long>> seen = new HashSet<>();
+        List<ObjectiveWeights> result = new ArrayList<>();
+        List<Long> factors = new ArrayList<>(new TreeSet<>(multipliers));
+        int n = factors.size();
+        for (int code = 0; code < n * n * n * n; code++) {
+            long a = factors.get(code % n), b = factors.get(code / n % n);
+            long c = factors.get(code / (n * n) % n), d = factors.get(code / (n * n * n));
+            long gcd = BigInteger.valueOf(a).gcd(BigInteger.valueOf(b)).gcd(BigInteger.valueOf(c))
+                    .gcd(BigInteger.valueOf(d)).longValueExact();
+            if (gcd == 0 || !seen.add(List.of(a / gcd, b / gcd, c / gcd, d / gcd))) continue;
+            result.add(new ObjectiveWeights(base.coursePreference() * a, base.timePreference() * b,
+                    base.workloadBalance() * c, base.compactness() * d));
+        }
+        result.sort(Comparator.comparing((ObjectiveWeights w) -> !w.equals(base)));
+        return result;
+    }
+
+    private List<SchedulingSolution> solveAll(SchedulingProblem problem, SchedulingEngine engine, SchedulingSolution initial,
+                                              List<ObjectiveWeights> weightings, long seed, Long timeBudgetMs) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, weightings.size()));
+        try {
+            List<Callable<SchedulingSolution>> tasks = new ArrayList<>();
+            for (ObjectiveWeights weights : weightings) {
+                tasks.add(() -> {
+                    SolverContext context = new SolverContext(seed);
+                    if (timeBudgetMs != null) {
+                        context = context.child(seed, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeBudgetMs));
+                    }
+                    context.setObjectiveWeights(weights);
+                    context.setWarmStart(initial);
+                    SchedulingSolution solution = engine.solve(problem, context);
+                    SchedulingSolution incumbent = context.getIncumbent();
+                    return solution.isComplete() || incumbent == null ? solution : incumbent;
+                });
+            }
+            List<SchedulingSolution> solutions = new ArrayList<>();
+            for (Future<SchedulingSolution> future : executor.invokeAll(tasks)) {
+                solutions.add(future.get());
+            }
+            return solutions;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Pareto generation was interrupted");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Pareto generation failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Whether {@code a} is at least as good as {@code b} on every component and better on one.
+     */
+    private static boolean dominates(ObjectiveBreakdown a, ObjectiveBreakdown b) {
+        boolean noWorse = a.coursePreference() >= b.coursePreference() && a.timePreference() >= b.timePreference()
+                && a.workloadPenalty() <= b.workloadPenalty() && a.compactnessPenalty() <= b.compactnessPenalty();
+        return noWorse && !a.equals(b);
+    }
+
+    /**
+     * Names of the schedules an earlier run saved for the family, recognised by their {@code family} score.
+     */
+    private List<String> familyMembers(String semester, String familyName) {
+        List<String> names = new ArrayList<>();
+        for (Schedule schedule : scheduleRepository.findBySemester(semester)) {
+            Map<String, Object> scores = scheduleJsonMapper.toDto(schedule).getScores();
+            if (scores != null && familyName.equals(scores.get("family"))) {
+                names.add(schedule.getName());
+            }
+        }
+        return names;
+    }
+}
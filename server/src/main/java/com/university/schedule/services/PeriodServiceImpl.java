@@ -6,6 +6,7 @@ import com.university.schedule.exceptions.NotFoundException;
 import com.university.schedule.mappers.PeriodMapper;
 import com.university.schedule.repositories.PeriodRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -24,6 +25,7 @@ public class PeriodServiceImpl implements PeriodService {
 
     private final PeriodRepository periodRepository;
     private final PeriodMapper periodMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public PeriodDTO create(PeriodDTO dto) {
@@ -109,6 +111,7 @@ public class PeriodServiceImpl implements PeriodService {
         entity.setDescription(dto.getDescription());
         
         Period saved = periodRepository.save(entity);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(null, "period " + id + " updated"));
         return periodMapper.toDto(saved);
     }
 
@@ -120,6 +123,7 @@ public class PeriodServiceImpl implements PeriodService {
         // Check if period is used in schedules or time preferences
         // This will be handled by database foreign key constraints
         periodRepository.delete(entity);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(null, "period " + id + " deleted"));
     }
 
     private void validateTimeRange(LocalTime startTime, LocalTime endTime) {
@@ -0,0 +1,8 @@
+package com.university.schedule.services;
+
+/**
+ * Published when classrooms, sections or periods change in a way that can invalidate stored
+ * schedules. A null {@code semester} means every semester may be affected.
+ */
+public record ReferenceDataChangedEvent(String semester, String reason) {
+}
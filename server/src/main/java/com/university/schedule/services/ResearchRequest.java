@@ -0,0 +1,335 @@
+package com.university.schedule.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.university.schedule.dtos.AssignmentDTO;
+import com.university.schedule.entities.*;
+import com.university.schedule.scheduling.SchedulingProblem;
+import com.university.schedule.scheduling.SymmetryClasses;
+
+import java.io.IOException;
+import java.time.DayOfWeek;
+import java.util.*;
+
+import static com.university.schedule.scheduling.SchedulingProblem.*;
+
+/**
+ * Request body for the research service, written field by field straight from the semester snapshot.
+ * Nothing beyond a single teacher's preferences is buffered, so the memory needed to serialize the
+ * request does not grow with the size of the semester.
+ */
+public class ResearchRequest {
+
+    private final SemesterSnapshot snapshot;
+    private final String algorithm;
+    private List<AssignmentDTO> initialAssignments = Collections.emptyList();
+    private SchedulingProblem domains;
+    private SchedulingProblem problem;
+    private Long timeBudgetMs;
+    private Long targetObjective;
+
+    public ResearchRequest(SemesterSnapshot snapshot, String algorithm) {
+        this.snapshot = snapshot;
+        this.algorithm = algorithm;
+    }
+
+    /**
+     * Assignments the solver should use as its initial incumbent; those for sections outside the
+     * semester are left out.
+     */
+    public ResearchRequest withInitialAssignments(List<AssignmentDTO> assignments) {
+        this.initialAssignments = assignments != null ? assignments : Collections.emptyList();
+        return this;
+    }
+
+    /**
+     * Presolved problem whose reduced domains are sent as hints: periods each teacher may not teach,
+     * teachers removed from a course, the classrooms large enough for each section, and the classes of
+     * interchangeable sections and teachers the solver may break symmetry on.
+     */
+    public ResearchRequest withDomains(SchedulingProblem presolved) {
+        this.domains = presolved;
+        return this;
+    }
+
+    /**
+     * Asks the solver to return its best schedule within the budget, or once it reaches the target.
+     */
+    public ResearchRequest withLimits(Long timeBudgetMs, Long targetObjective) {
+        this.timeBudgetMs = timeBudgetMs;
+        this.targetObjective = targetObjective;
+        return this;
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public SemesterSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public Long getTimeBudgetMs() {
+        return timeBudgetMs;
+    }
+
+    public Long getTargetObjective() {
+        return targetObjective;
+    }
+
+    public List<AssignmentDTO> getInitialAssignments() {
+        return initialAssignments;
+    }
+
+    /**
+     * Index model of the request: the presolved problem if domains were set, otherwise one built
+     * from the snapshot. Compact requests and responses refer to its indexes.
+     */
+    public SchedulingProblem problem() {
+        if (domains != null) {
+            return domains;
+        }
+        if (problem == null) {
+            problem = SchedulingProblem.from(snapshot);
+        }
+        return problem;
+    }
+
+    public void writeTo(JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+        gen.writeStringField("algorithm", algorithm);
+        if (timeBudgetMs != null) {
+            gen.writeNumberField("time_budget_ms", timeBudgetMs);
+        }
+        if (targetObjective != null) {
+            gen.writeNumberField("target_objective", targetObjective);
+        }
+        writeData(gen);
+        writeInitialAssignments(gen);
+        writeDomains(gen);
+        writeSymmetry(gen);
+        gen.writeEndObject();
+    }
+
+    /**
+     * Writes only the semester data (teachers, courses, classrooms) as the fields of an open object.
+     * Every collection is written in a fixed order, so equal data always yields equal bytes.
+     */
+    public void writeData(JsonGenerator gen) throws IOException {
+        writeTeachers(gen);
+        writeCourses(gen);
+        writeClassrooms(gen);
+    }
+
+    private void writeTeachers(JsonGenerator gen) throws IOException {
+        gen.writeArrayFieldStart("teachers");
+        for (TeachingRegistration reg : snapshot.getRegistrationsByTeacher().values()) {
+            Teacher teacher = reg.getTeacher();
+            List<CoursePreference> coursePreferences = snapshot.coursePreferencesOf(reg.getId());
+
+            gen.writeStartObject();
+            gen.writeStringField("id", teacher.getId());
+            gen.writeStringField("name", teacher.getName());
+            gen.writeNumberField("max_courses", orDefault(reg.getMaxCourses(), DEFAULT_MAX_COURSES));
+
+            // Later preferences for the same course win
+            Map<String, Integer> preferences = new TreeMap<>();
+            for (CoursePreference cp : coursePreferences) {
+                preferences.put(cp.getCourse().getId(), orDefault(cp.getPreferenceValue(), DEFAULT_PREFERENCE_VALUE));
+            }
+            gen.writeObjectFieldStart("course_preferences");
+            for (Map.Entry<String, Integer> entry : preferences.entrySet()) {
+                gen.writeNumberField(entry.getKey(), entry.getValue());
+            }
+            gen.writeEndObject();
+            gen.writeArrayFieldStart("eligible_courses");
+            for (String courseId : preferences.keySet()) {
+                gen.writeString(courseId);
+            }
+            gen.writeEndArray();
+
+            writeDayTimePreferences(gen, snapshot.timePreferencesOf(reg.getId()));
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+    }
+
+    private void writeDayTimePreferences(JsonGenerator gen, List<TimePreference> timePreferences) throws IOException {
+        Map<String, Map<String, Integer>> byDay = new TreeMap<>();
+        for (TimePreference tp : timePreferences) {
+            byDay.computeIfAbsent(mapDayOfWeek(tp.getDay()), k -> new TreeMap<>())
+                    .put(String.valueOf(tp.getPeriod().getOrderIndex()), orDefault(tp.getPreferenceValue(), DEFAULT_PREFERENCE_VALUE));
+        }
+        gen.writeObjectFieldStart("day_time_preferences");
+        for (Map.Entry<String, Map<String, Integer>> day : byDay.entrySet()) {
+            gen.writeObjectFieldStart(day.getKey());
+            for (Map.Entry<String, Integer> period : day.getValue().entrySet()) {
+                gen.writeNumberField(period.getKey(), period.getValue());
+            }
+            gen.writeEndObject();
+        }
+        gen.writeEndObject();
+    }
+
+    private void writeCourses(JsonGenerator gen) throws IOException {
+        gen.writeArrayFieldStart("courses");
+        for (Course course : snapshot.getCourses()) {
+            gen.writeStartObject();
+            gen.writeStringField("id", course.getId());
+            gen.writeStringField("name", course.getName());
+            gen.writeNumberField("min_teachers", orDefault(course.getMinTeachers(), DEFAULT_MIN_TEACHERS));
+            // If max_teachers is null, use max of min_teachers and DEFAULT_MAX_TEACHERS to ensure max >= min
+            Integer maxTeachers = course.getMaxTeachers();
+            if (maxTeachers == null) {
+                maxTeachers = Math.max(orDefault(course.getMinTeachers(), DEFAULT_MIN_TEACHERS), DEFAULT_MAX_TEACHERS);
+            }
+            gen.writeNumberField("max_teachers", maxTeachers);
+
+            gen.writeArrayFieldStart("sections");
+            for (Section section : snapshot.sectionsOf(course.getId())) {
+                gen.writeStartObject();
+                gen.writeStringField("id", section.getId());
+                gen.writeNumberField("required_periods", orDefault(section.getPeriodRequired(), DEFAULT_REQUIRED_PERIODS));
+                gen.writeNumberField("required_seats", orDefault(section.getRequiredSeats(), DEFAULT_REQUIRED_SEATS));
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+    }
+
+    private void writeClassrooms(JsonGenerator gen) throws IOException {
+        gen.writeObjectFieldStart("classrooms");
+        gen.writeArrayFieldStart("days");
+        for (String day : WEEKDAYS) {
+            gen.writeString(day);
+        }
+        gen.writeEndArray();
+        gen.writeArrayFieldStart("periods");
+        for (Period period : snapshot.getPeriods()) {
+            gen.writeString(String.valueOf(period.getOrderIndex()));
+        }
+        gen.writeEndArray();
+        gen.writeArrayFieldStart("classrooms");
+        for (Classroom classroom : snapshot.getClassrooms()) {
+            gen.writeStartObject();
+            gen.writeStringField("id", classroom.getId());
+            gen.writeNumberField("capacity", orDefault(classroom.getCapacity(), DEFAULT_CAPACITY));
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+        gen.writeEndObject();
+    }
+
+    private void writeInitialAssignments(JsonGenerator gen) throws IOException {
+        if (initialAssignments.isEmpty()) {
+            return;
+        }
+        gen.writeArrayFieldStart("initial_assignments");
+        for (AssignmentDTO assignment : initialAssignments) {
+            if (snapshot.findSection(assignment.getSectionId()).isEmpty()) continue;
+            gen.writeStartObject();
+            gen.writeStringField("teacher_id", assignment.getTeacherId());
+            gen.writeStringField("section_id", assignment.getSectionId());
+            gen.writeStringField("classroom_id", assignment.getClassroomId());
+            gen.writeStringField("day", assignment.getDay());
+            gen.writeStringField("period", assignment.getPeriod());
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+    }
+
+    private void writeDomains(JsonGenerator gen) throws IOException {
+        if (domains == null) {
+            return;
+        }
+        gen.writeObjectFieldStart("domains");
+
+        gen.writeObjectFieldStart("unavailable_periods");
+        for (int t = 0; t < domains.numTeachers(); t++) {
+            boolean any = false;
+            for (int d = 0; d < domains.numDays(); d++) {
+                long banned = domains.bannedPeriods(t, d);
+                if (banned == 0) continue;
+                if (!any) {
+                    gen.writeObjectFieldStart(domains.teacherId(t));
+                    any = true;
+                }
+                gen.writeArrayFieldStart(domains.day(d));
+                for (; banned != 0; banned &= banned - 1) {
+                    gen.writeString(String.valueOf(domains.periodOrder(Long.numberOfTrailingZeros(banned))));
+                }
+                gen.writeEndArray();
+            }
+            if (any) gen.writeEndObject();
+        }
+        gen.writeEndObject();
+
+        gen.writeObjectFieldStart("excluded_teachers");
+        for (Course course : snapshot.getCourses()) {
+            int c = domains.courseIndex(course.getId());
+            List<String> excluded = snapshot.teacherIdsFor(course.getId()).stream()
+                    .filter(teacherId -> domains.teacherIndex(teacherId) >= 0
+                            && !domains.isEligible(domains.teacherIndex(teacherId), c))
+                    .sorted()
+                    .toList();
+            if (excluded.isEmpty()) continue;
+            gen.writeArrayFieldStart(course.getId());
+            for (String teacherId : excluded) gen.writeString(teacherId);
+            gen.writeEndArray();
+        }
+        gen.writeEndObject();
+
+        gen.writeObjectFieldStart("section_classrooms");
+        for (int s = 0; s < domains.numSections(); s++) {
+            int[] rooms = domains.roomsFor(s);
+            if (rooms.length == domains.numRooms()) continue;
+            gen.writeArrayFieldStart(domains.sectionId(s));
+            for (int r : rooms) gen.writeString(domains.roomId(r));
+            gen.writeEndArray();
+        }
+        gen.writeEndObject();
+
+        gen.writeEndObject();
+    }
+
+    private void writeSymmetry(JsonGenerator gen) throws IOException {
+        if (domains == null) {
+            return;
+        }
+        SymmetryClasses symmetry = domains.symmetry();
+        gen.writeObjectFieldStart("symmetry");
+        gen.writeArrayFieldStart("section_classes");
+        for (int[] group : symmetry.sectionGroups()) {
+            gen.writeStartArray();
+            for (int s : group) gen.writeString(domains.sectionId(s));
+            gen.writeEndArray();
+        }
+        gen.writeEndArray();
+        gen.writeArrayFieldStart("teacher_classes");
+        for (int[] group : symmetry.teacherGroups()) {
+            gen.writeStartArray();
+            for (int t : group) gen.writeString(domains.teacherId(t));
+            gen.writeEndArray();
+        }
+        gen.writeEndArray();
+        gen.writeEndObject();
+    }
+
+    static String mapDayOfWeek(DayOfWeek day) {
+        switch (day) {
+            case MONDAY: return "Mon";
+            case TUESDAY: return "Tue";
+            case WEDNESDAY: return "Wed";
+            case THURSDAY: return "Thu";
+            case FRIDAY: return "Fri";
+            case SATURDAY: return "Sat";
+            case SUNDAY: return "Sun";
+            default: return day.toString().substring(0, 3);
+        }
+    }
+
+    private static <T> T orDefault(T value, T defaultValue) {
+        return value != null ? value : defaultValue;
+    }
+}
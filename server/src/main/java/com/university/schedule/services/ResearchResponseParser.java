@@ -0,0 +1,115 @@
+package com.university.schedule.services;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.university.schedule.dtos.AssignmentDTO;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads a research service response token by token. Assignments are turned into {@link AssignmentDTO}s
+ * as they are read and course IDs are resolved from the snapshot's section index, so neither the
+ * response tree nor the database is needed.
+ */
+@Slf4j
+public final class ResearchResponseParser {
+
+    private static final String[] REQUIRED_FIELDS = {"teacher_id", "section_id", "day", "period", "classroom_id"};
+
+    private ResearchResponseParser() {
+    }
+
+    public static GeneratedSchedule parse(JsonParser parser, SemesterSnapshot snapshot) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new RuntimeException("Research service returned an invalid response");
+        }
+
+        GeneratedSchedule result = new GeneratedSchedule();
+        // Everything except the assignments is small; keep it for status checks and error messages
+        ObjectNode envelope = JsonNodeFactory.instance.objectNode();
+        boolean hasAssignments = false;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("solution".equals(field) && value == JsonToken.START_OBJECT) {
+                hasAssignments = parseSolution(parser, snapshot, result);
+            } else {
+                envelope.set(field, parser.readValueAsTree());
+            }
+        }
+
+        if (!envelope.has("status") || !"success".equals(envelope.get("status").asText())) {
+            throw new RuntimeException("Research service returned error: " + envelope);
+        }
+        if (!hasAssignments) {
+            throw new RuntimeException("No assignments in response");
+        }
+        return result;
+    }
+
+    private static boolean parseSolution(JsonParser parser, SemesterSnapshot snapshot, GeneratedSchedule result) throws IOException {
+        boolean hasAssignments = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("objective_value".equals(field)) {
+                result.setObjectiveValue(value == JsonToken.VALUE_NULL ? null : parser.getValueAsInt());
+            } else if ("assignments".equals(field) && value == JsonToken.START_ARRAY) {
+                hasAssignments = true;
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    AssignmentDTO assignment = parseAssignment(parser, snapshot);
+                    if (assignment != null) {
+                        result.add(assignment);
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return hasAssignments;
+    }
+
+    private static AssignmentDTO parseAssignment(JsonParser parser, SemesterSnapshot snapshot) throws IOException {
+        Map<String, String> fields = new HashMap<>(8);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            String value = parser.getValueAsString();
+            parser.skipChildren();
+            if (value != null) {
+                fields.put(field, value);
+            }
+        }
+
+        for (String required : REQUIRED_FIELDS) {
+            if (!fields.containsKey(required)) {
+                log.warn("Skipping assignment with missing fields: {}", fields);
+                return null;
+            }
+        }
+
+        AssignmentDTO assignment = AssignmentDTO.builder()
+                .teacherId(fields.get("teacher_id"))
+                .sectionId(fields.get("section_id"))
+                .classroomId(fields.get("classroom_id"))
+                .day(fields.get("day"))
+                .period(fields.get("period"))
+                .courseId(fields.get("course_id"))
+                .build();
+
+        if (assignment.getCourseId() == null) {
+            // Resolve course_id from the snapshot's section index
+            snapshot.findSection(assignment.getSectionId())
+                    .ifPresentOrElse(
+                            section -> assignment.setCourseId(section.getCourse().getId()),
+                            () -> log.warn("Could not get course_id for section {}", assignment.getSectionId()));
+        }
+        return assignment;
+    }
+}
@@ -1,59 +1,134 @@
 package com.university.schedule.services;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
-import java.util.Map;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ResearchService {
 
+    private static final MediaType COMPACT = MediaType.parseMediaType(CompactScheduleCodec.MEDIA_TYPE);
+
     @Value("${research.service.url:http://localhost:8081}")
     private String researchServiceUrl;
 
     @Value("${research.service.endpoint:/schedule}")
     private String researchServiceEndpoint;
 
+    @Value("${research.service.gzip:false}")
+    private boolean gzipRequests;
+
+    // json, or compact to send CompactScheduleCodec requests when the service accepts them
+    @Value("${research.service.wire-format:json}")
+    private String wireFormat;
+
+    private final AtomicBoolean compactRejected = new AtomicBoolean();
+
     private final RestTemplate restTemplate;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Sends the request and reads the solver's schedule. With the compact wire format the request is
+     * binary and the service may answer in either format; a service that rejects compact requests
+     * (415) gets JSON from then on.
+     */
+    public GeneratedSchedule callSchedulingService(ResearchRequest request) {
+        if ("compact".equalsIgnoreCase(wireFormat) && !compactRejected.get()) {
+            try {
+                return call(request, true);
+            } catch (HttpClientErrorException.UnsupportedMediaType e) {
+                log.warn("Research service does not accept {}; falling back to JSON", CompactScheduleCodec.MEDIA_TYPE);
+                compactRejected.set(true);
+            }
+        }
+        return call(request, false);
+    }
 
-    public JsonNode callSchedulingService(Map<String, Object> requestData) {
+    private GeneratedSchedule call(ResearchRequest request, boolean compact) {
         try {
             String url = researchServiceUrl + researchServiceEndpoint;
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            
-            String requestBody = objectMapper.writeValueAsString(requestData);
-            
-            HttpEntity<String> entity = new HttpEntity<>(requestBody, headers);
-            
-            ResponseEntity<String> response = restTemplate.exchange(
-                url,
-                HttpMethod.POST,
-                entity,
-                String.class
-            );
-            
-            if (response.getStatusCode().is2xxSuccessful()) {
-                JsonNode responseJson = objectMapper.readTree(response.getBody());
-                return responseJson;
-            } else {
-                log.error("Research service returned error: {}", response.getStatusCode());
-                throw new RuntimeException("Research service returned error: " + response.getStatusCode());
+
+            return restTemplate.execute(url, HttpMethod.POST,
+                    httpRequest -> writeRequest(httpRequest, request, compact),
+                    response -> {
+                        if (!response.getStatusCode().is2xxSuccessful()) {
+                            log.error("Research service returned error: {}", response.getStatusCode());
+                            throw new RuntimeException("Research service returned error: " + response.getStatusCode());
+                        }
+                        InputStream body = response.getBody();
+                        if ("gzip".equalsIgnoreCase(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING))) {
+                            body = new GZIPInputStream(body);
+                        }
+                        MediaType contentType = response.getHeaders().getContentType();
+                        if (contentType != null && COMPACT.includes(contentType)) {
+                            return CompactScheduleCodec.readResponse(body, request.problem());
+                        }
+                        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+                            return ResearchResponseParser.parse(parser, request.getSnapshot());
+                        }
+                    });
+        } catch (RestClientException e) {
+            if (compact && e instanceof HttpClientErrorException.UnsupportedMediaType) {
+                throw e;
             }
-        } catch (Exception e) {
             log.error("Error calling research service", e);
             throw new RuntimeException("Failed to call research service: " + e.getMessage(), e);
         }
     }
-}
 
+    private void writeRequest(ClientHttpRequest httpRequest, ResearchRequest request, boolean compact) throws IOException {
+        HttpHeaders headers = httpRequest.getHeaders();
+        if (compact) {
+            headers.setContentType(COMPACT);
+            headers.setAccept(List.of(COMPACT, MediaType.APPLICATION_JSON));
+        } else {
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        }
+        headers.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        if (gzipRequests) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        // Streaming requests hand the connection's output stream to the writer; others buffer the body themselves
+        if (httpRequest instanceof StreamingHttpOutputMessage streaming) {
+            streaming.setBody(out -> writeBody(out, request, compact));
+        } else {
+            writeBody(httpRequest.getBody(), request, compact);
+        }
+    }
+
+    private void writeBody(OutputStream out, ResearchRequest request, boolean compact) throws IOException {
+        OutputStream target = gzipRequests ? new GZIPOutputStream(StreamUtils.nonClosing(out), 8192) : StreamUtils.nonClosing(out);
+        if (compact) {
+            try (target) {
+                CompactScheduleCodec.writeRequest(target, request);
+            }
+            return;
+        }
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(target, JsonEncoding.UTF8)) {
+            request.writeTo(gen);
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package com.university.schedule.services;
+
+import com.university.schedule.dtos.AssignmentDTO;
+import com.university.schedule.dtos.ScheduleAuditDTO;
+import com.university.schedule.dtos.ScheduleAuditReportDTO;
+import com.university.schedule.dtos.ScheduleViolationDTO;
+import com.university.schedule.entities.Classroom;
+import com.university.schedule.entities.Period;
+import com.university.schedule.entities.Schedule;
+import com.university.schedule.entities.Section;
+import com.university.schedule.enums.ViolationType;
+import com.university.schedule.exceptions.NotFoundException;
+import com.university.schedule.mappers.ScheduleJsonMapper;
+import com.university.schedule.repositories.ScheduleRepository;
+import com.university.schedule.repositories.SectionRepository;
+import com.university.schedule.scheduling.SchedulingProblem;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static com.university.schedule.scheduling.SchedulingProblem.DEFAULT_CAPACITY;
+import static com.university.schedule.scheduling.SchedulingProblem.DEFAULT_REQUIRED_PERIODS;
+import static com.university.schedule.scheduling.SchedulingProblem.DEFAULT_REQUIRED_SEATS;
+
+/**
+ * Checks every stored schedule of a semester against the current reference data: known sections and
+ * classrooms, teacher eligibility, room capacity, period bounds and teacher/room double booking.
+ * Schedules are checked in parallel, each with its own per teacher-day and room-day period bitmasks.
+ * <p>
+ * Besides on-demand audits, a background audit runs after a committed change to classrooms, sections
+ * or periods ({@code scheduling.audit.on-change}); its report is kept as the semester's latest.
+ */
+@Slf4j
+@Service
+public class ScheduleAuditService {
+
+    private final ScheduleRepository scheduleRepository;
+    private final SectionRepository sectionRepository;
+    private final ScheduleJsonMapper scheduleJsonMapper;
+    private final SemesterSnapshotLoader snapshotLoader;
+    private final boolean auditOnChange;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, CompletableFuture<ScheduleAuditReportDTO>> latest = new ConcurrentHashMap<>();
+
+    public ScheduleAuditService(ScheduleRepository scheduleRepository, SectionRepository sectionRepository,
+                                ScheduleJsonMapper scheduleJsonMapper, SemesterSnapshotLoader snapshotLoader,
+                                @Value("${scheduling.audit.on-change:true}") boolean auditOnChange) {
+        this.scheduleRepository = scheduleRepository;
+        this.sectionRepository = sectionRepository;
+        this.scheduleJsonMapper = scheduleJsonMapper;
+        this.snapshotLoader = snapshotLoader;
+        this.auditOnChange = auditOnChange;
+    }
+
+    public ScheduleAuditReportDTO audit(String semester) {
+        return audit(semester, "manual");
+    }
+
+    /**
+     * Starts a background audit of the semester, replacing its latest report when done.
+     */
+    public void submit(String semester, String trigger) {
+        latest.put(semester, CompletableFuture.supplyAsync(() -> audit(semester, trigger), executor)
+                .whenComplete((report, error) -> {
+                    if (error != null) {
+                        log.warn("Background audit of semester {} failed: {}", semester, error.getMessage());
+                    } else if (report.getInvalidSchedules() > 0) {
+                        log.warn("Audit after {}: {} of {} schedules in semester {} violate hard constraints", trigger,
+                                report.getInvalidSchedules(), report.getSchedulesAudited(), semester);
+                    }
+                }));
+    }
+
+    /**
+     * Report of the semester's latest background audit, or empty while it is still running.
+     */
+    public Optional<ScheduleAuditReportDTO> getLatest(String semester) {
+        CompletableFuture<ScheduleAuditReportDTO> future = latest.get(semester);
+        if (future == null) {
+            throw new NotFoundException("No background audit for semester " + semester);
+        }
+        if (!future.isDone()) {
+            return Optional.empty();
+        }
+        if (future.isCompletedExceptionally()) {
+            throw new RuntimeException("Audit of semester " + semester + " failed: "
+                    + future.exceptionNow().getMessage());
+        }
+        return Optional.of(future.resultNow());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        if (!auditOnChange) return;
+        List<String> semesters = event.semester() != null
+                ? List.of(event.semester())
+                : scheduleRepository.findDistinctSemesters();
+        semesters.forEach(semester -> submit(semester, event.reason()));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private ScheduleAuditReportDTO audit(String semester, String trigger) {
+        long start = System.currentTimeMillis();
+        SemesterSnapshot snapshot = snapshotLoader.load(semester);
+        List<Schedule> schedules = scheduleRepository.findBySemester(semester);
+        List<List<AssignmentDTO>> versions = schedules.parallelStream()
+                .map(schedule -> {
+                    List<AssignmentDTO> assignments = scheduleJsonMapper.toDto(schedule).getAssignments();
+                    return assignments != null ? assignments : List.<AssignmentDTO>of();
+                })
+                .toList();
+
+        // Sections without eligible teachers are not in the snapshot; look them up once for all versions
+        Set<String> missing = new HashSet<>();
+        versions.forEach(assignments -> assignments.stream()
+                .map(AssignmentDTO::getSectionId)
+                .filter(id -> id != null && snapshot.findSection(id).isEmpty())
+                .forEach(missing::add));
+        Map<String, Section> sections = new HashMap<>(snapshot.getSectionsById());
+        sectionRepository.findAllById(missing).forEach(section -> sections.put(section.getId(), section));
+        Reference reference = new Reference(snapshot, sections);
+
+        List<ScheduleAuditDTO> audits = new ArrayList<>(IntStream.range(0, schedules.size()).parallel()
+                .mapToObj(i -> {
+                    List<ScheduleViolationDTO> violations = reference.check(versions.get(i));
+                    return ScheduleAuditDTO.builder()
+                            .scheduleId(schedules.get(i).getId())
+                            .name(schedules.get(i).getName())
+                            .assignments(versions.get(i).size())
+                            .valid(violations.isEmpty())
+                            .violations(violations)
+                            .build();
+                })
+                .toList());
+        audits.sort(Comparator.comparing(ScheduleAuditDTO::getName, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        int invalid = (int) audits.stream().filter(a -> !a.getValid()).count();
+        int violations = audits.stream().mapToInt(a -> a.getViolations().size()).sum();
+        long elapsed = System.currentTimeMillis() - start;
+        log.info("Audited {} schedules of semester {} ({}): {} invalid, {} violations in {} ms",
+                audits.size(), semester, trigger, invalid, violations, elapsed);
+        return ScheduleAuditReportDTO.builder()
+                .semester(semester)
+                .trigger(trigger)
+                .auditedAt(Instant.now())
+                .schedulesAudited(audits.size())
+                .invalidSchedules(invalid)
+                .violations(violations)
+                .schedules(audits)
+                .elapsedMs(elapsed)
+                .build();
+    }
+
+    /**
+     * Reference data of one semester, indexed for checking many schedule versions.
+     */
+    private static final class Reference {
+        private final SemesterSnapshot snapshot;
+        private final Map<String, Section> sections;
+        private final Map<String, Integer> roomIndex = new HashMap<>();
+        private final int[] capacity;
+        private final Map<String, Integer> periodIndex = new HashMap<>();
+        private final int numPeriods;
+        private final int numDays = SchedulingProblem.WEEKDAYS.size();
+
+        Reference(SemesterSnapshot snapshot, Map<String, Section> sections) {
+            this.snapshot = snapshot;
+            this.sections = sections;
+            List<Classroom> classrooms = snapshot.getClassrooms();
+            this.capacity = new int[classrooms.size()];
+            for (int r = 0; r < classrooms.size(); r++) {
+                roomIndex.put(classrooms.get(r).getId(), r);
+                capacity[r] = orDefault(classrooms.get(r).getCapacity(), DEFAULT_CAPACITY);
+            }
+            List<Period> periods = snapshot.getPeriods();
+            for (int p = 0; p < periods.size(); p++) {
+                periodIndex.put(String.valueOf(periods.get(p).getOrderIndex()), p);
+            }
+            this.numPeriods = periods.size();
+        }
+
+        List<ScheduleViolationDTO> check(List<AssignmentDTO> assignments) {
+            List<ScheduleViolationDTO> violations = new ArrayList<>();
+            Map<String, long[]> teacherDays = new HashMap<>();
+            long[] roomDays = new long[capacity.length * numDays];
+
+            for (int i = 0; i < assignments.size(); i++) {
+                AssignmentDTO assignment = assignments.get(i);
+                Section section = assignment.getSectionId() != null ? sections.get(assignment.getSectionId()) : null;
+                if (section == null) {
+                    violations.add(violation(ViolationType.UNKNOWN_SECTION, assignment, null,
+                            "Section " + assignment.getSectionId() + " no longer exists"));
+                    continue;
+                }
+                if (!snapshot.teacherIdsFor(section.getCourse().getId()).contains(assignment.getTeacherId())) {
+                    violations.add(violation(ViolationType.INELIGIBLE_TEACHER, assignment, null, "Teacher "
+                            + assignment.getTeacherId() + " has no approved registration for course " + section.getCourse().getId()));
+                }
+                Integer r = roomIndex.get(assignment.getClassroomId());
+                int seats = orDefault(section.getRequiredSeats(), DEFAULT_REQUIRED_SEATS);
+                if (r == null) {
+                    violations.add(violation(ViolationType.UNKNOWN_CLASSROOM, assignment, null,
+                            "Classroom " + assignment.getClassroomId() + " is not available in this semester"));
+                } else if (capacity[r] < seats) {
+                    violations.add(violation(ViolationType.CAPACITY_EXCEEDED, assignment, null, "Classroom "
+                            + assignment.getClassroomId() + " has " + capacity[r] + " seats, section needs " + seats));
+                }
+
+                int d = SchedulingProblem.WEEKDAYS.indexOf(assignment.getDay());
+                Integer p = periodIndex.get(assignment.getPeriod());
+                int length = orDefault(section.getPeriodRequired(), DEFAULT_REQUIRED_PERIODS);
+                if (d < 0 || p == null || p + length > numPeriods || p + length > Long.SIZE) {
+                    violations.add(violation(ViolationType.PERIOD_OUT_OF_RANGE, assignment, null, "Block of " + length
+                            + " periods from " + assignment.getDay() + " period " + assignment.getPeriod() + " is outside the period list"));
+                    continue;
+                }
+                long block = (length >= Long.SIZE ? -1L : (1L << length) - 1) << p;
+
+                long[] days = teacherDays.computeIfAbsent(assignment.getTeacherId(), k -> new long[numDays]);
+                if ((days[d] & block) != 0) {
+                    violations.add(violation(ViolationType.TEACHER_DOUBLE_BOOKING, assignment,
+                            conflicting(assignments, i, block, true), "Teacher " + assignment.getTeacherId() + " is double-booked"));
+                }
+                days[d] |= block;
+                if (r != null) {
+                    if ((roomDays[r * numDays + d] & block) != 0) {
+                        violations.add(violation(ViolationType.ROOM_DOUBLE_BOOKING, assignment,
+                                conflicting(assignments, i, block, false), "Classroom " + assignment.getClassroomId() + " is double-booked"));
+                    }
+                    roomDays[r * numDays + d] |= block;
+                }
+            }
+            return violations;
+        }
+
+        /**
+         * Earlier assignment of the same teacher (or room) and day whose block overlaps; only looked up
+         * once a bitmask conflict is known.
+         */
+        private String conflicting(List<AssignmentDTO> assignments, int i, long block, boolean byTeacher) {
+            AssignmentDTO assignment = assignments.get(i);
+            for (int j = 0; j < i; j++) {
+                AssignmentDTO other = assignments.get(j);
+                boolean same = byTeacher ? Objects.equals(other.getTeacherId(), assignment.getTeacherId())
+                        : Objects.equals(other.getClassroomId(), assignment.getClassroomId());
+                Section section = other.getSectionId() != null ? sections.get(other.getSectionId()) : null;
+                Integer p = periodIndex.get(other.getPeriod());
+                if (!same || section == null || p == null || !Objects.equals(other.getDay(), assignment.getDay())) continue;
+                int length = orDefault(section.getPeriodRequired(), DEFAULT_REQUIRED_PERIODS);
+                long otherBlock = (length >= Long.SIZE ? -1L : (1L << length) - 1) << p;
+                if ((otherBlock & block) != 0) return other.getSectionId();
+            }
+            return null;
+        }
+
+        private static ScheduleViolationDTO violation(ViolationType type, AssignmentDTO assignment,
+                                                      String conflictingSectionId, String message) {
+            return ScheduleViolationDTO.builder()
+                    .type(type)
+                    .sectionId(assignment.getSectionId())
+                    .teacherId(assignment.getTeacherId())
+                    .classroomId(assignment.getClassroomId())
+                    .day(assignment.getDay())
+                    .period(assignment.getPeriod())
+                    .conflictingSectionId(conflictingSectionId)
+                    .message(message)
+                    .build();
+        }
+
+        private static <T> T orDefault(T value, T defaultValue) {
+            return value != null ? value : defaultValue;
+        }
+    }
+}
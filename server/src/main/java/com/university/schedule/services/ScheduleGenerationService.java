@@ -1,23 +1,27 @@
 package com.university.schedule.services;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.university.schedule.dtos.AssignmentDTO;
-import com.university.schedule.dtos.ScheduleDTO;
 import com.university.schedule.dtos.ScheduleGenerationResponseDTO;
-import com.university.schedule.dtos.StatisticsDTO;
 import com.university.schedule.entities.*;
-import com.university.schedule.enums.RegistrationStatus;
-import com.university.schedule.enums.RegistrationStatus;
+import com.university.schedule.enums.GenerationPhase;
+import com.university.schedule.exceptions.NotFoundException;
 import com.university.schedule.mappers.ScheduleJsonMapper;
-import com.university.schedule.repositories.*;
+import com.university.schedule.repositories.ScheduleRepository;
+import com.university.schedule.scheduling.ObjectiveBound;
+import com.university.schedule.scheduling.Presolver;
+import com.university.schedule.scheduling.SchedulingEngine;
+import com.university.schedule.scheduling.SchedulingEngineRegistry;
+import com.university.schedule.scheduling.SchedulingProblem;
+import com.university.schedule.scheduling.SchedulingSolution;
+import com.university.schedule.scheduling.SolverContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.DayOfWeek;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -25,26 +29,21 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ScheduleGenerationService {
 
-    private static final List<String> WEEKDAYS = Arrays.asList("Mon", "Tue", "Wed", "Thu", "Fri");
-    private static final int DEFAULT_MAX_COURSES = 1;
-    private static final int DEFAULT_MIN_TEACHERS = 1;
-    private static final int DEFAULT_MAX_TEACHERS = 10; // Default max teachers if not specified
-    private static final int DEFAULT_REQUIRED_PERIODS = 1;
-    private static final int DEFAULT_REQUIRED_SEATS = 0;
-    private static final int DEFAULT_PREFERENCE_VALUE = 0;
-    private static final int DEFAULT_CAPACITY = 0;
+    private static final String STOPPED_BY_BUDGET = "budget";
+    private static final String STOPPED_BY_TARGET = "target";
+    // An engine's own node or time limit ended a search that would otherwise prove optimality
+    private static final String STOPPED_BY_LIMIT = "limit";
 
     private final ResearchService researchService;
-    private final TeachingRegistrationRepository teachingRegistrationRepository;
-    private final TeacherRepository teacherRepository;
-    private final CourseRepository courseRepository;
-    private final ClassroomRepository classroomRepository;
-    private final CoursePreferenceRepository coursePreferenceRepository;
-    private final TimePreferenceRepository timePreferenceRepository;
+    private final SchedulingEngineRegistry engineRegistry;
+    private final SemesterSnapshotLoader snapshotLoader;
+    private final GeneratedScheduleStore scheduleStore;
     private final ScheduleRepository scheduleRepository;
     private final ScheduleJsonMapper scheduleJsonMapper;
-    private final PeriodRepository periodRepository;
-    private final SectionRepository sectionRepository;
+    private final SolverInputHasher inputHasher;
+    private final SolverResultCache resultCache;
+    private final DecomposedSolver decomposedSolver;
+    private final Presolver presolver;
 
     @Transactional
     public List<Schedule> generateSchedule(String semester) {
@@ -52,79 +51,296 @@ public class ScheduleGenerationService {
         throw new UnsupportedOperationException("This method is deprecated. Use generateScheduleWithValue instead.");
     }
 
-    @Transactional
     public ScheduleGenerationResponseDTO generateScheduleWithValue(String semester, String algorithm, String scheduleName) {
+        return generateScheduleWithValue(semester, algorithm, scheduleName, GenerationOptions.DEFAULT);
+    }
+
+    public ScheduleGenerationResponseDTO generateScheduleWithValue(String semester, String algorithm, String scheduleName,
+                                                                   GenerationOptions options) {
+        return generateScheduleWithValue(semester, algorithm, scheduleName, options, new SolverContext(), GenerationListener.NONE);
+    }
+
+    /**
+     * Runs the generation pipeline. Loading and persisting each use their own short transaction, so no
+     * database transaction stays open while the solver runs; cancelling the context aborts the run
+     * before anything is persisted. With a source schedule, its assignments are the solver's starting point.
+     * With a time budget or target objective the search is anytime: when either is hit, the best
+     * schedule found so far is saved together with the time it was found.
+     */
+    public ScheduleGenerationResponseDTO generateScheduleWithValue(String semester, String algorithm, String scheduleName,
+                                                                   GenerationOptions options, SolverContext context,
+                                                                   GenerationListener listener) {
+        if (scheduleName == null || scheduleName.isEmpty()) {
+            throw new IllegalArgumentException("Schedule name is required for generation. Cannot proceed to avoid accidental data loss.");
+        }
+        if (options.getTimeBudgetMs() != null && options.getTimeBudgetMs() <= 0) {
+            throw new IllegalArgumentException("Time budget must be positive, got " + options.getTimeBudgetMs() + " ms");
+        }
+        if (options.getTargetGapPercent() != null && options.getTargetGapPercent() < 0) {
+            throw new IllegalArgumentException("Target gap must not be negative, got " + options.getTargetGapPercent() + "%");
+        }
+
+        listener.phaseStarted(GenerationPhase.LOAD);
+        SemesterSnapshot snapshot = snapshotLoader.load(semester);
+        List<AssignmentDTO> warmStart = loadWarmStart(semester, options.getSourceScheduleName());
+
         // Validate before generating
-        List<String> validationErrors = validateScheduleGeneration(semester);
-        if (!validationErrors.isEmpty()) {
-            String errorMessage = "Không thể tạo lịch tự động. " + String.join(" ", validationErrors);
-            throw new RuntimeException(errorMessage);
+        listener.phaseStarted(GenerationPhase.VALIDATE);
+        SchedulingProblem problem = ensureGeneratable(snapshot);
+        long upperBound = ObjectiveBound.upperBound(problem);
+        options = withGapTarget(options, upperBound);
+
+        Optional<SchedulingEngine> engine = engineRegistry.find(algorithm);
+
+        // Identical input (data, algorithm, engine settings, warm start) reuses the cached result
+        String dataHash = inputHasher.dataHash(snapshot);
+        String runKey = inputHasher.runKey(dataHash, algorithm,
+                engine.map(e -> e.getConfiguration() + ";" + decomposedSolver.getConfiguration()).orElse("remote")
+                        + ";" + presolver.getConfiguration()
+                        + ";budget=" + options.getTimeBudgetMs() + ";target=" + options.getTargetObjective()
+                        + ";gap=" + options.getTargetGapPercent() + ";seed=" + options.getSeed(),
+                warmStart);
+        Optional<GeneratedSchedule> cached = resultCache.get(runKey);
+        GeneratedSchedule generated;
+        if (cached.isPresent()) {
+            log.info("Reusing cached {} result for semester {} (input {})", algorithm, semester, dataHash);
+            generated = cached.get();
+        } else {
+            SolverContext solveContext = limitedContext(context, options);
+            generated = engine.isPresent()
+                    ? solveInProcess(engine.get(), snapshot, problem, warmStart, solveContext, listener)
+                    : solveRemotely(algorithm, snapshot, problem, warmStart, options, context, listener);
+            if (options.getTimeBudgetMs() != null) {
+                generated.getScores().put("timeBudgetMs", options.getTimeBudgetMs());
+            }
+            if (options.getTargetObjective() != null) {
+                generated.getScores().put("targetObjective", options.getTargetObjective());
+            }
+            // A result cut off by the budget or an engine's own limit depends on machine load, so it is not reused
+            if (!STOPPED_BY_BUDGET.equals(generated.getScores().get("stopReason"))
+                    && !Boolean.FALSE.equals(generated.getOptimal())) {
+                resultCache.put(runKey, generated);
+            }
         }
+        generated.setInputHash(dataHash);
+        generated.setUpperBound(upperBound);
 
-        List<TeachingRegistration> registrations = teachingRegistrationRepository
-                .findByStatusAndSemester(RegistrationStatus.APPROVED, semester);
+        listener.phaseStarted(GenerationPhase.PERSIST);
+        return saveSchedule(snapshot, scheduleName, generated);
+    }
 
+    /**
+     * Names of generated schedules in the semester whose input hash no longer matches the current data.
+     * Schedules without a recorded hash (created by hand or before hashing existed) are not reported.
+     */
+    public List<String> findStaleScheduleNames(String semester) {
+        String current = inputHasher.dataHash(snapshotLoader.load(semester));
+        return scheduleRepository.findBySemester(semester).stream()
+                .filter(schedule -> schedule.getInputHash() != null && !schedule.getInputHash().equals(current))
+                .map(Schedule::getName)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Re-optimizes a stored schedule: it is the warm start of a run of {@code algorithm} (typically a
+     * local search such as "anneal"), and the result replaces it under the same name.
+     */
+    public ScheduleGenerationResponseDTO optimizeSchedule(String scheduleId, String algorithm, GenerationOptions options) {
+        Schedule schedule = scheduleRepository.findById(scheduleId)
+                .orElseThrow(() -> new NotFoundException("Schedule not found with id " + scheduleId));
+        return generateScheduleWithValue(schedule.getSemester(), algorithm, schedule.getName(),
+                options.toBuilder().sourceScheduleName(schedule.getName()).build());
+    }
+
+    /**
+     * Folds a target gap into the target objective: the run may stop once it is within
+     * {@code targetGapPercent} of {@code upperBound}, or at the explicit target if that is lower.
+     */
+    private static GenerationOptions withGapTarget(GenerationOptions options, long upperBound) {
+        if (options.getTargetGapPercent() == null) {
+            return options;
+        }
+        long target = upperBound - (long) Math.floor(options.getTargetGapPercent() / 100 * Math.max(1, Math.abs(upperBound)));
+        if (options.getTargetObjective() != null) {
+            target = Math.min(target, options.getTargetObjective());
+        }
+        return options.toBuilder().targetObjective(target).build();
+    }
+
+    /**
+     * Context bound by the options' seed, time budget and target objective. It shares cancellation and
+     * the incumbent with {@code context}.
+     */
+    private SolverContext limitedContext(SolverContext context, GenerationOptions options) {
+        SolverContext limited = context;
+        if (options.getTimeBudgetMs() != null || options.getSeed() != null) {
+            long seed = options.getSeed() != null ? options.getSeed() : context.getSeed();
+            long deadline = options.getTimeBudgetMs() != null
+                    ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(options.getTimeBudgetMs())
+                    : SolverContext.NO_DEADLINE;
+            limited = context.child(seed, deadline);
+        }
+        if (options.getTargetObjective() != null) {
+            limited.setTargetObjective(options.getTargetObjective());
+        }
+        return limited;
+    }
+
+    private GeneratedSchedule solveRemotely(String algorithm, SemesterSnapshot snapshot, SchedulingProblem fullProblem,
+                                            List<AssignmentDTO> warmStart, GenerationOptions options, SolverContext context,
+                                            GenerationListener listener) {
         // Check limits for exact scheduling
         if ("exact".equalsIgnoreCase(algorithm)) {
-            // Count teachers
-            long distinctTeachers = registrations.stream()
-                .map(tr -> tr.getTeacher().getId())
-                .distinct()
-                .count();
-            
-            // Count sections for courses in these registrations
-            Set<String> registrationIds = registrations.stream()
-                .map(TeachingRegistration::getId)
-                .collect(Collectors.toSet());
-
-            Set<String> courseIds = coursePreferenceRepository.findAll().stream()
-                .filter(cp -> cp.getTeachingRegistration() != null && registrationIds.contains(cp.getTeachingRegistration().getId()))
-                .filter(cp -> cp.getCourse() != null)
-                .map(cp -> cp.getCourse().getId())
-                .distinct()
-                .collect(Collectors.toSet());
-
-            long totalSections = sectionRepository.findAll().stream()
-                .filter(s -> s.getCourse() != null && courseIds.contains(s.getCourse().getId()))
-                .filter(s -> s.getId().endsWith("_" + semester))  // Only count sections for this semester
-                .count();
-
-            if (distinctTeachers > 15 || totalSections > 30) {
-                 throw new RuntimeException("dataset too large for exact scheduling. Limit: 15 Teachers, 30 Sections. Current: " + distinctTeachers + " Teachers, " + totalSections + " Sections.");
+            checkExactLimits(snapshot);
+        }
+
+        listener.phaseStarted(GenerationPhase.BUILD);
+        // Period bans would make the research service's exact optimum that of a narrower problem
+        Presolver.Result presolved = presolver.presolve(fullProblem, !"exact".equalsIgnoreCase(algorithm));
+        ResearchRequest request = new ResearchRequest(snapshot, algorithm)
+                .withInitialAssignments(warmStart)
+                .withDomains(presolved.problem())
+                .withLimits(options.getTimeBudgetMs(), options.getTargetObjective());
+
+        listener.phaseStarted(GenerationPhase.SOLVE);
+        long start = System.nanoTime();
+        GeneratedSchedule generated = researchService.callSchedulingService(request);
+        ensureNotCancelled(context);
+        generated.setPresolve(presolved.report());
+        generated.getScores().put("elapsedMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return generated;
+    }
+
+    private GeneratedSchedule solveInProcess(SchedulingEngine engine, SemesterSnapshot snapshot, SchedulingProblem fullProblem,
+                                             List<AssignmentDTO> warmStart, SolverContext context, GenerationListener listener) {
+        listener.phaseStarted(GenerationPhase.BUILD);
+        // An engine that proves optimality must see every schedule, including those using banned periods
+        boolean banPeriods = !engine.provesOptimality();
+        Presolver.Result presolved = presolver.presolve(fullProblem, banPeriods);
+
+        listener.phaseStarted(GenerationPhase.SOLVE);
+        long start = System.nanoTime();
+        DecomposedSolver.Result result = solve(engine, snapshot, presolved.problem(), banPeriods, warmStart, context);
+        if (!result.solution().isComplete() && presolved.bansPeriods() && !context.isCancelled() && !context.isTimeUp()) {
+            // Bans only encode strong preferences; they must not cost placed sections
+            log.info("Engine '{}' could not place every section with banned periods; solving again without them",
+                    engine.getName());
+            presolved = presolver.presolve(fullProblem, false);
+            result = solve(engine, snapshot, presolved.problem(), false, warmStart, context);
+        }
+        SchedulingProblem problem = presolved.problem();
+        SchedulingSolution solution = result.solution();
+        ensureNotCancelled(context);
+        long end = System.nanoTime();
+        SchedulingSolution incumbent = context.getIncumbent();
+        if (!solution.isComplete() && incumbent != null) {
+            solution = incumbent;
+        }
+        if (!solution.isComplete()) {
+            List<String> unplaced = new ArrayList<>();
+            for (int s = 0; s < problem.numSections(); s++) {
+                if (!solution.isAssigned(s)) unplaced.add(problem.sectionId(s));
+            }
+            throw new RuntimeException("Engine '" + engine.getName() + "' could not place " + unplaced.size() + " of "
+                    + problem.numSections() + " sections: " + String.join(", ", unplaced));
+        }
+        GeneratedSchedule generated = GeneratedSchedule.of(solution.toAssignments(problem),
+                Math.toIntExact(solution.getObjective()));
+        if (engine.provesOptimality()) {
+            generated.setOptimal(solution.isOptimal());
+        }
+        generated.setComponents(result.components());
+        generated.setPresolve(presolved.report());
+
+        // The incumbent's timestamp is when this objective was first reached; otherwise it is the end of the run
+        boolean published = context.getIncumbentFoundAtNanos() != 0 && context.getIncumbentObjective() == solution.getObjective();
+        long foundAt = published ? context.getIncumbentFoundAtNanos() : end;
+        generated.getScores().put("foundAtMs", TimeUnit.NANOSECONDS.toMillis(Math.max(0, foundAt - start)));
+        generated.getScores().put("elapsedMs", TimeUnit.NANOSECONDS.toMillis(end - start));
+        generated.getScores().put("stopReason", context.isTargetReached() ? STOPPED_BY_TARGET
+                : context.isTimeUp() ? STOPPED_BY_BUDGET
+                : engine.provesOptimality() && !solution.isOptimal() ? STOPPED_BY_LIMIT : "completed");
+        return generated;
+    }
+
+    /**
+     * Solves the semester as independent parts where it splits, otherwise as a whole; whole-semester
+     * results carry no component reports.
+     */
+    private DecomposedSolver.Result solve(SchedulingEngine engine, SemesterSnapshot snapshot, SchedulingProblem problem,
+                                          boolean banPeriods, List<AssignmentDTO> warmStart, SolverContext context) {
+        return decomposedSolver.solve(engine, snapshot, problem, banPeriods, warmStart, context).orElseGet(() -> {
+            if (!warmStart.isEmpty()) {
+                context.setWarmStart(SchedulingSolution.fromAssignments(problem, warmStart));
             }
+            return new DecomposedSolver.Result(engine.solve(problem, context), null);
+        });
+    }
+
+    private List<AssignmentDTO> loadWarmStart(String semester, String sourceScheduleName) {
+        if (sourceScheduleName == null || sourceScheduleName.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Schedule source = scheduleRepository.findBySemesterAndName(semester, sourceScheduleName).stream()
+                .findFirst()
+                .orElseThrow(() -> new NotFoundException("Source schedule not found: " + sourceScheduleName + " in semester " + semester));
+        List<AssignmentDTO> assignments = scheduleJsonMapper.toDto(source).getAssignments();
+        log.info("Warm-starting from schedule {} ({} assignments)", source.getId(), assignments.size());
+        return assignments;
+    }
+
+    /**
+     * Throws if the semester lacks the data every generation run needs, or provably has no schedule.
+     * Otherwise returns the semester's problem before presolve, so callers do not index it again.
+     */
+    SchedulingProblem ensureGeneratable(SemesterSnapshot snapshot) {
+        List<String> validationErrors = validateScheduleGeneration(snapshot);
+        SchedulingProblem problem = null;
+        if (validationErrors.isEmpty()) {
+            // Complete data can still be unschedulable; reject it before any solver runs
+            long start = System.currentTimeMillis();
+            problem = SchedulingProblem.from(snapshot);
+            validationErrors = FeasibilityPrecheck.check(problem);
+            log.debug("Feasibility pre-check for semester {} took {} ms", snapshot.getSemester(),
+                    System.currentTimeMillis() - start);
+        }
+        if (!validationErrors.isEmpty()) {
+            String errorMessage = "Không thể tạo lịch tự động. " + String.join(" ", validationErrors);
+            throw new RuntimeException(errorMessage);
         }
+        return problem;
+    }
 
-        Map<String, Object> requestData = buildRequestData(registrations, semester);
-        requestData.put("algorithm", algorithm);
-        JsonNode response = researchService.callSchedulingService(requestData);
-        return parseAndSaveSchedulesWithValue(response, semester, scheduleName);
+    private void ensureNotCancelled(SolverContext context) {
+        if (context.isCancelled()) {
+            throw new CancellationException("Schedule generation was cancelled");
+        }
     }
 
-    private List<String> validateScheduleGeneration(String semester) {
+    private void checkExactLimits(SemesterSnapshot snapshot) {
+        long distinctTeachers = snapshot.getTeacherIds().size();
+        long totalSections = snapshot.getSections().size();
+
+        if (distinctTeachers > 15 || totalSections > 30) {
+             throw new RuntimeException("dataset too large for exact scheduling. Limit: 15 Teachers, 30 Sections. Current: " + distinctTeachers + " Teachers, " + totalSections + " Sections.");
+        }
+    }
+
+    private List<String> validateScheduleGeneration(SemesterSnapshot snapshot) {
         List<String> errors = new ArrayList<>();
 
         // Check approved teaching registrations
-        List<TeachingRegistration> registrations = teachingRegistrationRepository
-                .findByStatusAndSemester(RegistrationStatus.APPROVED, semester);
-        if (registrations.isEmpty()) {
+        if (snapshot.getRegistrations().isEmpty()) {
             errors.add("Chưa có đăng ký dạy học nào được phê duyệt cho học kỳ này.");
             return errors; // Return early if no registrations
         }
 
-        Set<String> registrationIds = registrations.stream()
-                .map(TeachingRegistration::getId)
-                .collect(Collectors.toSet());
-
         // Check that all teachers with approved registrations have course preferences
-        Set<String> teachersWithRegistrations = registrations.stream()
-                .map(tr -> tr.getTeacher().getId())
-                .collect(Collectors.toSet());
+        Set<String> teachersWithRegistrations = snapshot.getTeacherIds();
 
         // Check course preferences
-        List<CoursePreference> coursePreferences = coursePreferenceRepository.findAll().stream()
-                .filter(cp -> registrationIds.contains(cp.getTeachingRegistration().getId()))
-                .filter(cp -> cp.getCourse() != null)
-                .collect(Collectors.toList());
+        List<CoursePreference> coursePreferences = snapshot.getCoursePreferences();
         
         if (coursePreferences.isEmpty()) {
             errors.add("Chưa có sở thích môn học nào được thiết lập cho các đăng ký đã phê duyệt.");
@@ -134,7 +350,7 @@ public class ScheduleGenerationService {
                     .map(cp -> cp.getTeachingRegistration().getTeacher().getId())
                     .collect(Collectors.toSet());
             
-            Set<String> teachersWithoutCoursePreferences = new HashSet<>(teachersWithRegistrations);
+            Set<String> teachersWithoutCoursePreferences = new TreeSet<>(teachersWithRegistrations);
             teachersWithoutCoursePreferences.removeAll(teachersWithCoursePreferences);
             
             if (!teachersWithoutCoursePreferences.isEmpty()) {
@@ -144,9 +360,7 @@ public class ScheduleGenerationService {
         }
 
         // Check time preferences
-        List<TimePreference> timePreferences = timePreferenceRepository.findAll().stream()
-                .filter(tp -> registrationIds.contains(tp.getTeachingRegistration().getId()))
-                .collect(Collectors.toList());
+        List<TimePreference> timePreferences = snapshot.getTimePreferences();
         
         if (timePreferences.isEmpty()) {
             errors.add("Chưa có sở thích thời gian nào được thiết lập cho các đăng ký đã phê duyệt.");
@@ -156,7 +370,7 @@ public class ScheduleGenerationService {
                     .map(tp -> tp.getTeachingRegistration().getTeacher().getId())
                     .collect(Collectors.toSet());
             
-            Set<String> teachersWithoutTimePreferences = new HashSet<>(teachersWithRegistrations);
+            Set<String> teachersWithoutTimePreferences = new TreeSet<>(teachersWithRegistrations);
             teachersWithoutTimePreferences.removeAll(teachersWithTimePreferences);
             
             if (!teachersWithoutTimePreferences.isEmpty()) {
@@ -166,41 +380,22 @@ public class ScheduleGenerationService {
         }
 
         // Check classrooms
-        List<Classroom> classrooms = classroomRepository.findBySemester(semester, Pageable.unpaged())
-                .getContent();
-        if (classrooms.isEmpty()) {
+        if (snapshot.getClassrooms().isEmpty()) {
             errors.add("Chưa có lớp học nào cho học kỳ này.");
         }
 
         // Check sections - ensure all sections have at least one teacher who can teach them
-        // Only check sections for this semester (sections have ID pattern: {courseId}_{sectionName}_{semester})
-        Set<String> courseIds = coursePreferences.stream()
-                .map(cp -> cp.getCourse().getId())
-                .collect(Collectors.toSet());
-        
-        List<Section> sections = sectionRepository.findAll().stream()
-                .filter(s -> s.getCourse() != null && courseIds.contains(s.getCourse().getId()))
-                .filter(s -> s.getId().endsWith("_" + semester))  // Only sections for this semester
-                .collect(Collectors.toList());
+        // The snapshot only holds sections of this semester for courses that have preferences
+        List<Section> sections = snapshot.getSections();
         
         if (sections.isEmpty()) {
             errors.add("Chưa có học phần nào cho các môn học đã đăng ký.");
         } else {
             // Check if all sections have at least one eligible teacher
-            Map<String, Set<String>> courseToTeachers = coursePreferences.stream()
-                    .collect(Collectors.groupingBy(
-                            cp -> cp.getCourse().getId(),
-                            Collectors.mapping(
-                                    cp -> cp.getTeachingRegistration().getTeacher().getId(),
-                                    Collectors.toSet()
-                            )
-                    ));
-            
             List<String> sectionsWithoutTeachers = new ArrayList<>();
             for (Section section : sections) {
-                String courseId = section.getCourse().getId();
-                Set<String> eligibleTeachers = courseToTeachers.get(courseId);
-                if (eligibleTeachers == null || eligibleTeachers.isEmpty()) {
+                Set<String> eligibleTeachers = snapshot.teacherIdsFor(section.getCourse().getId());
+                if (eligibleTeachers.isEmpty()) {
                     sectionsWithoutTeachers.add(section.getId() + " (" + section.getName() + ")");
                 }
             }
@@ -214,283 +409,7 @@ public class ScheduleGenerationService {
         return errors;
     }
 
-    private Map<String, Object> buildRequestData(List<TeachingRegistration> registrations, String semester) {
-        Map<String, Object> requestData = new HashMap<>();
-        requestData.put("teachers", buildTeachersData(registrations));
-        requestData.put("courses", buildCoursesData(registrations, semester));
-        requestData.put("classrooms", buildClassroomsData(semester));
-        return requestData;
-    }
-
-    private List<Map<String, Object>> buildTeachersData(List<TeachingRegistration> registrations) {
-        Set<String> teacherIds = registrations.stream()
-                .map(tr -> tr.getTeacher().getId())
-                .collect(Collectors.toSet());
-
-        return teacherIds.stream()
-                .map(teacherId -> buildTeacherData(teacherId, registrations))
-                .collect(Collectors.toList());
-    }
-
-    private Map<String, Object> buildTeacherData(String teacherId, List<TeachingRegistration> registrations) {
-        Teacher teacher = teacherRepository.findById(teacherId)
-                .orElseThrow(() -> new RuntimeException("Teacher not found: " + teacherId));
-
-        TeachingRegistration reg = registrations.stream()
-                .filter(r -> r.getTeacher().getId().equals(teacherId))
-                .findFirst()
-                .orElseThrow();
-
-        Map<String, Object> teacherData = new HashMap<>();
-        teacherData.put("id", teacher.getId());
-        teacherData.put("name", teacher.getName());
-        teacherData.put("max_courses", orDefault(reg.getMaxCourses(), DEFAULT_MAX_COURSES));
-        teacherData.put("course_preferences", buildCoursePreferences(reg.getId()));
-        teacherData.put("eligible_courses", buildEligibleCourses(reg.getId()));
-        teacherData.put("day_time_preferences", buildDayTimePreferences(reg.getId()));
-        return teacherData;
-    }
-
-    private Map<String, Integer> buildCoursePreferences(String registrationId) {
-        return coursePreferenceRepository.findAll().stream()
-                .filter(cp -> cp.getTeachingRegistration().getId().equals(registrationId))
-                .filter(cp -> cp.getCourse() != null)
-                .collect(Collectors.toMap(
-                        cp -> cp.getCourse().getId(),
-                        cp -> orDefault(cp.getPreferenceValue(), DEFAULT_PREFERENCE_VALUE)
-                ));
-    }
-
-    private List<String> buildEligibleCourses(String registrationId) {
-        return coursePreferenceRepository.findAll().stream()
-                .filter(cp -> cp.getTeachingRegistration().getId().equals(registrationId))
-                .filter(cp -> cp.getCourse() != null)
-                .map(cp -> cp.getCourse().getId())
-                .distinct()
-                .collect(Collectors.toList());
-    }
-
-    private Map<String, Map<String, Integer>> buildDayTimePreferences(String registrationId) {
-        Map<String, Map<String, Integer>> dayTimePreferences = new HashMap<>();
-        timePreferenceRepository.findAll().stream()
-                .filter(tp -> tp.getTeachingRegistration().getId().equals(registrationId))
-                .forEach(tp -> {
-                    String day = mapDayOfWeek(tp.getDay());
-                    String period = mapPeriod(tp.getPeriod());
-                    dayTimePreferences.computeIfAbsent(day, k -> new HashMap<>())
-                            .put(period, orDefault(tp.getPreferenceValue(), DEFAULT_PREFERENCE_VALUE));
-                });
-        return dayTimePreferences;
-    }
-
-    private List<Map<String, Object>> buildCoursesData(List<TeachingRegistration> registrations, String semester) {
-        Set<String> registrationIds = registrations.stream()
-                .map(TeachingRegistration::getId)
-                .collect(Collectors.toSet());
-
-        Set<String> courseIds = coursePreferenceRepository.findAll().stream()
-                .filter(cp -> cp.getCourse() != null)
-                .filter(cp -> registrationIds.contains(cp.getTeachingRegistration().getId()))
-                .map(cp -> cp.getCourse().getId())
-                .collect(Collectors.toSet());
-
-        return courseIds.stream()
-                .map(courseId -> buildCourseData(courseId, semester))
-                .collect(Collectors.toList());
-    }
-
-    private Map<String, Object> buildCourseData(String courseId, String semester) {
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new RuntimeException("Course not found: " + courseId));
-
-        Map<String, Object> courseData = new HashMap<>();
-        courseData.put("id", course.getId());
-        courseData.put("name", course.getName());
-        courseData.put("min_teachers", orDefault(course.getMinTeachers(), DEFAULT_MIN_TEACHERS));
-        // If max_teachers is null, use max of min_teachers and DEFAULT_MAX_TEACHERS to ensure max >= min
-        Integer maxTeachers = course.getMaxTeachers();
-        if (maxTeachers == null) {
-            Integer minTeachers = course.getMinTeachers();
-            maxTeachers = Math.max(orDefault(minTeachers, DEFAULT_MIN_TEACHERS), DEFAULT_MAX_TEACHERS);
-        }
-        courseData.put("max_teachers", maxTeachers);
-        courseData.put("sections", buildSectionsData(courseId, semester));
-        return courseData;
-    }
-
-    private List<Map<String, Object>> buildSectionsData(String courseId, String semester) {
-        // Filter sections by semester suffix to avoid mixing data from different semesters
-        // Section IDs are formatted as: {courseId}_{sectionName}_{semester}
-        return sectionRepository.findAll().stream()
-                .filter(s -> s.getCourse().getId().equals(courseId))
-                .filter(s -> s.getId().endsWith("_" + semester))  // Only sections for this semester
-                .map(s -> {
-                    Map<String, Object> sectionData = new HashMap<>();
-                    sectionData.put("id", s.getId());
-                    sectionData.put("required_periods", orDefault(s.getPeriodRequired(), DEFAULT_REQUIRED_PERIODS));
-                    sectionData.put("required_seats", orDefault(s.getRequiredSeats(), DEFAULT_REQUIRED_SEATS));
-                    return sectionData;
-                })
-                .collect(Collectors.toList());
-    }
-
-    private Map<String, Object> buildClassroomsData(String semester) {
-        List<Classroom> classrooms = classroomRepository.findBySemester(semester, Pageable.unpaged())
-                .getContent();
-
-        Map<String, Object> classroomsData = new HashMap<>();
-        classroomsData.put("days", WEEKDAYS);
-        classroomsData.put("periods", generatePeriodsArray());
-        classroomsData.put("classrooms", classrooms.stream()
-                .map(c -> {
-                    Map<String, Object> classroomData = new HashMap<>();
-                    classroomData.put("id", c.getId());
-                    classroomData.put("capacity", orDefault(c.getCapacity(), DEFAULT_CAPACITY));
-                    return classroomData;
-                })
-                .collect(Collectors.toList()));
-        return classroomsData;
-    }
-
-    private List<String> generatePeriodsArray() {
-        return periodRepository.findAllByOrderByOrderIndexAsc().stream()
-                .map(p -> String.valueOf(p.getOrderIndex()))
-                .collect(Collectors.toList());
-    }
-
-
-    private ScheduleGenerationResponseDTO parseAndSaveSchedulesWithValue(JsonNode response, String semester, String scheduleName) {
-        validateResponse(response);
-
-        JsonNode solution = response.get("solution");
-        Integer objectiveValue = null;
-        if (solution.has("objective_value") && !solution.get("objective_value").isNull()) {
-            objectiveValue = solution.get("objective_value").asInt();
-        }
-
-        JsonNode assignmentsNode = solution.get("assignments");
-
-        // Delete existing schedule with the same name
-        if (scheduleName != null && !scheduleName.isEmpty()) {
-            scheduleRepository.deleteBySemesterAndName(semester, scheduleName);
-        } else {
-            throw new IllegalArgumentException("Schedule name is required for generation. Cannot proceed to avoid accidental data loss.");
-        }
-
-        // Convert assignments to DTOs
-        List<AssignmentDTO> assignments = new ArrayList<>();
-        Set<String> teacherIds = new HashSet<>();
-        Set<String> classroomIds = new HashSet<>();
-        Set<String> courseIds = new HashSet<>();
-        Set<String> sectionIds = new HashSet<>();
-        
-        for (JsonNode assignmentNode : assignmentsNode) {
-            if (!hasRequiredFields(assignmentNode)) {
-                log.warn("Skipping assignment with missing fields: {}", assignmentNode.toString());
-                continue;
-            }
-
-            AssignmentDTO assignment = AssignmentDTO.builder()
-                    .teacherId(assignmentNode.get("teacher_id").asText())
-                    .sectionId(assignmentNode.get("section_id").asText())
-                    .classroomId(assignmentNode.get("classroom_id").asText())
-                    .day(assignmentNode.get("day").asText())
-                    .period(assignmentNode.get("period").asText())
-                    .build();
-            
-            // Extract course_id if available
-            if (assignmentNode.has("course_id")) {
-                assignment.setCourseId(assignmentNode.get("course_id").asText());
-            } else {
-                // Try to get course_id from section
-                try {
-                    Section section = sectionRepository.findById(assignment.getSectionId()).orElse(null);
-                    if (section != null && section.getCourse() != null) {
-                        assignment.setCourseId(section.getCourse().getId());
-                    }
-                } catch (Exception e) {
-                    log.warn("Could not get course_id for section {}", assignment.getSectionId());
-                }
-            }
-            
-            assignments.add(assignment);
-            teacherIds.add(assignment.getTeacherId());
-            classroomIds.add(assignment.getClassroomId());
-            if (assignment.getCourseId() != null) {
-                courseIds.add(assignment.getCourseId());
-            }
-            sectionIds.add(assignment.getSectionId());
-        }
-
-        // Build statistics
-        StatisticsDTO statistics = StatisticsDTO.builder()
-                .numAssignments(assignments.size())
-                .numClassrooms(classroomIds.size())
-                .numCourses(courseIds.size())
-                .numSections(sectionIds.size())
-                .numTeachers(teacherIds.size())
-                .build();
-
-        // Create single Schedule record with JSON
-        String scheduleId = scheduleName + "_" + semester;
-        ScheduleDTO scheduleDTO = ScheduleDTO.builder()
-                .id(scheduleId)
-                .semester(semester)
-                .name(scheduleName)
-                .assignments(assignments)
-                .statistics(statistics)
-                .objectiveValue(objectiveValue)
-                .build();
-
-        Schedule schedule = scheduleJsonMapper.toEntity(scheduleDTO);
-        schedule.setSemester(semester);
-        
-        Schedule savedSchedule = scheduleRepository.save(schedule);
-
-        ScheduleDTO savedDTO = scheduleJsonMapper.toDto(savedSchedule);
-
-        return ScheduleGenerationResponseDTO.builder()
-                .schedules(List.of(savedDTO))
-                .objectiveValue(objectiveValue)
-                .build();
-    }
-
-    private void validateResponse(JsonNode response) {
-        if (!response.has("status") || !"success".equals(response.get("status").asText())) {
-            throw new RuntimeException("Research service returned error: " + response.toString());
-        }
-
-        JsonNode solution = response.get("solution");
-        if (solution == null || !solution.has("assignments")) {
-            throw new RuntimeException("No assignments in response");
-        }
-    }
-
-    private boolean hasRequiredFields(JsonNode assignment) {
-        return assignment.has("teacher_id") && assignment.has("section_id") &&
-                assignment.has("day") && assignment.has("period") && assignment.has("classroom_id");
-    }
-
-
-    private String mapDayOfWeek(DayOfWeek day) {
-        switch (day) {
-            case MONDAY: return "Mon";
-            case TUESDAY: return "Tue";
-            case WEDNESDAY: return "Wed";
-            case THURSDAY: return "Thu";
-            case FRIDAY: return "Fri";
-            case SATURDAY: return "Sat";
-            case SUNDAY: return "Sun";
-            default: return day.toString().substring(0, 3);
-        }
-    }
-
-    private String mapPeriod(Period period) {
-        return String.valueOf(period.getOrderIndex());
-    }
-
-    private <T> T orDefault(T value, T defaultValue) {
-        return value != null ? value : defaultValue;
+    private ScheduleGenerationResponseDTO saveSchedule(SemesterSnapshot snapshot, String scheduleName, GeneratedSchedule generated) {
+        return scheduleStore.save(snapshot.getSemester(), scheduleName, generated);
     }
 }
-
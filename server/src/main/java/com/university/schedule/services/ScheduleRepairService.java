@@ -0,0 +1,172 @@
+package com.university.schedule.services;
+
+import com.university.schedule.dtos.AssignmentDTO;
+import com.university.schedule.dtos.ScheduleDTO;
+import com.university.schedule.dtos.ScheduleGenerationResponseDTO;
+import com.university.schedule.dtos.ScheduleRepairRequestDTO;
+import com.university.schedule.dtos.ScheduleRepairResultDTO;
+import com.university.schedule.entities.Schedule;
+import com.university.schedule.exceptions.NotFoundException;
+import com.university.schedule.mappers.ScheduleJsonMapper;
+import com.university.schedule.repositories.ScheduleRepository;
+import com.university.schedule.scheduling.ObjectiveBound;
+import com.university.schedule.scheduling.ObjectiveEvaluator;
+import com.university.schedule.scheduling.RoomAllocator;
+import com.university.schedule.scheduling.ScheduleRepairer;
+import com.university.schedule.scheduling.SchedulingProblem;
+import com.university.schedule.scheduling.SchedulingSolution;
+import com.university.schedule.scheduling.SolverContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Re-solves only the part of a stored schedule touched by changed teachers, classrooms or sections,
+ * keeping every other assignment in place, and saves the result under the same name. Re-rooming is
+ * the narrower case where only classrooms changed: teachers and times stay and only rooms move.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ScheduleRepairService {
+
+    private final ScheduleRepository scheduleRepository;
+    private final ScheduleJsonMapper scheduleJsonMapper;
+    private final SemesterSnapshotLoader snapshotLoader;
+    private final GeneratedScheduleStore scheduleStore;
+    private final SolverInputHasher inputHasher;
+
+    public ScheduleRepairResultDTO repair(String scheduleId, ScheduleRepairRequestDTO changes) {
+        long start = System.currentTimeMillis();
+        Schedule entity = scheduleRepository.findById(scheduleId)
+                .orElseThrow(() -> new NotFoundException("Schedule not found with id " + scheduleId));
+        ScheduleDTO stored = scheduleJsonMapper.toDto(entity);
+
+        SemesterSnapshot snapshot = snapshotLoader.load(stored.getSemester());
+        SchedulingProblem problem = SchedulingProblem.from(snapshot);
+        SchedulingSolution previous = SchedulingSolution.fromAssignments(problem, stored.getAssignments());
+
+        ScheduleRepairer.Outcome outcome = ScheduleRepairer.repair(problem, previous,
+                affectedSections(problem, stored.getAssignments(), changes), new SolverContext());
+
+        List<String> unplaced = outcome.unplaced().stream().map(problem::sectionId).toList();
+        if (!unplaced.isEmpty()) {
+            throw new IllegalArgumentException("Could not repair schedule " + scheduleId + ": " + unplaced.size()
+                    + " sections cannot be placed: " + String.join(", ", unplaced));
+        }
+
+        GeneratedSchedule repaired = GeneratedSchedule.of(outcome.solution().toAssignments(problem),
+                Math.toIntExact(outcome.solution().getObjective()));
+        repaired.setInputHash(inputHasher.dataHash(snapshot));
+        repaired.setUpperBound(ObjectiveBound.upperBound(problem));
+        ScheduleGenerationResponseDTO saved = scheduleStore.save(stored.getSemester(), stored.getName(), repaired);
+
+        long elapsed = System.currentTimeMillis() - start;
+        log.info("Repaired schedule {}: freed {}, moved {} assignments, objective {} -> {} in {} ms", scheduleId,
+                outcome.freed(), outcome.moved(), stored.getObjectiveValue(), repaired.getObjectiveValue(), elapsed);
+
+        return ScheduleRepairResultDTO.builder()
+                .schedule(saved.getSchedules().get(0))
+                .previousObjectiveValue(stored.getObjectiveValue())
+                .objectiveValue(repaired.getObjectiveValue())
+                .freedAssignments(outcome.freed())
+                .movedAssignments(outcome.moved())
+                .unplacedSections(unplaced)
+                .elapsedMs(elapsed)
+                .build();
+    }
+
+    public ScheduleRepairResultDTO reroom(String scheduleId) {
+        long start = System.currentTimeMillis();
+        Schedule entity = scheduleRepository.findById(scheduleId)
+                .orElseThrow(() -> new NotFoundException("Schedule not found with id " + scheduleId));
+        ScheduleDTO stored = scheduleJsonMapper.toDto(entity);
+
+        SemesterSnapshot snapshot = snapshotLoader.load(stored.getSemester());
+        SchedulingProblem problem = SchedulingProblem.from(snapshot);
+        SchedulingSolution timed = new SchedulingSolution(problem.numSections());
+        List<String> unresolved = new ArrayList<>();
+        int invalidRooms = 0;
+        for (AssignmentDTO assignment : stored.getAssignments() != null ? stored.getAssignments() : List.<AssignmentDTO>of()) {
+            int s = problem.sectionIndex(assignment.getSectionId());
+            int t = problem.teacherIndex(assignment.getTeacherId());
+            int d = problem.dayIndex(assignment.getDay());
+            int p = periodIndex(problem, assignment.getPeriod());
+            if (s < 0 || t < 0 || d < 0 || p < 0) {
+                unresolved.add(assignment.getSectionId());
+                continue;
+            }
+            int r = problem.roomIndex(assignment.getClassroomId());
+            if (r < 0 || problem.capacity(r) < problem.seats(s)) invalidRooms++;
+            timed.assign(s, t, d, p, r);
+        }
+        if (!unresolved.isEmpty()) {
+            throw new IllegalArgumentException("Cannot re-room schedule " + scheduleId + ": assignments of "
+                    + String.join(", ", unresolved) + " no longer match a section, teacher or period; repair it instead");
+        }
+
+        RoomAllocator.Outcome outcome = RoomAllocator.allocate(problem, timed, true);
+        List<String> unroomed = outcome.unroomed().stream().map(problem::sectionId).toList();
+        if (!unroomed.isEmpty()) {
+            throw new IllegalArgumentException("Could not re-room schedule " + scheduleId + ": " + unroomed.size()
+                    + " sections have no free classroom at their time: " + String.join(", ", unroomed));
+        }
+
+        SchedulingSolution solution = outcome.solution();
+        solution.setObjective(ObjectiveEvaluator.evaluate(problem, solution));
+        GeneratedSchedule reroomed = GeneratedSchedule.of(solution.toAssignments(problem),
+                Math.toIntExact(solution.getObjective()));
+        reroomed.setInputHash(inputHasher.dataHash(snapshot));
+        reroomed.setUpperBound(ObjectiveBound.upperBound(problem));
+        ScheduleGenerationResponseDTO saved = scheduleStore.save(stored.getSemester(), stored.getName(), reroomed);
+
+        long elapsed = System.currentTimeMillis() - start;
+        log.info("Re-roomed schedule {}: {} invalid rooms, {} assignments moved in {} ms", scheduleId,
+                invalidRooms, outcome.moved(), elapsed);
+
+        return ScheduleRepairResultDTO.builder()
+                .schedule(saved.getSchedules().get(0))
+                .previousObjectiveValue(stored.getObjectiveValue())
+                .objectiveValue(reroomed.getObjectiveValue())
+                .freedAssignments(invalidRooms)
+                .movedAssignments(outcome.moved())
+                .unplacedSections(unroomed)
+                .elapsedMs(elapsed)
+                .build();
+    }
+
+    private static int periodIndex(SchedulingProblem problem, String period) {
+        try {
+            return problem.periodIndex(Integer.parseInt(period));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private Set<Integer> affectedSections(SchedulingProblem problem, List<AssignmentDTO> assignments,
+                                          ScheduleRepairRequestDTO changes) {
+        Set<String> teacherIds = toSet(changes != null ? changes.getTeacherIds() : null);
+        Set<String> classroomIds = toSet(changes != null ? changes.getClassroomIds() : null);
+        Set<String> sectionIds = toSet(changes != null ? changes.getSectionIds() : null);
+
+        Set<Integer> affected = new HashSet<>();
+        for (AssignmentDTO assignment : assignments) {
+            if (teacherIds.contains(assignment.getTeacherId()) || classroomIds.contains(assignment.getClassroomId())
+                    || sectionIds.contains(assignment.getSectionId())) {
+                int s = problem.sectionIndex(assignment.getSectionId());
+                if (s >= 0) affected.add(s);
+            }
+        }
+        for (String sectionId : sectionIds) {
+            int s = problem.sectionIndex(sectionId);
+            if (s >= 0) affected.add(s);
+        }
+        return affected;
+    }
+
+    private static Set<String> toSet(List<String> ids) {
+        return ids != null ? new HashSet<>(ids) : Collections.emptySet();
+    }
+}
@@ -7,6 +7,8 @@ import com.university.schedule.entities.*;
 import com.university.schedule.exceptions.NotFoundException;
 import com.university.schedule.mappers.ScheduleJsonMapper;
 import com.university.schedule.repositories.*;
+import com.university.schedule.scheduling.ObjectiveBound;
+import com.university.schedule.scheduling.SchedulingProblem;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -26,6 +28,7 @@ public class ScheduleServiceImpl implements ScheduleService {
     private final PeriodRepository periodRepository;
     private final CoursePreferenceRepository coursePreferenceRepository;
     private final TimePreferenceRepository timePreferenceRepository;
+    private final SemesterSnapshotLoader snapshotLoader;
 
     @Override
     public ScheduleDTO create(ScheduleDTO dto) {
@@ -298,12 +301,22 @@ public class ScheduleServiceImpl implements ScheduleService {
         
         totalScore = coursePreferenceScore + timePreferenceScore - workloadPenalty - compactnessPenalty;
 
+        // The bound holds for one schedule; a sum over several schedules has nothing to compare against
+        Long upperBound = null;
+        Double optimalityGap = null;
+        if (schedules.size() == 1) {
+            upperBound = ObjectiveBound.upperBound(SchedulingProblem.from(snapshotLoader.load(semester)));
+            optimalityGap = ObjectiveBound.gapPercent(upperBound, Math.round(totalScore));
+        }
+
         return ScheduleEvaluationResultDTO.builder()
                 .totalScore(totalScore)
                 .workloadPenalty(workloadPenalty)
                 .compactnessPenalty(compactnessPenalty)
                 .coursePreferenceScore(coursePreferenceScore)
                 .timePreferenceScore(timePreferenceScore)
+                .upperBound(upperBound)
+                .optimalityGap(optimalityGap)
                 .build();
     }
 
@@ -8,6 +8,7 @@ import com.university.schedule.mappers.SectionMapper;
 import com.university.schedule.repositories.CourseRepository;
 import com.university.schedule.repositories.SectionRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -21,6 +22,7 @@ public class SectionServiceImpl implements SectionService {
     private final SectionRepository sectionRepository;
     private final SectionMapper sectionMapper;
     private final CourseRepository courseRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public SectionDTO create(SectionDTO dto) {
@@ -80,7 +82,9 @@ public class SectionServiceImpl implements SectionService {
                 .orElseThrow(() -> new NotFoundException("Course not found with id " + dto.getCourseId()));
         entity.setCourse(course);
 
-        return sectionMapper.toDto(sectionRepository.save(entity));
+        SectionDTO saved = sectionMapper.toDto(sectionRepository.save(entity));
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(null, "section " + id + " updated"));
+        return saved;
     }
 
     @Override
@@ -88,5 +92,6 @@ public class SectionServiceImpl implements SectionService {
         Section entity = sectionRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Section not found with id " + id));
         sectionRepository.delete(entity);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(null, "section " + id + " deleted"));
     }
 }
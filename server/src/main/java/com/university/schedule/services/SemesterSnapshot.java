@@ -0,0 +1,114 @@
+package com.university.schedule.services;
+
+import com.university.schedule.entities.*;
+import lombok.Getter;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable, semester-scoped view of everything schedule generation needs.
+ * Built once per run by {@link SemesterSnapshotLoader}; all lookups are in-memory.
+ */
+@Getter
+public final class SemesterSnapshot {
+
+    private final String semester;
+    private final List<TeachingRegistration> registrations;
+    private final List<CoursePreference> coursePreferences;
+    private final List<TimePreference> timePreferences;
+    private final List<Course> courses;
+    private final List<Section> sections;
+    private final List<Classroom> classrooms;
+    private final List<Period> periods;
+
+    private final Map<String, TeachingRegistration> registrationsByTeacher;
+    private final Map<String, List<CoursePreference>> coursePreferencesByRegistration;
+    private final Map<String, List<TimePreference>> timePreferencesByRegistration;
+    private final Map<String, List<Section>> sectionsByCourse;
+    private final Map<String, Section> sectionsById;
+    private final Map<String, Set<String>> teacherIdsByCourse;
+
+    SemesterSnapshot(String semester,
+                     List<TeachingRegistration> registrations,
+                     List<CoursePreference> coursePreferences,
+                     List<TimePreference> timePreferences,
+                     List<Section> sections,
+                     List<Classroom> classrooms,
+                     List<Period> periods) {
+        this.semester = semester;
+        this.registrations = sortedCopy(registrations, Comparator.comparing(r -> r.getTeacher().getId()));
+        this.coursePreferences = sortedCopy(coursePreferences, Comparator.comparing(CoursePreference::getId));
+        this.timePreferences = sortedCopy(timePreferences, Comparator.comparing(TimePreference::getId));
+        this.sections = sortedCopy(sections, Comparator.comparing(Section::getId));
+        this.classrooms = sortedCopy(classrooms, Comparator.comparing(Classroom::getId));
+        this.periods = sortedCopy(periods, Comparator.comparing(Period::getOrderIndex));
+
+        Map<String, TeachingRegistration> byTeacher = new LinkedHashMap<>();
+        for (TeachingRegistration registration : this.registrations) {
+            byTeacher.putIfAbsent(registration.getTeacher().getId(), registration);
+        }
+        this.registrationsByTeacher = Collections.unmodifiableMap(byTeacher);
+
+        this.coursePreferencesByRegistration = groupBy(this.coursePreferences,
+                cp -> cp.getTeachingRegistration().getId());
+        this.timePreferencesByRegistration = groupBy(this.timePreferences,
+                tp -> tp.getTeachingRegistration().getId());
+        this.sectionsByCourse = groupBy(this.sections, s -> s.getCourse().getId());
+
+        Map<String, Section> byId = new LinkedHashMap<>();
+        this.sections.forEach(s -> byId.put(s.getId(), s));
+        this.sectionsById = Collections.unmodifiableMap(byId);
+
+        Map<String, Course> distinctCourses = new TreeMap<>();
+        Map<String, Set<String>> teachersByCourse = new TreeMap<>();
+        for (CoursePreference cp : this.coursePreferences) {
+            distinctCourses.putIfAbsent(cp.getCourse().getId(), cp.getCourse());
+            teachersByCourse.computeIfAbsent(cp.getCourse().getId(), k -> new TreeSet<>())
+                    .add(cp.getTeachingRegistration().getTeacher().getId());
+        }
+        this.courses = List.copyOf(distinctCourses.values());
+        teachersByCourse.replaceAll((k, v) -> Collections.unmodifiableSet(v));
+        this.teacherIdsByCourse = Collections.unmodifiableMap(teachersByCourse);
+    }
+
+    public Set<String> getTeacherIds() {
+        return registrationsByTeacher.keySet();
+    }
+
+    public List<CoursePreference> coursePreferencesOf(String registrationId) {
+        return coursePreferencesByRegistration.getOrDefault(registrationId, List.of());
+    }
+
+    public List<TimePreference> timePreferencesOf(String registrationId) {
+        return timePreferencesByRegistration.getOrDefault(registrationId, List.of());
+    }
+
+    public List<Section> sectionsOf(String courseId) {
+        return sectionsByCourse.getOrDefault(courseId, List.of());
+    }
+
+    public Set<String> teacherIdsFor(String courseId) {
+        return teacherIdsByCourse.getOrDefault(courseId, Set.of());
+    }
+
+    public Optional<Section> findSection(String sectionId) {
+        return Optional.ofNullable(sectionsById.get(sectionId));
+    }
+
+    private static <T> List<T> sortedCopy(List<T> items, Comparator<T> order) {
+        return items.stream()
+                .sorted(order)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    private static <T> Map<String, List<T>> groupBy(List<T> items, Function<T, String> key) {
+        Map<String, List<T>> grouped = new LinkedHashMap<>();
+        for (T item : items) {
+            grouped.computeIfAbsent(key.apply(item), k -> new ArrayList<>()).add(item);
+        }
+        grouped.replaceAll((k, v) -> List.copyOf(v));
+        return Collections.unmodifiableMap(grouped);
+    }
+}
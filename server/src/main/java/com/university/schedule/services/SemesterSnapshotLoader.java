@@ -0,0 +1,63 @@
+package com.university.schedule.services;
+
+import com.university.schedule.entities.*;
+import com.university.schedule.enums.RegistrationStatus;
+import com.university.schedule.repositories.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Loads a {@link SemesterSnapshot} with a handful of semester-filtered, fetch-joined queries
+ * instead of scanning whole tables per teacher or per course.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SemesterSnapshotLoader {
+
+    private final TeachingRegistrationRepository teachingRegistrationRepository;
+    private final CoursePreferenceRepository coursePreferenceRepository;
+    private final TimePreferenceRepository timePreferenceRepository;
+    private final SectionRepository sectionRepository;
+    private final ClassroomRepository classroomRepository;
+    private final PeriodRepository periodRepository;
+
+    @Transactional(readOnly = true)
+    public SemesterSnapshot load(String semester) {
+        long start = System.currentTimeMillis();
+
+        List<TeachingRegistration> registrations = teachingRegistrationRepository
+                .findWithTeacherByStatusAndSemester(RegistrationStatus.APPROVED, semester);
+        List<CoursePreference> coursePreferences = coursePreferenceRepository
+                .findForGeneration(semester, RegistrationStatus.APPROVED);
+        List<TimePreference> timePreferences = timePreferenceRepository
+                .findForGeneration(semester, RegistrationStatus.APPROVED);
+
+        Set<String> courseIds = coursePreferences.stream()
+                .map(cp -> cp.getCourse().getId())
+                .collect(Collectors.toSet());
+
+        // Section IDs are formatted as: {courseId}_{sectionName}_{semester}
+        String sectionSuffix = "_" + semester;
+        List<Section> sections = courseIds.isEmpty() ? List.of() : sectionRepository.findByCourseIdsWithCourse(courseIds).stream()
+                .filter(s -> s.getId().endsWith(sectionSuffix))
+                .collect(Collectors.toList());
+
+        List<Classroom> classrooms = classroomRepository.findBySemester(semester, Pageable.unpaged()).getContent();
+        List<Period> periods = periodRepository.findAllByOrderByOrderIndexAsc();
+
+        SemesterSnapshot snapshot = new SemesterSnapshot(semester, registrations, coursePreferences,
+                timePreferences, sections, classrooms, periods);
+        log.debug("Loaded snapshot for semester {} in {} ms: {} registrations, {} courses, {} sections, {} classrooms",
+                semester, System.currentTimeMillis() - start, registrations.size(),
+                snapshot.getCourses().size(), sections.size(), classrooms.size());
+        return snapshot;
+    }
+}
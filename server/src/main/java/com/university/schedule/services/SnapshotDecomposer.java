@@ -0,0 +1,149 @@
+package com.university.schedule.services;
+
+import com.university.schedule.entities.*;
+
+import java.util.*;
+
+import static com.university.schedule.scheduling.SchedulingProblem.DEFAULT_CAPACITY;
+import static com.university.schedule.scheduling.SchedulingProblem.DEFAULT_REQUIRED_PERIODS;
+import static com.university.schedule.scheduling.SchedulingProblem.DEFAULT_REQUIRED_SEATS;
+
+/**
+ * Splits a semester into independent parts: connected components of the teacher–course eligibility
+ * graph. Components share only classrooms, so the rooms are partitioned between them: each
+ * component first gets the smallest room that fits its largest section, and the remaining rooms,
+ * largest first, go to the component with the highest demand per allocated room.
+ */
+final class SnapshotDecomposer {
+
+    private SnapshotDecomposer() {
+    }
+
+    static List<SemesterSnapshot> split(SemesterSnapshot snapshot) {
+        List<List<String>> courseGroups = courseComponents(snapshot);
+        if (courseGroups.size() < 2) {
+            return List.of(snapshot);
+        }
+
+        int n = courseGroups.size();
+        long[] demand = new long[n];
+        int[] maxSeats = new int[n];
+        for (int i = 0; i < n; i++) {
+            for (String courseId : courseGroups.get(i)) {
+                for (Section section : snapshot.sectionsOf(courseId)) {
+                    demand[i] += orDefault(section.getPeriodRequired(), DEFAULT_REQUIRED_PERIODS);
+                    maxSeats[i] = Math.max(maxSeats[i], orDefault(section.getRequiredSeats(), DEFAULT_REQUIRED_SEATS));
+                }
+            }
+        }
+        List<List<Classroom>> rooms = partitionRooms(snapshot.getClassrooms(), demand, maxSeats);
+
+        List<SemesterSnapshot> parts = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            parts.add(subSnapshot(snapshot, new HashSet<>(courseGroups.get(i)), rooms.get(i)));
+        }
+        return parts;
+    }
+
+    /**
+     * Course IDs grouped by connected component, largest component first.
+     */
+    private static List<List<String>> courseComponents(SemesterSnapshot snapshot) {
+        Map<String, String> parent = new HashMap<>();
+        for (Course course : snapshot.getCourses()) {
+            String courseNode = "c:" + course.getId();
+            parent.putIfAbsent(courseNode, courseNode);
+            for (String teacherId : snapshot.teacherIdsFor(course.getId())) {
+                String teacherNode = "t:" + teacherId;
+                parent.putIfAbsent(teacherNode, teacherNode);
+                union(parent, courseNode, teacherNode);
+            }
+        }
+
+        Map<String, List<String>> groups = new TreeMap<>();
+        for (Course course : snapshot.getCourses()) {
+            groups.computeIfAbsent(find(parent, "c:" + course.getId()), k -> new ArrayList<>()).add(course.getId());
+        }
+        List<List<String>> result = new ArrayList<>(groups.values());
+        result.sort(Comparator.<List<String>>comparingInt(List::size).reversed());
+        return result;
+    }
+
+    private static List<List<Classroom>> partitionRooms(List<Classroom> classrooms, long[] demand, int[] maxSeats) {
+        int n = demand.length;
+        List<List<Classroom>> rooms = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) rooms.add(new ArrayList<>());
+
+        List<Classroom> remaining = new ArrayList<>(classrooms);
+        remaining.sort(Comparator.comparingInt((Classroom c) -> orDefault(c.getCapacity(), DEFAULT_CAPACITY))
+                .thenComparing(Classroom::getId));
+
+        // Every component needs a room for its largest section; serve the most demanding first
+        Integer[] bySeats = new Integer[n];
+        for (int i = 0; i < n; i++) bySeats[i] = i;
+        Arrays.sort(bySeats, Comparator.comparingInt((Integer i) -> -maxSeats[i]).thenComparing(i -> i));
+        for (int i : bySeats) {
+            for (Iterator<Classroom> it = remaining.iterator(); it.hasNext(); ) {
+                Classroom room = it.next();
+                if (orDefault(room.getCapacity(), DEFAULT_CAPACITY) >= maxSeats[i]) {
+                    rooms.get(i).add(room);
+                    it.remove();
+                    break;
+                }
+            }
+        }
+
+        Collections.reverse(remaining);
+        for (Classroom room : remaining) {
+            int best = 0;
+            for (int i = 1; i < n; i++) {
+                // demand[i] / rooms(i) > demand[best] / rooms(best), without division
+                if (demand[i] * Math.max(1, rooms.get(best).size()) > demand[best] * Math.max(1, rooms.get(i).size())) {
+                    best = i;
+                }
+            }
+            rooms.get(best).add(room);
+        }
+        return rooms;
+    }
+
+    private static SemesterSnapshot subSnapshot(SemesterSnapshot snapshot, Set<String> courseIds, List<Classroom> rooms) {
+        Set<String> teacherIds = new HashSet<>();
+        courseIds.forEach(courseId -> teacherIds.addAll(snapshot.teacherIdsFor(courseId)));
+
+        List<TeachingRegistration> registrations = snapshot.getRegistrations().stream()
+                .filter(r -> teacherIds.contains(r.getTeacher().getId()))
+                .toList();
+        List<CoursePreference> coursePreferences = snapshot.getCoursePreferences().stream()
+                .filter(cp -> courseIds.contains(cp.getCourse().getId()))
+                .toList();
+        List<TimePreference> timePreferences = snapshot.getTimePreferences().stream()
+                .filter(tp -> teacherIds.contains(tp.getTeachingRegistration().getTeacher().getId()))
+                .toList();
+        List<Section> sections = snapshot.getSections().stream()
+                .filter(s -> courseIds.contains(s.getCourse().getId()))
+                .toList();
+        return new SemesterSnapshot(snapshot.getSemester(), registrations, coursePreferences, timePreferences,
+                sections, rooms, snapshot.getPeriods());
+    }
+
+    private static String find(Map<String, String> parent, String node) {
+        String root = node;
+        while (!root.equals(parent.get(root))) root = parent.get(root);
+        while (!node.equals(root)) {
+            String next = parent.get(node);
+            parent.put(node, root);
+            node = next;
+        }
+        return root;
+    }
+
+    private static void union(Map<String, String> parent, String a, String b) {
+        String ra = find(parent, a), rb = find(parent, b);
+        if (!ra.equals(rb)) parent.put(ra, rb);
+    }
+
+    private static <T> T orDefault(T value, T defaultValue) {
+        return value != null ? value : defaultValue;
+    }
+}
@@ -0,0 +1,69 @@
+package com.university.schedule.services;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.schedule.dtos.AssignmentDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * SHA-256 hashes of solver input. The data hash covers exactly the semester data sent to a solver,
+ * serialized in canonical order, so it changes only when the data does. The run key adds the
+ * algorithm, engine configuration and warm start on top of the data hash.
+ */
+@Component
+@RequiredArgsConstructor
+public class SolverInputHasher {
+
+    private final ObjectMapper objectMapper;
+
+    public String dataHash(SemesterSnapshot snapshot) {
+        MessageDigest digest = sha256();
+        try (JsonGenerator gen = objectMapper.getFactory()
+                .createGenerator(new DigestOutputStream(OutputStream.nullOutputStream(), digest), JsonEncoding.UTF8)) {
+            gen.writeStartObject();
+            new ResearchRequest(snapshot, null).writeData(gen);
+            gen.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    public String runKey(String dataHash, String algorithm, String engineConfiguration, List<AssignmentDTO> warmStart) {
+        MessageDigest digest = sha256();
+        update(digest, dataHash);
+        update(digest, algorithm != null ? algorithm.toLowerCase() : "");
+        update(digest, engineConfiguration != null ? engineConfiguration : "");
+        warmStart.stream()
+                .sorted(Comparator.comparing(AssignmentDTO::getSectionId, Comparator.nullsFirst(Comparator.naturalOrder())))
+                .forEach(a -> update(digest, a.getSectionId() + "|" + a.getTeacherId() + "|" + a.getClassroomId()
+                        + "|" + a.getDay() + "|" + a.getPeriod()));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.university.schedule.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * In-memory LRU cache of solver results keyed by {@link SolverInputHasher#runKey}. Bounded both by
+ * entry count and by the total number of cached assignments; the least recently used results are
+ * evicted first. Whole results are stored as deep copies, and every hit returns a fresh copy marked
+ * {@code cached} in its scores, so neither the caller nor the cache can change the other's schedule.
+ */
+@Slf4j
+@Component
+public class SolverResultCache {
+
+    public static final String CACHED_SCORE = "cached";
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long maxAssignments;
+    private final LinkedHashMap<String, GeneratedSchedule> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedAssignments;
+
+    public SolverResultCache(@Value("${scheduling.cache.enabled:true}") boolean enabled,
+                             @Value("${scheduling.cache.max-entries:32}") int maxEntries,
+                             @Value("${scheduling.cache.max-assignments:200000}") long maxAssignments) {
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.maxAssignments = maxAssignments;
+    }
+
+    public synchronized Optional<GeneratedSchedule> get(String key) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        GeneratedSchedule cached = entries.get(key);
+        if (cached == null) {
+            return Optional.empty();
+        }
+        GeneratedSchedule hit = cached.copy();
+        hit.getScores().put(CACHED_SCORE, true);
+        return Optional.of(hit);
+    }
+
+    public synchronized void put(String key, GeneratedSchedule result) {
+        int size = result.getAssignments().size();
+        if (!enabled || size > maxAssignments) {
+            return;
+        }
+        GeneratedSchedule previous = entries.put(key, result.copy());
+        if (previous != null) {
+            cachedAssignments -= previous.getAssignments().size();
+        }
+        cachedAssignments += size;
+
+        Iterator<Map.Entry<String, GeneratedSchedule>> eldest = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || cachedAssignments > maxAssignments) && eldest.hasNext()) {
+            cachedAssignments -= eldest.next().getValue().getAssignments().size();
+            eldest.remove();
+        }
+        log.debug("Cached solver result {} ({} entries, {} assignments)", key, entries.size(), cachedAssignments);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        cachedAssignments = 0;
+    }
+}
@@ -0,0 +1,6 @@
+------------------------------------------------------------
+-- Migration: Add input_hash column to schedules table
+-- SHA-256 of the solver input a schedule was generated from
+------------------------------------------------------------
+
+ALTER TABLE schedules ADD COLUMN IF NOT EXISTS input_hash VARCHAR(64);
@@ -0,0 +1,41 @@
+package com.university.schedule.scheduling;
+
+import com.university.schedule.services.TestSemesters;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnnealingSchedulingEngineTest {
+
+    private final AnnealingSchedulingEngine anneal = new AnnealingSchedulingEngine();
+
+    @Test
+    void neverReturnsAScheduleWorseThanItsWarmStart() {
+        ReflectionTestUtils.setField(anneal, "iterations", 200_000L);
+        for (long seed = 2; seed <= 4; seed++) {
+            SchedulingProblem problem = TestSemesters.random(seed, 8, 6, 3, 4, 4).problem();
+            SchedulingSolution start = new HeuristicSchedulingEngine().solve(problem, new SolverContext(seed));
+            SolverContext context = new SolverContext(seed);
+            context.setWarmStart(start);
+
+            SchedulingSolution polished = anneal.solve(problem, context);
+
+            ScheduleAssertions.assertFeasible(problem, polished);
+            assertThat(polished.getObjective()).as("seed %d", seed)
+                    .isEqualTo(ObjectiveEvaluator.evaluate(problem, polished))
+                    .isGreaterThanOrEqualTo(start.getObjective());
+        }
+    }
+
+    @Test
+    void stopsAtTheDeadlineWithTheStartingSchedule() {
+        SchedulingProblem problem = TestSemesters.random(5, 8, 6, 3, 4, 4).problem();
+        SolverContext context = new SolverContext().child(5, System.nanoTime());
+
+        SchedulingSolution solution = anneal.solve(problem, context);
+
+        ScheduleAssertions.assertFeasible(problem, solution);
+        assertThat(context.getIncumbentObjective()).isEqualTo(solution.getObjective());
+    }
+}
@@ -0,0 +1,40 @@
+package com.university.schedule.scheduling;
+
+import com.university.schedule.services.TestSemesters;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DsaturSchedulingEngineTest {
+
+    @Test
+    void kempeChainsNeverLowerTheObjective() {
+        DsaturSchedulingEngine withoutKempe = new DsaturSchedulingEngine();
+        ReflectionTestUtils.setField(withoutKempe, "kempePasses", 0);
+        for (long seed = 1; seed <= 5; seed++) {
+            SchedulingProblem problem = TestSemesters.random(seed, 12, 10, 4, 6, 5).problem();
+
+            SchedulingSolution coloured = withoutKempe.solve(problem, new SolverContext(seed));
+            SchedulingSolution improved = new DsaturSchedulingEngine().solve(problem, new SolverContext(seed));
+
+            ScheduleAssertions.assertFeasible(problem, improved);
+            // Swaps only move times, keeping teachers, so every kept swap raises the objective
+            assertThat(improved.getObjective()).as("seed %d", seed).isGreaterThanOrEqualTo(coloured.getObjective());
+        }
+    }
+
+    @Test
+    void coloursConflictingSectionsApart() {
+        // One teacher, one room and exactly as many periods in the week as sections
+        TestSemesters semester = TestSemesters.withPeriods(2)
+                .teacher("T1", 1)
+                .course("C1", 1, 1)
+                .room("R1", 40)
+                .prefers("T1", "C1", 1);
+        for (int k = 0; k < 10; k++) semester.section("S" + k, "C1", 1, 30);
+        SchedulingProblem problem = semester.problem();
+
+        ScheduleAssertions.assertFeasible(problem, new DsaturSchedulingEngine().solve(problem, new SolverContext()));
+    }
+}
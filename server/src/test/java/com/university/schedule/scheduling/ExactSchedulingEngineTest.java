@@ -0,0 +1,152 @@
+package com.university.schedule.scheduling;
+
+import com.university.schedule.services.TestSemesters;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.DayOfWeek;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Timeout(120)
+class ExactSchedulingEngineTest {
+
+    private static final long[] SEEDS = {2, 3, 4, 5};
+
+    @Test
+    void optimumBeatsEveryOtherEngineAndStaysWithinTheBound() {
+        AnnealingSchedulingEngine anneal = new AnnealingSchedulingEngine();
+        ReflectionTestUtils.setField(anneal, "iterations", 200_000L);
+        List<SchedulingEngine> others = List.of(new HeuristicSchedulingEngine(), anneal, new LnsSchedulingEngine(),
+                new TwoPhaseSchedulingEngine(), new DsaturSchedulingEngine(), new GeneticSchedulingEngine());
+
+        for (long seed : SEEDS) {
+            SchedulingProblem problem = semester(seed);
+            SchedulingSolution optimum = new ExactSchedulingEngine().solve(problem, new SolverContext(seed));
+
+            assertThat(optimum.isOptimal()).as("seed %d proven optimal", seed).isTrue();
+            ScheduleAssertions.assertFeasible(problem, optimum);
+            assertThat(optimum.getObjective()).isLessThanOrEqualTo(ObjectiveBound.upperBound(problem));
+            for (SchedulingEngine engine : others) {
+                SchedulingSolution solution = engine.solve(problem, new SolverContext(seed));
+                if (!solution.isComplete()) continue;
+                assertThat(solution.getObjective()).as("%s on seed %d", engine.getName(), seed)
+                        .isLessThanOrEqualTo(optimum.getObjective());
+            }
+        }
+    }
+
+    @Test
+    void matchesBruteForceOnATinySemester() {
+        SchedulingProblem problem = TestSemesters.withPeriods(1)
+                .teacher("T1", 1)
+                .teacher("T2", 1)
+                .course("C1", 2, 2)
+                .section("S1", "C1", 1, 30)
+                .section("S2", "C1", 1, 20)
+                .section("S3", "C1", 1, 20)
+                .room("R1", 40)
+                .room("R2", 25)
+                .prefers("T1", "C1", 3)
+                .prefers("T2", "C1", 1)
+                .prefersTime("T1", DayOfWeek.MONDAY, 0, 4)
+                .prefersTime("T1", DayOfWeek.WEDNESDAY, 0, -2)
+                .prefersTime("T2", DayOfWeek.MONDAY, 0, 5)
+                .prefersTime("T2", DayOfWeek.FRIDAY, 0, 2)
+                .problem();
+
+        SchedulingSolution optimum = new ExactSchedulingEngine().solve(problem, new SolverContext());
+
+        assertThat(optimum.isOptimal()).isTrue();
+        ScheduleAssertions.assertFeasible(problem, optimum);
+        assertThat(optimum.getObjective()).isEqualTo(bruteForce(problem, new SchedulingSolution(problem.numSections()), 0));
+    }
+
+    @Test
+    void nogoodCacheDoesNotChangeTheOptimum() {
+        for (long seed : SEEDS) {
+            SchedulingProblem problem = semester(seed);
+            ExactSchedulingEngine withoutCache = new ExactSchedulingEngine();
+            ReflectionTestUtils.setField(withoutCache, "nogoodCacheSize", 0);
+
+            assertThat(new ExactSchedulingEngine().solve(problem, new SolverContext(seed)).getObjective())
+                    .as("seed %d", seed)
+                    .isEqualTo(withoutCache.solve(problem, new SolverContext(seed)).getObjective());
+        }
+    }
+
+    @Test
+    void timeLimitReturnsTheIncumbentUnproven() {
+        SchedulingProblem problem = TestSemesters.random(2, 8, 6, 3, 4, 4).problem();
+        ExactSchedulingEngine engine = new ExactSchedulingEngine();
+        ReflectionTestUtils.setField(engine, "timeLimitMs", 1L);
+
+        SchedulingSolution solution = engine.solve(problem, new SolverContext());
+
+        assertThat(solution.isOptimal()).isFalse();
+        ScheduleAssertions.assertFeasible(problem, solution);
+    }
+
+    @Test
+    void symmetryCutsKeepTheOptimumOfInterchangeableSections() {
+        // Three identical sections and two identical teachers; only the placement order differs
+        TestSemesters semester = TestSemesters.withPeriods(1)
+                .teacher("T1", 1)
+                .teacher("T2", 1)
+                .course("C1", 2, 2)
+                .section("S1", "C1", 1, 30)
+                .section("S2", "C1", 1, 30)
+                .section("S3", "C1", 1, 30)
+                .room("R1", 40)
+                .prefers("T1", "C1", 2)
+                .prefers("T2", "C1", 2);
+        for (String teacher : List.of("T1", "T2")) {
+            semester.prefersTime(teacher, DayOfWeek.MONDAY, 0, 3).prefersTime(teacher, DayOfWeek.TUESDAY, 0, 3);
+        }
+        SchedulingProblem problem = semester.problem();
+        assertThat(problem.symmetry().interchangeableSections()).isEqualTo(3);
+        assertThat(problem.symmetry().interchangeableTeachers()).isEqualTo(2);
+
+        SchedulingSolution optimum = new ExactSchedulingEngine().solve(problem, new SolverContext());
+
+        // Course 2 x 3; the one room holds a section on Monday and one on Tuesday, worth 3 each; both
+        // teachers are needed, and the 2 + 1 split of the load costs a range of 1
+        assertThat(optimum.isOptimal()).isTrue();
+        ScheduleAssertions.assertFeasible(problem, optimum);
+        assertThat(optimum.getObjective()).isEqualTo(6 + 6 - ObjectiveEvaluator.W_WORKLOAD_BALANCE);
+    }
+
+    private static SchedulingProblem semester(long seed) {
+        return TestSemesters.random(seed, 3, 3, 2, 2, 3).problem();
+    }
+
+    /**
+     * Best objective over every placement of the sections from {@code s} on that meets the hard constraints.
+     */
+    private static long bruteForce(SchedulingProblem problem, SchedulingSolution partial, int s) {
+        if (s == problem.numSections()) {
+            partial.setObjective(ObjectiveEvaluator.evaluate(problem, partial));
+            try {
+                ScheduleAssertions.assertFeasible(problem, partial);
+                return partial.getObjective();
+            } catch (AssertionError infeasible) {
+                return Long.MIN_VALUE;
+            }
+        }
+        long best = Long.MIN_VALUE;
+        for (int t = 0; t < problem.numTeachers(); t++) {
+            for (int d = 0; d < problem.numDays(); d++) {
+                for (int p = 0; p < problem.numPeriods(); p++) {
+                    for (int r = 0; r < problem.numRooms(); r++) {
+                        partial.assign(s, t, d, p, r);
+                        best = Math.max(best, bruteForce(problem, partial, s + 1));
+                        partial.unassign(s);
+                    }
+                }
+            }
+        }
+        return best;
+    }
+}
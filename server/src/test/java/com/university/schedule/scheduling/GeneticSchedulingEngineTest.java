@@ -0,0 +1,49 @@
+package com.university.schedule.scheduling;
+
+import com.university.schedule.services.TestSemesters;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeneticSchedulingEngineTest {
+
+    private static final ObjectiveWeights COMPACT = new ObjectiveWeights(1, 1, 5, 30);
+
+    @Test
+    void optimizesTheContextWeights() {
+        SchedulingProblem problem = TestSemesters.random(5, 8, 6, 3, 4, 4).problem();
+        SolverContext context = new SolverContext(5);
+        context.setObjectiveWeights(COMPACT);
+
+        SchedulingSolution solution = engine().solve(problem, context);
+
+        ScheduleAssertions.assertValid(problem, solution);
+        assertThat(solution.isComplete()).isTrue();
+        assertThat(solution.getObjective()).isEqualTo(ObjectiveEvaluator.evaluate(problem, solution, COMPACT));
+    }
+
+    @Test
+    void finalPolishNeverLowersTheWeightedObjective() {
+        for (long seed = 1; seed <= 5; seed++) {
+            SchedulingProblem problem = TestSemesters.random(seed, 8, 6, 3, 4, 4).problem();
+            SolverContext context = new SolverContext(seed);
+            context.setObjectiveWeights(COMPACT);
+            ScheduleState state = GreedyConstruction.initialState(problem, context);
+            GreedyConstruction.complete(state, context);
+            long before = ObjectiveEvaluator.evaluate(problem, state.solution(), COMPACT);
+
+            GreedyConstruction.improve(state, context);
+
+            assertThat(ObjectiveEvaluator.evaluate(problem, state.solution(), COMPACT)).as("seed %d", seed)
+                    .isGreaterThanOrEqualTo(before);
+        }
+    }
+
+    private static GeneticSchedulingEngine engine() {
+        GeneticSchedulingEngine engine = new GeneticSchedulingEngine();
+        ReflectionTestUtils.setField(engine, "islands", 2);
+        ReflectionTestUtils.setField(engine, "generations", 30);
+        return engine;
+    }
+}
@@ -0,0 +1,40 @@
+package com.university.schedule.scheduling;
+
+import com.university.schedule.services.TestSemesters;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LnsSchedulingEngineTest {
+
+    @Test
+    void improvesOnTheGreedySchedule() {
+        for (long seed = 2; seed <= 4; seed++) {
+            SchedulingProblem problem = TestSemesters.random(seed, 8, 6, 3, 4, 4).problem();
+            SchedulingSolution greedy = new HeuristicSchedulingEngine().solve(problem, new SolverContext(seed));
+
+            SchedulingSolution solution = lns(2).solve(problem, new SolverContext(seed));
+
+            ScheduleAssertions.assertFeasible(problem, solution);
+            assertThat(solution.getObjective()).as("seed %d", seed)
+                    .isEqualTo(ObjectiveEvaluator.evaluate(problem, solution))
+                    .isGreaterThanOrEqualTo(greedy.getObjective());
+        }
+    }
+
+    @Test
+    void parallelNeighbourhoodsAreMergedInAFixedOrder() {
+        SchedulingProblem problem = TestSemesters.random(9, 10, 8, 3, 4, 4).problem();
+
+        ScheduleAssertions.assertSameSchedule(lns(4).solve(problem, new SolverContext(9)),
+                lns(4).solve(problem, new SolverContext(9)));
+    }
+
+    private static LnsSchedulingEngine lns(int parallelism) {
+        LnsSchedulingEngine lns = new LnsSchedulingEngine();
+        ReflectionTestUtils.setField(lns, "rounds", 100);
+        ReflectionTestUtils.setField(lns, "parallelism", parallelism);
+        return lns;
+    }
+}
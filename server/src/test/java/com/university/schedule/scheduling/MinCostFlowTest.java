@@ -0,0 +1,71 @@
+package com.university.schedule.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MinCostFlowTest {
+
+    @Test
+    void stopsOnceTheCheapestPathNoLongerPays() {
+        MinCostFlow flow = new MinCostFlow(3);
+        flow.addEdge(0, 1, 3, 0);
+        int cheap = flow.addEdge(1, 2, 1, -2);
+        int costly = flow.addEdge(1, 2, 5, 1);
+
+        assertThat(flow.solve(0, 2)).containsExactly(1, -2);
+        assertThat(flow.flow(cheap)).isEqualTo(1);
+        assertThat(flow.flow(costly)).isZero();
+    }
+
+    @Test
+    void pushesEveryTiedPathOfOneRound() {
+        // Complete bipartite graph with equal costs: all four units share one shortest-path distance
+        int n = 4;
+        MinCostFlow flow = new MinCostFlow(2 * n + 2);
+        int source = 2 * n, sink = source + 1;
+        for (int i = 0; i < n; i++) {
+            flow.addEdge(source, i, 1, 0);
+            flow.addEdge(n + i, sink, 1, 0);
+            for (int j = 0; j < n; j++) flow.addEdge(i, n + j, 1, -1);
+        }
+
+        assertThat(flow.solve(source, sink)).containsExactly(n, -n);
+    }
+
+    @Test
+    void matchesBruteForceAssignment() {
+        Random random = new Random(3);
+        int n = 5;
+        for (int round = 0; round < 20; round++) {
+            long[][] cost = new long[n][n];
+            for (long[] row : cost) {
+                // A large negative offset makes every perfect matching cheaper than any partial one
+                for (int j = 0; j < n; j++) row[j] = random.nextInt(41) - 20 - 1000;
+            }
+            MinCostFlow flow = new MinCostFlow(2 * n + 2);
+            int source = 2 * n, sink = source + 1;
+            for (int i = 0; i < n; i++) {
+                flow.addEdge(source, i, 1, 0);
+                flow.addEdge(n + i, sink, 1, 0);
+                for (int j = 0; j < n; j++) flow.addEdge(i, n + j, 1, cost[i][j]);
+            }
+
+            assertThat(flow.solve(source, sink)).containsExactly(n, cheapestPermutation(cost, 0, new boolean[n]));
+        }
+    }
+
+    private static long cheapestPermutation(long[][] cost, int row, boolean[] used) {
+        if (row == cost.length) return 0;
+        long best = Long.MAX_VALUE;
+        for (int j = 0; j < cost.length; j++) {
+            if (used[j]) continue;
+            used[j] = true;
+            best = Math.min(best, cost[row][j] + cheapestPermutation(cost, row + 1, used));
+            used[j] = false;
+        }
+        return best;
+    }
+}
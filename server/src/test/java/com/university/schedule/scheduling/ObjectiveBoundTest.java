@@ -0,0 +1,79 @@
+package com.university.schedule.scheduling;
+
+import com.university.schedule.services.TestSemesters;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.DayOfWeek;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ObjectiveBoundTest {
+
+    @Test
+    void isTightWhenEverySectionGetsItsFavouriteSlot() {
+        SchedulingProblem problem = TestSemesters.withPeriods(2)
+                .teacher("T1", 1)
+                .course("C1", 1, 1)
+                .section("S1", "C1", 1, 30)
+                .section("S2", "C1", 1, 30)
+                .room("R1", 40)
+                .prefers("T1", "C1", 3)
+                .prefersTime("T1", DayOfWeek.MONDAY, 0, 5)
+                .prefersTime("T1", DayOfWeek.MONDAY, 1, 4)
+                .problem();
+
+        // Both sections back to back on Monday: course 3 + 3, time 5 + 4, no gap
+        assertThat(ObjectiveBound.upperBound(problem)).isEqualTo(15);
+        assertThat(new ExactSchedulingEngine().solve(problem, new SolverContext()).getObjective()).isEqualTo(15);
+    }
+
+    @Test
+    void chargesTheWorkloadRangeOfSoleTeachers() {
+        SchedulingProblem problem = TestSemesters.withPeriods(4)
+                .teacher("T1", 1)
+                .teacher("T2", 1)
+                .course("C1", 1, 1)
+                .course("C2", 1, 1)
+                .section("C1_S1", "C1", 1, 30)
+                .section("C1_S2", "C1", 1, 30)
+                .section("C1_S3", "C1", 1, 30)
+                .section("C2_S1", "C2", 1, 30)
+                .room("R1", 40)
+                .prefers("T1", "C1", 0)
+                .prefers("T2", "C2", 0)
+                .problem();
+
+        // T1 must teach 3 periods and T2 only 1, so the range is at least 2
+        long bound = ObjectiveBound.upperBound(problem);
+        assertThat(bound).isEqualTo(-2 * ObjectiveEvaluator.W_WORKLOAD_BALANCE);
+        assertThat(new ExactSchedulingEngine().solve(problem, new SolverContext()).getObjective()).isEqualTo(bound);
+    }
+
+    @Test
+    void boundsEveryEngineOnLargerSemesters() {
+        LnsSchedulingEngine lns = new LnsSchedulingEngine();
+        ReflectionTestUtils.setField(lns, "rounds", 50);
+        List<SchedulingEngine> engines = List.of(new HeuristicSchedulingEngine(), lns, new TwoPhaseSchedulingEngine(),
+                new DsaturSchedulingEngine());
+        for (long seed = 1; seed <= 3; seed++) {
+            SchedulingProblem problem = TestSemesters.random(seed, 12, 10, 4, 6, 5).problem();
+            long bound = ObjectiveBound.upperBound(problem);
+            for (SchedulingEngine engine : engines) {
+                assertThat(engine.solve(problem, new SolverContext(seed)).getObjective())
+                        .as("%s on seed %d", engine.getName(), seed)
+                        .isLessThanOrEqualTo(bound);
+            }
+        }
+    }
+
+    @Test
+    void gapIsRelativeToTheBound() {
+        assertThat(ObjectiveBound.gapPercent(200, 150)).isEqualTo(25.0);
+        assertThat(ObjectiveBound.gapPercent(-200, -250)).isEqualTo(25.0);
+        assertThat(ObjectiveBound.gapPercent(3, 2)).isEqualTo(33.33);
+        assertThat(ObjectiveBound.gapPercent(100, 120)).isZero();
+        assertThat(ObjectiveBound.gapPercent(0, -5)).isEqualTo(500.0);
+    }
+}
@@ -0,0 +1,58 @@
+package com.university.schedule.scheduling;
+
+import com.university.schedule.services.TestSemesters;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ObjectiveEvaluatorTest {
+
+    private static final int MONDAY = 0, TUESDAY = 1;
+
+    @Test
+    void gapsCountBusyPeriodsFollowedByAFreeOneBeforeTheLast() {
+        assertThat(ObjectiveEvaluator.gaps(0b0000, 4)).isZero();
+        assertThat(ObjectiveEvaluator.gaps(0b0011, 4)).isEqualTo(1);
+        assertThat(ObjectiveEvaluator.gaps(0b0101, 4)).isEqualTo(2);
+        assertThat(ObjectiveEvaluator.gaps(0b1000, 4)).isZero();
+        assertThat(ObjectiveEvaluator.gaps(0b1111, 4)).isZero();
+    }
+
+    @Test
+    void workloadRangeIgnoresIdleTeachers() {
+        assertThat(ObjectiveEvaluator.workloadRange(new int[]{3, 0, 1})).isEqualTo(2);
+        assertThat(ObjectiveEvaluator.workloadRange(new int[]{3, 0, 0})).isZero();
+    }
+
+    @Test
+    void weighsEveryComponent() {
+        SchedulingProblem problem = TestSemesters.withPeriods(3)
+                .teacher("T1", 1)
+                .teacher("T2", 1)
+                .course("C1", 1, 2)
+                .course("C2", 1, 1)
+                .section("C1_S1", "C1", 1, 30)
+                .section("C1_S2", "C1", 1, 30)
+                .section("C2_S1", "C2", 2, 30)
+                .room("R1", 40)
+                .prefers("T1", "C1", 4)
+                .prefers("T2", "C2", 2)
+                .prefersTime("T1", DayOfWeek.MONDAY, 0, 3)
+                .prefersTime("T1", DayOfWeek.MONDAY, 2, -1)
+                .prefersTime("T2", DayOfWeek.TUESDAY, 1, 5)
+                .problem();
+        SchedulingSolution solution = new SchedulingSolution(problem.numSections());
+        int t1 = problem.teacherIndex("T1"), t2 = problem.teacherIndex("T2"), r = problem.roomIndex("R1");
+        solution.assign(problem.sectionIndex("C1_S1"), t1, MONDAY, 0, r);
+        solution.assign(problem.sectionIndex("C1_S2"), t1, MONDAY, 2, r);
+        solution.assign(problem.sectionIndex("C2_S1"), t2, TUESDAY, 0, r);
+
+        ObjectiveBreakdown breakdown = ObjectiveEvaluator.breakdown(problem, solution);
+
+        // Both teachers teach two periods; T1 is free after period 0 and T2 after period 1
+        assertThat(breakdown).isEqualTo(new ObjectiveBreakdown(4 + 4 + 2, 3 - 1 + 5, 0, 2 * 3));
+        assertThat(ObjectiveEvaluator.evaluate(problem, solution)).isEqualTo(10 + 7 - 6);
+    }
+}
@@ -0,0 +1,63 @@
+package com.university.schedule.scheduling;
+
+import com.university.schedule.services.TestSemesters;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@Timeout(120)
+class PortfolioSchedulingEngineTest {
+
+    private final SchedulingProblem problem = TestSemesters.random(3, 3, 3, 2, 2, 3).problem();
+
+    @Test
+    void stopsWithTheProvenOptimum() {
+        PortfolioSchedulingEngine portfolio = portfolio(HeuristicSchedulingEngine.NAME, ExactSchedulingEngine.NAME);
+
+        SchedulingSolution solution = portfolio.solve(problem, new SolverContext(3));
+
+        assertThat(portfolio.provesOptimality()).isTrue();
+        assertThat(solution.isOptimal()).isTrue();
+        ScheduleAssertions.assertFeasible(problem, solution);
+        assertThat(solution.getObjective())
+                .isEqualTo(new ExactSchedulingEngine().solve(problem, new SolverContext(3)).getObjective());
+    }
+
+    @Test
+    void heuristicMembersNeverClaimOptimality() {
+        PortfolioSchedulingEngine portfolio = portfolio(HeuristicSchedulingEngine.NAME);
+
+        SchedulingSolution solution = portfolio.solve(problem, new SolverContext(3));
+
+        assertThat(portfolio.provesOptimality()).isFalse();
+        assertThat(solution.isOptimal()).isFalse();
+        ScheduleAssertions.assertFeasible(problem, solution);
+    }
+
+    @Test
+    void rejectsUnknownMembers() {
+        assertThatThrownBy(() -> portfolio("heuristic", "simplex").solve(problem, new SolverContext()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("simplex");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static PortfolioSchedulingEngine portfolio(String... members) {
+        ObjectProvider<SchedulingEngine> engines = mock(ObjectProvider.class);
+        when(engines.orderedStream()).thenAnswer(invocation ->
+                Stream.of(new HeuristicSchedulingEngine(), new ExactSchedulingEngine()));
+        PortfolioSchedulingEngine portfolio = new PortfolioSchedulingEngine(engines);
+        ReflectionTestUtils.setField(portfolio, "memberNames", List.of(members));
+        ReflectionTestUtils.setField(portfolio, "timeBudgetMs", 30_000L);
+        return portfolio;
+    }
+}
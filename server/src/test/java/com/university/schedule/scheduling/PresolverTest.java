@@ -0,0 +1,123 @@
+package com.university.schedule.scheduling;
+
+import com.university.schedule.services.TestSemesters;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.DayOfWeek;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PresolverTest {
+
+    private static final int MONDAY = 0;
+
+    @Test
+    void bansPeriodsAtOrBelowTheCutoff() {
+        SchedulingProblem problem = TestSemesters.withPeriods(3)
+                .teacher("T1", 1)
+                .course("C1", 1, 1)
+                .section("S1", "C1", 1, 30)
+                .room("R1", 40)
+                .prefers("T1", "C1", 1)
+                .prefersTime("T1", DayOfWeek.MONDAY, 0, -10)
+                .prefersTime("T1", DayOfWeek.MONDAY, 1, -9)
+                .problem();
+
+        Presolver.Result result = new Presolver().presolve(problem);
+
+        assertThat(result.problem().bannedPeriods(0, MONDAY)).isEqualTo(0b001L);
+        assertThat(result.problem().isAllowedStart(0, 0, MONDAY, 0)).isFalse();
+        assertThat(result.problem().isAllowedStart(0, 0, MONDAY, 1)).isTrue();
+        assertThat(result.report().getBannedSlots()).isEqualTo(1);
+    }
+
+    @Test
+    void keepsEveryPeriodOfATeacherWhoWouldHaveNoStartLeft() {
+        TestSemesters semester = TestSemesters.withPeriods(1)
+                .teacher("T1", 1)
+                .course("C1", 1, 1)
+                .section("S1", "C1", 1, 30)
+                .room("R1", 40)
+                .prefers("T1", "C1", 1);
+        for (DayOfWeek day : DayOfWeek.values()) semester.prefersTime("T1", day, 0, -20);
+
+        Presolver.Result result = new Presolver().presolve(semester.problem());
+
+        assertThat(result.report().getBannedSlots()).isZero();
+        assertThat(result.problem().isAllowedStart(0, 0, MONDAY, 0)).isTrue();
+    }
+
+    @Test
+    void keepsEveryPeriodOfATeacherWhoseLoadWouldNotFitTheRest() {
+        // Four one-period sections and five slots: banning Tuesday to Friday would leave room for one
+        TestSemesters semester = TestSemesters.withPeriods(1)
+                .teacher("T1", 1)
+                .course("C1", 1, 1)
+                .room("R1", 40)
+                .prefers("T1", "C1", 1);
+        for (int i = 1; i <= 4; i++) semester.section("S" + i, "C1", 1, 30);
+        for (DayOfWeek day : new DayOfWeek[]{DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY, DayOfWeek.FRIDAY}) {
+            semester.prefersTime("T1", day, 0, -10);
+        }
+        SchedulingProblem problem = semester.problem();
+
+        Presolver.Result result = new Presolver().presolve(problem);
+
+        assertThat(result.bansPeriods()).isFalse();
+        SchedulingSolution solution = new HeuristicSchedulingEngine().solve(result.problem(), new SolverContext());
+        assertThat(solution.countAssigned()).isEqualTo(4);
+    }
+
+    @Test
+    void bansPeriodsTheLoadDoesNotNeed() {
+        TestSemesters semester = TestSemesters.withPeriods(1)
+                .teacher("T1", 1)
+                .course("C1", 1, 1)
+                .section("S1", "C1", 1, 30)
+                .section("S2", "C1", 1, 30)
+                .room("R1", 40)
+                .prefers("T1", "C1", 1)
+                .prefersTime("T1", DayOfWeek.THURSDAY, 0, -10)
+                .prefersTime("T1", DayOfWeek.FRIDAY, 0, -10);
+
+        assertThat(new Presolver().presolve(semester.problem()).report().getBannedSlots()).isEqualTo(2);
+        assertThat(new Presolver().presolve(semester.problem(), false).bansPeriods()).isFalse();
+    }
+
+    @Test
+    void dropsATeacherNeededByAsManyCoursesAsTheirMaxCourses() {
+        // C1 can only be taught by T1, whose single course slot it therefore takes; T2 covers C2
+        SchedulingProblem problem = TestSemesters.withPeriods(2)
+                .teacher("T1", 1)
+                .teacher("T2", 1)
+                .course("C1", 1, 1)
+                .course("C2", 1, 1)
+                .section("C1_S1", "C1", 1, 30)
+                .section("C2_S1", "C2", 1, 30)
+                .room("R1", 40)
+                .prefers("T1", "C1", 1)
+                .prefers("T1", "C2", 4)
+                .prefers("T2", "C2", 1)
+                .problem();
+        int t1 = problem.teacherIndex("T1"), c2 = problem.courseIndex("C2");
+
+        Presolver.Result result = new Presolver().presolve(problem);
+
+        assertThat(problem.isEligible(t1, c2)).isTrue();
+        assertThat(result.problem().isEligible(t1, c2)).isFalse();
+        assertThat(result.report().getRemovedTeacherCourses()).isEqualTo(1);
+    }
+
+    @Test
+    void returnsTheProblemUnchangedWhenDisabled() {
+        SchedulingProblem problem = TestSemesters.random(1, 4, 3, 2, 2, 3).problem();
+        Presolver presolver = new Presolver();
+        ReflectionTestUtils.setField(presolver, "enabled", false);
+
+        Presolver.Result result = presolver.presolve(problem);
+
+        assertThat(result.problem()).isSameAs(problem);
+        assertThat(result.report()).isNull();
+    }
+}
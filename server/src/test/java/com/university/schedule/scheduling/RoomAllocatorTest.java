@@ -0,0 +1,108 @@
+package com.university.schedule.scheduling;
+
+import com.university.schedule.services.TestSemesters;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoomAllocatorTest {
+
+    private static final int MONDAY = 0;
+
+    @Test
+    void packsLargestSectionsFirst() {
+        SchedulingProblem problem = semester(30);
+        SchedulingSolution solution = new SchedulingSolution(problem.numSections());
+        solution.assign(small(problem), teacher(problem, "T1"), MONDAY, 0, SchedulingSolution.UNASSIGNED);
+        solution.assign(big(problem), teacher(problem, "T2"), MONDAY, 0, SchedulingSolution.UNASSIGNED);
+
+        RoomAllocator.Outcome outcome = RoomAllocator.allocate(problem, solution, false);
+
+        assertThat(outcome.unroomed()).isEmpty();
+        assertThat(outcome.solution().room(small(problem))).isEqualTo(problem.roomIndex("R_SMALL"));
+        assertThat(outcome.solution().room(big(problem))).isEqualTo(problem.roomIndex("R_LARGE"));
+        ScheduleAssertions.assertValid(problem, outcome.solution());
+    }
+
+    @Test
+    void keepsRoomsThatStillFit() {
+        SchedulingProblem problem = semester(30);
+        SchedulingSolution solution = new SchedulingSolution(problem.numSections());
+        solution.assign(small(problem), teacher(problem, "T1"), MONDAY, 0, problem.roomIndex("R_SMALL"));
+        solution.assign(big(problem), teacher(problem, "T2"), MONDAY, 0, problem.roomIndex("R_LARGE"));
+
+        RoomAllocator.Outcome outcome = RoomAllocator.allocate(problem, solution, true);
+
+        assertThat(outcome.moved()).isZero();
+        assertThat(outcome.unroomed()).isEmpty();
+    }
+
+    @Test
+    void givesUpAKeptRoomWhenItLeavesASectionWithoutOne() {
+        SchedulingProblem problem = semester(30);
+        SchedulingSolution solution = new SchedulingSolution(problem.numSections());
+        solution.assign(small(problem), teacher(problem, "T1"), MONDAY, 0, problem.roomIndex("R_LARGE"));
+        solution.assign(big(problem), teacher(problem, "T2"), MONDAY, 0, SchedulingSolution.UNASSIGNED);
+
+        RoomAllocator.Outcome outcome = RoomAllocator.allocate(problem, solution, true);
+
+        assertThat(outcome.unroomed()).isEmpty();
+        assertThat(outcome.solution().room(small(problem))).isEqualTo(problem.roomIndex("R_SMALL"));
+        assertThat(outcome.solution().room(big(problem))).isEqualTo(problem.roomIndex("R_LARGE"));
+    }
+
+    @Test
+    void placeRepackingMovesASmallerSectionOutOfTheWay() {
+        SchedulingProblem problem = semester(30);
+        ScheduleState state = new ScheduleState(problem);
+        state.place(small(problem), teacher(problem, "T1"), MONDAY, 0, problem.roomIndex("R_LARGE"));
+
+        assertThat(RoomAllocator.placeRepacking(state, big(problem), teacher(problem, "T2"), MONDAY, 0)).isTrue();
+
+        assertThat(state.solution().room(small(problem))).isEqualTo(problem.roomIndex("R_SMALL"));
+        assertThat(state.solution().room(big(problem))).isEqualTo(problem.roomIndex("R_LARGE"));
+        ScheduleAssertions.assertValid(problem, state.solution());
+    }
+
+    @Test
+    void placeRepackingLeavesTheStateAloneWhenNoPackingFits() {
+        SchedulingProblem problem = semester(10);
+        ScheduleState state = new ScheduleState(problem);
+        state.place(small(problem), teacher(problem, "T1"), MONDAY, 0, problem.roomIndex("R_LARGE"));
+
+        assertThat(RoomAllocator.placeRepacking(state, big(problem), teacher(problem, "T2"), MONDAY, 0)).isFalse();
+
+        assertThat(state.solution().room(small(problem))).isEqualTo(problem.roomIndex("R_LARGE"));
+        assertThat(state.solution().isAssigned(big(problem))).isFalse();
+    }
+
+    /**
+     * A 20-seat and a 50-seat section of different teachers, a 60-seat room and a smaller one.
+     */
+    private static SchedulingProblem semester(int smallRoomCapacity) {
+        return TestSemesters.withPeriods(2)
+                .teacher("T1", 1)
+                .teacher("T2", 1)
+                .course("C1", 1, 1)
+                .course("C2", 1, 1)
+                .section("SMALL", "C1", 1, 20)
+                .section("BIG", "C2", 1, 50)
+                .room("R_SMALL", smallRoomCapacity)
+                .room("R_LARGE", 60)
+                .prefers("T1", "C1", 1)
+                .prefers("T2", "C2", 1)
+                .problem();
+    }
+
+    private static int small(SchedulingProblem problem) {
+        return problem.sectionIndex("SMALL");
+    }
+
+    private static int big(SchedulingProblem problem) {
+        return problem.sectionIndex("BIG");
+    }
+
+    private static int teacher(SchedulingProblem problem, String id) {
+        return problem.teacherIndex(id);
+    }
+}
@@ -0,0 +1,87 @@
+package com.university.schedule.scheduling;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * Checks of a solution against the hard constraints, written independently of {@link ScheduleState}.
+ */
+final class ScheduleAssertions {
+
+    private ScheduleAssertions() {
+    }
+
+    /**
+     * Every section placed, no constraint of the problem broken, and the objective the default
+     * weights give.
+     */
+    static void assertFeasible(SchedulingProblem problem, SchedulingSolution solution) {
+        assertThat(solution.countAssigned()).as("placed sections").isEqualTo(problem.numSections());
+        assertValid(problem, solution);
+        Map<Integer, Set<Integer>> teachersOfCourse = teachersOfCourse(problem, solution);
+        for (int c = 0; c < problem.numCourses(); c++) {
+            assertThat(teachersOfCourse.getOrDefault(c, Set.of()).size())
+                    .as("teachers of course %s", problem.courseId(c))
+                    .isGreaterThanOrEqualTo(minTeachersTarget(problem, c));
+        }
+        assertThat(solution.getObjective()).as("objective").isEqualTo(ObjectiveEvaluator.evaluate(problem, solution));
+    }
+
+    /**
+     * No clash, ineligible teacher, bad start, small room or exceeded course limit among the placed
+     * sections.
+     */
+    static void assertValid(SchedulingProblem problem, SchedulingSolution solution) {
+        Set<String> busy = new HashSet<>();
+        Map<Integer, Set<Integer>> coursesOfTeacher = new HashMap<>();
+        for (int s = 0; s < solution.size(); s++) {
+            if (!solution.isAssigned(s)) continue;
+            int t = solution.teacher(s), d = solution.day(s), p = solution.period(s), r = solution.room(s);
+            int c = problem.courseOf(s);
+            String section = problem.sectionId(s);
+            if (!problem.isEligible(t, c)) fail("%s has ineligible teacher %s", section, problem.teacherId(t));
+            if (!problem.isValidStart(s, p)) fail("%s starts at invalid period %d", section, p);
+            if (problem.capacity(r) < problem.seats(s)) fail("%s does not fit room %s", section, problem.roomId(r));
+            for (int i = 0; i < problem.length(s); i++) {
+                if (!busy.add("T" + t + "/" + d + "/" + (p + i))) fail("teacher clash at %s", section);
+                if (!busy.add("R" + r + "/" + d + "/" + (p + i))) fail("room clash at %s", section);
+            }
+            coursesOfTeacher.computeIfAbsent(t, k -> new HashSet<>()).add(c);
+        }
+        coursesOfTeacher.forEach((t, courses) ->
+                assertThat(courses.size()).as("courses of %s", problem.teacherId(t)).isLessThanOrEqualTo(problem.maxCourses(t)));
+        teachersOfCourse(problem, solution).forEach((c, teachers) ->
+                assertThat(teachers.size()).as("teachers of %s", problem.courseId(c)).isLessThanOrEqualTo(problem.maxTeachers(c)));
+    }
+
+    /**
+     * Same placement of every section.
+     */
+    static void assertSameSchedule(SchedulingSolution expected, SchedulingSolution actual) {
+        assertThat(actual.size()).isEqualTo(expected.size());
+        for (int s = 0; s < expected.size(); s++) {
+            assertThat(actual.isAssigned(s)).as("section %d assigned", s).isEqualTo(expected.isAssigned(s));
+            if (!expected.isAssigned(s)) continue;
+            assertThat(new int[]{actual.teacher(s), actual.day(s), actual.period(s), actual.room(s)})
+                    .as("placement of section %d", s)
+                    .containsExactly(expected.teacher(s), expected.day(s), expected.period(s), expected.room(s));
+        }
+        assertThat(actual.getObjective()).isEqualTo(expected.getObjective());
+    }
+
+    private static int minTeachersTarget(SchedulingProblem problem, int c) {
+        return Math.min(problem.minTeachers(c), Math.min(problem.sectionsOf(c).length, problem.eligibleTeachers(c).length));
+    }
+
+    private static Map<Integer, Set<Integer>> teachersOfCourse(SchedulingProblem problem, SchedulingSolution solution) {
+        Map<Integer, Set<Integer>> teachers = new HashMap<>();
+        for (int s = 0; s < solution.size(); s++) {
+            if (solution.isAssigned(s)) {
+                teachers.computeIfAbsent(problem.courseOf(s), k -> new HashSet<>()).add(solution.teacher(s));
+            }
+        }
+        return teachers;
+    }
+}
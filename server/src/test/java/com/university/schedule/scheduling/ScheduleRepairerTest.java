@@ -0,0 +1,47 @@
+package com.university.schedule.scheduling;
+
+import com.university.schedule.services.TestSemesters;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScheduleRepairerTest {
+
+    private final SchedulingProblem problem = TestSemesters.random(5, 8, 6, 3, 4, 4).problem();
+    private final SchedulingSolution previous = new HeuristicSchedulingEngine().solve(problem, new SolverContext(5));
+
+    @Test
+    void reinsertsTheAffectedSectionsAroundTheRest() {
+        int teacher = previous.teacher(0);
+        List<Integer> affected = IntStream.range(0, problem.numSections())
+                .filter(s -> previous.teacher(s) == teacher).boxed().toList();
+
+        ScheduleRepairer.Outcome outcome = ScheduleRepairer.repair(problem, previous, affected, new SolverContext(5));
+
+        ScheduleAssertions.assertFeasible(problem, outcome.solution());
+        assertThat(outcome.unplaced()).isEmpty();
+        assertThat(outcome.freed()).isEqualTo(affected.size());
+        assertThat(outcome.moved()).isLessThan(problem.numSections() / 2);
+    }
+
+    @Test
+    void freesStoredAssignmentsThatNoLongerHold() {
+        SchedulingSolution broken = previous.copy();
+        int clashing = IntStream.range(1, problem.numSections())
+                .filter(s -> previous.teacher(s) == previous.teacher(0)).findFirst().orElseThrow();
+        // Put a section of the same teacher on top of section 0, and forget another one entirely
+        broken.assign(clashing, previous.teacher(0), previous.day(0), previous.period(0), previous.room(clashing));
+        int missing = problem.numSections() - 1;
+        broken.unassign(missing);
+
+        ScheduleRepairer.Outcome outcome = ScheduleRepairer.repair(problem, broken, Set.of(), new SolverContext(5));
+
+        ScheduleAssertions.assertFeasible(problem, outcome.solution());
+        assertThat(outcome.freed()).isGreaterThanOrEqualTo(2);
+        assertThat(outcome.solution().isAssigned(missing)).isTrue();
+    }
+}
@@ -0,0 +1,63 @@
+package com.university.schedule.scheduling;
+
+import com.university.schedule.services.TestSemesters;
+import org.junit.jupiter.api.Named;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Properties every in-process engine shares: complete schedules that meet the hard constraints, and
+ * the same schedule for the same seed.
+ */
+@Timeout(120)
+class SchedulingEnginesTest {
+
+    static List<Named<Supplier<SchedulingEngine>>> engines() {
+        return List.of(
+                Named.of(HeuristicSchedulingEngine.NAME, HeuristicSchedulingEngine::new),
+                Named.of(AnnealingSchedulingEngine.NAME, () -> {
+                    AnnealingSchedulingEngine anneal = new AnnealingSchedulingEngine();
+                    ReflectionTestUtils.setField(anneal, "iterations", 200_000L);
+                    return anneal;
+                }),
+                Named.of(LnsSchedulingEngine.NAME, () -> {
+                    LnsSchedulingEngine lns = new LnsSchedulingEngine();
+                    ReflectionTestUtils.setField(lns, "rounds", 100);
+                    return lns;
+                }),
+                Named.of(TwoPhaseSchedulingEngine.NAME, TwoPhaseSchedulingEngine::new),
+                Named.of(DsaturSchedulingEngine.NAME, DsaturSchedulingEngine::new),
+                Named.of(GeneticSchedulingEngine.NAME, () -> {
+                    // A fixed island count keeps the run independent of the machine's processors
+                    GeneticSchedulingEngine genetic = new GeneticSchedulingEngine();
+                    ReflectionTestUtils.setField(genetic, "islands", 2);
+                    ReflectionTestUtils.setField(genetic, "generations", 30);
+                    return genetic;
+                }));
+    }
+
+    @ParameterizedTest
+    @MethodSource("engines")
+    void producesFeasibleSchedules(Supplier<SchedulingEngine> engine) {
+        for (long seed = 2; seed <= 4; seed++) {
+            SchedulingProblem problem = TestSemesters.random(seed, 8, 6, 3, 4, 4).problem();
+            ScheduleAssertions.assertFeasible(problem, engine.get().solve(problem, new SolverContext(seed)));
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("engines")
+    void sameSeedGivesTheSameSchedule(Supplier<SchedulingEngine> engine) {
+        SchedulingProblem problem = TestSemesters.random(7, 8, 6, 3, 4, 4).problem();
+
+        SchedulingSolution first = engine.get().solve(problem, new SolverContext(42));
+        SchedulingSolution second = engine.get().solve(problem, new SolverContext(42));
+
+        ScheduleAssertions.assertSameSchedule(first, second);
+    }
+}
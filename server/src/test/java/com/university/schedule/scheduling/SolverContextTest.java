@@ -0,0 +1,70 @@
+package com.university.schedule.scheduling;
+
+import com.university.schedule.services.TestSemesters;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SolverContextTest {
+
+    @Test
+    void childSharesTheIncumbentAndStopsAtTheEarlierDeadline() {
+        SolverContext parent = new SolverContext();
+        SolverContext child = parent.child(7, System.nanoTime() - 1);
+
+        assertThat(child.isTimeUp()).isTrue();
+        assertThat(parent.isTimeUp()).isFalse();
+        assertThat(child.offerIncumbent(solution(5))).isTrue();
+        assertThat(parent.getIncumbentObjective()).isEqualTo(5);
+        assertThat(parent.offerIncumbent(solution(5))).isFalse();
+
+        parent.cancel();
+        assertThat(child.shouldStop()).isTrue();
+    }
+
+    @Test
+    void targetStopsTheSearchOnceAnIncumbentReachesIt() {
+        SolverContext context = new SolverContext();
+        assertThat(context.hasTargetObjective()).isFalse();
+        context.setTargetObjective(10);
+
+        assertThat(context.hasTargetObjective()).isTrue();
+        context.offerIncumbent(solution(9));
+        assertThat(context.shouldStop()).isFalse();
+        context.offerIncumbent(solution(10));
+        assertThat(context.isTargetReached()).isTrue();
+        assertThat(context.shouldStop()).isTrue();
+        assertThat(context.fork(1).isTargetReached()).isFalse();
+    }
+
+    @Test
+    void heuristicReturnsAFeasibleScheduleWhenTheBudgetIsAlreadySpent() {
+        SchedulingProblem problem = TestSemesters.random(3, 3, 3, 2, 2, 3).problem();
+        SolverContext context = new SolverContext().child(3, System.nanoTime());
+
+        SchedulingSolution solution = new HeuristicSchedulingEngine().solve(problem, context);
+
+        ScheduleAssertions.assertValid(problem, solution);
+        assertThat(solution.countAssigned()).isEqualTo(problem.numSections());
+    }
+
+    @Test
+    void exactEngineSearchesUntilTheBudgetRatherThanItsOwnLimit() {
+        SchedulingProblem problem = TestSemesters.random(2, 3, 3, 2, 2, 3).problem();
+        ExactSchedulingEngine exact = new ExactSchedulingEngine();
+        ReflectionTestUtils.setField(exact, "timeLimitMs", 1L);
+        ReflectionTestUtils.setField(exact, "parallelism", 1);
+        SolverContext budget = new SolverContext().child(2, System.nanoTime() + TimeUnit.SECONDS.toNanos(60));
+
+        assertThat(exact.solve(problem, budget).isOptimal()).isTrue();
+    }
+
+    private static SchedulingSolution solution(long objective) {
+        SchedulingSolution solution = new SchedulingSolution(0);
+        solution.setObjective(objective);
+        return solution;
+    }
+}
@@ -0,0 +1,53 @@
+package com.university.schedule.scheduling;
+
+import com.university.schedule.services.TestSemesters;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Timeout(120)
+class WarmStartTest {
+
+    @Test
+    void heuristicCompletesAPartialScheduleWithoutLosingObjective() {
+        SchedulingProblem problem = TestSemesters.random(6, 8, 6, 3, 4, 4).problem();
+        SchedulingSolution previous = new HeuristicSchedulingEngine().solve(problem, new SolverContext(6));
+        SchedulingSolution partial = previous.copy();
+        for (int s = 0; s < partial.size(); s += 3) partial.unassign(s);
+
+        SolverContext fromPrevious = new SolverContext(6);
+        fromPrevious.setWarmStart(previous);
+        SolverContext fromPartial = new SolverContext(6);
+        fromPartial.setWarmStart(partial);
+
+        SchedulingSolution kept = new HeuristicSchedulingEngine().solve(problem, fromPrevious);
+        SchedulingSolution completed = new HeuristicSchedulingEngine().solve(problem, fromPartial);
+
+        ScheduleAssertions.assertFeasible(problem, kept);
+        ScheduleAssertions.assertFeasible(problem, completed);
+        assertThat(kept.getObjective()).isGreaterThanOrEqualTo(previous.getObjective());
+    }
+
+    @Test
+    void exactKeepsAnOptimalWarmStart() {
+        SchedulingProblem problem = TestSemesters.random(4, 3, 3, 2, 2, 3).problem();
+        SchedulingSolution optimum = new ExactSchedulingEngine().solve(problem, new SolverContext(4));
+        SolverContext context = new SolverContext(4);
+        context.setWarmStart(optimum);
+
+        SchedulingSolution solution = new ExactSchedulingEngine().solve(problem, context);
+
+        assertThat(solution.isOptimal()).isTrue();
+        ScheduleAssertions.assertSameSchedule(optimum, solution);
+    }
+
+    @Test
+    void childContextsInheritTheWarmStart() {
+        SolverContext parent = new SolverContext(1);
+        SchedulingSolution warmStart = new SchedulingSolution(2);
+        parent.setWarmStart(warmStart);
+
+        assertThat(parent.child(2, 0).getWarmStart()).isSameAs(warmStart);
+    }
+}
@@ -0,0 +1,173 @@
+package com.university.schedule.services;
+
+import com.university.schedule.dtos.AssignmentDTO;
+import com.university.schedule.scheduling.HeuristicSchedulingEngine;
+import com.university.schedule.scheduling.SchedulingProblem;
+import com.university.schedule.scheduling.SchedulingSolution;
+import com.university.schedule.scheduling.SolverContext;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompactScheduleCodecTest {
+
+    @Test
+    void varintsRoundTripInZigzagSizes() throws IOException {
+        long[] values = {0, -1, 63, -64, 64, Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE};
+        int[] sizes = {1, 1, 1, 1, 2, 5, 5, 10, 10};
+        for (int i = 0; i < values.length; i++) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            CompactScheduleCodec.writeVarLong(new DataOutputStream(bytes), values[i]);
+
+            assertThat(bytes.size()).as("size of %d", values[i]).isEqualTo(sizes[i]);
+            assertThat(CompactScheduleCodec.readVarLong(input(bytes))).isEqualTo(values[i]);
+        }
+    }
+
+    @Test
+    void rejectsAVarintLongerThanALong() {
+        byte[] bytes = new byte[11];
+        Arrays.fill(bytes, (byte) 0x80);
+
+        assertThatThrownBy(() -> CompactScheduleCodec.readVarLong(new DataInputStream(new ByteArrayInputStream(bytes))))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void rejectsVarintsOutOfRange() throws IOException {
+        ByteArrayOutputStream tooLong = new ByteArrayOutputStream();
+        CompactScheduleCodec.writeVarLong(new DataOutputStream(tooLong), 1L << 40);
+        byte[] overflow = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
+                (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x7F};
+
+        assertThatThrownBy(() -> CompactScheduleCodec.readVarInt(input(tooLong)))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Malformed varint");
+        assertThatThrownBy(() -> CompactScheduleCodec.readVarLong(new DataInputStream(new ByteArrayInputStream(overflow))))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Malformed varint");
+    }
+
+    @Test
+    void rejectsAMalformedErrorMessageLength() throws IOException {
+        for (int length : new int[]{-1, Integer.MAX_VALUE}) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0x53435231);
+            out.writeByte(1);
+            CompactScheduleCodec.writeVarInt(out, length);
+
+            assertThatThrownBy(() -> CompactScheduleCodec.readResponse(new ByteArrayInputStream(bytes.toByteArray()),
+                    semester().problem()))
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("Malformed string length");
+        }
+    }
+
+    @Test
+    void writesTheRequestHeader() throws IOException {
+        SemesterSnapshot snapshot = semester().snapshot();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        CompactScheduleCodec.writeRequest(bytes, new ResearchRequest(snapshot, "lns").withLimits(1500L, -42L));
+
+        DataInputStream in = input(bytes);
+        assertThat(in.readInt()).isEqualTo(0x53435131);
+        byte[] algorithm = new byte[CompactScheduleCodec.readVarInt(in)];
+        in.readFully(algorithm);
+        assertThat(new String(algorithm, StandardCharsets.UTF_8)).isEqualTo("lns");
+        assertThat(CompactScheduleCodec.readVarLong(in)).isEqualTo(1500L);
+        assertThat(in.readBoolean()).isTrue();
+        assertThat(CompactScheduleCodec.readVarLong(in)).isEqualTo(-42L);
+        assertThat(CompactScheduleCodec.readVarInt(in)).isEqualTo(5);
+    }
+
+    @Test
+    void readsTheAssignmentsOfAResponse() throws IOException {
+        SchedulingProblem problem = semester().problem();
+        int s = problem.sectionIndex("C1_S1"), t = problem.teacherIndex("T2"), r = problem.roomIndex("R1");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0x53435231);
+        out.writeByte(0);
+        out.writeBoolean(true);
+        CompactScheduleCodec.writeVarLong(out, -7);
+        CompactScheduleCodec.writeVarInt(out, 1);
+        for (int index : new int[]{s, t, r, 2, 1}) CompactScheduleCodec.writeVarInt(out, index);
+
+        GeneratedSchedule schedule = CompactScheduleCodec.readResponse(new ByteArrayInputStream(bytes.toByteArray()), problem);
+
+        assertThat(schedule.getObjectiveValue()).isEqualTo(-7);
+        assertThat(schedule.getAssignments()).hasSize(1);
+        AssignmentDTO assignment = schedule.getAssignments().get(0);
+        assertThat(assignment.getSectionId()).isEqualTo("C1_S1");
+        assertThat(assignment.getTeacherId()).isEqualTo("T2");
+        assertThat(assignment.getClassroomId()).isEqualTo("R1");
+        assertThat(assignment.getCourseId()).isEqualTo("C1");
+        assertThat(assignment.getDay()).isEqualTo(problem.day(2));
+        assertThat(assignment.getPeriod()).isEqualTo(String.valueOf(problem.periodOrder(1)));
+    }
+
+    @Test
+    void roundTripsASolvedSchedule() throws IOException {
+        SchedulingProblem problem = TestSemesters.random(3, 8, 6, 3, 4, 4).problem();
+        SchedulingSolution solution = new HeuristicSchedulingEngine().solve(problem, new SolverContext(3));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0x53435231);
+        out.writeByte(0);
+        out.writeBoolean(true);
+        CompactScheduleCodec.writeVarLong(out, solution.getObjective());
+        CompactScheduleCodec.writeVarInt(out, solution.countAssigned());
+        for (int s = 0; s < solution.size(); s++) {
+            int[] placement = {s, solution.teacher(s), solution.room(s), solution.day(s), solution.period(s)};
+            for (int index : placement) CompactScheduleCodec.writeVarInt(out, index);
+        }
+
+        GeneratedSchedule schedule = CompactScheduleCodec.readResponse(new ByteArrayInputStream(bytes.toByteArray()), problem);
+        SchedulingSolution decoded = SchedulingSolution.fromAssignments(problem, schedule.getAssignments());
+
+        assertThat(schedule.getObjectiveValue()).isEqualTo((int) solution.getObjective());
+        assertThat(schedule.getAssignments()).containsExactlyInAnyOrderElementsOf(solution.toAssignments(problem));
+        for (int s = 0; s < solution.size(); s++) {
+            assertThat(new int[]{decoded.teacher(s), decoded.room(s), decoded.day(s), decoded.period(s)})
+                    .containsExactly(solution.teacher(s), solution.room(s), solution.day(s), solution.period(s));
+        }
+    }
+
+    @Test
+    void surfacesTheErrorOfAFailedResponse() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0x53435231);
+        out.writeByte(1);
+        byte[] message = "no solution".getBytes(StandardCharsets.UTF_8);
+        CompactScheduleCodec.writeVarInt(out, message.length);
+        out.write(message);
+
+        assertThatThrownBy(() -> CompactScheduleCodec.readResponse(new ByteArrayInputStream(bytes.toByteArray()),
+                semester().problem()))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("no solution");
+    }
+
+    private static TestSemesters semester() {
+        return TestSemesters.withPeriods(2)
+                .teacher("T1", 1)
+                .teacher("T2", 1)
+                .course("C1", 1, 1)
+                .section("C1_S1", "C1", 1, 30)
+                .room("R1", 40)
+                .prefers("T1", "C1", 1)
+                .prefers("T2", "C1", 2);
+    }
+
+    private static DataInputStream input(ByteArrayOutputStream bytes) {
+        return new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+    }
+}
@@ -0,0 +1,100 @@
+package com.university.schedule.services;
+
+import com.university.schedule.dtos.ComponentReportDTO;
+import com.university.schedule.entities.Classroom;
+import com.university.schedule.entities.Course;
+import com.university.schedule.scheduling.ExactSchedulingEngine;
+import com.university.schedule.scheduling.HeuristicSchedulingEngine;
+import com.university.schedule.scheduling.ObjectiveEvaluator;
+import com.university.schedule.scheduling.Presolver;
+import com.university.schedule.scheduling.SchedulingProblem;
+import com.university.schedule.scheduling.SchedulingSolution;
+import com.university.schedule.scheduling.SolverContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DecomposedSolverTest {
+
+    private final DecomposedSolver solver = new DecomposedSolver(new Presolver());
+
+    @Test
+    void splitsByTeacherCourseEligibilityAndPartitionsTheRooms() {
+        SemesterSnapshot snapshot = twoComponents().snapshot();
+
+        List<SemesterSnapshot> parts = SnapshotDecomposer.split(snapshot);
+
+        assertThat(parts).hasSize(2);
+        assertThat(parts).extracting(part -> part.getCourses().stream().map(Course::getId).sorted().toList())
+                .containsExactlyInAnyOrder(List.of("C1"), List.of("C2", "C3"));
+        assertThat(parts).allSatisfy(part -> assertThat(part.getClassrooms()).isNotEmpty());
+        assertThat(parts.stream().flatMap(part -> part.getClassrooms().stream()).map(Classroom::getId))
+                .containsExactlyInAnyOrder("R1", "R2", "R3");
+    }
+
+    @Test
+    void solvesThePartsAndMergesThemIntoOneSchedule() {
+        SemesterSnapshot snapshot = twoComponents().snapshot();
+        SchedulingProblem problem = SchedulingProblem.from(snapshot);
+
+        DecomposedSolver.Result result = solver.solve(new HeuristicSchedulingEngine(), snapshot, problem, true, List.of(),
+                new SolverContext(1)).orElseThrow();
+
+        SchedulingSolution solution = result.solution();
+        assertThat(solution.isComplete()).isTrue();
+        assertThat(solution.getObjective()).isEqualTo(ObjectiveEvaluator.evaluate(problem, solution));
+        assertThat(result.components()).extracting(ComponentReportDTO::getSections).containsExactlyInAnyOrder(2, 4);
+    }
+
+    @Test
+    void leavesWholeSemestersToTheEngine() {
+        SemesterSnapshot split = twoComponents().snapshot();
+        SemesterSnapshot connected = twoComponents().prefers("T1", "C2", 1).snapshot();
+
+        assertThat(solver.solve(new ExactSchedulingEngine(), split, SchedulingProblem.from(split), true, List.of(),
+                new SolverContext())).isEmpty();
+        assertThat(solver.solve(new HeuristicSchedulingEngine(), connected, SchedulingProblem.from(connected), true, List.of(),
+                new SolverContext())).isEmpty();
+
+        ReflectionTestUtils.setField(solver, "enabled", false);
+        assertThat(solver.solve(new HeuristicSchedulingEngine(), split, SchedulingProblem.from(split), true, List.of(),
+                new SolverContext())).isEmpty();
+        assertThat(solver.getConfiguration()).isEqualTo("decomposition=off");
+    }
+
+    @Test
+    void leavesRunsWithATargetObjectiveToTheEngine() {
+        SemesterSnapshot split = twoComponents().snapshot();
+        SolverContext context = new SolverContext();
+        context.setTargetObjective(Long.MIN_VALUE);
+
+        assertThat(solver.solve(new HeuristicSchedulingEngine(), split, SchedulingProblem.from(split), true, List.of(),
+                context)).isEmpty();
+    }
+
+    private static TestSemesters twoComponents() {
+        return TestSemesters.withPeriods(3)
+                .teacher("T1", 1)
+                .teacher("T2", 2)
+                .teacher("T3", 2)
+                .course("C1", 1, 1)
+                .course("C2", 1, 2)
+                .course("C3", 1, 1)
+                .section("C1_A", "C1", 1, 30)
+                .section("C1_B", "C1", 2, 30)
+                .section("C2_A", "C2", 1, 30)
+                .section("C2_B", "C2", 1, 30)
+                .section("C3_A", "C3", 2, 50)
+                .section("C3_B", "C3", 1, 30)
+                .room("R1", 40)
+                .room("R2", 60)
+                .room("R3", 40)
+                .prefers("T1", "C1", 2)
+                .prefers("T2", "C2", 3)
+                .prefers("T2", "C3", 1)
+                .prefers("T3", "C2", 2);
+    }
+}
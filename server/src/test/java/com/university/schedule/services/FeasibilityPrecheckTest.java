@@ -0,0 +1,88 @@
+package com.university.schedule.services;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FeasibilityPrecheckTest {
+
+    @Test
+    void acceptsASchedulableSemester() {
+        assertThat(FeasibilityPrecheck.check(TestSemesters.random(3, 8, 6, 3, 4, 4).problem())).isEmpty();
+    }
+
+    @Test
+    void reportsSectionsNoClassroomOrDayCanHold() {
+        TestSemesters semester = TestSemesters.withPeriods(2)
+                .teacher("T1", 1)
+                .course("C1", 1, 1)
+                .section("BIG", "C1", 1, 80)
+                .section("LONG", "C1", 3, 30)
+                .room("R1", 40)
+                .prefers("T1", "C1", 1);
+
+        assertThat(FeasibilityPrecheck.check(semester.problem())).containsExactly(
+                "Có học phần cần nhiều chỗ hơn phòng học lớn nhất (40 chỗ): BIG (80 chỗ).",
+                "Có học phần cần nhiều tiết liên tiếp hơn số tiết liên tiếp trong một ngày: LONG (3 tiết).");
+    }
+
+    @Test
+    void namesTheCoursesWhosePeriodsExceedTheirTeachersWeek() {
+        // T1 alone teaches C1 and C2, 7 periods in a week of 5; C3 has a teacher of its own
+        TestSemesters semester = TestSemesters.withPeriods(1)
+                .teacher("T1", 2)
+                .teacher("T2", 1)
+                .course("C1", 1, 1)
+                .course("C2", 1, 1)
+                .course("C3", 1, 1)
+                .room("R1", 40)
+                .room("R2", 40)
+                .prefers("T1", "C1", 1)
+                .prefers("T1", "C2", 1)
+                .prefers("T2", "C3", 1);
+        for (int i = 0; i < 4; i++) semester.section("C1_" + i, "C1", 1, 30);
+        for (int i = 0; i < 3; i++) semester.section("C2_" + i, "C2", 1, 30);
+        semester.section("C3_0", "C3", 1, 30);
+
+        assertThat(FeasibilityPrecheck.check(semester.problem())).containsExactly(
+                "Các môn C1, C2 cần tổng cộng 7 tiết nhưng các giảng viên có thể dạy (T1) chỉ có tối đa 5 tiết trong tuần.");
+    }
+
+    @Test
+    void namesTheCoursesThatCannotReachTheirMinimumTeachers() {
+        // C1 needs both teachers and C2 needs T1, but each teacher takes a single course
+        TestSemesters semester = TestSemesters.withPeriods(2)
+                .teacher("T1", 1)
+                .teacher("T2", 1)
+                .course("C1", 2, 2)
+                .course("C2", 1, 1)
+                .section("C1_A", "C1", 1, 30)
+                .section("C1_B", "C1", 1, 30)
+                .section("C2_A", "C2", 1, 30)
+                .room("R1", 40)
+                .prefers("T1", "C1", 1)
+                .prefers("T2", "C1", 1)
+                .prefers("T1", "C2", 1);
+
+        assertThat(FeasibilityPrecheck.check(semester.problem())).singleElement().asString()
+                .startsWith("Các môn C1, C2 cần tổng cộng 3 giảng viên")
+                .contains("(T1, T2) chỉ nhận được tối đa 2 môn");
+    }
+
+    @Test
+    void comparesLargeSectionsWithTheRoomsThatFitThem() {
+        TestSemesters semester = TestSemesters.withPeriods(1)
+                .teacher("T1", 1)
+                .teacher("T2", 1)
+                .course("C1", 1, 2)
+                .room("SMALL", 30)
+                .room("LARGE", 60)
+                .prefers("T1", "C1", 1)
+                .prefers("T2", "C1", 1);
+        for (int i = 0; i < 6; i++) semester.section("C1_" + i, "C1", 1, 50);
+        semester.section("C1_SMALL", "C1", 1, 20);
+
+        assertThat(FeasibilityPrecheck.check(semester.problem())).containsExactly(
+                "6 học phần cần từ 50 chỗ trở lên cần 6 tiết nhưng chỉ có 1 phòng đủ chỗ × 5 ngày × 1 tiết = 5 tiết phòng.");
+    }
+}
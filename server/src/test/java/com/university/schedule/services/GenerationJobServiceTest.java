@@ -0,0 +1,139 @@
+package com.university.schedule.services;
+
+import com.university.schedule.dtos.GenerationJobDTO;
+import com.university.schedule.dtos.ScheduleGenerationResponseDTO;
+import com.university.schedule.enums.GenerationJobStatus;
+import com.university.schedule.enums.GenerationPhase;
+import com.university.schedule.scheduling.SolverContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.mockito.stubbing.Answer;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@Timeout(30)
+class GenerationJobServiceTest {
+
+    private static final String SEMESTER = "2025A";
+
+    private final ScheduleGenerationService generationService = mock(ScheduleGenerationService.class);
+    private final GenerationJobService jobs = new GenerationJobService(generationService, 60);
+    private final ScheduleGenerationResponseDTO response = ScheduleGenerationResponseDTO.builder().objectiveValue(7).build();
+
+    @AfterEach
+    void shutdown() {
+        jobs.shutdown();
+    }
+
+    @Test
+    void succeedsWithTheResultAndPhaseTimings() {
+        whenGenerating(invocation -> {
+            GenerationListener listener = invocation.getArgument(5);
+            for (GenerationPhase phase : GenerationPhase.values()) listener.phaseStarted(phase);
+            return response;
+        });
+
+        GenerationJobDTO job = jobs.submit(SEMESTER, "heuristic", "main", GenerationOptions.DEFAULT);
+
+        GenerationJobDTO done = awaitStatus(job.getId(), GenerationJobStatus.SUCCEEDED);
+        assertThat(done.getProgress()).isEqualTo(100);
+        assertThat(done.getPhase()).isNull();
+        assertThat(done.getPhaseTimingsMs()).containsOnlyKeys("load", "validate", "build", "solve", "persist");
+        assertThat(jobs.getResult(job.getId())).containsSame(response);
+        assertThat(jobs.list(SEMESTER)).extracting(GenerationJobDTO::getId).containsExactly(job.getId());
+        assertThat(jobs.list("2024B")).isEmpty();
+    }
+
+    @Test
+    void reportsTheErrorOfAFailedRun() {
+        whenGenerating(invocation -> {
+            throw new RuntimeException("no classrooms");
+        });
+
+        GenerationJobDTO job = jobs.submit(SEMESTER, "heuristic", "main", GenerationOptions.DEFAULT);
+
+        assertThat(awaitStatus(job.getId(), GenerationJobStatus.FAILED).getError()).isEqualTo("no classrooms");
+        assertThatThrownBy(() -> jobs.getResult(job.getId()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("no classrooms");
+    }
+
+    @Test
+    void cancelStopsTheSolverAndKeepsTheScheduleUnsaved() throws InterruptedException {
+        CountDownLatch solving = new CountDownLatch(1);
+        AtomicBoolean persisted = new AtomicBoolean();
+        whenGenerating(invocation -> {
+            SolverContext context = invocation.getArgument(4);
+            GenerationListener listener = invocation.getArgument(5);
+            listener.phaseStarted(GenerationPhase.SOLVE);
+            solving.countDown();
+            while (!context.isCancelled()) Thread.onSpinWait();
+            listener.phaseStarted(GenerationPhase.PERSIST);
+            persisted.set(true);
+            return response;
+        });
+
+        GenerationJobDTO job = jobs.submit(SEMESTER, "exact", "main", GenerationOptions.DEFAULT);
+        solving.await();
+
+        assertThat(jobs.cancel(job.getId()).getStatus()).isEqualTo(GenerationJobStatus.CANCELLED);
+        assertThatThrownBy(() -> jobs.getResult(job.getId())).isInstanceOf(IllegalArgumentException.class);
+        Thread.sleep(100);
+        assertThat(persisted).isFalse();
+        assertThat(jobs.get(job.getId()).getStatus()).isEqualTo(GenerationJobStatus.CANCELLED);
+    }
+
+    @Test
+    void refusesToCancelAJobThatIsSavingItsSchedule() throws InterruptedException {
+        CountDownLatch saving = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        whenGenerating(invocation -> {
+            GenerationListener listener = invocation.getArgument(5);
+            listener.phaseStarted(GenerationPhase.PERSIST);
+            saving.countDown();
+            release.await();
+            return response;
+        });
+
+        GenerationJobDTO job = jobs.submit(SEMESTER, "heuristic", "main", GenerationOptions.DEFAULT);
+        saving.await();
+
+        assertThatThrownBy(() -> jobs.cancel(job.getId()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("can no longer be cancelled");
+        release.countDown();
+        assertThat(awaitStatus(job.getId(), GenerationJobStatus.SUCCEEDED)).isNotNull();
+    }
+
+    @Test
+    void requiresAScheduleName() {
+        assertThatThrownBy(() -> jobs.submit(SEMESTER, "heuristic", "", GenerationOptions.DEFAULT))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void whenGenerating(Answer<ScheduleGenerationResponseDTO> answer) {
+        when(generationService.generateScheduleWithValue(eq(SEMESTER), any(), any(), any(GenerationOptions.class),
+                any(SolverContext.class), any(GenerationListener.class))).thenAnswer(answer);
+    }
+
+    private GenerationJobDTO awaitStatus(String jobId, GenerationJobStatus status) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        GenerationJobDTO job = jobs.get(jobId);
+        while (job.getStatus() != status && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+            job = jobs.get(jobId);
+        }
+        assertThat(job.getStatus()).isEqualTo(status);
+        return job;
+    }
+}
@@ -0,0 +1,99 @@
+package com.university.schedule.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.schedule.dtos.ParetoFrontDTO;
+import com.university.schedule.dtos.ParetoPointDTO;
+import com.university.schedule.dtos.ScheduleDTO;
+import com.university.schedule.dtos.ScheduleGenerationResponseDTO;
+import com.university.schedule.mappers.ScheduleJsonMapper;
+import com.university.schedule.repositories.ScheduleRepository;
+import com.university.schedule.scheduling.AnnealingSchedulingEngine;
+import com.university.schedule.scheduling.HeuristicSchedulingEngine;
+import com.university.schedule.scheduling.Presolver;
+import com.university.schedule.scheduling.SchedulingEngineRegistry;
+import com.university.schedule.scheduling.SchedulingProblem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@Timeout(120)
+class ParetoScheduleServiceTest {
+
+    private final SemesterSnapshotLoader snapshotLoader = mock(SemesterSnapshotLoader.class);
+    private final ScheduleGenerationService generationService = mock(ScheduleGenerationService.class);
+    private final GeneratedScheduleStore scheduleStore = mock(GeneratedScheduleStore.class);
+    private final ScheduleRepository scheduleRepository = mock(ScheduleRepository.class);
+    private ParetoScheduleService service;
+
+    @BeforeEach
+    void createService() {
+        AnnealingSchedulingEngine anneal = new AnnealingSchedulingEngine();
+        ReflectionTestUtils.setField(anneal, "iterations", 50_000L);
+        SchedulingEngineRegistry registry = new SchedulingEngineRegistry(
+                List.of(new HeuristicSchedulingEngine(), anneal), List.of());
+        service = new ParetoScheduleService(snapshotLoader, generationService, registry,
+                new Presolver(), scheduleStore, scheduleRepository, mock(ScheduleJsonMapper.class),
+                new SolverInputHasher(new ObjectMapper()));
+        ReflectionTestUtils.setField(service, "parallelism", 2);
+
+        SemesterSnapshot snapshot = TestSemesters.random(3, 8, 6, 3, 4, 4).snapshot();
+        when(snapshotLoader.load(TestSemesters.SEMESTER)).thenReturn(snapshot);
+        when(generationService.ensureGeneratable(snapshot)).thenReturn(SchedulingProblem.from(snapshot));
+        when(scheduleStore.replace(eq(TestSemesters.SEMESTER), anyCollection(), anyMap())).thenAnswer(invocation -> {
+            Map<String, GeneratedSchedule> family = invocation.getArgument(2);
+            List<ScheduleGenerationResponseDTO> saved = new ArrayList<>();
+            family.forEach((name, generated) -> saved.add(ScheduleGenerationResponseDTO.builder()
+                    .schedules(List.of(ScheduleDTO.builder().id(name).name(name).build()))
+                    .objectiveValue(generated.getObjectiveValue())
+                    .build()));
+            return saved;
+        });
+    }
+
+    @Test
+    void savesTheNonDominatedSchedulesBestObjectiveFirst() {
+        ParetoFrontDTO front = service.generate(TestSemesters.SEMESTER, "sweep", 5L, null);
+
+        // Multipliers 1 and 3 on four components, without the all-equal duplicate
+        assertThat(front.getWeightings()).isEqualTo(15);
+        List<ParetoPointDTO> points = front.getPoints();
+        assertThat(points).isNotEmpty();
+        for (int k = 0; k < points.size(); k++) {
+            assertThat(points.get(k).getName()).isEqualTo("sweep-" + (k + 1));
+            if (k > 0) {
+                assertThat(points.get(k).getObjectiveValue()).isLessThanOrEqualTo(points.get(k - 1).getObjectiveValue());
+            }
+            for (ParetoPointDTO other : points) {
+                if (other != points.get(k)) assertThat(dominates(other, points.get(k))).isFalse();
+            }
+        }
+    }
+
+    @Test
+    void rejectsEnginesThatIgnoreTheWeights() {
+        ReflectionTestUtils.setField(service, "engineName", HeuristicSchedulingEngine.NAME);
+
+        assertThatThrownBy(() -> service.generate(TestSemesters.SEMESTER, "sweep", null, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("ignores objective weights");
+        verifyNoInteractions(scheduleStore);
+    }
+
+    private static boolean dominates(ParetoPointDTO a, ParetoPointDTO b) {
+        boolean noWorse = a.getCoursePreference() >= b.getCoursePreference() && a.getTimePreference() >= b.getTimePreference()
+                && a.getWorkloadRange() <= b.getWorkloadRange() && a.getGaps() <= b.getGaps();
+        boolean better = a.getCoursePreference() > b.getCoursePreference() || a.getTimePreference() > b.getTimePreference()
+                || a.getWorkloadRange() < b.getWorkloadRange() || a.getGaps() < b.getGaps();
+        return noWorse && better;
+    }
+}
@@ -0,0 +1,62 @@
+package com.university.schedule.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.schedule.dtos.AssignmentDTO;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class ResearchResponseParserTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SemesterSnapshot snapshot = TestSemesters.withPeriods(2)
+            .teacher("T1", 2)
+            .course("C1", 1, 1)
+            .section("C1_A", "C1", 1, 30)
+            .section("C1_B", "C1", 1, 30)
+            .room("R1", 40)
+            .prefers("T1", "C1", 1)
+            .snapshot();
+
+    @Test
+    void readsAssignmentsAndResolvesMissingCourses() throws IOException {
+        GeneratedSchedule schedule = parse("""
+                {"status": "success", "runtime": {"seconds": 1.5},
+                 "solution": {"objective_value": 12, "stats": [1, 2], "assignments": [
+                   {"teacher_id": "T1", "section_id": "C1_A", "course_id": "C1", "day": "Mon", "period": "1", "classroom_id": "R1"},
+                   {"teacher_id": "T1", "section_id": "C1_B", "day": "Tue", "period": 2, "classroom_id": "R1", "extra": {"a": 1}},
+                   {"teacher_id": "T1", "section_id": "C1_B", "day": "Wed"}
+                 ]}}
+                """);
+
+        assertThat(schedule.getObjectiveValue()).isEqualTo(12);
+        assertThat(schedule.getAssignments()).extracting(AssignmentDTO::getSectionId, AssignmentDTO::getCourseId,
+                AssignmentDTO::getPeriod).containsExactly(
+                        tuple("C1_A", "C1", "1"),
+                        tuple("C1_B", "C1", "2"));
+        assertThat(schedule.getStatistics().getNumSections()).isEqualTo(2);
+        assertThat(schedule.getStatistics().getNumCourses()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsAFailedRun() {
+        assertThatThrownBy(() -> parse("{\"status\": \"error\", \"message\": \"infeasible\"}"))
+                .hasMessageContaining("infeasible");
+    }
+
+    @Test
+    void rejectsASuccessWithoutAssignments() {
+        assertThatThrownBy(() -> parse("{\"status\": \"success\", \"solution\": {\"objective_value\": null}}"))
+                .hasMessage("No assignments in response");
+        assertThatThrownBy(() -> parse("[]"))
+                .hasMessage("Research service returned an invalid response");
+    }
+
+    private GeneratedSchedule parse(String json) throws IOException {
+        return ResearchResponseParser.parse(objectMapper.createParser(json), snapshot);
+    }
+}
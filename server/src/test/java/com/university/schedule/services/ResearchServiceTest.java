@@ -0,0 +1,170 @@
+package com.university.schedule.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.schedule.dtos.AssignmentDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class ResearchServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final RestTemplate restTemplate = new RestTemplate();
+    private final MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+    private final ResearchService researchService = new ResearchService(restTemplate, objectMapper);
+
+    private static final String SUCCESS = """
+            {"status": "success", "solution": {"objective_value": 4, "assignments": [
+              {"teacher_id": "T1", "section_id": "C2_A", "day": "Mon", "period": "1", "classroom_id": "R1"}]}}
+            """;
+
+    private JsonNode sent;
+
+    @BeforeEach
+    void configure() {
+        ReflectionTestUtils.setField(researchService, "researchServiceUrl", "http://research");
+        ReflectionTestUtils.setField(researchService, "researchServiceEndpoint", "/schedule");
+    }
+
+    @Test
+    void writesTheRequestFromTheSnapshot() {
+        server.expect(requestTo("http://research/schedule"))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(request -> sent = objectMapper.readTree(((MockClientHttpRequest) request).getBodyAsBytes()))
+                .andRespond(withSuccess(SUCCESS, MediaType.APPLICATION_JSON));
+
+        GeneratedSchedule schedule = researchService.callSchedulingService(new ResearchRequest(semester(), "ga"));
+
+        server.verify();
+        assertThat(schedule.getObjectiveValue()).isEqualTo(4);
+        assertThat(schedule.getAssignments()).extracting(AssignmentDTO::getCourseId).containsExactly("C2");
+        assertThat(sent.path("algorithm").asText()).isEqualTo("ga");
+        JsonNode teacher = sent.path("teachers").get(0);
+        assertThat(teacher.path("id").asText()).isEqualTo("T1");
+        assertThat(teacher.path("max_courses").asInt()).isEqualTo(2);
+        assertThat(teacher.path("course_preferences").path("C1").asInt()).isEqualTo(3);
+        assertThat(teacher.path("eligible_courses")).extracting(JsonNode::asText).containsExactly("C1", "C2");
+        assertThat(teacher.path("day_time_preferences").path("Tue").path("2").asInt()).isEqualTo(-2);
+        JsonNode course = sent.path("courses").get(0);
+        assertThat(course.path("max_teachers").asInt()).isEqualTo(2);
+        assertThat(course.path("sections").get(0).path("required_periods").asInt()).isEqualTo(2);
+        assertThat(sent.path("classrooms").path("days")).hasSize(5);
+        assertThat(sent.path("classrooms").path("periods")).extracting(JsonNode::asText).containsExactly("1", "2");
+        assertThat(sent.path("classrooms").path("classrooms").get(0).path("capacity").asInt()).isEqualTo(40);
+    }
+
+    @Test
+    void compressesTheBodyWhenGzipIsEnabled() {
+        ReflectionTestUtils.setField(researchService, "gzipRequests", true);
+        server.expect(requestTo("http://research/schedule"))
+                .andExpect(header(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(request -> sent = readGzip(((MockClientHttpRequest) request).getBodyAsBytes()))
+                .andRespond(withSuccess(SUCCESS, MediaType.APPLICATION_JSON));
+
+        researchService.callSchedulingService(new ResearchRequest(semester(), "ga"));
+
+        server.verify();
+        assertThat(sent.path("teachers")).hasSize(1);
+        assertThat(sent.path("courses")).hasSize(2);
+    }
+
+    @Test
+    void decompressesAGzipResponse() throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(SUCCESS.getBytes(StandardCharsets.UTF_8));
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        server.expect(requestTo("http://research/schedule"))
+                .andRespond(withSuccess(compressed.toByteArray(), MediaType.APPLICATION_JSON).headers(headers));
+
+        GeneratedSchedule schedule = researchService.callSchedulingService(new ResearchRequest(semester(), "ga"));
+
+        assertThat(schedule.getAssignments()).hasSize(1);
+    }
+
+    @Test
+    void sendsCompactRequestsAndReadsCompactResponses() throws IOException {
+        ReflectionTestUtils.setField(researchService, "wireFormat", "compact");
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(response);
+        out.writeInt(0x53435231);
+        out.writeByte(0);
+        out.writeBoolean(false);
+        CompactScheduleCodec.writeVarInt(out, 0);
+        server.expect(requestTo("http://research/schedule"))
+                .andExpect(header(HttpHeaders.CONTENT_TYPE, CompactScheduleCodec.MEDIA_TYPE))
+                .andExpect(request -> assertThat(((MockClientHttpRequest) request).getBodyAsBytes())
+                        .startsWith('S', 'C', 'Q', '1'))
+                .andRespond(withSuccess(response.toByteArray(), MediaType.parseMediaType(CompactScheduleCodec.MEDIA_TYPE)));
+
+        GeneratedSchedule schedule = researchService.callSchedulingService(new ResearchRequest(semester(), "ga"));
+
+        server.verify();
+        assertThat(schedule.getObjectiveValue()).isNull();
+        assertThat(schedule.getAssignments()).isEmpty();
+    }
+
+    @Test
+    void fallsBackToJsonWhenCompactIsRejected() {
+        ReflectionTestUtils.setField(researchService, "wireFormat", "compact");
+        server.expect(requestTo("http://research/schedule"))
+                .andExpect(header(HttpHeaders.CONTENT_TYPE, CompactScheduleCodec.MEDIA_TYPE))
+                .andRespond(withStatus(HttpStatus.UNSUPPORTED_MEDIA_TYPE));
+        server.expect(ExpectedCount.twice(), requestTo("http://research/schedule"))
+                .andExpect(header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE))
+                .andRespond(withSuccess(SUCCESS, MediaType.APPLICATION_JSON));
+
+        researchService.callSchedulingService(new ResearchRequest(semester(), "ga"));
+        researchService.callSchedulingService(new ResearchRequest(semester(), "ga"));
+
+        server.verify();
+    }
+
+    private JsonNode readGzip(byte[] body) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return objectMapper.readTree(in);
+        }
+    }
+
+    private static SemesterSnapshot semester() {
+        return TestSemesters.withPeriods(2)
+                .teacher("T1", 2)
+                .course("C1", 1, 2)
+                .course("C2", 1, 1)
+                .section("C1_A", "C1", 2, 30)
+                .section("C2_A", "C2", 1, 30)
+                .room("R1", 40)
+                .prefers("T1", "C1", 3)
+                .prefers("T1", "C2", 1)
+                .prefersTime("T1", DayOfWeek.TUESDAY, 1, -2)
+                .snapshot();
+    }
+}
@@ -0,0 +1,93 @@
+package com.university.schedule.services;
+
+import com.university.schedule.dtos.AssignmentDTO;
+import com.university.schedule.dtos.ScheduleAuditDTO;
+import com.university.schedule.dtos.ScheduleAuditReportDTO;
+import com.university.schedule.dtos.ScheduleDTO;
+import com.university.schedule.dtos.ScheduleViolationDTO;
+import com.university.schedule.entities.Schedule;
+import com.university.schedule.enums.ViolationType;
+import com.university.schedule.mappers.ScheduleJsonMapper;
+import com.university.schedule.repositories.ScheduleRepository;
+import com.university.schedule.repositories.SectionRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ScheduleAuditServiceTest {
+
+    private final ScheduleRepository scheduleRepository = mock(ScheduleRepository.class);
+    private final SectionRepository sectionRepository = mock(SectionRepository.class);
+    private final ScheduleJsonMapper scheduleJsonMapper = mock(ScheduleJsonMapper.class);
+    private final SemesterSnapshotLoader snapshotLoader = mock(SemesterSnapshotLoader.class);
+    private final ScheduleAuditService audits = new ScheduleAuditService(scheduleRepository, sectionRepository,
+            scheduleJsonMapper, snapshotLoader, false);
+
+    @Test
+    void reportsEveryKindOfViolationPerSchedule() {
+        when(snapshotLoader.load(TestSemesters.SEMESTER)).thenReturn(TestSemesters.withPeriods(3)
+                .teacher("T1", 2)
+                .teacher("T2", 1)
+                .teacher("T3", 1)
+                .course("C1", 1, 2)
+                .course("C2", 1, 1)
+                .section("S1", "C1", 1, 30)
+                .section("S2", "C1", 2, 50)
+                .section("S3", "C2", 1, 30)
+                .room("R1", 40)
+                .room("R2", 60)
+                .prefers("T1", "C1", 1)
+                .prefers("T2", "C1", 1)
+                .prefers("T3", "C2", 1)
+                .snapshot());
+        stored(schedule("valid",
+                assignment("S1", "T1", "R1", "Mon", "1"),
+                assignment("S2", "T2", "R2", "Mon", "1")),
+                schedule("broken",
+                        assignment("S1", "T1", "R1", "Mon", "2"),
+                        assignment("S2", "T1", "R1", "Mon", "1"),
+                        assignment("S3", "T1", "R9", "Tue", "1"),
+                        assignment("S2", "T2", "R2", "Wed", "3"),
+                        assignment("GONE", "T2", "R2", "Thu", "1")));
+
+        ScheduleAuditReportDTO report = audits.audit(TestSemesters.SEMESTER);
+
+        assertThat(report.getSchedulesAudited()).isEqualTo(2);
+        assertThat(report.getInvalidSchedules()).isEqualTo(1);
+        assertThat(report.getSchedules()).extracting(ScheduleAuditDTO::getName).containsExactly("broken", "valid");
+        assertThat(report.getSchedules().get(1).getValid()).isTrue();
+        assertThat(report.getSchedules().get(0).getViolations())
+                .extracting(ScheduleViolationDTO::getType, ScheduleViolationDTO::getSectionId,
+                        ScheduleViolationDTO::getConflictingSectionId)
+                .containsExactly(
+                        tuple(ViolationType.CAPACITY_EXCEEDED, "S2", null),
+                        tuple(ViolationType.TEACHER_DOUBLE_BOOKING, "S2", "S1"),
+                        tuple(ViolationType.ROOM_DOUBLE_BOOKING, "S2", "S1"),
+                        tuple(ViolationType.INELIGIBLE_TEACHER, "S3", null),
+                        tuple(ViolationType.UNKNOWN_CLASSROOM, "S3", null),
+                        tuple(ViolationType.PERIOD_OUT_OF_RANGE, "S2", null),
+                        tuple(ViolationType.UNKNOWN_SECTION, "GONE", null));
+        assertThat(report.getViolations()).isEqualTo(7);
+    }
+
+    private void stored(Schedule... schedules) {
+        when(scheduleRepository.findBySemester(TestSemesters.SEMESTER)).thenReturn(List.of(schedules));
+    }
+
+    private Schedule schedule(String name, AssignmentDTO... assignments) {
+        Schedule schedule = Schedule.builder().id(name + "_" + TestSemesters.SEMESTER).name(name)
+                .semester(TestSemesters.SEMESTER).build();
+        when(scheduleJsonMapper.toDto(schedule)).thenReturn(ScheduleDTO.builder().assignments(List.of(assignments)).build());
+        return schedule;
+    }
+
+    private static AssignmentDTO assignment(String sectionId, String teacherId, String classroomId, String day, String period) {
+        return AssignmentDTO.builder().sectionId(sectionId).teacherId(teacherId).classroomId(classroomId)
+                .day(day).period(period).build();
+    }
+}
@@ -0,0 +1,99 @@
+package com.university.schedule.services;
+
+import com.university.schedule.entities.Section;
+import com.university.schedule.enums.RegistrationStatus;
+import com.university.schedule.repositories.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SemesterSnapshotLoaderTest {
+
+    private final TeachingRegistrationRepository registrationRepository = mock(TeachingRegistrationRepository.class);
+    private final CoursePreferenceRepository coursePreferenceRepository = mock(CoursePreferenceRepository.class);
+    private final TimePreferenceRepository timePreferenceRepository = mock(TimePreferenceRepository.class);
+    private final SectionRepository sectionRepository = mock(SectionRepository.class);
+    private final ClassroomRepository classroomRepository = mock(ClassroomRepository.class);
+    private final PeriodRepository periodRepository = mock(PeriodRepository.class);
+
+    private final SemesterSnapshotLoader loader = new SemesterSnapshotLoader(registrationRepository,
+            coursePreferenceRepository, timePreferenceRepository, sectionRepository, classroomRepository, periodRepository);
+
+    private SemesterSnapshot stored;
+
+    @BeforeEach
+    void storeSemester() {
+        stored = TestSemesters.withPeriods(2)
+                .teacher("T2", 1)
+                .teacher("T1", 2)
+                .course("C1", 1, 2)
+                .course("C2", 1, 1)
+                .section("C1_B_2025A", "C1", 1, 30)
+                .section("C1_A_2025A", "C1", 2, 30)
+                .section("C2_A_2025A", "C2", 1, 30)
+                .room("R1", 40)
+                .prefers("T1", "C1", 3)
+                .prefers("T2", "C1", 1)
+                .prefers("T1", "C2", 2)
+                .snapshot();
+        when(registrationRepository.findWithTeacherByStatusAndSemester(RegistrationStatus.APPROVED, TestSemesters.SEMESTER))
+                .thenReturn(stored.getRegistrations());
+        when(coursePreferenceRepository.findForGeneration(TestSemesters.SEMESTER, RegistrationStatus.APPROVED))
+                .thenReturn(stored.getCoursePreferences());
+        when(timePreferenceRepository.findForGeneration(TestSemesters.SEMESTER, RegistrationStatus.APPROVED))
+                .thenReturn(stored.getTimePreferences());
+        when(classroomRepository.findBySemester(eq(TestSemesters.SEMESTER), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(stored.getClassrooms()));
+        when(periodRepository.findAllByOrderByOrderIndexAsc()).thenReturn(stored.getPeriods());
+    }
+
+    @Test
+    void keepsOnlySectionsOfTheSemester() {
+        List<Section> sections = new ArrayList<>(stored.getSections());
+        Section other = stored.getSections().get(0);
+        sections.add(Section.builder().id("C1_A_2024B").name("A").course(other.getCourse())
+                .periodRequired(1).requiredSeats(30).build());
+        when(sectionRepository.findByCourseIdsWithCourse(anyCollection())).thenReturn(sections);
+
+        SemesterSnapshot snapshot = loader.load(TestSemesters.SEMESTER);
+
+        assertThat(snapshot.getSections()).extracting(Section::getId)
+                .containsExactly("C1_A_2025A", "C1_B_2025A", "C2_A_2025A");
+    }
+
+    @Test
+    void indexesTeachersSectionsAndPreferences() {
+        when(sectionRepository.findByCourseIdsWithCourse(anyCollection())).thenReturn(stored.getSections());
+
+        SemesterSnapshot snapshot = loader.load(TestSemesters.SEMESTER);
+
+        assertThat(snapshot.getTeacherIds()).containsExactly("T1", "T2");
+        assertThat(snapshot.teacherIdsFor("C1")).containsExactly("T1", "T2");
+        assertThat(snapshot.teacherIdsFor("C2")).containsExactly("T1");
+        assertThat(snapshot.teacherIdsFor("C3")).isEmpty();
+        assertThat(snapshot.sectionsOf("C1")).extracting(Section::getId).containsExactly("C1_A_2025A", "C1_B_2025A");
+        assertThat(snapshot.findSection("C2_A_2025A")).isPresent();
+        assertThat(snapshot.coursePreferencesOf("REG_T1")).hasSize(2);
+        assertThat(snapshot.timePreferencesOf("REG_T2")).hasSize(10);
+    }
+
+    @Test
+    void skipsTheSectionQueryWithoutCoursePreferences() {
+        when(coursePreferenceRepository.findForGeneration(TestSemesters.SEMESTER, RegistrationStatus.APPROVED))
+                .thenReturn(List.of());
+
+        SemesterSnapshot snapshot = loader.load(TestSemesters.SEMESTER);
+
+        assertThat(snapshot.getSections()).isEmpty();
+        assertThat(snapshot.getCourses()).isEmpty();
+        verifyNoInteractions(sectionRepository);
+    }
+}
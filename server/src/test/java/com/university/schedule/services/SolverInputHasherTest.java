@@ -0,0 +1,54 @@
+package com.university.schedule.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.schedule.dtos.AssignmentDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SolverInputHasherTest {
+
+    private final SolverInputHasher hasher = new SolverInputHasher(new ObjectMapper());
+
+    @Test
+    void dataHashIgnoresLoadOrderButNotData() {
+        String hash = hasher.dataHash(semester(false, 3).snapshot());
+
+        assertThat(hasher.dataHash(semester(true, 3).snapshot())).isEqualTo(hash);
+        assertThat(hasher.dataHash(semester(false, 2).snapshot())).isNotEqualTo(hash);
+        assertThat(hasher.dataHash(semester(false, 3).prefersTime("T1", DayOfWeek.FRIDAY, 0, 4).snapshot()))
+                .isNotEqualTo(hash);
+    }
+
+    @Test
+    void runKeyCoversAlgorithmConfigurationAndWarmStart() {
+        AssignmentDTO first = assignment("S1", "1"), second = assignment("S2", "2");
+        String key = hasher.runKey("data", "exact", "max-nodes=10", List.of(first, second));
+
+        assertThat(hasher.runKey("data", "EXACT", "max-nodes=10", List.of(second, first))).isEqualTo(key);
+        assertThat(hasher.runKey("data", "heuristic", "max-nodes=10", List.of(first, second))).isNotEqualTo(key);
+        assertThat(hasher.runKey("data", "exact", "max-nodes=20", List.of(first, second))).isNotEqualTo(key);
+        assertThat(hasher.runKey("data", "exact", "max-nodes=10", List.of(first))).isNotEqualTo(key);
+        assertThat(hasher.runKey("other", "exact", "max-nodes=10", List.of(first, second))).isNotEqualTo(key);
+    }
+
+    private static TestSemesters semester(boolean reversed, int preference) {
+        TestSemesters semester = TestSemesters.withPeriods(2)
+                .teacher("T1", 2)
+                .course("C1", 1, 1)
+                .course("C2", 1, 1)
+                .section("S1", "C1", 1, 30)
+                .section("S2", "C2", 1, 30)
+                .room("R1", 40);
+        return reversed
+                ? semester.prefers("T1", "C2", 1).prefers("T1", "C1", preference)
+                : semester.prefers("T1", "C1", preference).prefers("T1", "C2", 1);
+    }
+
+    private static AssignmentDTO assignment(String sectionId, String period) {
+        return AssignmentDTO.builder().teacherId("T1").sectionId(sectionId).classroomId("R1").day("Mon").period(period).build();
+    }
+}
@@ -0,0 +1,83 @@
+package com.university.schedule.services;
+
+import com.university.schedule.dtos.AssignmentDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SolverResultCacheTest {
+
+    private final SolverResultCache cache = new SolverResultCache(true, 2, 5);
+
+    @Test
+    void hitsAreMarkedCopiesOfTheWholeResult() {
+        GeneratedSchedule result = schedule(2, 17);
+        result.setInputHash("abc");
+        result.setOptimal(true);
+        result.getScores().put("stopReason", "completed");
+        cache.put("k", result);
+        result.getAssignments().get(0).setDay("Fri");
+
+        GeneratedSchedule hit = cache.get("k").orElseThrow();
+
+        assertThat(hit).isNotSameAs(result);
+        assertThat(hit.getObjectiveValue()).isEqualTo(17);
+        assertThat(hit.getInputHash()).isEqualTo("abc");
+        assertThat(hit.getOptimal()).isTrue();
+        assertThat(hit.getScores()).containsEntry("stopReason", "completed")
+                .containsEntry(SolverResultCache.CACHED_SCORE, true);
+        assertThat(hit.getStatistics().getNumSections()).isEqualTo(2);
+        assertThat(hit.getAssignments().get(0).getDay()).isEqualTo("Mon");
+        assertThat(result.getScores()).doesNotContainKey(SolverResultCache.CACHED_SCORE);
+
+        hit.getAssignments().get(0).setDay("Fri");
+        hit.getScores().put("stopReason", "target");
+        GeneratedSchedule again = cache.get("k").orElseThrow();
+        assertThat(again.getAssignments().get(0).getDay()).isEqualTo("Mon");
+        assertThat(again.getScores()).containsEntry("stopReason", "completed");
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedBeyondEitherBound() {
+        cache.put("a", schedule(1, 1));
+        cache.put("b", schedule(1, 2));
+        cache.get("a");
+        cache.put("c", schedule(1, 3));
+
+        assertThat(cache.get("b")).isEmpty();
+        assertThat(cache.get("a")).isPresent();
+
+        cache.put("d", schedule(3, 4));
+        assertThat(cache.get("c")).isEmpty();
+        assertThat(cache.get("d")).isPresent();
+
+        // Five assignments at most: one more pushes out the least recently used
+        cache.put("f", schedule(2, 6));
+        assertThat(cache.get("a")).isEmpty();
+        assertThat(cache.get("d")).isPresent();
+        assertThat(cache.get("f")).isPresent();
+
+        cache.put("e", schedule(6, 5));
+        assertThat(cache.get("e")).isEmpty();
+    }
+
+    @Test
+    void disabledCacheNeverHits() {
+        SolverResultCache disabled = new SolverResultCache(false, 2, 5);
+        disabled.put("k", schedule(1, 1));
+
+        assertThat(disabled.get("k")).isEmpty();
+    }
+
+    private static GeneratedSchedule schedule(int assignments, int objective) {
+        List<AssignmentDTO> list = new ArrayList<>();
+        for (int i = 0; i < assignments; i++) {
+            list.add(AssignmentDTO.builder().teacherId("T1").sectionId("S" + i).courseId("C1").classroomId("R1")
+                    .day("Mon").period(String.valueOf(i + 1)).build());
+        }
+        return GeneratedSchedule.of(list, objective);
+    }
+}
@@ -0,0 +1,137 @@
+package com.university.schedule.services;
+
+import com.university.schedule.entities.*;
+import com.university.schedule.enums.RegistrationStatus;
+import com.university.schedule.scheduling.SchedulingProblem;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * Hand-built semesters for generation tests. Teachers, courses and rooms are added by ID; every teacher
+ * has a time preference of 0 for each weekday period unless one is set.
+ */
+public final class TestSemesters {
+
+    public static final String SEMESTER = "2025A";
+
+    private static final List<DayOfWeek> DAYS = List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY,
+            DayOfWeek.THURSDAY, DayOfWeek.FRIDAY);
+
+    private final List<Period> periods = new ArrayList<>();
+    private final Map<String, TeachingRegistration> registrations = new LinkedHashMap<>();
+    private final Map<String, Course> courses = new LinkedHashMap<>();
+    private final List<CoursePreference> coursePreferences = new ArrayList<>();
+    private final Map<String, Integer> timePreferences = new HashMap<>();
+    private final List<Section> sections = new ArrayList<>();
+    private final List<Classroom> classrooms = new ArrayList<>();
+
+    private TestSemesters(int periodsPerDay) {
+        for (int p = 0; p < periodsPerDay; p++) {
+            periods.add(Period.builder().id("P" + p).name("Period " + (p + 1)).orderIndex(p + 1)
+                    .startTime(LocalTime.of(7 + p, 0)).endTime(LocalTime.of(8 + p, 0)).build());
+        }
+    }
+
+    public static TestSemesters withPeriods(int periodsPerDay) {
+        return new TestSemesters(periodsPerDay);
+    }
+
+    public TestSemesters teacher(String id, int maxCourses) {
+        Teacher teacher = Teacher.builder().id(id).name("Teacher " + id).semester(SEMESTER).build();
+        registrations.put(id, TeachingRegistration.builder().id("REG_" + id).teacher(teacher).semester(SEMESTER)
+                .status(RegistrationStatus.APPROVED).maxCourses(maxCourses).build());
+        return this;
+    }
+
+    public TestSemesters course(String id, int minTeachers, int maxTeachers) {
+        courses.put(id, Course.builder().id(id).name("Course " + id).minTeachers(minTeachers).maxTeachers(maxTeachers).build());
+        return this;
+    }
+
+    public TestSemesters section(String id, String courseId, int periodsRequired, int seats) {
+        sections.add(Section.builder().id(id).name(id).course(courses.get(courseId))
+                .periodRequired(periodsRequired).requiredSeats(seats).build());
+        return this;
+    }
+
+    public TestSemesters room(String id, int capacity) {
+        classrooms.add(Classroom.builder().id(id).name("Room " + id).capacity(capacity).semester(SEMESTER).build());
+        return this;
+    }
+
+    /**
+     * Makes the teacher eligible for the course with the given preference.
+     */
+    public TestSemesters prefers(String teacherId, String courseId, int value) {
+        TeachingRegistration registration = registrations.get(teacherId);
+        coursePreferences.add(CoursePreference.builder().id("CP_" + teacherId + "_" + courseId).semester(SEMESTER)
+                .teacher(registration.getTeacher()).teachingRegistration(registration)
+                .course(courses.get(courseId)).preferenceValue(value).build());
+        return this;
+    }
+
+    /**
+     * Time preference of a teacher for the {@code period}-th period (from 0) of a weekday.
+     */
+    public TestSemesters prefersTime(String teacherId, DayOfWeek day, int period, int value) {
+        timePreferences.put(teacherId + "|" + day + "|" + period, value);
+        return this;
+    }
+
+    public SemesterSnapshot snapshot() {
+        List<TimePreference> times = new ArrayList<>();
+        for (TeachingRegistration registration : registrations.values()) {
+            String teacherId = registration.getTeacher().getId();
+            for (DayOfWeek day : DAYS) {
+                for (int p = 0; p < periods.size(); p++) {
+                    times.add(TimePreference.builder().id("TP_" + teacherId + "_" + day + "_" + p)
+                            .teacher(registration.getTeacher()).semester(SEMESTER).teachingRegistration(registration)
+                            .day(day).period(periods.get(p))
+                            .preferenceValue(timePreferences.getOrDefault(teacherId + "|" + day + "|" + p, 0)).build());
+                }
+            }
+        }
+        return new SemesterSnapshot(SEMESTER, new ArrayList<>(registrations.values()), coursePreferences, times,
+                sections, classrooms, periods);
+    }
+
+    public SchedulingProblem problem() {
+        return SchedulingProblem.from(snapshot());
+    }
+
+    /**
+     * A random semester in which every course has at least one eligible teacher; the same seed always
+     * gives the same semester.
+     */
+    public static TestSemesters random(long seed, int teachers, int courses, int sectionsPerCourse, int rooms,
+                                       int periodsPerDay) {
+        Random random = new Random(seed);
+        TestSemesters semester = withPeriods(periodsPerDay);
+        for (int c = 0; c < courses; c++) {
+            semester.course("C" + c, 1 + random.nextInt(2), 3);
+            for (int k = 0; k < sectionsPerCourse; k++) {
+                semester.section("C" + c + "_S" + k, "C" + c, 1 + random.nextInt(Math.min(3, periodsPerDay)),
+                        20 + random.nextInt(4) * 20);
+            }
+        }
+        Set<Integer> covered = new HashSet<>();
+        for (int t = 0; t < teachers; t++) {
+            String id = String.format("T%02d", t);
+            semester.teacher(id, 2 + random.nextInt(2));
+            Set<Integer> chosen = new TreeSet<>();
+            for (int i = 0, k = 2 + random.nextInt(2); i < k; i++) chosen.add(random.nextInt(courses));
+            for (int c : chosen) semester.prefers(id, "C" + c, random.nextInt(5));
+            covered.addAll(chosen);
+            for (DayOfWeek day : DAYS) {
+                for (int p = 0; p < periodsPerDay; p++) semester.prefersTime(id, day, p, random.nextInt(7) - 3);
+            }
+        }
+        for (int c = 0; c < courses; c++) {
+            if (!covered.contains(c)) semester.prefers(String.format("T%02d", c % teachers), "C" + c, 2);
+        }
+        for (int r = 0; r < rooms; r++) semester.room(String.format("R%02d", r), 40 + random.nextInt(4) * 20);
+        return semester;
+    }
+}